@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+#
+# native 실행 파일 스모크 테스트
+#
+# build/native/nativeCompile/demo 를 기동한 뒤 주요 결제 API 를 호출하여
+# JPA 엔티티 매핑, Jackson 직렬화(Map/DTO/엔티티), JWT 발급/검증이 native 환경에서 동작하는지 확인합니다.
+#
+# 사용법
+#   ./gradlew nativeCompile -Pnative
+#   scripts/native-smoke-test.sh
+#
+# 로컬 PostgreSQL(application.properties 의 local 설정)이 떠 있어야 합니다.
+
+set -euo pipefail
+
+PORT=${PORT:-8081}
+BASE_URL=http://localhost:${PORT}
+ROOT_DIR=$(cd "$(dirname "$0")/.." && pwd)
+BINARY=${BINARY:-$ROOT_DIR/build/native/nativeCompile/demo}
+
+"$BINARY" --server.port="$PORT" > /tmp/native-smoke-test.log 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true' EXIT
+
+until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/api/payment/status/order/SMOKE_PROBE" || true)" != "000" ]; do
+  kill -0 "$pid" 2>/dev/null || { echo "native binary exited, see /tmp/native-smoke-test.log" >&2; exit 1; }
+  sleep 0.05
+done
+
+failures=0
+
+# check <이름> <기대 문자열> <curl 인자...>
+check() {
+  local name=$1 expected=$2
+  shift 2
+  local body
+  body=$(curl -s "$@")
+  if [[ "$body" == *"$expected"* ]]; then
+    echo "OK   $name"
+  else
+    echo "FAIL $name -> $body"
+    failures=$((failures + 1))
+  fi
+  LAST_BODY=$body
+}
+
+email="native-smoke-$(date +%s)@example.com"
+
+check "회원가입" "\"email\":\"$email\"" -X POST "$BASE_URL/api/users" \
+  -H 'Content-Type: application/json' -d "{\"name\":\"스모크\",\"email\":\"$email\",\"phoneNumber\":\"010-0000-0000\"}"
+user_id=$(sed -E 's/.*"id":([0-9]+).*/\1/' <<< "$LAST_BODY")
+
+check "로그인(JWT 발급)" '"token"' -X POST "$BASE_URL/api/auth/login" \
+  -H 'Content-Type: application/json' -d "{\"email\":\"$email\"}"
+token=$(sed -E 's/.*"token":"([^"]+)".*/\1/' <<< "$LAST_BODY")
+
+check "토큰 검증" "\"userId\":$user_id" "$BASE_URL/api/auth/me" -H "Authorization: Bearer $token"
+
+check "주문 생성" '"paymentMethod":"CARD_REQUIRED"' -X POST "$BASE_URL/api/payment/create-order" \
+  -H 'Content-Type: application/json' \
+  -d "{\"userId\":$user_id,\"totalAmount\":1000,\"pointsUsed\":0,\"cardAmount\":1000}"
+order_no=$(sed -E 's/.*"orderNo":"([^"]+)".*/\1/' <<< "$LAST_BODY")
+
+check "주문 상태 조회" '"status":"PENDING"' "$BASE_URL/api/payment/status/order/$order_no"
+check "주문 상세 조회" "\"orderNo\":\"$order_no\"" "$BASE_URL/api/payment/order-detail/$order_no"
+check "주문 목록 조회" "\"userId\":$user_id" "$BASE_URL/api/payment/orders/$user_id"
+check "망취소(대상 없음)" '"success":false' -X POST "$BASE_URL/api/payment/network-cancel/$order_no" \
+  -H 'Content-Type: application/json' -d '{"reason":"스모크 테스트"}'
+check "적립금 환불(대상 없음)" '"success":false' -X POST "$BASE_URL/api/payment/refund/points/$order_no" \
+  -H 'Content-Type: application/json' -d '{"reason":"스모크 테스트"}'
+
+if [ "$failures" -gt 0 ]; then
+  echo "$failures check(s) failed, see /tmp/native-smoke-test.log"
+  exit 1
+fi
+echo "all checks passed"
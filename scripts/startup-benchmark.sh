@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# 기동 시간 벤치마크
+#
+# 모드별로 애플리케이션을 N회 기동하여 다음을 측정합니다.
+#   - time-to-first-request : 프로세스 시작부터 첫 HTTP 응답까지 걸린 시간 (ms)
+#   - RSS                   : 첫 응답 직후 프로세스 RSS (MB)
+#
+# 모드
+#   jar      : 일반 bootJar                          (./gradlew bootJar)
+#   aot      : AOT 처리된 bootJar                     (./gradlew bootJar -Paot)
+#   aot-cds  : AOT + AppCDS 아카이브 (추출된 jar 사용)  (./gradlew cdsArchive -Paot)
+#   native   : GraalVM native 실행 파일               (./gradlew nativeCompile -Pnative)
+#
+# 사용법
+#   scripts/startup-benchmark.sh jar 5
+#   scripts/startup-benchmark.sh aot-cds 5
+#
+# 로컬 PostgreSQL(application.properties 의 local 설정)이 떠 있어야 합니다.
+
+set -euo pipefail
+
+MODE=${1:-jar}
+RUNS=${2:-5}
+PORT=${PORT:-8081}
+PROBE_URL=${PROBE_URL:-http://localhost:${PORT}/api/payment/status/order/STARTUP_PROBE}
+ROOT_DIR=$(cd "$(dirname "$0")/.." && pwd)
+JAR_NAME=demo-0.0.1-SNAPSHOT.jar
+
+case "$MODE" in
+  jar)
+    CMD=(java -jar "$ROOT_DIR/build/libs/$JAR_NAME")
+    ;;
+  aot)
+    CMD=(java -Dspring.aot.enabled=true -jar "$ROOT_DIR/build/libs/$JAR_NAME")
+    ;;
+  aot-cds)
+    CMD=(java -XX:SharedArchiveFile="$ROOT_DIR/build/cds/application.jsa" -Dspring.aot.enabled=true
+         -jar "$ROOT_DIR/build/cds/$JAR_NAME")
+    ;;
+  native)
+    CMD=("$ROOT_DIR/build/native/nativeCompile/demo")
+    ;;
+  *)
+    echo "unknown mode: $MODE (jar | aot | aot-cds | native)" >&2
+    exit 1
+    ;;
+esac
+
+now_ms() {
+  date +%s%3N
+}
+
+total_ms=0
+total_rss=0
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${CMD[@]}" --server.port="$PORT" > "/tmp/startup-benchmark-$MODE-$run.log" 2>&1 &
+  pid=$!
+
+  # 첫 응답(상태코드 무관, 애플리케이션이 DB 조회 후 응답)까지 대기
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$PROBE_URL" || true)" != "000" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see /tmp/startup-benchmark-$MODE-$run.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  echo "run $run: time-to-first-request=${elapsed}ms rss=$(( rss_kb / 1024 ))MB"
+  total_ms=$(( total_ms + elapsed ))
+  total_rss=$(( total_rss + rss_kb ))
+done
+
+echo "[$MODE] avg time-to-first-request=$(( total_ms / RUNS ))ms avg rss=$(( total_rss / RUNS / 1024 ))MB"
@@ -0,0 +1,100 @@
+package com.example.demo.grpc;
+
+import com.example.demo.admission.AdaptiveConcurrencyLimit;
+import com.example.demo.admission.AdmissionControlFilter;
+import com.example.demo.grpc.v1.OrderServiceGrpc;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC 호출 수락 제어 - HTTP {@link AdmissionControlFilter} 와 같은 payment/read 한도를 공유
+ *
+ * <ul>
+ *   <li>payment 일반 요청: CreateOrder</li>
+ *   <li>payment 우선 요청: RefundOrder</li>
+ *   <li>read: GetOrderStatus, GetOrderDetail, WatchOrderStatus</li>
+ * </ul>
+ *
+ * 한도를 넘으면 서비스 메서드를 호출하지 않고 UNAVAILABLE 로 닫습니다. INTERNAL/UNAVAILABLE/UNKNOWN/DEADLINE_EXCEEDED 종료는
+ * HTTP 5xx 처럼 실패로 반영하고, WatchOrderStatus 는 SSE 스트림처럼 처리 시작 직후 지연 표본 없이 반환합니다.
+ */
+public class GrpcAdmissionInterceptor implements ServerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            OrderServiceGrpc.getGetOrderStatusMethod().getFullMethodName(),
+            OrderServiceGrpc.getGetOrderDetailMethod().getFullMethodName(),
+            OrderServiceGrpc.getWatchOrderStatusMethod().getFullMethodName());
+
+    private static final Set<Status.Code> DROPPED_CODES =
+            Set.of(Status.Code.INTERNAL, Status.Code.UNAVAILABLE, Status.Code.UNKNOWN, Status.Code.DEADLINE_EXCEEDED);
+
+    private final AdmissionControlFilter admissionControlFilter;
+
+    public GrpcAdmissionInterceptor(AdmissionControlFilter admissionControlFilter) {
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        MethodDescriptor<ReqT, RespT> method = call.getMethodDescriptor();
+        boolean read = READ_METHODS.contains(method.getFullMethodName());
+        boolean priority = read || method.getFullMethodName().equals(OrderServiceGrpc.getRefundOrderMethod().getFullMethodName());
+        AdaptiveConcurrencyLimit limit = admissionControlFilter.limitFor(read);
+        AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire(priority);
+        if (permit == null) {
+            admissionControlFilter.countRejected(limit, priority);
+            call.close(Status.UNAVAILABLE.withDescription("요청이 많아 잠시 후 다시 시도해주세요."), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+
+        boolean streaming = method.getType() == MethodDescriptor.MethodType.SERVER_STREAMING;
+        AtomicBoolean released = new AtomicBoolean();
+        ServerCall<ReqT, RespT> admitted = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (!streaming && released.compareAndSet(false, true)) {
+                    String dropReason = DROPPED_CODES.contains(status.getCode())
+                            ? "grpc-" + status.getCode().name().toLowerCase() : null;
+                    if (dropReason != null) {
+                        admissionControlFilter.countDrop(limit, dropReason);
+                    }
+                    permit.release(dropReason != null);
+                }
+                super.close(status, trailers);
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(admitted, headers);
+        } catch (RuntimeException e) {
+            if (released.compareAndSet(false, true)) {
+                permit.release(true);
+            }
+            throw e;
+        }
+        if (streaming && released.compareAndSet(false, true)) {
+            permit.releaseWithoutSample();
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                // 클라이언트 취소/연결 끊김 - 처리 결과를 알 수 없으므로 표본 없이 반환
+                if (released.compareAndSet(false, true)) {
+                    permit.releaseWithoutSample();
+                }
+                super.onCancel();
+            }
+        };
+    }
+}
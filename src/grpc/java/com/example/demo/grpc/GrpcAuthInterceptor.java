@@ -0,0 +1,43 @@
+package com.example.demo.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * 내부 서비스 호출 인증 (authorization: Bearer &lt;grpc.server.auth-token&gt;)
+ *
+ * 토큰이 없거나 다르면 서비스 메서드를 호출하지 않고 UNAUTHENTICATED 로 닫습니다. 비교는 상수 시간으로 합니다.
+ */
+public class GrpcAuthInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] expected;
+
+    public GrpcAuthInterceptor(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("grpc.server.auth-token 이 설정되지 않았습니다");
+        }
+        this.expected = (BEARER_PREFIX + token).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String authorization = headers.get(AUTHORIZATION);
+        if (authorization == null || !MessageDigest.isEqual(expected, authorization.getBytes(StandardCharsets.UTF_8))) {
+            call.close(Status.UNAUTHENTICATED.withDescription("인증 토큰이 없거나 올바르지 않습니다."), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+}
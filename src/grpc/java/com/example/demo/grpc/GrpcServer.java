@@ -0,0 +1,157 @@
+package com.example.demo.grpc;
+
+import com.example.demo.admission.AdmissionControlFilter;
+import io.grpc.BindableService;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.TlsServerCredentials;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcServerInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내부 서비스용 gRPC 서버 (grpc.server.enabled=true 일 때만 기동)
+ *
+ * 등록된 {@link BindableService} 빈을 모두 노출하며, 호출은 요청마다 가상 스레드에서 처리합니다.
+ * (PaymentService/JDBC 호출과 WatchOrderStatus 대기가 블로킹이어도 플랫폼 스레드를 점유하지 않음)
+ * grpc.server.address(기본 127.0.0.1)에만 바인딩하고, 모든 호출에 grpc.server.auth-token Bearer 인증이 필요합니다.
+ * grpc.server.tls.cert-chain / private-key 가 있으면 TLS 로 받습니다.
+ * HTTP 필터와 같은 관측(트레이스/grpc.server 메트릭), SQL 집계, 수락 제어를 interceptor 로 적용합니다.
+ * grpc.server.port=0 이면 빈 포트를 사용합니다 (테스트).
+ */
+@Component
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServer.class);
+
+    @Autowired
+    private List<BindableService> services;
+
+    @Autowired
+    private ObjectProvider<AdmissionControlFilter> admissionControlFilter;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private ObjectProvider<ObservationRegistry> observationRegistry;
+
+    @Value("${grpc.server.address:127.0.0.1}")
+    private String address;
+
+    @Value("${grpc.server.port:9090}")
+    private int port;
+
+    @Value("${grpc.server.auth-token:}")
+    private String authToken;
+
+    @Value("${grpc.server.tls.cert-chain:}")
+    private String tlsCertChain;
+
+    @Value("${grpc.server.tls.private-key:}")
+    private String tlsPrivateKey;
+
+    @Value("${grpc.server.shutdown-grace-seconds:10}")
+    private long shutdownGraceSeconds;
+
+    private ExecutorService executor;
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        // 토큰이 없으면 기동 실패 (인증 없는 서버를 열지 않음)
+        List<ServerInterceptor> interceptors = interceptors();
+        ServerCredentials credentials = credentials();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        ServerBuilder<?> builder = NettyServerBuilder.forAddress(new InetSocketAddress(address, port), credentials)
+                .executor(executor);
+        services.forEach(service -> builder.addService(ServerInterceptors.intercept(service, interceptors)));
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.close();
+            throw new UncheckedIOException("gRPC 서버 기동 실패 - " + address + ":" + port, e);
+        }
+        logger.info("gRPC 서버 기동 - {}:{}, tls: {}, services: {}", address, server.getPort(),
+                !(credentials instanceof InsecureServerCredentials),
+                services.stream().map(service -> service.bindService().getServiceDescriptor().getName()).toList());
+    }
+
+    // 마지막 interceptor 가 먼저 실행: 관측 -> SQL 집계 -> 수락 제어 -> 인증 -> 서비스 (HTTP 필터 순서와 같음)
+    private List<ServerInterceptor> interceptors() {
+        List<ServerInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(new GrpcAuthInterceptor(authToken));
+        admissionControlFilter.ifAvailable(filter -> interceptors.add(new GrpcAdmissionInterceptor(filter)));
+        meterRegistry.ifAvailable(registry -> interceptors.add(new GrpcSqlMetricsInterceptor(registry)));
+        observationRegistry.ifAvailable(registry -> interceptors.add(new ObservationGrpcServerInterceptor(registry)));
+        return interceptors;
+    }
+
+    private ServerCredentials credentials() {
+        if (tlsCertChain.isBlank() && tlsPrivateKey.isBlank()) {
+            return InsecureServerCredentials.create();
+        }
+        try {
+            return TlsServerCredentials.create(new File(tlsCertChain), new File(tlsPrivateKey));
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC TLS 인증서/키를 읽을 수 없습니다 - " + tlsCertChain + ", " + tlsPrivateKey, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.close();
+            server = null;
+        }
+        logger.info("gRPC 서버 종료");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 실제 바인딩된 포트 (grpc.server.port=0 일 때 확인용)
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.grpc;
+
+import com.example.demo.monitoring.SqlStatementCounter;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * gRPC 호출 단위 SQL 실행 횟수/행 수 집계 - HTTP SqlStatementCountingFilter 와 같은 메트릭
+ *
+ * sql.statements.per.request / sql.rows.per.request 를 uri=전체 메서드 이름, method=GRPC 태그로 기록합니다.
+ * 서비스 메서드는 요청 메시지를 모두 받은 뒤(onHalfClose) 호출 스레드에서 끝까지 실행되므로 그 구간을 집계합니다.
+ */
+public class GrpcSqlMetricsInterceptor implements ServerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public GrpcSqlMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String uri = call.getMethodDescriptor().getFullMethodName();
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            @Override
+            public void onHalfClose() {
+                SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+                try {
+                    super.onHalfClose();
+                } finally {
+                    SqlStatementCounter.end();
+                    record(uri, counts);
+                }
+            }
+        };
+    }
+
+    private void record(String uri, SqlStatementCounter.Counts counts) {
+        DistributionSummary.builder("sql.statements.per.request")
+                .description("요청당 SQL 실행 횟수 (배치는 1회)")
+                .tag("uri", uri)
+                .tag("method", "GRPC")
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder("sql.rows.per.request")
+                .description("요청당 SQL 처리 행 수")
+                .tag("uri", uri)
+                .tag("method", "GRPC")
+                .tag("type", "read")
+                .register(meterRegistry)
+                .record(counts.getRowsRead());
+        DistributionSummary.builder("sql.rows.per.request")
+                .description("요청당 SQL 처리 행 수")
+                .tag("uri", uri)
+                .tag("method", "GRPC")
+                .tag("type", "written")
+                .register(meterRegistry)
+                .record(counts.getRowsWritten());
+    }
+}
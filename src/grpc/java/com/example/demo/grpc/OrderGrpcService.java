@@ -0,0 +1,317 @@
+package com.example.demo.grpc;
+
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import com.example.demo.datasource.ShardContext;
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.dto.RefundResponse;
+import com.example.demo.entity.Order;
+import com.example.demo.grpc.v1.CreateOrderReply;
+import com.example.demo.grpc.v1.CreateOrderRequest;
+import com.example.demo.grpc.v1.OrderDetailReply;
+import com.example.demo.grpc.v1.OrderRef;
+import com.example.demo.grpc.v1.OrderServiceGrpc;
+import com.example.demo.grpc.v1.OrderStatus;
+import com.example.demo.grpc.v1.OrderStatusReply;
+import com.example.demo.grpc.v1.PaymentItem;
+import com.example.demo.grpc.v1.RefundOrderReply;
+import com.example.demo.grpc.v1.RefundOrderRequest;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.service.OrderCacheService;
+import com.example.demo.service.PaymentService;
+import com.example.demo.stream.OrderStatusChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내부 서비스용 주문 gRPC API
+ *
+ * REST /api/payment 의 주문 생성/상태/상세/환불과 같은 PaymentService 동작을 호출하고,
+ * 결과를 protobuf 메시지로 변환합니다. 호출은 {@link GrpcServer} 의 가상 스레드에서 실행됩니다.
+ * 리포지토리를 직접 조회하는 호출은 주문번호의 샤드를 지정하고 실행합니다 (HTTP 의 ShardRoutingInterceptor 역할).
+ * WatchOrderStatus 는 SSE 스트림과 같이 {@link OrderStatusChannel} 알림을 받을 때만 주문을 다시 조회합니다.
+ */
+@Component
+public class OrderGrpcService extends OrderServiceGrpc.OrderServiceImplBase implements OrderStatusChannel.Subscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderGrpcService.class);
+
+    // 더 이상 바뀌지 않는 상태 (WatchOrderStatus 종료 조건)
+    private static final Set<Order.OrderStatus> FINAL_STATUSES =
+            Set.of(Order.OrderStatus.CANCELLED, Order.OrderStatus.NETWORK_CANCELLED, Order.OrderStatus.FAILED);
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderCacheService orderCacheService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private OrderStatusChannel channel;
+
+    // 알림 채널이 꺼져 있을 때(order.stream.enabled=false)만 사용하는 폴링 간격
+    @Value("${grpc.watch.poll-interval-ms:500}")
+    private long watchPollIntervalMs;
+
+    @Value("${grpc.watch.max-duration-seconds:300}")
+    private long watchMaxDurationSeconds;
+
+    // 주문번호별 구독 중인 WatchOrderStatus 호출 (알림 시 permit 으로 깨움)
+    private final Map<String, Set<Semaphore>> watchers = new ConcurrentHashMap<>();
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        if (channel != null) {
+            channel.subscribe(this);
+        }
+    }
+
+    @Override
+    public void createOrder(CreateOrderRequest request, StreamObserver<CreateOrderReply> responseObserver) {
+        try {
+            CreateOrderResponse result = paymentService.createOrder(request.getUserId(), request.getTotalAmount(),
+                    request.getPointsUsed(), request.getCardAmount(), request.getNetworkCancelTest());
+            responseObserver.onNext(toReply(result));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(failed(Status.INVALID_ARGUMENT, "주문 생성 중 오류가 발생했습니다", e));
+        }
+    }
+
+    @Override
+    public void getOrderStatus(OrderRef request, StreamObserver<OrderStatusReply> responseObserver) {
+        try (ShardContext.Scope scope = shardRouter.useOrderShard(request.getOrderNo())) {
+            Order order = orderRepository.findByOrderNo(request.getOrderNo())
+                    .orElseThrow(() -> orderNotFound(request.getOrderNo()));
+            responseObserver.onNext(toReply(order));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(failed(Status.INTERNAL, "주문 상태 조회 중 오류가 발생했습니다", e));
+        }
+    }
+
+    @Override
+    public void getOrderDetail(OrderRef request, StreamObserver<OrderDetailReply> responseObserver) {
+        try (ShardContext.Scope scope = shardRouter.useOrderShard(request.getOrderNo())) {
+            OrderDetailResponse detail = paymentService.getOrderDetailWithPayments(request.getOrderNo());
+            if (!detail.success()) {
+                throw orderCacheService.findOrderDetailVersion(request.getOrderNo()) == null
+                        ? orderNotFound(request.getOrderNo())
+                        : Status.INTERNAL.withDescription(detail.message()).asRuntimeException();
+            }
+            responseObserver.onNext(toReply(detail));
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(failed(Status.INTERNAL, "주문 상세 조회 중 오류가 발생했습니다", e));
+        }
+    }
+
+    @Override
+    public void refundOrder(RefundOrderRequest request, StreamObserver<RefundOrderReply> responseObserver) {
+        try {
+            String clientIp = request.getClientIp().isEmpty() ? "127.0.0.1" : request.getClientIp();
+            RefundResponse result = paymentService.refundPaymentByOrderNo(
+                    request.getOrderNo(), request.getReason(), clientIp);
+            responseObserver.onNext(RefundOrderReply.newBuilder()
+                    .setSuccess(result.success())
+                    .setMessage(Objects.toString(result.message(), ""))
+                    .setResultCode(Objects.toString(result.resultCode(), ""))
+                    .setTid(Objects.toString(result.tid(), ""))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception e) {
+            responseObserver.onError(failed(Status.INVALID_ARGUMENT, "환불 처리 중 오류가 발생했습니다", e));
+        }
+    }
+
+    /**
+     * 주문 상태 구독
+     *
+     * 구독을 등록한 뒤 현재 상태를 보내고, 이후 {@link OrderStatusChannel} 알림을 받을 때만 primary 에서 다시 조회해
+     * 바뀐 경우에만 전송합니다. 알림 채널이 꺼져 있으면 poll-interval-ms 마다 조회합니다.
+     * 호출 스레드가 가상 스레드이므로 대기 동안 플랫폼 스레드를 점유하지 않습니다.
+     * 종료 상태가 되거나, 클라이언트가 취소하거나, 최대 구독 시간이 지나면 끝납니다.
+     */
+    @Override
+    public void watchOrderStatus(OrderRef request, StreamObserver<OrderStatusReply> responseObserver) {
+        ServerCallStreamObserver<OrderStatusReply> call = (ServerCallStreamObserver<OrderStatusReply>) responseObserver;
+        String orderNo = request.getOrderNo();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(watchMaxDurationSeconds);
+        Semaphore changed = new Semaphore(0);
+        call.setOnCancelHandler(changed::release);
+        // 조회 전에 등록 (조회와 등록 사이의 알림 누락 방지)
+        watchers.computeIfAbsent(orderNo, key -> new CopyOnWriteArraySet<>()).add(changed);
+        OrderStatusReply last = null;
+        try {
+            while (!call.isCancelled()) {
+                Order order = reload(orderNo);
+                OrderStatusReply reply = toReply(order);
+                if (!reply.equals(last)) {
+                    call.onNext(reply);
+                    last = reply;
+                    if (FINAL_STATUSES.contains(order.getStatus())) {
+                        break;
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                long wait = channel != null ? remaining : Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(watchPollIntervalMs));
+                if (changed.tryAcquire(wait, TimeUnit.NANOSECONDS)) {
+                    changed.drainPermits();
+                }
+            }
+            if (!call.isCancelled()) {
+                call.onCompleted();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            call.onError(Status.CANCELLED.withDescription("서버 종료로 구독이 중단되었습니다.").asRuntimeException());
+        } catch (Exception e) {
+            if (!call.isCancelled()) {
+                call.onError(failed(Status.INTERNAL, "주문 상태 구독 중 오류가 발생했습니다", e));
+            }
+        } finally {
+            watchers.computeIfPresent(orderNo, (key, watching) -> {
+                watching.remove(changed);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    @Override
+    public void statusChanged(String orderNo, Order.OrderStatus status) {
+        Set<Semaphore> watching = watchers.get(orderNo);
+        if (watching != null) {
+            watching.forEach(Semaphore::release);
+        }
+    }
+
+    @Override
+    public void resync() {
+        watchers.values().forEach(watching -> watching.forEach(Semaphore::release));
+    }
+
+    // NOTIFY 는 primary 에서 커밋된 변경이므로 복제본 지연을 피해 primary 에서 주문 조회
+    private Order reload(String orderNo) {
+        try (ShardContext.Scope scope = shardRouter.useOrderShard(orderNo)) {
+            return readTransaction.execute(status -> {
+                ReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+                return orderRepository.findByOrderNo(orderNo).orElseThrow(() -> orderNotFound(orderNo));
+            });
+        }
+    }
+
+    private static StatusRuntimeException orderNotFound(String orderNo) {
+        return Status.NOT_FOUND.withDescription("주문을 찾을 수 없습니다: " + orderNo).asRuntimeException();
+    }
+
+    // 이미 상태가 정해진 예외(NOT_FOUND 등)는 그대로, 나머지는 status 로 변환
+    private static StatusRuntimeException failed(Status status, String message, Exception e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        logger.warn("{} - {}", message, e.getMessage());
+        return status.withDescription(message + ": " + e.getMessage()).withCause(e).asRuntimeException();
+    }
+
+    private static CreateOrderReply toReply(CreateOrderResponse result) {
+        CreateOrderReply.Builder reply = CreateOrderReply.newBuilder()
+                .setOrderId(result.orderId())
+                .setOrderNo(result.orderNo())
+                .setTotalAmount(result.totalAmount())
+                .setPointsUsed(result.pointsUsed())
+                .setCardAmount(result.cardAmount())
+                .setPaymentCompleted(result.paymentCompleted())
+                .setPaymentMethod(result.paymentMethod())
+                .setCompletedAtEpochMillis(epochMillis(result.completedAt()));
+        if (result.redirectUrl() != null) {
+            reply.setRedirectUrl(result.redirectUrl());
+        }
+        if (result.pgProvider() != null) {
+            reply.setPgProvider(result.pgProvider());
+        }
+        return reply.build();
+    }
+
+    private static OrderStatusReply toReply(Order order) {
+        return OrderStatusReply.newBuilder()
+                .setOrderId(order.getId())
+                .setOrderNo(order.getOrderNo())
+                .setStatus(OrderStatus.valueOf(order.getStatus().name()))
+                .setTotalAmount(order.getTotalAmount())
+                .setCardAmount(order.getCardAmount())
+                .setPointsUsed(order.getPointsUsed())
+                .setCreatedAtEpochMillis(epochMillis(order.getCreatedAt()))
+                .setUpdatedAtEpochMillis(epochMillis(order.getUpdatedAt()))
+                .build();
+    }
+
+    private static OrderDetailReply toReply(OrderDetailResponse detail) {
+        OrderDetailReply.Builder reply = OrderDetailReply.newBuilder()
+                .setOrder(OrderStatusReply.newBuilder()
+                        .setOrderId(detail.orderId())
+                        .setOrderNo(detail.orderNo())
+                        .setStatus(OrderStatus.valueOf(detail.status()))
+                        .setTotalAmount(detail.totalAmount())
+                        .setCardAmount(detail.cardAmount())
+                        .setPointsUsed(detail.pointsUsed())
+                        .setCreatedAtEpochMillis(epochMillis(detail.createdAt()))
+                        .setUpdatedAtEpochMillis(epochMillis(detail.updatedAt())))
+                .setStatusMessage(Objects.toString(detail.statusMessage(), ""));
+        for (OrderDetailResponse.PaymentItem payment : detail.payments()) {
+            reply.addPayments(PaymentItem.newBuilder()
+                    .setPaymentId(payment.paymentId())
+                    .setTid(Objects.toString(payment.tid(), ""))
+                    .setAmount(payment.amount())
+                    .setStatus(Objects.toString(payment.status(), ""))
+                    .setPaymentType(Objects.toString(payment.paymentType(), ""))
+                    .setPaymentTypeDescription(Objects.toString(payment.paymentTypeDescription(), ""))
+                    .setResultCode(Objects.toString(payment.resultCode(), ""))
+                    .setResultMsg(Objects.toString(payment.resultMsg(), ""))
+                    .setPaymentDateEpochMillis(epochMillis(payment.paymentDate()))
+                    .setCardName(Objects.toString(payment.cardName(), ""))
+                    .setCanRefund(payment.canRefund()));
+        }
+        return reply.build();
+    }
+
+    // 없으면 0 (proto3 기본값)
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 지연 기반 적응형 동시 처리 한도 (gradient + AIMD)
+ *
+ * <ul>
+ *   <li>정상 완료: 장기 평균 지연(longRtt) 대비 최근 지연(shortRtt) 비율(gradient)로 한도를 조정.
+ *       지연이 늘면 한도를 줄이고, 지연이 그대로면 sqrt(limit) 만큼 여유를 두고 천천히 늘림</li>
+ *   <li>실패(5xx/예외/PG 장애 등): 한도를 backoff-ratio 배로 즉시 감소 (multiplicative decrease)</li>
+ *   <li>처리 중 요청이 한도의 절반 미만이면 한도를 늘리지 않음 (부하가 없어서 빠른 것과 구분)</li>
+ * </ul>
+ *
+ * 한도의 reserved-ratio 만큼은 우선 요청(진행 중인 결제의 승인/취소 등) 전용으로 남겨,
+ * 과부하 시 신규 주문부터 거절되도록 합니다.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_RTT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_RTT_ALPHA = 2.0 / (500 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double reservedRatio;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, double reservedRatio) {
+        this(name, initialLimit, minLimit, maxLimit, reservedRatio, 1.5, 0.2, 0.9);
+    }
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, double reservedRatio,
+                                    double rttTolerance, double smoothing, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("잘못된 동시 처리 한도 범위: " + minLimit + "~" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.reservedRatio = reservedRatio;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 처리 슬롯 획득 시도
+     *
+     * @param priority 우선 요청 여부 (false 면 예약분을 제외한 한도까지만 허용)
+     * @return 획득한 슬롯, 한도 초과면 null
+     */
+    public Permit tryAcquire(boolean priority) {
+        int allowed = allowed(priority);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    private int allowed(boolean priority) {
+        int current = (int) limit;
+        if (priority) {
+            return current;
+        }
+        return Math.max(1, (int) (current * (1 - reservedRatio)));
+    }
+
+    /**
+     * 처리 결과 반영
+     *
+     * @param rttNanos 처리 시간
+     * @param inFlightAtStart 요청 시작 시점의 처리 중 요청 수
+     * @param dropped 실패(5xx/예외/PG 장애 등) 여부
+     */
+    synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_RTT_ALPHA;
+            longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+        }
+        // 부하가 줄어 지연이 크게 낮아지면 기준 지연도 빠르게 따라 내려가도록 보정
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos = shortRttNanos * 2;
+        }
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 획득한 처리 슬롯 (요청 종료 시 한 번만 반납)
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+
+        /**
+         * 지연 표본 없이 반납 (비동기로 넘어가 처리 시간을 알 수 없는 요청)
+         */
+        public void releaseWithoutSample() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.demo.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * /api/payment/** 요청 수락 제어(admission control) 필터
+ *
+ * 결제/환불처럼 돈이 움직이는 요청(payment)과 조회 요청(read)에 각각 {@link AdaptiveConcurrencyLimit} 을 두고,
+ * 한도를 넘는 요청은 컨트롤러/DB 에 닿기 전에 503 + Retry-After 로 바로 거절합니다.
+ *
+ * <ul>
+ *   <li>payment 우선 요청: 이미 생성된 주문의 결제 응답/승인, 환불, 망취소 (PG 인증이 끝난 결제를 끝까지 처리)</li>
+ *   <li>payment 일반 요청: 신규 주문 생성, 결제 요청 로깅 (예약분을 제외한 한도까지만 허용)</li>
+ *   <li>read: GET 조회</li>
+ * </ul>
+ *
+ * 처리 결과는 예외, 5xx, 서비스 계층이 {@link AdmissionOutcome} 으로 표시한 PG 장애/잠금 대기 초과를 실패로 반영하고,
+ * SSE 스트림처럼 비동기로 넘어간 요청은 처리 시작 직후 반환되어 지연 표본에서 제외합니다.
+ *
+ * 필터 순서는 SQL 집계 필터(HIGHEST_PRECEDENCE)와 HTTP 관측 필터(HIGHEST_PRECEDENCE + 1) 다음이라
+ * 거절된 요청도 트레이스/메트릭에 남고, Spring Security 보다는 앞이라 거절 시 인증 처리를 하지 않습니다.
+ *
+ * 메트릭: admission.limit / admission.inflight (limiter 태그), admission.rejected (limiter, priority 태그),
+ * admission.dropped (limiter, reason 태그)
+ */
+@Component
+@Order(AdmissionControlFilter.ORDER)
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String PAYMENT_PATH_PREFIX = "/api/payment/";
+    private static final byte[] REJECTED_BODY =
+            "{\"success\":false,\"message\":\"요청이 많아 잠시 후 다시 시도해주세요.\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${admission.payment.initial-limit:20}")
+    private int paymentInitialLimit;
+
+    @Value("${admission.payment.min-limit:4}")
+    private int paymentMinLimit;
+
+    @Value("${admission.payment.max-limit:200}")
+    private int paymentMaxLimit;
+
+    @Value("${admission.read.initial-limit:50}")
+    private int readInitialLimit;
+
+    @Value("${admission.read.min-limit:8}")
+    private int readMinLimit;
+
+    @Value("${admission.read.max-limit:500}")
+    private int readMaxLimit;
+
+    @Value("${admission.reserved-ratio:0.2}")
+    private double reservedRatio;
+
+    @Value("${admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private AdaptiveConcurrencyLimit paymentLimit;
+    private AdaptiveConcurrencyLimit readLimit;
+
+    @PostConstruct
+    public void init() {
+        paymentLimit = new AdaptiveConcurrencyLimit("payment", paymentInitialLimit, paymentMinLimit, paymentMaxLimit, reservedRatio);
+        readLimit = new AdaptiveConcurrencyLimit("read", readInitialLimit, readMinLimit, readMaxLimit, 0);
+        if (meterRegistry != null) {
+            bind(paymentLimit);
+            bind(readLimit);
+        }
+        logger.info("요청 수락 제어 초기화 - payment limit: {}, read limit: {}, reservedRatio: {}",
+                   paymentLimit.getLimit(), readLimit.getLimit(), reservedRatio);
+    }
+
+    private void bind(AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("limiter", limit.getName())
+                .register(meterRegistry);
+        Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("limiter", limit.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PAYMENT_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        boolean priority = isPriority(request);
+        AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire(priority);
+        if (permit == null) {
+            reject(response, limit, priority);
+            return;
+        }
+
+        boolean sampled = true;
+        String dropReason = "exception";
+        try {
+            filterChain.doFilter(request, response);
+            sampled = !request.isAsyncStarted();
+            dropReason = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                    ? "status-" + response.getStatus() : AdmissionOutcome.droppedReason(request);
+        } finally {
+            if (!sampled) {
+                permit.releaseWithoutSample();
+            } else {
+                if (dropReason != null) {
+                    countDrop(limit, dropReason);
+                }
+                permit.release(dropReason != null);
+            }
+        }
+    }
+
+    /**
+     * 실패로 반영한 처리 결과 기록 (gRPC 호출 수락 제어에서도 사용)
+     */
+    public void countDrop(AdaptiveConcurrencyLimit limit, String reason) {
+        if (meterRegistry != null) {
+            Counter.builder("admission.dropped")
+                    .tag("limiter", limit.getName())
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        return limitFor(HttpMethod.GET.matches(request.getMethod()));
+    }
+
+    /**
+     * 조회(read) 또는 결제(payment) 한도 - HTTP 밖(gRPC) 호출도 같은 한도를 나눠 씀
+     */
+    public AdaptiveConcurrencyLimit limitFor(boolean read) {
+        return read ? readLimit : paymentLimit;
+    }
+
+    // 신규 주문 생성과 요청 로깅만 일반 요청, 그 외 결제 요청은 진행 중인 주문에 대한 처리
+    static boolean isPriority(HttpServletRequest request) {
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(PAYMENT_PATH_PREFIX.length());
+        return !path.startsWith("create-order") && !path.startsWith("log-request");
+    }
+
+    /**
+     * 한도 초과 거절 기록 (gRPC 호출 수락 제어에서도 사용)
+     */
+    public void countRejected(AdaptiveConcurrencyLimit limit, boolean priority) {
+        if (meterRegistry != null) {
+            Counter.builder("admission.rejected")
+                    .tag("limiter", limit.getName())
+                    .tag("priority", String.valueOf(priority))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdaptiveConcurrencyLimit limit, boolean priority) throws IOException {
+        countRejected(limit, priority);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 현재 요청의 처리 결과를 요청 수락 제어에 알림
+ *
+ * 컨트롤러는 예외를 400 응답으로 바꾸므로 HTTP 상태만으로는 PG 장애/타임아웃이나 잠금 대기 초과를 구분할 수 없습니다.
+ * 서비스 계층이 이런 과부하/장애 신호를 {@link #markDropped(String)} 로 표시하면 {@link AdmissionControlFilter} 가
+ * 요청 종료 시 실패(drop)로 반영해 한도를 줄입니다. 요청 밖(스케줄러 등)에서 호출되면 무시합니다.
+ */
+public final class AdmissionOutcome {
+
+    static final String DROPPED_ATTRIBUTE = AdmissionOutcome.class.getName() + ".dropped";
+
+    private AdmissionOutcome() {
+    }
+
+    /**
+     * 현재 요청을 실패로 표시
+     *
+     * @param reason 실패 원인 (pg-error, order-lock-timeout 등)
+     */
+    public static void markDropped(String reason) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(DROPPED_ATTRIBUTE, reason, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * 실패로 표시된 원인 (없으면 null)
+     */
+    static String droppedReason(HttpServletRequest request) {
+        return (String) request.getAttribute(DROPPED_ATTRIBUTE);
+    }
+}
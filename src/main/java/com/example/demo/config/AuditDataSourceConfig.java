@@ -0,0 +1,113 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.IfInisisLog;
+import com.example.demo.repository.IfInisisLogRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 감사 로그(if_inisis_log) 전용 DataSource/트랜잭션 설정
+ *
+ * 로그 저장이 몰려도 주문 생성/승인이 쓰는 기본 커넥션 풀을 점유하지 않도록 작은 별도 풀과
+ * EntityManagerFactory, 트랜잭션 매니저를 둡니다. {@link IfInisisLogRepository} 는 이 설정으로만 동작하며,
+ * 저장은 호출한 결제 트랜잭션과 별개로 바로 커밋됩니다 (결제가 롤백돼도 PG 통신 로그는 남음).
+ *
+ * 짧은 커넥션 대기/트랜잭션 타임아웃으로 로그 풀이 고갈되면 로그 저장만 빠르게 실패하고,
+ * 호출 측(PaymentService)은 예외를 로그로 남기고 결제를 계속 진행합니다.
+ *
+ * 빈은 기본 후보(defaultCandidate)에서 제외하므로 기본 DataSource/EntityManagerFactory/트랜잭션 매니저
+ * 자동 설정은 그대로 유지됩니다. 커넥션 풀 메트릭은 hikaricp.* 메트릭에 pool=audit 태그로 노출됩니다.
+ */
+@Configuration
+@EnableJpaRepositories(
+        basePackageClasses = IfInisisLogRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = IfInisisLogRepository.class),
+        entityManagerFactoryRef = "auditEntityManagerFactory",
+        transactionManagerRef = "auditTransactionManager")
+public class AuditDataSourceConfig {
+
+    @Value("${audit.datasource.url:${spring.datasource.url}}")
+    private String url;
+
+    @Value("${audit.datasource.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${audit.datasource.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${audit.datasource.maximum-pool-size:4}")
+    private int maximumPoolSize;
+
+    @Value("${audit.datasource.connection-timeout-ms:500}")
+    private long connectionTimeoutMillis;
+
+    @Value("${audit.datasource.transaction-timeout-seconds:3}")
+    private int transactionTimeoutSeconds;
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("audit")
+    public HikariDataSource auditDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("audit");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(connectionTimeoutMillis);
+        // DB 가 내려가 있어도 기동은 기본 풀 기준으로 판단
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("audit")
+    public LocalContainerEntityManagerFactoryBean auditEntityManagerFactory(
+            EntityManagerFactoryBuilder builder, @Qualifier("audit") DataSource auditDataSource,
+            JpaProperties jpaProperties, HibernateProperties hibernateProperties) {
+        Map<String, Object> properties = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings());
+        return builder.dataSource(auditDataSource)
+                .managedTypes(PersistenceManagedTypes.of(IfInisisLog.class.getName()))
+                .persistenceUnit("audit")
+                .properties(properties)
+                .build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @Qualifier("audit")
+    public JpaTransactionManager auditTransactionManager(@Qualifier("audit") EntityManagerFactory auditEntityManagerFactory) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(auditEntityManagerFactory);
+        transactionManager.setDefaultTimeout(transactionTimeoutSeconds);
+        return transactionManager;
+    }
+
+    /**
+     * 감사 로그 외 리포지토리는 기본 EntityManagerFactory/트랜잭션 매니저 사용
+     * (@EnableJpaRepositories 를 선언하면 리포지토리 자동 설정이 꺼지므로 명시)
+     */
+    @Configuration
+    @EnableJpaRepositories(
+            basePackageClasses = IfInisisLogRepository.class,
+            excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = IfInisisLogRepository.class))
+    static class PrimaryRepositoriesConfig {
+    }
+}
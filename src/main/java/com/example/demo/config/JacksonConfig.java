@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * 공용 ObjectMapper 설정 (컨트롤러 요청/응답 바인딩, PaymentService 로그 JSON)
+ *
+ * 들여쓰기 없음/알 수 없는 필드 무시는 application.properties 의 spring.jackson.* 로 설정하고,
+ * 여기서는 리플렉션 대신 LambdaMetafactory 로 만든 접근자를 쓰는 Blackbird 모듈을 등록합니다.
+ * native-image 에서는 런타임 클래스 생성이 불가하므로 등록하지 않습니다.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+            }
+        };
+    }
+}
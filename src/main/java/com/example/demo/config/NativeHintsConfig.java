@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.CreateOrderRequest;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.InicisResponseDto;
+import com.example.demo.dto.LoginRequest;
+import com.example.demo.dto.LoginResponse;
+import com.example.demo.dto.NetworkCancelRequest;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.dto.OrderStatusResponse;
+import com.example.demo.dto.PaymentLogRequest;
+import com.example.demo.dto.PaymentRequestDto;
+import com.example.demo.dto.PaymentResultDto;
+import com.example.demo.dto.RefundRequest;
+import com.example.demo.entity.IfInisisLog;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import com.example.demo.entity.PaymentEvent;
+import com.example.demo.entity.PaymentLog;
+import com.example.demo.entity.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * GraalVM native-image 빌드용 reachability 메타데이터
+ *
+ * AOT 처리로 자동 등록되지 않는 리플렉션/리소스 접근을 등록합니다.
+ * EUC-KR 등 추가 charset 은 build.gradle 의 native 빌드 옵션(-H:+AddAllCharsets)으로 포함합니다.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.PaymentRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class PaymentRuntimeHints implements RuntimeHintsRegistrar {
+
+        // jjwt 0.11.x 는 구현 클래스를 이름으로 찾아 리플렉션으로 생성
+        private static final String[] JJWT_IMPL_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Hibernate 엔티티 (필드 접근, 기본 생성자, @PrePersist/@PreUpdate 콜백)
+            for (Class<?> entity : new Class<?>[] {Order.class, Payment.class, PaymentEvent.class, PaymentLog.class, IfInisisLog.class, User.class}) {
+                hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+
+            // Jackson 직렬화/역직렬화 대상 (DTO 및 응답 Map 에 그대로 담기는 엔티티)
+            BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                InicisResponseDto.class, PaymentResultDto.class, PaymentRequestDto.class,
+                LoginRequest.class, LoginResponse.class,
+                CreateOrderRequest.class, CreateOrderResponse.class, PaymentLogRequest.class, RefundRequest.class,
+                NetworkCancelRequest.class, OrderStatusResponse.class,
+                OrderDetailResponse.class, OrderDetailResponse.PaymentItem.class,
+                Order.class, Payment.class, PaymentLog.class, IfInisisLog.class, User.class);
+
+            // jjwt
+            for (String type : JJWT_IMPL_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            // Thymeleaf 템플릿
+            hints.resources().registerPattern("templates/order/*.html");
+        }
+    }
+}
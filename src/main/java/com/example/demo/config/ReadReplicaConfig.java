@@ -0,0 +1,89 @@
+package com.example.demo.config;
+
+import com.example.demo.datasource.ReadReplicaDataSource;
+import com.example.demo.datasource.ReplicaLagMonitor;
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 라우팅 설정 (datasource.replica.enabled=true 일 때만 적용)
+ *
+ * 기본 DataSource 를 primary + 복제본 라우팅 DataSource 로 대체합니다.
+ * {@code @Transactional(readOnly = true)} 트랜잭션은 지연 허용 범위 내 복제본으로,
+ * 그 외 트랜잭션과 트랜잭션 밖 조회는 primary 로 실행됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replica.urls}")
+    private String[] replicaUrls;
+
+    @Value("${datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.replica.max-lag-seconds:5}")
+    private double maxLagSeconds;
+
+    @Value("${datasource.replica.lag-check-interval-ms:1000}")
+    private long lagCheckIntervalMillis;
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        List<ReplicaLagMonitor.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(replicaUrls[i].trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaMaximumPoolSize);
+            replica.setReadOnly(true);
+            // 기동 시 복제본이 내려가 있어도 primary 로 대체하며 기동
+            replica.setInitializationFailTimeout(-1);
+            if (meterRegistry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            replicas.add(new ReplicaLagMonitor.Replica(name, replica));
+        }
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas, maxLagSeconds, lagCheckIntervalMillis);
+        if (meterRegistry != null) {
+            monitor.bindTo(meterRegistry);
+        }
+        return monitor;
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ReplicaLagMonitor replicaLagMonitor, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(primary, replicaLagMonitor);
+        meterRegistryProvider.ifAvailable(replicaRouting::setMeterRegistry);
+        return new ReadReplicaDataSource(primary, replicaRouting);
+    }
+}
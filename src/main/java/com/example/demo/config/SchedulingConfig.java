@@ -0,0 +1,12 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 활성화 - 방치 주문 정리, 주문 보관 등
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,17 +1,57 @@
 package com.example.demo.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
+    // actuator 운영 엔드포인트(jfr, shards, userstats, pganalytics, metrics 등) 접근 역할
+    public static final String ACTUATOR_ADMIN_ROLE = "ACTUATOR_ADMIN";
+
+    /**
+     * actuator 보안 (/actuator/**, 일반 API 체인보다 먼저 적용)
+     *
+     * health/info 는 누구나, 나머지 노출된 엔드포인트는 ACTUATOR_ADMIN 역할의 HTTP Basic 인증이 필요합니다.
+     * 관리자 비밀번호(actuator.admin.password)가 없으면 관리자 계정을 만들지 않으므로 모두 401 입니다.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                .anyRequest().hasRole(ACTUATOR_ADMIN_ROLE)
+            )
+            .httpBasic(basic -> basic.realmName("actuator"));
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors(cors -> cors.configurationSource(request -> {
@@ -31,4 +71,23 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * actuator 관리자 계정 (actuator.admin.username / actuator.admin.password, 운영은 환경 변수로 주입)
+     */
+    @Bean
+    public UserDetailsService actuatorAdminUsers(@Value("${actuator.admin.username:admin}") String username,
+                                                 @Value("${actuator.admin.password:}") String password) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (password.isBlank()) {
+            logger.warn("actuator.admin.password 가 설정되지 않아 health/info 외 actuator 엔드포인트는 모두 거부합니다");
+            return users;
+        }
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        users.createUser(User.withUsername(username)
+                .password(encoder.encode(password))
+                .roles(ACTUATOR_ADMIN_ROLE)
+                .build());
+        return users;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.config;
+
+import com.example.demo.datasource.ShardDataSources;
+import com.example.demo.datasource.ShardEndpoint;
+import com.example.demo.datasource.ShardMigrator;
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.datasource.ShardRoutingDataSource;
+import com.example.demo.datasource.ShardRoutingInterceptor;
+import com.example.demo.datasource.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 기준 수평 샤딩 설정 (shard.enabled=true 일 때만 적용)
+ *
+ * 기본 DataSource 를 샤드 라우팅 DataSource 로 대체합니다. 0번 샤드는 spring.datasource, 1번부터는 shard.urls 순서입니다.
+ * 커넥션은 첫 SQL 실행 시점에 {@link com.example.demo.datasource.ShardContext} 의 샤드로 얻으므로
+ * 서비스 메서드가 트랜잭션 시작 후 {@link ShardRouter} 로 샤드를 지정할 수 있습니다.
+ * 읽기 복제본 라우팅(datasource.replica.enabled)과는 함께 사용할 수 없습니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shard.enabled", havingValue = "true")
+public class ShardConfig {
+
+    @Value("${shard.urls}")
+    private String[] shardUrls;
+
+    @Value("${shard.username:${spring.datasource.username}}")
+    private String shardUsername;
+
+    @Value("${shard.password:${spring.datasource.password}}")
+    private String shardPassword;
+
+    @Value("${shard.maximum-pool-size:10}")
+    private int shardMaximumPoolSize;
+
+    @Value("${shard.migration.batch-size:100}")
+    private int migrationBatchSize;
+
+    @Value("${datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Bean
+    public ShardDataSources shardDataSources(DataSourceProperties properties, Environment environment,
+                                             ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("shard.enabled 와 datasource.replica.enabled 는 함께 사용할 수 없습니다.");
+        }
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(primary);
+        for (int i = 0; i < shardUrls.length; i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + (i + 1));
+            shard.setJdbcUrl(shardUrls[i].trim());
+            shard.setUsername(shardUsername);
+            shard.setPassword(shardPassword);
+            shard.setMaximumPoolSize(shardMaximumPoolSize);
+            shard.setDataSourceProperties(primary.getDataSourceProperties());
+            if (meterRegistry != null) {
+                shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            shards.add(shard);
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.all()));
+    }
+
+    // 기동 시 1번 이후 샤드 스키마/시퀀스 준비 (지연 초기화 환경에서도 생성)
+    @Bean
+    @Lazy(false)
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shardDataSources) {
+        return new ShardSchemaInitializer(shardDataSources);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    @Bean
+    public ShardMigrator shardMigrator(ShardDataSources shardDataSources, ShardRouter shardRouter) {
+        return new ShardMigrator(shardDataSources, shardRouter, migrationBatchSize);
+    }
+
+    @Bean
+    public ShardEndpoint shardEndpoint(ShardRouter shardRouter, ShardMigrator shardMigrator) {
+        return new ShardEndpoint(shardRouter, shardMigrator);
+    }
+
+    // 경로 변수(orderNo, userId)가 있는 API 는 요청 동안 해당 샤드 사용
+    @Bean
+    public WebMvcConfigurer shardRoutingConfigurer(ShardRouter shardRouter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ShardRoutingInterceptor(shardRouter));
+            }
+        };
+    }
+}
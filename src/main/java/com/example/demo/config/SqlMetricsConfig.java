@@ -0,0 +1,33 @@
+package com.example.demo.config;
+
+import com.example.demo.monitoring.SqlCountingDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    /**
+     * 모든 DataSource 빈을 {@link SqlCountingDataSource} 로 감싸 요청 단위 SQL 실행 횟수를 집계합니다.
+     * 트레이싱이 켜져 있으면 SQL 실행마다 jdbc.statement span 도 남깁니다.
+     */
+    @Bean
+    static BeanPostProcessor sqlCountingDataSourcePostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource(dataSource, observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                }
+                return bean;
+            }
+        };
+    }
+}
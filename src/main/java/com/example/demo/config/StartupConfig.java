@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+@Configuration
+public class StartupConfig {
+
+    // grpc 소스셋의 GrpcServer 빈 이름
+    static final String GRPC_SERVER_BEAN = "grpcServer";
+
+    /**
+     * 지연 초기화(spring.main.lazy-initialization=true) 사용 시 요청 경로의 빈은 기동 시점에 생성합니다.
+     *
+     * 컨트롤러와 서비스가 생성되면서 의존하는 리포지토리, EntityManagerFactory, JwtUtil 등도 함께 초기화되므로
+     * 첫 요청이 초기화 비용을 떠안지 않습니다. 그 외 요청 경로에 쓰이지 않는 빈만 지연 초기화됩니다.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter requestPathBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (beanType.isAnnotationPresent(RestController.class) || beanType.isAnnotationPresent(Service.class));
+    }
+
+    /**
+     * gRPC 서버 누락 시 기동 실패
+     *
+     * gRPC 서비스는 별도 grpc 소스셋에 있어, 빌드 구성(AOT 처리, native 이미지, main 클래스패스만으로 실행 등)에서 빠지면
+     * 오류 없이 gRPC 서버만 빠진 채 기동됩니다. grpc.server.enabled=true 인데 GrpcServer 빈이 없으면 기동을 중단합니다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+    static SmartInitializingSingleton grpcServerPresenceCheck(ListableBeanFactory beanFactory) {
+        return () -> {
+            if (!beanFactory.containsBean(GRPC_SERVER_BEAN)) {
+                throw new IllegalStateException("grpc.server.enabled=true 이지만 gRPC 서버 빈이 없습니다. "
+                        + "grpc 소스셋이 클래스패스/AOT 처리 결과에 포함됐는지 확인하세요. (사용하지 않으면 grpc.server.enabled=false)");
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import com.example.demo.monitoring.FileSpanExporter;
+import com.example.demo.monitoring.RepositoryObservationInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 분산 트레이싱 설정 (Micrometer Tracing + OpenTelemetry)
+ *
+ * <ul>
+ *   <li>HTTP 요청, RestTemplate 호출: Spring Boot 자동 설정 관측</li>
+ *   <li>PaymentService 흐름: {@code @Observed}</li>
+ *   <li>리포지토리 호출: {@link RepositoryObservationInterceptor}</li>
+ *   <li>SQL 실행: {@link com.example.demo.monitoring.SqlCountingDataSource}</li>
+ *   <li>PG HTTP 호출(callHttpPost): PaymentService 에서 직접 관측, traceparent 헤더 전파</li>
+ * </ul>
+ *
+ * 내보내기는 management.otlp.tracing.endpoint 설정 시 OTLP, tracing.file-export.enabled=true 면 JSON Lines 파일입니다.
+ * MDC 의 traceId/spanId 는 로그 패턴(%X{traceId})에서 사용합니다.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * 모든 Spring Data 리포지토리 프록시에 repository.call 관측 추가
+     */
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+                                if (!registry.isNoop()) {
+                                    proxyFactory.addAdvice(new RepositoryObservationInterceptor(
+                                            registry, repositoryInformation.getRepositoryInterface()));
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 로컬 수집기 대용 span 파일 내보내기 (OTLP 와 동시 사용 가능)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-export.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.file-export.path:logs/spans.jsonl}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
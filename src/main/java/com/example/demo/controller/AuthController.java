@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.datasource.ShardContext;
+import com.example.demo.datasource.ShardRouter;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.dto.LoginResponse;
 import com.example.demo.entity.User;
@@ -31,17 +33,21 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private ShardRouter shardRouter;
+
     /**
      * 사용자 로그인 처리
      *
      * 이메일을 통해 사용자를 조회하고 JWT 토큰을 생성하여 반환합니다.
+     * 이메일로는 샤드를 알 수 없으므로 샤딩 환경에서는 샤드마다 차례로 조회합니다.
      *
      * @param loginRequest 로그인 요청 정보 (이메일 포함)
      * @return 로그인 성공 시 JWT 토큰과 사용자 정보, 실패 시 오류 메시지
      */
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Optional<User> userOpt = userRepository.findByEmail(loginRequest.getEmail());
+        Optional<User> userOpt = shardRouter.findOnAnyShard(() -> userRepository.findByEmail(loginRequest.getEmail()));
         
         if (userOpt.isEmpty()) {
             return ResponseEntity.badRequest().body("사용자를 찾을 수 없습니다.");
@@ -83,7 +89,10 @@ public class AuthController {
             }
             
             Long userId = jwtUtil.getUserIdFromToken(token);
-            Optional<User> userOpt = userRepository.findById(userId);
+            Optional<User> userOpt;
+            try (ShardContext.Scope scope = shardRouter.useUserShard(userId)) {
+                userOpt = userRepository.findById(userId);
+            }
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.badRequest().body("사용자를 찾을 수 없습니다.");
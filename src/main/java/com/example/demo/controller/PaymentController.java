@@ -1,11 +1,30 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CreateOrderRequest;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.NetworkCancelRequest;
+import com.example.demo.dto.NetworkCancelResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.dto.OrderStatusResponse;
+import com.example.demo.dto.PaymentHistoryResponse;
+import com.example.demo.dto.PaymentLogRequest;
+import com.example.demo.dto.PointsRefundResponse;
+import com.example.demo.dto.RefundRequest;
+import com.example.demo.dto.RefundResponse;
 import com.example.demo.entity.Order;
 import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.OrderRepository.OrderVersion;
+import com.example.demo.service.OrderCacheService;
 import com.example.demo.service.PaymentService;
+import com.example.demo.stream.OrderStatusStreams;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +48,12 @@ public class PaymentController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderCacheService orderCacheService;
+
+    @Autowired
+    private OrderStatusStreams orderStatusStreams;
+
     /**
      * 새로운 주문 생성
      *
@@ -38,15 +63,10 @@ public class PaymentController {
      * @return 생성된 주문 정보 또는 오류 메시지
      */
     @PostMapping("/create-order")
-    public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> createOrder(@RequestBody CreateOrderRequest request) {
         try {
-            Long userId = Long.valueOf(request.get("userId").toString());
-            Long totalAmount = Long.valueOf(request.get("totalAmount").toString());
-            Integer pointsUsed = Integer.valueOf(request.get("pointsUsed").toString());
-            Long cardAmount = Long.valueOf(request.get("cardAmount").toString());
-            Boolean isNetworkCancelTest = Boolean.valueOf(request.getOrDefault("isNetworkCancelTest", false).toString());
-
-            Map<String, Object> result = paymentService.createOrder(userId, totalAmount, pointsUsed, cardAmount, isNetworkCancelTest);
+            CreateOrderResponse result = paymentService.createOrder(request.userId(), request.totalAmount(),
+                    request.pointsUsed(), request.cardAmount(), request.isNetworkCancelTest());
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("주문 생성 중 오류가 발생했습니다: " + e.getMessage());
@@ -62,14 +82,10 @@ public class PaymentController {
      * @return 로깅 성공/실패 응답
      */
     @PostMapping("/log-request")
-    public ResponseEntity<?> logPaymentRequest(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> logPaymentRequest(@RequestBody PaymentLogRequest request) {
         try {
-            String orderNo = (String) request.get("orderNo");
-            String requestType = (String) request.get("requestType");
-            String requestUrl = (String) request.get("requestUrl");
-            Map<String, Object> requestData = (Map<String, Object>) request.get("requestData");
-
-            paymentService.logInicisRequest(orderNo, requestType, requestUrl, requestData);
+            paymentService.logInicisRequest(request.orderNo(), request.requestType(), request.requestUrl(),
+                    request.requestData());
 
             return ResponseEntity.ok(Map.of("success", true, "message", "요청 로깅 완료"));
 
@@ -83,6 +99,7 @@ public class PaymentController {
      *
      * PG사에서 전송되는 결제 응답을 처리합니다.
      * 결제 성공/실패에 따른 후속 처리를 수행합니다.
+     * PG사/결제수단마다 전달 항목이 달라 요청 본문은 Map 으로 그대로 받습니다.
      *
      * @param params PG사에서 전송된 결제 응답 파라미터
      * @return 결제 처리 결과
@@ -102,12 +119,13 @@ public class PaymentController {
      * 주문번호로 결제 상태 조회
      *
      * 주문번호를 기반으로 해당 주문의 상태와 정보를 조회합니다.
+     * If-None-Match 가 현재 ETag 와 같으면 304 를 반환합니다.
      *
      * @param orderNo 조회할 주문번호
      * @return 주문 정보 (주문 ID, 상태, 금액 등) 또는 오류 메시지
      */
     @GetMapping("/status/order/{orderNo}")
-    public ResponseEntity<?> getPaymentStatusByOrderNo(@PathVariable String orderNo) {
+    public ResponseEntity<?> getPaymentStatusByOrderNo(@PathVariable String orderNo, WebRequest webRequest) {
         try {
             Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
             if (orderOpt.isEmpty()) {
@@ -115,54 +133,111 @@ public class PaymentController {
             }
 
             Order order = orderOpt.get();
+            String eTag = orderCacheService.orderStatusETag(order);
+            CacheControl cacheControl = orderCacheService.cacheControlFor(order.getStatus());
+            if (webRequest.checkNotModified(eTag)) {
+                return notModified(eTag, cacheControl);
+            }
 
-            return ResponseEntity.ok(Map.of(
-                "orderId", order.getId(),
-                "orderNo", order.getOrderNo(),
-                "status", order.getStatus().toString(),
-                "totalAmount", order.getTotalAmount(),
-                "cardAmount", order.getCardAmount(),
-                "pointsUsed", order.getPointsUsed(),
-                "createdAt", order.getCreatedAt(),
-                "updatedAt", order.getUpdatedAt()
-            ));
+            return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(OrderStatusResponse.from(order));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("주문 상태 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
+    /**
+     * 주문 상태 스트림 (Server-Sent Events)
+     *
+     * 연결 즉시 현재 상태를, 이후 상태가 바뀔 때마다 "status" 이벤트(본문은 상태 조회와 같은 형식)를 보냅니다.
+     * 노드당 스트림 한도에 도달했으면 503 + Retry-After 를 반환하며, 클라이언트는 상태 조회 폴링으로 대체합니다.
+     * 오류 응답은 스트림 형식이 아니므로 본문 없이 상태 코드만 반환합니다.
+     *
+     * @param orderNo 조회할 주문번호
+     * @return SSE 스트림 (주문이 없으면 400, 스트림 한도 초과 시 503)
+     */
+    @GetMapping("/status/order/{orderNo}/stream")
+    public ResponseEntity<SseEmitter> streamPaymentStatusByOrderNo(@PathVariable String orderNo) {
+        Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
+        if (orderOpt.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = orderStatusStreams.open(orderOpt.get());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(emitter);
+    }
+
     /**
      * 사용자별 주문 목록 조회
      *
      * 특정 사용자의 모든 주문 내역을 조회합니다.
+     * 주문/결제 내역이 바뀌지 않았으면(If-None-Match 일치) 목록을 만들지 않고 304 를 반환합니다.
      *
      * @param userId 조회할 사용자 ID
      * @return 사용자의 주문 목록 또는 오류 메시지
      */
     @GetMapping("/orders/{userId}")
-    public ResponseEntity<?> getOrdersByUserId(@PathVariable Long userId) {
+    public ResponseEntity<?> getOrdersByUserId(@PathVariable Long userId, WebRequest webRequest) {
         try {
-            Map<String, Object> result = paymentService.getUserPaymentHistory(userId);
-            return ResponseEntity.ok(result);
+            // 새 주문이 추가될 수 있으므로 목록은 항상 재검증
+            String eTag = orderCacheService.userOrdersETag(userId);
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (webRequest.checkNotModified(eTag)) {
+                return notModified(eTag, cacheControl);
+            }
+
+            PaymentHistoryResponse result = paymentService.getUserPaymentHistory(userId);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("주문 목록 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
+    /**
+     * 사용자 결제/적립금 누적 집계 조회
+     *
+     * 결제 내역을 합산하지 않고 결제 시점에 갱신된 집계 행을 그대로 반환합니다.
+     *
+     * @param userId 조회할 사용자 ID
+     * @return 결제/환불 금액, 적립금 사용/취소/적립 합계, 주문 상태별 주문 수 또는 오류 메시지
+     */
+    @GetMapping("/stats/{userId}")
+    public ResponseEntity<?> getUserPaymentStats(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(paymentService.getUserPaymentStats(userId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("결제 집계 조회 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
     /**
      * 주문 상세 정보 조회
      *
      * 주문번호를 기반으로 주문의 상세 정보와 결제 내역을 조회합니다.
+     * 주문/결제 내역이 바뀌지 않았으면(If-None-Match 일치) 상세 정보를 만들지 않고 304 를 반환합니다.
      *
      * @param orderNo 조회할 주문번호
      * @return 주문 상세 정보 (결제 내역 포함) 또는 오류 메시지
      */
     @GetMapping("/order-detail/{orderNo}")
-    public ResponseEntity<?> getOrderDetail(@PathVariable String orderNo) {
+    public ResponseEntity<?> getOrderDetail(@PathVariable String orderNo, WebRequest webRequest) {
         try {
-            Map<String, Object> result = paymentService.getOrderDetailWithPayments(orderNo);
-            return ResponseEntity.ok(result);
+            OrderVersion version = orderCacheService.findOrderDetailVersion(orderNo);
+            if (version == null) {
+                return ResponseEntity.ok(paymentService.getOrderDetailWithPayments(orderNo));
+            }
+
+            String eTag = orderCacheService.orderDetailETag(version);
+            CacheControl cacheControl = orderCacheService.cacheControlFor(version.getStatus());
+            if (webRequest.checkNotModified(eTag)) {
+                return notModified(eTag, cacheControl);
+            }
+
+            OrderDetailResponse result = paymentService.getOrderDetailWithPayments(orderNo);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("주문 상세 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
@@ -178,10 +253,9 @@ public class PaymentController {
      * @return 환불 처리 결과 또는 오류 메시지
      */
     @PostMapping("/refund/order/{orderNo}")
-    public ResponseEntity<?> refundOrder(@PathVariable String orderNo, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> refundOrder(@PathVariable String orderNo, @RequestBody RefundRequest request) {
         try {
-            String reason = (String) request.get("reason");
-            Map<String, Object> result = paymentService.refundPaymentByOrderNo(orderNo, reason, "127.0.0.1");
+            RefundResponse result = paymentService.refundPaymentByOrderNo(orderNo, request.reason(), "127.0.0.1");
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("환불 처리 중 오류가 발생했습니다: " + e.getMessage());
@@ -198,10 +272,9 @@ public class PaymentController {
      * @return 적립금 환불 처리 결과 또는 오류 메시지
      */
     @PostMapping("/refund/points/{orderNo}")
-    public ResponseEntity<?> refundPoints(@PathVariable String orderNo, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> refundPoints(@PathVariable String orderNo, @RequestBody RefundRequest request) {
         try {
-            String reason = (String) request.get("reason");
-            Map<String, Object> result = paymentService.refundPointsByOrderNo(orderNo, reason);
+            PointsRefundResponse result = paymentService.refundPointsByOrderNo(orderNo, request.reason());
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("적립금 환불 처리 중 오류가 발생했습니다: " + e.getMessage());
@@ -238,15 +311,17 @@ public class PaymentController {
      * @return 망취소 처리 결과 (성공/실패, 취소 금액, PG사 정보 등)
      */
     @PostMapping("/network-cancel/{orderNo}")
-    public ResponseEntity<?> networkCancel(@PathVariable String orderNo, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> networkCancel(@PathVariable String orderNo, @RequestBody NetworkCancelRequest request) {
         try {
-            String reason = (String) request.getOrDefault("reason", "고객 요청");
-            String clientIp = (String) request.getOrDefault("clientIp", "127.0.0.1");
-
-            Map<String, Object> result = paymentService.performNetworkCancel(orderNo, reason, clientIp);
+            NetworkCancelResponse result = paymentService.performNetworkCancel(orderNo, request.reason(), request.clientIp());
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("망취소 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // 304 응답에도 ETag 와 Cache-Control 을 함께 내려 클라이언트 캐시 수명을 갱신
+    private ResponseEntity<?> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.datasource.ShardContext;
+import com.example.demo.datasource.ShardRouter;
 import com.example.demo.entity.User;
 import com.example.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,20 +25,37 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ShardRouter shardRouter;
+
     /**
      * 새로운 사용자 등록
      *
      * 이메일 중복 체크를 수행한 후 사용자를 등록합니다.
+     * 샤딩 환경에서는 0번 샤드 시퀀스로 ID 를 먼저 받아 그 ID 의 샤드에 저장합니다.
      *
      * @param user 등록할 사용자 정보
      * @return 등록된 사용자 정보 또는 오류 응답
      */
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
+        if (shardRouter.existsOnAnyShard(() -> userRepository.existsByEmail(user.getEmail()))) {
             return ResponseEntity.badRequest().build();
         }
+        if (shardRouter.isEnabled()) {
+            return ResponseEntity.ok(saveOnUserShard(user));
+        }
         User savedUser = userRepository.save(user);
         return ResponseEntity.ok(savedUser);
     }
+
+    private User saveOnUserShard(User user) {
+        try (ShardContext.Scope scope = shardRouter.useShard(0)) {
+            user.setId(userRepository.nextId());
+        }
+        try (ShardContext.Scope scope = shardRouter.useUserShard(user.getId())) {
+            userRepository.insertWithId(user);
+            return userRepository.findById(user.getId()).orElseThrow();
+        }
+    }
 }
\ No newline at end of file
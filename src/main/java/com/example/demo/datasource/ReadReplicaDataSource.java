@@ -0,0 +1,29 @@
+package com.example.demo.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * primary/복제본 라우팅 DataSource
+ *
+ * 실제 커넥션은 첫 SQL 실행 시점에 획득하므로, 트랜잭션 시작 시 설정된 read-only 여부에 따라
+ * 읽기 전용 트랜잭션은 {@link ReplicaRoutingDataSource} 로, 그 외는 primary 로 연결됩니다.
+ */
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+
+    public ReadReplicaDataSource(DataSource primary, DataSource readOnlyDataSource) {
+        super(primary);
+        setReadOnlyDataSource(readOnlyDataSource);
+        this.primary = primary;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
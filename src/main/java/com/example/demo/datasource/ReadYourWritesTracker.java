@@ -0,0 +1,109 @@
+package com.example.demo.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자/주문 단위 최근 쓰기 기록 (read-your-writes)
+ *
+ * 주문/결제를 바꾸는 서비스가 {@link #recordWriteAfterCommit(String...)} 로 사용자/주문 키를 기록하고,
+ * 조회 메서드는 {@link #routeToPrimaryIfRecentlyWritten(String...)} 로 기록된 키를 확인해
+ * 복제본 지연 시간 동안 자신이 쓴 데이터를 못 보는 일이 없도록 현재 트랜잭션을 primary 로 보냅니다.
+ *
+ * 인스턴스 메모리에 기록하므로 같은 사용자의 쓰기/조회가 다른 인스턴스로 가면 보장되지 않습니다.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    // 만료 기록 정리 기준 건수
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    @Value("${datasource.replica.read-your-writes-window-ms:5000}")
+    private long windowMillis;
+
+    public static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String orderKey(String orderNo) {
+        return "order:" + orderNo;
+    }
+
+    /**
+     * 쓰기 기록
+     */
+    public void recordWrite(String key) {
+        long now = System.currentTimeMillis();
+        lastWrites.put(key, now);
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowMillis);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 쓰기 기록 (트랜잭션 밖이면 바로 기록, 롤백되면 기록하지 않음)
+     *
+     * 같은 트랜잭션의 키는 모아서 커밋 후 한 번에 기록합니다.
+     */
+    public void recordWriteAfterCommit(String... keys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (String key : keys) {
+                recordWrite(key);
+            }
+            return;
+        }
+        PendingWrites pending = (PendingWrites) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingWrites();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        Collections.addAll(pending.keys, keys);
+    }
+
+    /**
+     * 최근(window 이내) 쓰기 여부
+     */
+    public boolean recentlyWritten(String key) {
+        Long writtenAt = lastWrites.get(key);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= windowMillis;
+    }
+
+    /**
+     * 키 중 하나라도 최근에 쓰였으면 현재 읽기 전용 트랜잭션을 primary 로 라우팅
+     *
+     * 트랜잭션 안에서 첫 SQL 실행 전에 호출해야 합니다.
+     */
+    public void routeToPrimaryIfRecentlyWritten(String... keys) {
+        for (String key : keys) {
+            if (recentlyWritten(key)) {
+                ReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+                return;
+            }
+        }
+    }
+
+    private final class PendingWrites implements TransactionSynchronization {
+        final Set<String> keys = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            keys.forEach(ReadYourWritesTracker.this::recordWrite);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 복제본 지연(replication lag) 감시
+ *
+ * 주기적으로 각 복제본의 마지막 WAL 재생 시각을 조회해 허용 지연을 넘거나 조회에 실패한 복제본을
+ * 라우팅 대상에서 제외합니다. 받은 WAL 을 모두 재생한 상태면 쓰기가 없어도 지연 0 으로 보고,
+ * 재생할 WAL 이 남았는데 재생한 트랜잭션이 없으면(기동 직후) 지연을 알 수 없으므로 제외합니다.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 'Infinity'::float8) END";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(List<Replica> replicas, double maxLagSeconds, long checkIntervalMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        refresh();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::refresh, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 복제본별 지연 게이지 등록 (datasource.replica.lag, 조회 실패 시 -1)
+     */
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.available ? r.lagSeconds : -1)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 전체 복제본 지연 재조회
+     */
+    public void refresh() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    /**
+     * 라우팅 가능한(지연 허용 범위 내) 복제본 목록
+     */
+    public List<Replica> healthyReplicas() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.available && replica.lagSeconds <= maxLagSeconds) {
+                healthy.add(replica);
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * 커넥션 획득 실패 등으로 다음 조회까지 복제본 제외
+     */
+    public void markUnavailable(Replica replica, Exception cause) {
+        if (replica.available) {
+            logger.warn("복제본 라우팅 제외: {} ({})", replica.name, cause.getMessage());
+        }
+        replica.available = false;
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            if (lagSeconds > maxLagSeconds && replica.lagSeconds <= maxLagSeconds) {
+                logger.warn("복제본 지연 허용치 초과, primary 로 대체: {} lag={}s", replica.name, lagSeconds);
+            }
+            replica.lagSeconds = lagSeconds;
+            replica.available = true;
+        } catch (Exception e) {
+            markUnavailable(replica, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("복제본 커넥션 풀 종료 실패: {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 복제본 DataSource 와 최근 지연 상태
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile double lagSeconds;
+        private volatile boolean available;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+    }
+}
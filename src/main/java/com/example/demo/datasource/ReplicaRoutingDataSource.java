@@ -0,0 +1,103 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션용 DataSource - 지연 허용 범위 내 복제본을 라운드로빈으로 선택
+ *
+ * 다음 경우에는 primary 커넥션을 반환합니다.
+ * <ul>
+ *   <li>현재 트랜잭션이 read-your-writes 로 primary 고정된 경우</li>
+ *   <li>지연 허용 범위 내 복제본이 없는 경우</li>
+ *   <li>복제본 커넥션 획득에 실패한 경우 (해당 복제본은 다음 지연 조회까지 제외)</li>
+ * </ul>
+ * 라우팅 결과는 datasource.routing 카운터(target: primary 또는 복제본 이름, reason)로 집계합니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger next = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 현재 트랜잭션의 읽기를 primary 로 고정 (트랜잭션 종료 시 해제)
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || PRIMARY_PINNED.get() != null) {
+            return;
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARY_PINNED.remove();
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(username, password);
+    }
+
+    // username 이 null 이면 대상 DataSource 의 설정 계정 사용
+    private Connection route(String username, String password) throws SQLException {
+        if (PRIMARY_PINNED.get() != null) {
+            return primary("read-your-writes", username, password);
+        }
+        List<ReplicaLagMonitor.Replica> healthy = lagMonitor.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return primary("replica-lag", username, password);
+        }
+        ReplicaLagMonitor.Replica replica = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        try {
+            Connection connection = connect(replica.getDataSource(), username, password);
+            count(replica.getName(), "read-only");
+            return connection;
+        } catch (SQLException e) {
+            lagMonitor.markUnavailable(replica, e);
+            return primary("replica-error", username, password);
+        }
+    }
+
+    private Connection primary(String reason, String username, String password) throws SQLException {
+        count("primary", reason);
+        return connect(primary, username, password);
+    }
+
+    private static Connection connect(DataSource target, String username, String password) throws SQLException {
+        return username != null ? target.getConnection(username, password) : target.getConnection();
+    }
+
+    private void count(String target, String reason) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("datasource.routing", "target", target, "reason", reason).increment();
+        }
+    }
+}
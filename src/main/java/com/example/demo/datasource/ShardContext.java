@@ -0,0 +1,73 @@
+package com.example.demo.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호 ({@link ShardRoutingDataSource} 가 커넥션을 얻을 때 참조)
+ *
+ * 지정하지 않으면 0번(기본) 샤드를 사용합니다.
+ * 커넥션은 트랜잭션의 첫 SQL 실행 시점에 정해지므로, 트랜잭션 안에서는 첫 SQL 전에 지정해야 합니다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 현재 지정된 샤드 (없으면 null)
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Scope 를 닫을 때까지 shard 사용 (닫으면 이전 지정으로 복원)
+     */
+    public static Scope use(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * 현재 트랜잭션이 끝날 때까지 shard 사용
+     *
+     * @throws IllegalStateException 트랜잭션 밖이거나, 이미 다른 샤드가 지정된 경우
+     */
+    public static void useForCurrentTransaction(int shard) {
+        Integer current = CURRENT.get();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException(current + "번 샤드를 사용 중인 작업에서 " + shard + "번 샤드 데이터를 다룰 수 없습니다.");
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("샤드 지정은 트랜잭션 안에서만 가능합니다.");
+        }
+        CURRENT.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    /**
+     * 샤드 지정 범위 (try-with-resources)
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.datasource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 샤드별 DataSource 목록 (0번은 spring.datasource 기본 DB)
+ *
+ * 라우팅을 거치지 않고 특정 샤드에 직접 SQL 을 실행할 때(레거시 주문 위치 조회, 샤드 이동 도구) 사용합니다.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<DataSource> shards;
+
+    public ShardDataSources(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public List<DataSource> all() {
+        return shards;
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
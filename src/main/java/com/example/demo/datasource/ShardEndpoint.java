@@ -0,0 +1,51 @@
+package com.example.demo.datasource;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 운영자용 샤드 배치 조회/이동 엔드포인트 (/actuator/shards)
+ *
+ * GET 은 현재 버킷 배치와 이동 중인 버킷, POST {"fromBucket":512,"toBucket":767,"shard":2} 는 {@link ShardMigrator} 로 버킷을 이동합니다.
+ * DELETE 는 이동 도중 인스턴스가 종료되어 shard_layout 에 남은 이동 표시(요청 거부)를 해제합니다. (같은 이동을 다시 실행해 데이터 정리)
+ * 이동 중에는 해당 버킷 요청이 거부됩니다. prd/stg 에 노출되며 ACTUATOR_ADMIN 역할의 HTTP Basic 인증이 필요합니다
+ * ({@link com.example.demo.config.SecurityConfig}, shard.enabled=true 일 때만 등록).
+ */
+@Endpoint(id = "shards")
+public class ShardEndpoint {
+
+    private final ShardRouter shardRouter;
+    private final ShardMigrator shardMigrator;
+
+    public ShardEndpoint(ShardRouter shardRouter, ShardMigrator shardMigrator) {
+        this.shardRouter = shardRouter;
+        this.shardMigrator = shardMigrator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> bucketRanges() {
+        // 이동 중인 버킷이 없으면 null 이라 Map.of 대신 사용
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("shards", shardRouter.shardCount());
+        result.put("buckets", ShardRouter.BUCKETS);
+        result.put("bucketRanges", shardRouter.describeBucketRanges());
+        result.put("movingBuckets", shardRouter.describeMovingBuckets());
+        return result;
+    }
+
+    @WriteOperation
+    public ShardMigrator.Result move(int fromBucket, int toBucket, int shard) {
+        return shardMigrator.moveBuckets(fromBucket, toBucket, shard);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clearMove() {
+        shardRouter.endMove();
+        return bucketRanges();
+    }
+}
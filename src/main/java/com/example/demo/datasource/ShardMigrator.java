@@ -0,0 +1,210 @@
+package com.example.demo.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 버킷 단위 샤드 이동(재샤딩) 도구
+ *
+ * 버킷 범위에 속한 사용자의 데이터(사용자, 결제 집계, 주문, 결제, 결제 로그, 결제 이벤트, 보관 테이블)를
+ * 지금 있는 샤드에서 대상 샤드로 옮기고 {@link ShardRouter#assign} 으로 라우팅을 바꿉니다.
+ * <ol>
+ *   <li>이동하는 버킷의 요청 거부 시작, 처리 중인 요청이 끝나기를 기다림 ({@link ShardRouter#beginMove})</li>
+ *   <li>사용자 batch-size 명씩 원래 샤드의 행을 FOR UPDATE 로 잠근 채 대상 샤드에 복사(id 유지, 이미 있는 행은 건너뜀)해 커밋하고,
+ *       잠금을 유지한 원래 샤드 트랜잭션에서 복사한 행만 기본 키로 삭제</li>
+ *   <li>옮긴 사용자를 한 번 더 훑어 복사 후 들어온 행이 남아 있으면 마저 이동</li>
+ *   <li>버킷 배치 변경(shard_layout, 모든 인스턴스에 적용) 후 요청 거부 해제</li>
+ * </ol>
+ * 복사와 삭제는 샤드별 트랜잭션이라 중간에 실패하면 두 샤드에 같은 행이 남을 수 있으며, 같은 이동을 다시 실행하면 이어서 정리됩니다.
+ * 다른 인스턴스의 처리 중인 요청은 기다릴 수 없으므로 인스턴스가 하나일 때만 실행됩니다.
+ * 버킷 표기가 없는 기존 주문번호 요청은 거부하지 못하므로 이동 중에는 PG 콜백이 들어오지 않는 시간대에 실행합니다.
+ */
+public class ShardMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardMigrator.class);
+
+    // 복사 순서 (삭제는 역순, 주문을 지우기 전에 주문번호로 찾는 행부터) - 테이블, 기본 키, 이동할 사용자(?: user id 배열)의 행 조건
+    private static final List<Table> TABLES = List.of(
+            new Table("users", "id", "id = ANY(?)"),
+            new Table("user_payment_stats", "user_id", "user_id = ANY(?)"),
+            new Table("orders", "id", "user_id = ANY(?)"),
+            new Table("payments", "id", "order_no IN (SELECT order_no FROM orders WHERE user_id = ANY(?))"),
+            new Table("payment_logs", "id", "order_id IN (SELECT id FROM orders WHERE user_id = ANY(?))"),
+            new Table("payment_events", "id", "user_id = ANY(?)"),
+            new Table("orders_archive", "id", "user_id = ANY(?)"),
+            new Table("payments_archive", "id", "order_no IN (SELECT order_no FROM orders_archive WHERE user_id = ANY(?))"),
+            new Table("payment_logs_archive", "id", "order_id IN (SELECT id FROM orders_archive WHERE user_id = ANY(?))"),
+            new Table("payment_events_archive", "id", "user_id = ANY(?)")
+    );
+
+    private record Table(String name, String key, String condition) {
+    }
+
+    private final ShardDataSources shardDataSources;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    public ShardMigrator(ShardDataSources shardDataSources, ShardRouter shardRouter, int batchSize) {
+        this.shardDataSources = shardDataSources;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 버킷 범위(fromBucket ~ toBucket)를 targetShard 로 이동
+     *
+     * @return 이동한 사용자 수, 테이블별 행 수, 변경된 버킷 배치
+     * @throws IllegalStateException 범위/샤드 번호가 잘못됐거나, 이미 다른 이동이 진행 중이거나, 다른 인스턴스가 실행 중인 경우
+     */
+    public Result moveBuckets(int fromBucket, int toBucket, int targetShard) {
+        shardRouter.beginMove(fromBucket, toBucket);
+        try {
+            Map<String, Integer> rows = new LinkedHashMap<>();
+            int users = 0;
+            for (int shard = 0; shard < shardDataSources.size(); shard++) {
+                if (shard != targetShard) {
+                    users += moveUsers(shard, targetShard, fromBucket, toBucket, rows);
+                }
+            }
+            shardRouter.assign(fromBucket, toBucket, targetShard);
+            String bucketRanges = shardRouter.describeBucketRanges();
+            logger.info("샤드 이동 완료: 버킷 {}-{} → {}번 샤드, 사용자 {}명, {} (버킷 배치 {})",
+                    fromBucket, toBucket, targetShard, users, rows, bucketRanges);
+            return new Result(users, rows, bucketRanges);
+        } finally {
+            shardRouter.endMove();
+        }
+    }
+
+    // sourceShard 에서 버킷 범위 사용자를 batch-size 명씩 이동 (user id 키셋 순서)
+    private int moveUsers(int sourceShard, int targetShard, int fromBucket, int toBucket, Map<String, Integer> rows) {
+        JdbcTemplate source = new JdbcTemplate(shardDataSources.get(sourceShard));
+        List<Long[]> batches = new ArrayList<>();
+        int moved = 0;
+        long lastId = 0L;
+        List<Long> ids;
+        do {
+            ids = source.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            Long[] moving = ids.stream()
+                    .filter(id -> {
+                        int bucket = ShardRouter.bucketOfUser(id);
+                        return bucket >= fromBucket && bucket <= toBucket;
+                    })
+                    .toArray(Long[]::new);
+            if (moving.length > 0) {
+                moveBatch(sourceShard, targetShard, moving, rows);
+                batches.add(moving);
+                moved += moving.length;
+            }
+        } while (ids.size() == batchSize);
+
+        // 복사한 뒤 들어온 행은 삭제하지 않고 남겨 두므로 옮긴 사용자를 다시 훑어 마저 이동 (요청 거부 중이라 보통 0건)
+        Map<String, Integer> remaining = new LinkedHashMap<>();
+        for (Long[] batch : batches) {
+            moveBatch(sourceShard, targetShard, batch, remaining);
+        }
+        remaining.values().removeIf(count -> count == 0);
+        if (!remaining.isEmpty()) {
+            logger.warn("샤드 이동: {}번 샤드에서 복사 후 들어온 행 추가 이동 {}", sourceShard, remaining);
+            remaining.forEach((table, count) -> rows.merge(table, count, Integer::sum));
+        }
+        if (moved > 0) {
+            logger.info("샤드 이동: {}번 → {}번 샤드 사용자 {}명", sourceShard, targetShard, moved);
+        }
+        return moved;
+    }
+
+    // 원래 샤드 트랜잭션에서 이동할 행을 FOR UPDATE 로 잠근 채 대상 샤드에 복사 커밋 후, 복사한 행만 기본 키로 삭제
+    // (조건으로 다시 지우면 복사와 삭제 사이에 들어온 행까지 지워짐)
+    private void moveBatch(int sourceShard, int targetShard, Long[] userIds, Map<String, Integer> rows) {
+        DataSource sourceDataSource = shardDataSources.get(sourceShard);
+        DataSource targetDataSource = shardDataSources.get(targetShard);
+        JdbcTemplate source = new JdbcTemplate(sourceDataSource);
+        JdbcTemplate target = new JdbcTemplate(targetDataSource);
+
+        new TransactionTemplate(new DataSourceTransactionManager(sourceDataSource)).executeWithoutResult(sourceStatus -> {
+            Map<Table, Long[]> copied = new HashMap<>();
+            new TransactionTemplate(new DataSourceTransactionManager(targetDataSource)).executeWithoutResult(targetStatus -> {
+                for (Table table : TABLES) {
+                    Long[] keys = copy(source, target, table, userIds);
+                    copied.put(table, keys);
+                    rows.merge(table.name(), keys.length, Integer::sum);
+                }
+            });
+
+            List<Table> reversed = new ArrayList<>(TABLES);
+            Collections.reverse(reversed);
+            for (Table table : reversed) {
+                Long[] keys = copied.get(table);
+                if (keys.length > 0) {
+                    source.update("DELETE FROM " + table.name() + " WHERE " + table.key() + " = ANY(?)", (Object) keys);
+                }
+            }
+        });
+    }
+
+    // 조건에 맞는 행을 잠그고 컬럼 그대로 복사 (같은 키가 이미 있으면 건너뜀), 복사한 행의 기본 키 반환
+    private static Long[] copy(JdbcTemplate source, JdbcTemplate target, Table table, Long[] userIds) {
+        List<String> columns = new ArrayList<>();
+        ResultSetExtractor<List<Object[]>> extractor = rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnName(i));
+            }
+            List<Object[]> result = new ArrayList<>();
+            while (rs.next()) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                result.add(row);
+            }
+            return result;
+        };
+        List<Object[]> values = source.query("SELECT * FROM " + table.name() + " WHERE " + table.condition() + " FOR UPDATE",
+                extractor, args(table.condition(), userIds));
+        if (values == null || values.isEmpty()) {
+            return new Long[0];
+        }
+        String insert = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON CONFLICT DO NOTHING";
+        target.batchUpdate(insert, values);
+        int key = columns.indexOf(table.key());
+        return values.stream().map(row -> ((Number) row[key]).longValue()).toArray(Long[]::new);
+    }
+
+    // 조건의 ? 마다 user id 배열
+    private static Object[] args(String condition, Long[] userIds) {
+        Object[] args = new Object[(int) condition.chars().filter(c -> c == '?').count()];
+        Arrays.fill(args, userIds);
+        return args;
+    }
+
+    /**
+     * 이동 결과
+     *
+     * @param users 이동한 사용자 수
+     * @param rows 테이블별 복사한 행 수
+     * @param bucketRanges 변경된 버킷 배치 (shard_layout 에 저장되어 모든 인스턴스에 적용됨)
+     */
+    public record Result(int users, Map<String, Integer> rows, String bucketRanges) {
+    }
+}
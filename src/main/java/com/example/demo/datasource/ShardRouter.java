@@ -0,0 +1,565 @@
+package com.example.demo.datasource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 기준 샤드 라우팅
+ *
+ * userId 해시로 1024개 버킷 중 하나를 정하고, 버킷 → 샤드 배치(shard.bucket-ranges)로 물리 DB 를 정합니다.
+ * 사용자, 주문, 결제, 결제 로그(보관 테이블 포함)는 사용자의 샤드에 함께 저장합니다.
+ * 주문번호에 버킷을 넣어({@link #orderNoTag(long)}) PG 콜백처럼 주문번호만 있는 요청도 조회 없이 샤드를 정합니다.
+ * 버킷 표기가 없는 기존 주문번호는 샤드마다 주문을 찾아보고 결과를 캐시합니다.
+ * {@link ShardMigrator} 가 버킷을 옮기는 동안 해당 버킷의 사용자/주문 요청은 거부합니다.
+ *
+ * 버킷 배치와 이동 중인 버킷은 0번 샤드의 shard_layout 에 두고 모든 인스턴스가 shard.layout-refresh-ms 마다 다시 읽습니다.
+ * shard.bucket-ranges 는 shard_layout 이 비어 있을 때 처음 한 번만 저장됩니다. (sql/create_shard_layout.sql)
+ * 인스턴스마다 shard_instances 에 heartbeat 를 남기며, 다른 인스턴스가 실행 중이면 샤드 이동을 거부합니다.
+ *
+ * shard.enabled=false 면 라우팅은 아무 것도 하지 않고(단일 DB) 주문번호 버킷 표기만 남깁니다.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+
+    // 논리 버킷 수 (재샤딩은 버킷 단위로 샤드를 옮김)
+    public static final int BUCKETS = 1024;
+
+    // 샤드별 ID 시퀀스 구간 (n번 샤드는 n * ID_RANGE_PER_SHARD 부터 채번) - 샤드 이동 시 id 충돌 방지
+    public static final long ID_RANGE_PER_SHARD = 1_000_000_000_000_000L;
+
+    // 주문번호 버킷 표기: ORD{epoch millis}S{버킷 16진수 3자리}{UUID 8자리}
+    private static final String ORDER_NO_PREFIX = "ORD";
+    private static final char BUCKET_MARK = 'S';
+
+    private static final ShardContext.Scope NO_SCOPE = () -> { };
+
+    @Autowired(required = false)
+    private ShardDataSources shardDataSources;
+
+    @Value("${shard.enabled:false}")
+    private boolean enabled;
+
+    @Value("${shard.bucket-ranges:}")
+    private String bucketRanges;
+
+    @Value("${shard.legacy-order-cache-size:10000}")
+    private int legacyOrderCacheSize;
+
+    // 다른 인스턴스의 heartbeat 가 이 시간 안에 있으면 실행 중으로 봄 (주기 작업이 밀려도 넘지 않을 만큼 여유 있게)
+    @Value("${shard.instance-timeout-ms:60000}")
+    private long instanceTimeoutMs;
+
+    // 샤드 이동 시작 시 이 인스턴스에서 해당 버킷을 처리 중인 트랜잭션/Scope 가 끝나기를 기다리는 최대 시간
+    @Value("${shard.move-drain-timeout-ms:30000}")
+    private long moveDrainTimeoutMs;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 버킷 → 샤드 (shard_layout 에서 읽음)
+    private volatile int[] shardOfBucket = new int[BUCKETS];
+
+    // 샤드 이동 중인 버킷 범위 (없으면 null)
+    private volatile BucketRange movingBuckets;
+
+    // 마지막으로 적용한 shard_layout.version
+    private long layoutVersion = -1;
+
+    // 버킷별 이 인스턴스에서 처리 중인 트랜잭션/Scope 수
+    private final AtomicIntegerArray inFlight = new AtomicIntegerArray(BUCKETS);
+
+    private final Map<String, Integer> legacyOrderShards = new ConcurrentHashMap<>();
+
+    private JdbcTemplate layoutJdbcTemplate;
+
+    @PostConstruct
+    void loadBucketRanges() {
+        if (!enabled) {
+            return;
+        }
+        if (shardDataSources == null) {
+            throw new IllegalStateException("shard.enabled=true 인데 샤드 DataSource 설정이 없습니다.");
+        }
+        layoutJdbcTemplate = new JdbcTemplate(shardDataSources.get(0));
+        createLayoutTables();
+        String configured = describeBucketRanges(bucketRanges.isBlank()
+                ? evenRanges(shardDataSources.size())
+                : parseBucketRanges(bucketRanges, shardDataSources.size()));
+        layoutJdbcTemplate.update("INSERT INTO shard_layout (id, bucket_ranges, version) VALUES (1, ?, 1) ON CONFLICT (id) DO NOTHING",
+                configured);
+        heartbeat();
+        loadLayout();
+        if (!bucketRanges.isBlank() && !configured.equals(describeBucketRanges())) {
+            logger.warn("shard.bucket-ranges({}) 대신 shard_layout 의 버킷 배치를 사용합니다.", bucketRanges);
+        }
+        if (movingBuckets != null) {
+            logger.warn("{} 버킷이 샤드 이동 중으로 표시되어 있습니다. 중단된 이동이면 DELETE /actuator/shards 로 해제합니다.", movingBuckets);
+        }
+        logger.info("샤드 라우팅: {}개 샤드, 버킷 배치 {}", shardDataSources.size(), describeBucketRanges());
+    }
+
+    /**
+     * heartbeat 갱신 후 shard_layout 이 바뀌었으면 버킷 배치/이동 상태 다시 적용
+     */
+    @Scheduled(fixedDelayString = "${shard.layout-refresh-ms:1000}",
+               initialDelayString = "${shard.layout-refresh-ms:1000}")
+    void refreshLayout() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            heartbeat();
+            loadLayout();
+        } catch (DataAccessException e) {
+            logger.warn("샤드 배치 갱신 실패 (마지막으로 읽은 배치 사용): {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void unregisterInstance() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            layoutJdbcTemplate.update("DELETE FROM shard_instances WHERE instance_id = ?", instanceId);
+        } catch (DataAccessException e) {
+            logger.warn("샤드 인스턴스 등록 해제 실패: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int shardCount() {
+        return enabled ? shardDataSources.size() : 1;
+    }
+
+    /**
+     * userId 의 버킷 (피보나치 해시 상위 10비트)
+     */
+    public static int bucketOfUser(long userId) {
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - 10));
+    }
+
+    /**
+     * 주문번호에 넣을 버킷 표기 ("S" + 버킷 16진수 3자리)
+     */
+    public static String orderNoTag(long userId) {
+        return BUCKET_MARK + String.format("%03x", bucketOfUser(userId));
+    }
+
+    /**
+     * 주문번호의 버킷 (표기가 없는 기존 주문번호면 -1)
+     */
+    public static int bucketOfOrderNo(String orderNo) {
+        if (orderNo == null || !orderNo.startsWith(ORDER_NO_PREFIX)) {
+            return -1;
+        }
+        int mark = ORDER_NO_PREFIX.length();
+        while (mark < orderNo.length() && Character.isDigit(orderNo.charAt(mark))) {
+            mark++;
+        }
+        if (mark + 4 > orderNo.length() || orderNo.charAt(mark) != BUCKET_MARK) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(orderNo, mark + 1, mark + 4, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int shardOfUser(Long userId) {
+        return enabled ? shardOfBucket[bucketOfUser(userId)] : 0;
+    }
+
+    public int shardOfOrder(String orderNo) {
+        if (!enabled) {
+            return 0;
+        }
+        int bucket = bucketOfOrderNo(orderNo);
+        return bucket >= 0 ? shardOfBucket[bucket] : legacyOrderShard(orderNo);
+    }
+
+    /**
+     * 현재 트랜잭션을 사용자의 샤드로 지정 (트랜잭션 안에서 첫 SQL 실행 전에 호출)
+     */
+    public void routeUser(Long userId) {
+        if (enabled && userId != null) {
+            enterForCurrentTransaction(bucketOfUser(userId), shardOfUser(userId));
+        }
+    }
+
+    /**
+     * 현재 트랜잭션을 주문의 샤드로 지정 (트랜잭션 안에서 첫 SQL 실행 전에 호출)
+     */
+    public void routeOrder(String orderNo) {
+        if (enabled && orderNo != null) {
+            enterForCurrentTransaction(bucketOfOrderNo(orderNo), shardOfOrder(orderNo));
+        }
+    }
+
+    /**
+     * 트랜잭션 밖(컨트롤러, gRPC, 배치)에서 Scope 를 닫을 때까지 사용자의 샤드 사용
+     */
+    public ShardContext.Scope useUserShard(Long userId) {
+        if (!enabled || userId == null) {
+            return NO_SCOPE;
+        }
+        return enterScope(bucketOfUser(userId), shardOfUser(userId));
+    }
+
+    public ShardContext.Scope useOrderShard(String orderNo) {
+        if (!enabled || orderNo == null) {
+            return NO_SCOPE;
+        }
+        return enterScope(bucketOfOrderNo(orderNo), shardOfOrder(orderNo));
+    }
+
+    public ShardContext.Scope useShard(int shard) {
+        return enabled ? ShardContext.use(shard) : NO_SCOPE;
+    }
+
+    /**
+     * 샤드마다 work 실행 (배치 작업용, 샤드 번호 순)
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            try (ShardContext.Scope scope = useShard(shard)) {
+                work.accept(shard);
+            }
+        }
+    }
+
+    /**
+     * 샤드 키 없이 찾는 조회 (이메일 로그인 등) - 샤드 순서대로 찾아 처음 결과 반환
+     */
+    public <T> Optional<T> findOnAnyShard(Supplier<Optional<T>> query) {
+        for (int shard = 0; shard < shardCount(); shard++) {
+            try (ShardContext.Scope scope = useShard(shard)) {
+                Optional<T> found = query.get();
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean existsOnAnyShard(BooleanSupplier query) {
+        return findOnAnyShard(() -> query.getAsBoolean() ? Optional.of(Boolean.TRUE) : Optional.empty()).isPresent();
+    }
+
+    /**
+     * 버킷 범위의 요청 거부 시작 (샤드 이동 도구가 데이터 이동 전에 호출)
+     *
+     * 이동 상태를 shard_layout 에 기록해 모든 인스턴스가 거부하게 하고,
+     * 이 인스턴스에서 해당 버킷을 이미 처리 중인 트랜잭션/Scope 가 끝날 때까지 기다립니다.
+     *
+     * @throws IllegalStateException 이미 다른 범위를 이동 중이거나, 다른 인스턴스가 실행 중이거나,
+     *                               처리 중인 요청이 shard.move-drain-timeout-ms 안에 끝나지 않은 경우
+     */
+    public void beginMove(int fromBucket, int toBucket) {
+        checkRange(fromBucket, toBucket, 0, shardCount());
+        BucketRange range = new BucketRange(fromBucket, toBucket);
+        if (enabled) {
+            // 다른 인스턴스의 처리 중인 요청은 기다릴 수 없으므로 인스턴스 하나일 때만 이동
+            Integer others = layoutJdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM shard_instances WHERE instance_id <> ? AND heartbeat_at > now() - ? * interval '1 millisecond'",
+                    Integer.class, instanceId, instanceTimeoutMs);
+            if (others != null && others > 0) {
+                throw new IllegalStateException("다른 인스턴스 " + others + "개가 실행 중입니다. 인스턴스 하나로 줄인 뒤 이동합니다.");
+            }
+            int updated = layoutJdbcTemplate.update(
+                    "UPDATE shard_layout SET moving_buckets = ?, version = version + 1, updated_at = now() WHERE id = 1 AND moving_buckets IS NULL",
+                    range.toString());
+            loadLayout();
+            if (updated == 0) {
+                throw new IllegalStateException("이미 " + movingBuckets + " 버킷을 이동 중입니다.");
+            }
+        } else {
+            synchronized (this) {
+                if (movingBuckets != null) {
+                    throw new IllegalStateException("이미 " + movingBuckets + " 버킷을 이동 중입니다.");
+                }
+                movingBuckets = range;
+            }
+        }
+        try {
+            awaitDrained(range);
+        } catch (RuntimeException e) {
+            endMove();
+            throw e;
+        }
+    }
+
+    /**
+     * 버킷 범위의 요청 거부 해제
+     */
+    public void endMove() {
+        if (enabled) {
+            layoutJdbcTemplate.update(
+                    "UPDATE shard_layout SET moving_buckets = NULL, version = version + 1, updated_at = now() WHERE id = 1");
+            loadLayout();
+        } else {
+            movingBuckets = null;
+        }
+    }
+
+    /**
+     * 버킷 범위를 shard 로 재배치 (샤드 이동 도구가 데이터 이동 후 호출, shard_layout 에 기록해 모든 인스턴스에 적용)
+     */
+    public void assign(int fromBucket, int toBucket, int shard) {
+        checkRange(fromBucket, toBucket, shard, shardCount());
+        int[] next = shardOfBucket.clone();
+        Arrays.fill(next, fromBucket, toBucket + 1, shard);
+        if (enabled) {
+            layoutJdbcTemplate.update(
+                    "UPDATE shard_layout SET bucket_ranges = ?, version = version + 1, updated_at = now() WHERE id = 1",
+                    describeBucketRanges(next));
+            loadLayout();
+        } else {
+            shardOfBucket = next;
+            legacyOrderShards.clear();
+        }
+    }
+
+    /**
+     * 현재 버킷 배치 (shard.bucket-ranges 형식: "0-511:0,512-1023:1")
+     */
+    public String describeBucketRanges() {
+        return describeBucketRanges(shardOfBucket);
+    }
+
+    /**
+     * 샤드 이동 중인 버킷 범위 (없으면 null)
+     */
+    public String describeMovingBuckets() {
+        BucketRange moving = movingBuckets;
+        return moving != null ? moving.toString() : null;
+    }
+
+    private static String describeBucketRanges(int[] table) {
+        StringBuilder ranges = new StringBuilder();
+        int start = 0;
+        for (int bucket = 1; bucket <= BUCKETS; bucket++) {
+            if (bucket == BUCKETS || table[bucket] != table[start]) {
+                if (!ranges.isEmpty()) {
+                    ranges.append(',');
+                }
+                ranges.append(start).append('-').append(bucket - 1).append(':').append(table[start]);
+                start = bucket;
+            }
+        }
+        return ranges.toString();
+    }
+
+    // 트랜잭션이 끝날 때까지 버킷을 처리 중으로 셈
+    private void enterForCurrentTransaction(int bucket, int shard) {
+        enter(bucket);
+        try {
+            ShardContext.useForCurrentTransaction(shard);
+        } catch (RuntimeException e) {
+            exit(bucket);
+            throw e;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 트랜잭션 없이 이미 같은 샤드 Scope 안 (Scope 쪽에서 세고 있음)
+            exit(bucket);
+        } else if (bucket >= 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    exit(bucket);
+                }
+            });
+        }
+    }
+
+    // Scope 를 닫을 때까지 버킷을 처리 중으로 셈
+    private ShardContext.Scope enterScope(int bucket, int shard) {
+        enter(bucket);
+        ShardContext.Scope scope = ShardContext.use(shard);
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                scope.close();
+                exit(bucket);
+            }
+        };
+    }
+
+    // 처리 중으로 센 뒤 이동 중인지 확인 (beginMove 는 이동 표시 후 처리 중 수가 0 이 되기를 기다리므로 둘 사이에 끼어드는 요청이 없음)
+    // 버킷 표기가 없는 기존 주문번호(-1)는 세지도, 확인하지도 않음
+    private void enter(int bucket) {
+        if (bucket < 0) {
+            return;
+        }
+        inFlight.incrementAndGet(bucket);
+        BucketRange moving = movingBuckets;
+        if (moving != null && moving.contains(bucket)) {
+            inFlight.decrementAndGet(bucket);
+            throw new IllegalStateException("샤드 이동 중인 사용자입니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    private void exit(int bucket) {
+        if (bucket >= 0) {
+            inFlight.decrementAndGet(bucket);
+        }
+    }
+
+    private void awaitDrained(BucketRange range) {
+        long deadline = System.currentTimeMillis() + moveDrainTimeoutMs;
+        for (int bucket = range.from(); bucket <= range.to(); bucket++) {
+            while (inFlight.get(bucket) > 0) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException(bucket + "번 버킷의 처리 중인 요청이 " + moveDrainTimeoutMs + "ms 안에 끝나지 않았습니다.");
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("샤드 이동 대기 중 중단되었습니다.", e);
+                }
+            }
+        }
+    }
+
+    private record BucketRange(int from, int to) {
+
+        static BucketRange parse(String range) {
+            if (range == null) {
+                return null;
+            }
+            String[] parts = range.split("-");
+            return new BucketRange(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+
+        boolean contains(int bucket) {
+            return bucket >= from && bucket <= to;
+        }
+
+        @Override
+        public String toString() {
+            return from + "-" + to;
+        }
+    }
+
+    // shard_layout/shard_instances 가 없으면 생성 (이미 있으면 DDL 권한 없이 기동)
+    private void createLayoutTables() {
+        Boolean missing = layoutJdbcTemplate.queryForObject(
+                "SELECT to_regclass('shard_layout') IS NULL OR to_regclass('shard_instances') IS NULL", Boolean.class);
+        if (Boolean.TRUE.equals(missing)) {
+            new ResourceDatabasePopulator(new ClassPathResource("sql/create_shard_layout.sql")).execute(shardDataSources.get(0));
+        }
+    }
+
+    private void heartbeat() {
+        layoutJdbcTemplate.update("INSERT INTO shard_instances (instance_id, heartbeat_at) VALUES (?, now()) "
+                + "ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = now()", instanceId);
+    }
+
+    // shard_layout 이 마지막으로 적용한 뒤 바뀌었으면 버킷 배치/이동 상태 교체
+    private synchronized void loadLayout() {
+        Map<String, Object> layout = layoutJdbcTemplate.queryForMap(
+                "SELECT bucket_ranges, moving_buckets, version FROM shard_layout WHERE id = 1");
+        long version = ((Number) layout.get("version")).longValue();
+        if (version == layoutVersion) {
+            return;
+        }
+        int[] table = parseBucketRanges((String) layout.get("bucket_ranges"), shardDataSources.size());
+        if (!Arrays.equals(table, shardOfBucket)) {
+            shardOfBucket = table;
+            legacyOrderShards.clear();
+        }
+        movingBuckets = BucketRange.parse((String) layout.get("moving_buckets"));
+        layoutVersion = version;
+    }
+
+    // 버킷 표기가 없는 주문: 샤드마다 운영/보관 주문 테이블에서 찾음 (못 찾으면 0번 샤드)
+    private int legacyOrderShard(String orderNo) {
+        Integer cached = legacyOrderShards.get(orderNo);
+        if (cached != null) {
+            return cached;
+        }
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            Boolean found = new JdbcTemplate(shardDataSources.get(shard)).queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM orders WHERE order_no = ?) OR EXISTS (SELECT 1 FROM orders_archive WHERE order_no = ?)",
+                    Boolean.class, orderNo, orderNo);
+            if (Boolean.TRUE.equals(found)) {
+                if (legacyOrderShards.size() >= legacyOrderCacheSize) {
+                    legacyOrderShards.clear();
+                }
+                legacyOrderShards.put(orderNo, shard);
+                return shard;
+            }
+        }
+        return 0;
+    }
+
+    // 기본 배치: 버킷을 샤드 수로 균등하게 나눈 연속 구간
+    private static int[] evenRanges(int shards) {
+        int[] table = new int[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            table[bucket] = bucket * shards / BUCKETS;
+        }
+        return table;
+    }
+
+    static int[] parseBucketRanges(String ranges, int shards) {
+        int[] table = new int[BUCKETS];
+        Arrays.fill(table, -1);
+        for (String range : ranges.split(",")) {
+            String[] parts = range.trim().split("[-:]");
+            if (parts.length != 3) {
+                throw new IllegalStateException("shard.bucket-ranges 형식 오류: " + range + " (예: 0-511:0,512-1023:1)");
+            }
+            int from = Integer.parseInt(parts[0].trim());
+            int to = Integer.parseInt(parts[1].trim());
+            int shard = Integer.parseInt(parts[2].trim());
+            checkRange(from, to, shard, shards);
+            Arrays.fill(table, from, to + 1, shard);
+        }
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (table[bucket] < 0) {
+                throw new IllegalStateException("shard.bucket-ranges 에 " + bucket + "번 버킷의 샤드가 없습니다.");
+            }
+        }
+        return table;
+    }
+
+    private static void checkRange(int from, int to, int shard, int shards) {
+        if (from < 0 || to >= BUCKETS || from > to) {
+            throw new IllegalStateException("버킷 범위 오류: " + from + "-" + to + " (0-" + (BUCKETS - 1) + ")");
+        }
+        if (shard < 0 || shard >= shards) {
+            throw new IllegalStateException("샤드 번호 오류: " + shard + " (샤드 " + shards + "개)");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 경로 변수로 요청의 샤드 지정 (orderNo 우선, 없으면 userId)
+ *
+ * 컨트롤러가 서비스를 거치지 않고 리포지토리를 직접 조회하는 경우(주문 상태, ETag 계산 등)도 해당 샤드로 갑니다.
+ * 본문으로만 주문번호/사용자를 받는 API 는 서비스 메서드에서 {@link ShardRouter} 로 지정합니다.
+ */
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = ShardRoutingInterceptor.class.getName() + ".scope";
+
+    private final ShardRouter shardRouter;
+
+    public ShardRoutingInterceptor(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return true;
+        }
+        String orderNo = variables.get("orderNo");
+        String userId = variables.get("userId");
+        if (orderNo != null) {
+            request.setAttribute(SCOPE_ATTRIBUTE, shardRouter.useOrderShard(orderNo));
+        } else if (userId != null && userId.chars().allMatch(Character::isDigit) && !userId.isEmpty()) {
+            request.setAttribute(SCOPE_ATTRIBUTE, shardRouter.useUserShard(Long.valueOf(userId)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    // 비동기 응답(SSE 등)은 요청 스레드를 반환할 때 해제
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ShardContext.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.datasource;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1번 이후 샤드 스키마/시퀀스 준비 (기동 시 1회)
+ *
+ * <ul>
+ *   <li>Hibernate 가 기본(0번) 샤드에 적용한 hbm2ddl 동작(update 등)을 나머지 샤드에도 같은 매핑으로 적용</li>
+ *   <li>n번 샤드의 시퀀스를 n * {@link ShardRouter#ID_RANGE_PER_SHARD} 이상으로 올려 샤드 간 id 가 겹치지 않게 함</li>
+ * </ul>
+ * 매핑 정보는 Hibernate Integrator 로 등록해 SessionFactory 생성 시 받습니다.
+ * hbm2ddl 이 꺼진 환경(validate/none)에서는 sql/create_shard_sequences.sql 을 샤드마다 적용합니다.
+ */
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final ShardDataSources shardDataSources;
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardDataSources shardDataSources) {
+        this.shardDataSources = shardDataSources;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 1; shard < shardDataSources.size(); shard++) {
+            updateSchema(shard);
+            reserveIdRange(shard);
+        }
+    }
+
+    // 기본 샤드와 같은 hbm2ddl 설정으로 스키마 적용 (create-drop 의 종료 시 삭제는 기본 샤드에만 적용)
+    private void updateSchema(int shard) {
+        if (metadata == null) {
+            logger.warn("{}번 샤드 스키마 확인 생략 - EntityManagerFactory 가 아직 생성되지 않았습니다.", shard);
+            return;
+        }
+        Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+        if (!settings.containsKey(AvailableSettings.HBM2DDL_AUTO)) {
+            return;
+        }
+        try (ShardContext.Scope scope = ShardContext.use(shard)) {
+            SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings, action -> { });
+        }
+    }
+
+    // 시퀀스 시작값을 샤드 구간으로 (이미 구간 안이면 그대로)
+    private void reserveIdRange(int shard) {
+        long floor = shard * ShardRouter.ID_RANGE_PER_SHARD;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+        List<String> sequences = jdbcTemplate.queryForList(
+                "SELECT sequencename FROM pg_sequences WHERE schemaname = current_schema() " +
+                "AND (last_value IS NULL OR last_value < ?)", String.class, floor);
+        for (String sequence : sequences) {
+            jdbcTemplate.queryForObject("SELECT setval(quote_ident(?), ?)", Long.class, sequence, floor);
+        }
+        if (!sequences.isEmpty()) {
+            logger.info("{}번 샤드 시퀀스 구간 설정 ({} 부터): {}", shard, floor, sequences);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+/**
+ * 주문 생성 요청 (POST /api/payment/create-order)
+ *
+ * @param userId 사용자 ID
+ * @param totalAmount 총 주문 금액
+ * @param pointsUsed 사용할 적립금
+ * @param cardAmount 카드 결제 금액
+ * @param isNetworkCancelTest 망취소 테스트 여부 (생략 시 false)
+ */
+public record CreateOrderRequest(Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount,
+                                 Boolean isNetworkCancelTest) {
+
+    public CreateOrderRequest {
+        if (isNetworkCancelTest == null) {
+            isNetworkCancelTest = false;
+        }
+    }
+}
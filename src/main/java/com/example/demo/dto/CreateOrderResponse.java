@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성 결과
+ *
+ * 적립금 전액 결제면 completedAt/redirectUrl, 카드 결제가 필요하면 pgProvider 가 채워지며
+ * 해당하지 않는 항목은 응답에서 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CreateOrderResponse(
+        Long orderId,
+        String orderNo,
+        Long totalAmount,
+        Integer pointsUsed,
+        Long cardAmount,
+        boolean paymentCompleted,
+        String paymentMethod,
+        LocalDateTime completedAt,
+        String redirectUrl,
+        String pgProvider) {
+
+    public static CreateOrderResponse pointsOnly(Long orderId, String orderNo, Long totalAmount, Integer pointsUsed,
+                                                 Long cardAmount, LocalDateTime completedAt, String redirectUrl) {
+        return new CreateOrderResponse(orderId, orderNo, totalAmount, pointsUsed, cardAmount,
+                true, "POINTS_ONLY", completedAt, redirectUrl, null);
+    }
+
+    public static CreateOrderResponse cardRequired(Long orderId, String orderNo, Long totalAmount, Integer pointsUsed,
+                                                   Long cardAmount, String pgProvider) {
+        return new CreateOrderResponse(orderId, orderNo, totalAmount, pointsUsed, cardAmount,
+                false, "CARD_REQUIRED", null, null, pgProvider);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+/**
+ * 망취소 요청 (POST /api/payment/network-cancel/{orderNo})
+ *
+ * @param reason 망취소 사유 (생략 시 "고객 요청")
+ * @param clientIp 클라이언트 IP (생략 시 127.0.0.1)
+ */
+public record NetworkCancelRequest(String reason, String clientIp) {
+
+    public NetworkCancelRequest {
+        if (reason == null) {
+            reason = "고객 요청";
+        }
+        if (clientIp == null) {
+            clientIp = "127.0.0.1";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * 수동 망취소 결과 (POST /api/payment/network-cancel/{orderNo})
+ *
+ * PG 망취소 응답(networkCancelResult)은 PG 를 호출한 경우에만, 나머지 항목은 성공 시에만 채워집니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NetworkCancelResponse(
+        boolean success,
+        String message,
+        String orderNo,
+        Long cancelledAmount,
+        String pgProvider,
+        Map<String, Object> networkCancelResult) {
+
+    public static NetworkCancelResponse cancelled(String orderNo, Long cancelledAmount, String pgProvider,
+                                                  Map<String, Object> networkCancelResult) {
+        return new NetworkCancelResponse(true, "망취소가 성공적으로 완료되었습니다", orderNo, cancelledAmount, pgProvider,
+                networkCancelResult);
+    }
+
+    public static NetworkCancelResponse failure(String message) {
+        return failure(message, null);
+    }
+
+    public static NetworkCancelResponse failure(String message, Map<String, Object> networkCancelResult) {
+        return new NetworkCancelResponse(false, message, null, null, null, networkCancelResult);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 상세 조회 결과 (GET /api/payment/order-detail/{orderNo})
+ *
+ * 조회 실패 시 success=false 와 message 만 내려가고 나머지 항목은 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderDetailResponse(
+        boolean success,
+        String message,
+        Long orderId,
+        String orderNo,
+        Long totalAmount,
+        Long cardAmount,
+        Integer pointsUsed,
+        String status,
+        String statusMessage,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<PaymentItem> payments) {
+
+    public static OrderDetailResponse failure(String message) {
+        return new OrderDetailResponse(false, message, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * 주문의 결제/취소 내역 1건
+     */
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    public record PaymentItem(
+            Long paymentId,
+            String tid,
+            Long amount,
+            String status,
+            String paymentType,
+            String paymentTypeDescription,
+            String resultCode,
+            String resultMsg,
+            LocalDateTime paymentDate,
+            String cardName,
+            boolean canRefund) {
+    }
+}
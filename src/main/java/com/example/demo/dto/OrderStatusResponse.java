@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태 조회 결과 (GET /api/payment/status/order/{orderNo})
+ */
+public record OrderStatusResponse(
+        Long orderId,
+        String orderNo,
+        String status,
+        Long totalAmount,
+        Long cardAmount,
+        Integer pointsUsed,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static OrderStatusResponse from(Order order) {
+        return new OrderStatusResponse(order.getId(), order.getOrderNo(), order.getStatus().name(),
+                order.getTotalAmount(), order.getCardAmount(), order.getPointsUsed(),
+                order.getCreatedAt(), order.getUpdatedAt());
+    }
+}
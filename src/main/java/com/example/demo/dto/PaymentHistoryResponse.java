@@ -0,0 +1,48 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.Payment;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 사용자 주문/결제 내역 조회 결과 (GET /api/payment/orders/{userId})
+ *
+ * 조회 실패 시 success=false 와 message 만 내려가고 나머지 항목은 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaymentHistoryResponse(
+        boolean success,
+        String message,
+        Long userId,
+        List<OrderItem> orders,
+        Integer totalCount) {
+
+    public static PaymentHistoryResponse of(Long userId, List<OrderItem> orders) {
+        return new PaymentHistoryResponse(true, null, userId, orders, orders.size());
+    }
+
+    public static PaymentHistoryResponse failure(String message) {
+        return new PaymentHistoryResponse(false, message, null, null, null);
+    }
+
+    /**
+     * 주문 1건과 결제/취소 내역 (payment 는 가장 최신 결제, 없으면 null)
+     */
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    public record OrderItem(
+            Long orderId,
+            String orderNo,
+            Long totalAmount,
+            Long cardAmount,
+            Integer pointsUsed,
+            String status,
+            String statusMessage,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            boolean archived,
+            List<Payment> payments,
+            Payment payment) {
+    }
+}
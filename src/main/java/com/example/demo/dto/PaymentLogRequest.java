@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.util.Map;
+
+/**
+ * 결제 요청 로깅 요청 (POST /api/payment/log-request)
+ *
+ * @param orderNo 주문번호
+ * @param requestType 요청 구분
+ * @param requestUrl PG 요청 URL
+ * @param requestData PG 로 보낸 요청 파라미터 (PG사별 항목이 달라 Map 으로 받음)
+ */
+public record PaymentLogRequest(String orderNo, String requestType, String requestUrl, Map<String, Object> requestData) {
+}
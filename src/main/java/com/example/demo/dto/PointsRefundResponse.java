@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 적립금 환불 결과 (POST /api/payment/refund/points/{orderNo})
+ *
+ * 실패 시 success=false 와 message 만 내려가고 나머지 항목은 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PointsRefundResponse(
+        boolean success,
+        String message,
+        String orderNo,
+        Long refundedPoints,
+        Integer userCurrentPoints) {
+
+    public static PointsRefundResponse refunded(String orderNo, Long refundedPoints, Integer userCurrentPoints) {
+        return new PointsRefundResponse(true, "적립금이 성공적으로 취소되었습니다.", orderNo, refundedPoints, userCurrentPoints);
+    }
+
+    public static PointsRefundResponse failure(String message) {
+        return new PointsRefundResponse(false, message, null, null, null);
+    }
+}
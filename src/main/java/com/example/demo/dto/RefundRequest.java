@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+/**
+ * 결제/적립금 환불 요청 (POST /api/payment/refund/**)
+ *
+ * @param reason 환불 사유
+ */
+public record RefundRequest(String reason) {
+}
@@ -0,0 +1,33 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * 주문 카드 결제 환불 결과 (POST /api/payment/refund/order/{orderNo})
+ *
+ * 성공 시 orderNo/tid 와 PG 취소 응답(refundResult), PG 가 취소를 거절하면 resultCode 가 채워지며
+ * 해당하지 않는 항목은 응답에서 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RefundResponse(
+        boolean success,
+        String message,
+        String orderNo,
+        String tid,
+        String resultCode,
+        Map<String, Object> refundResult) {
+
+    public static RefundResponse refunded(String orderNo, String tid, Map<String, Object> refundResult) {
+        return new RefundResponse(true, "주문이 성공적으로 취소되었습니다.", orderNo, tid, null, refundResult);
+    }
+
+    public static RefundResponse failure(String message) {
+        return failure(message, null);
+    }
+
+    public static RefundResponse failure(String message, String resultCode) {
+        return new RefundResponse(false, message, null, null, resultCode, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.UserPaymentStats;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자 결제/적립금 누적 집계 (GET /api/payment/stats/{userId})
+ */
+public record UserPaymentStatsResponse(
+        Long userId,
+        Long spentAmount,
+        Long refundedAmount,
+        Long netSpentAmount,
+        Long pointsUsed,
+        Long pointsRefunded,
+        Long pointsEarned,
+        Long orderCount,
+        Map<String, Long> ordersByStatus,
+        LocalDateTime updatedAt) {
+
+    public static UserPaymentStatsResponse from(UserPaymentStats stats) {
+        Map<String, Long> ordersByStatus = new LinkedHashMap<>();
+        long orderCount = 0;
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            long count = stats.getOrderCount(status);
+            ordersByStatus.put(status.name(), count);
+            orderCount += count;
+        }
+        return new UserPaymentStatsResponse(stats.getUserId(), stats.getSpentAmount(), stats.getRefundedAmount(),
+                stats.getSpentAmount() - stats.getRefundedAmount(), stats.getPointsUsed(), stats.getPointsRefunded(),
+                stats.getPointsEarned(), orderCount, ordersByStatus, stats.getUpdatedAt());
+    }
+}
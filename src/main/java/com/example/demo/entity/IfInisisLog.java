@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class IfInisisLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "if_inisis_log_seq")
+    @SequenceGenerator(name = "if_inisis_log_seq", sequenceName = "if_inisis_log_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_no", nullable = false, length = 50)
@@ -40,6 +41,9 @@ public class IfInisisLog {
     
     @Column(name = "transaction_id", length = 100)
     private String transactionId;
+
+    @Column(name = "trace_id", length = 32)
+    private String traceId; // 분산 트레이싱 traceId (요청 단위 span 조회용)
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -98,6 +102,9 @@ public class IfInisisLog {
     
     public String getTransactionId() { return transactionId; }
     public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getTraceId() { return traceId; }
+    public void setTraceId(String traceId) { this.traceId = traceId; }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_no", nullable = false, unique = true)
@@ -26,9 +27,14 @@ public class Order {
     @Column(name = "card_amount", nullable = false)
     private Long cardAmount;
     
+    // 상태는 결제 이벤트(payment_events)로만 바꾸며, 이 컬럼은 event_seq 까지 반영한 스냅샷 (OrderStateProjector 만 갱신)
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private OrderStatus status;
+
+    // 스냅샷에 반영된 마지막 결제 이벤트 순번
+    @Column(name = "event_seq", nullable = false, updatable = false)
+    private int eventSeq;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -36,6 +42,18 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // 방치 주문 정리 선점 만료 시각 (StaleOrderSweeper 가 네이티브 쿼리로만 기록, 엔티티 저장 시에는 쓰지 않음)
+    @Column(name = "sweep_claimed_until", insertable = false, updatable = false)
+    private LocalDateTime sweepClaimedUntil;
+    
+    // 방치 주문 정리가 PG 취소를 시작한 시각 (주문 잠금 아래에서 네이티브 쿼리로만 기록, 이후 승인 흐름은 이 주문을 완료하지 않음)
+    @Column(name = "sweep_cancelling_at", insertable = false, updatable = false)
+    private LocalDateTime sweepCancellingAt;
+    
+    // DB 스냅샷의 이벤트 순번 (로드/INSERT 시점 값, 이후 추가/반영한 이벤트가 있으면 eventSeq 가 더 큼)
+    @Transient
+    private int snapshotSeq;
+    
     public enum OrderStatus {
         PENDING, PENDING_APPROVAL, APPROVED, COMPLETED, CANCELLED, FAILED, NETWORK_CANCELLED
     }
@@ -51,6 +69,34 @@ public class Order {
         updatedAt = LocalDateTime.now();
     }
     
+    @PostLoad
+    @PostPersist
+    protected void onSnapshotSynced() {
+        snapshotSeq = eventSeq;
+    }
+    
+    /**
+     * 결제 이벤트 적용 (상태와 순번만 메모리에서 변경, DB 스냅샷은 OrderStateProjector 가 반영)
+     */
+    public void apply(PaymentEvent event) {
+        status = event.getEventType().orderStatus();
+        eventSeq = event.getSeq();
+    }
+    
+    /**
+     * DB 스냅샷에 아직 반영되지 않은 이벤트가 있는지
+     */
+    public boolean hasUnprojectedEvents() {
+        return eventSeq > snapshotSeq;
+    }
+    
+    /**
+     * 스냅샷 반영 완료 표시
+     */
+    public void markProjected() {
+        snapshotSeq = eventSeq;
+    }
+    
     public Order() {}
     
     public Order(String orderNo, Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount, OrderStatus status) {
@@ -82,11 +128,18 @@ public class Order {
     public void setCardAmount(Long cardAmount) { this.cardAmount = cardAmount; }
     
     public OrderStatus getStatus() { return status; }
-    public void setStatus(OrderStatus status) { this.status = status; }
+    
+    public int getEventSeq() { return eventSeq; }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getSweepClaimedUntil() { return sweepClaimedUntil; }
+    
+    public LocalDateTime getSweepCancellingAt() { return sweepCancellingAt; }
+    
+    public boolean isSweepCancelling() { return sweepCancellingAt != null; }
 }
\ No newline at end of file
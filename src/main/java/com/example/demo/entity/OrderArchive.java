@@ -0,0 +1,72 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 주문 (orders_archive)
+ *
+ * {@link com.example.demo.service.OrderArchiver} 가 운영 orders 에서 옮긴 행이며 id 는 원래 주문 id 그대로입니다.
+ * 읽기 전용이므로 이력 조회 시 {@link #toOrder()} 로 변환해 운영 주문과 같은 형태로 응답합니다.
+ * 사용자 주문 목록은 운영 orders 와 UNION ALL 로 한 번에 읽어 이 타입으로 받으며, 운영 행은 archivedAt 이 null 입니다.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+public class OrderArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_no", nullable = false)
+    private String orderNo;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Column(name = "points_used", nullable = false)
+    private Integer pointsUsed;
+
+    @Column(name = "card_amount", nullable = false)
+    private Long cardAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.OrderStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // 운영 테이블과 함께 조회한 경우 운영 행은 null
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected OrderArchive() {}
+
+    /**
+     * 운영 주문과 같은 값의 주문 (영속성 컨텍스트에 없는 분리 객체)
+     */
+    public Order toOrder() {
+        Order order = new Order(orderNo, userId, totalAmount, pointsUsed, cardAmount, status);
+        order.setId(id);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        return order;
+    }
+
+    public Long getId() { return id; }
+    public String getOrderNo() { return orderNo; }
+    public Long getUserId() { return userId; }
+    public Order.OrderStatus getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public boolean isArchived() { return archivedAt != null; }
+}
@@ -1,14 +1,17 @@
 package com.example.demo.entity;
 
+import com.example.demo.service.UserPaymentStatsEntityListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "payments")
+@EntityListeners(UserPaymentStatsEntityListener.class)
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_no", nullable = false)
@@ -23,7 +26,8 @@ public class Payment {
     @Column(name = "amount", nullable = false)
     private Long amount;
     
-    @Column(name = "status", nullable = false)
+    // 저장 후에는 바꾸지 않음 (망취소된 원본 결제의 CANCELLED 는 결제 이벤트를 OrderStateProjector 가 반영)
+    @Column(name = "status", nullable = false, updatable = false)
     private String status;
     
     @Column(name = "result_code")
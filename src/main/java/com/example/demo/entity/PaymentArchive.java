@@ -0,0 +1,101 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관된 결제 내역 (payments_archive)
+ *
+ * 주문과 함께 운영 payments 에서 옮긴 행입니다. 읽기 전용이며 {@link #toPayment()} 로 변환해 사용합니다.
+ * 주문 목록의 결제 내역은 운영 payments 와 UNION ALL 로 한 번에 읽으며, 운영 행은 archivedAt 이 null 입니다.
+ */
+@Entity
+@Immutable
+@Table(name = "payments_archive")
+public class PaymentArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_no", nullable = false)
+    private String orderNo;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "tid")
+    private String tid;
+
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "result_code")
+    private String resultCode;
+
+    @Column(name = "result_msg")
+    private String resultMsg;
+
+    @Column(name = "payment_date")
+    private LocalDateTime paymentDate;
+
+    @Column(name = "card_name")
+    private String cardName;
+
+    @Column(name = "card_code")
+    private String cardCode;
+
+    @Column(name = "appl_num")
+    private String applNum;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "payment_type", nullable = false)
+    private String paymentType;
+
+    @Column(name = "pg_provider")
+    private String pgProvider;
+
+    @Column(name = "net_cancel_url")
+    private String netCancelUrl;
+
+    @Column(name = "auth_token")
+    private String authToken;
+
+    // 운영 테이블과 함께 조회한 경우 운영 행은 null
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected PaymentArchive() {}
+
+    /**
+     * 운영 결제 내역과 같은 값의 결제 (영속성 컨텍스트에 없는 분리 객체)
+     */
+    public Payment toPayment() {
+        Payment payment = new Payment(orderNo, userId, tid, amount, status, resultCode, resultMsg, paymentType);
+        payment.setId(id);
+        payment.setPaymentDate(paymentDate);
+        payment.setCardName(cardName);
+        payment.setCardCode(cardCode);
+        payment.setApplNum(applNum);
+        payment.setCreatedAt(createdAt);
+        payment.setUpdatedAt(updatedAt);
+        payment.setPgProvider(pgProvider);
+        payment.setNetCancelUrl(netCancelUrl);
+        payment.setAuthToken(authToken);
+        return payment;
+    }
+
+    public Long getId() { return id; }
+    public String getOrderNo() { return orderNo; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public boolean isArchived() { return archivedAt != null; }
+}
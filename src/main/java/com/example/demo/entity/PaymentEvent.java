@@ -0,0 +1,119 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 이벤트 저널 (append-only, 주문 상태의 쓰기 모델)
+ *
+ * 주문/결제 상태 변경은 이 테이블에 INSERT 한 건으로만 기록하며 수정/삭제하지 않습니다.
+ * 주문별 순번(seq)은 주문 잠금 아래에서 1부터 1씩 증가하고 (order_id, seq) 유니크 제약으로 중복을 막습니다.
+ * orders.status/event_seq 와 망취소된 원본 결제의 payments.status 는 이벤트를 반영한 스냅샷이며
+ * {@link com.example.demo.service.OrderStateProjector} 만 갱신합니다.
+ */
+@Entity
+@Immutable
+@Table(name = "payment_events",
+    uniqueConstraints = @UniqueConstraint(name = "uk_payment_events_order_seq", columnNames = {"order_id", "seq"}),
+    indexes = @Index(name = "idx_payment_events_created_at", columnList = "created_at"))
+public class PaymentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_events_seq")
+    @SequenceGenerator(name = "payment_events_seq", sequenceName = "payment_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_no", nullable = false, length = 50)
+    private String orderNo;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 주문별 이벤트 순번 (1부터, 적용 순서)
+    @Column(name = "seq", nullable = false)
+    private int seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+
+    // 이벤트 대상 결제 (망취소는 상태를 바꿀 원본 카드 결제, 저장된 결제가 없으면 null)
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "amount")
+    private Long amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 이벤트 유형 - 적용 후 주문 상태와 대상 결제 상태(바꾸지 않으면 null)
+     */
+    public enum EventType {
+        ORDER_CREATED(Order.OrderStatus.PENDING, null),
+        PAYMENT_APPROVED(Order.OrderStatus.COMPLETED, null),
+        PAYMENT_FAILED(Order.OrderStatus.FAILED, null),
+        ORDER_CANCELLED(Order.OrderStatus.CANCELLED, null),
+        NETWORK_CANCELLED(Order.OrderStatus.NETWORK_CANCELLED, "CANCELLED");
+
+        private final Order.OrderStatus orderStatus;
+        private final String paymentStatus;
+
+        EventType(Order.OrderStatus orderStatus, String paymentStatus) {
+            this.orderStatus = orderStatus;
+            this.paymentStatus = paymentStatus;
+        }
+
+        public Order.OrderStatus orderStatus() {
+            return orderStatus;
+        }
+
+        public String paymentStatus() {
+            return paymentStatus;
+        }
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    protected PaymentEvent() {}
+
+    public PaymentEvent(Order order, int seq, EventType eventType, Payment payment) {
+        this.orderId = order.getId();
+        this.orderNo = order.getOrderNo();
+        this.userId = order.getUserId();
+        this.seq = seq;
+        this.eventType = eventType;
+        if (payment != null) {
+            this.paymentId = payment.getId();
+            this.amount = payment.getAmount();
+        }
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public Long getOrderId() { return orderId; }
+
+    public String getOrderNo() { return orderNo; }
+
+    public Long getUserId() { return userId; }
+
+    public int getSeq() { return seq; }
+
+    public EventType getEventType() { return eventType; }
+
+    public Long getPaymentId() { return paymentId; }
+
+    public Long getAmount() { return amount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 public class PaymentLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_logs_seq")
+    @SequenceGenerator(name = "payment_logs_seq", sequenceName = "payment_logs_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "order_id", nullable = false)
@@ -0,0 +1,97 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 결제/적립금 누적 집계
+ *
+ * 결제/환불/적립금 변경과 같은 트랜잭션에서 증감분만 더해 갱신합니다 ({@link com.example.demo.service.UserPaymentStatsRecorder}).
+ * 금액은 총액 기준이며 순 결제 금액은 spentAmount - refundedAmount 입니다.
+ */
+@Entity
+@Table(name = "user_payment_stats")
+public class UserPaymentStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 카드 승인 금액 (망취소된 승인 포함)
+    @Column(name = "spent_amount", nullable = false)
+    private Long spentAmount = 0L;
+
+    // 카드 환불 + 망취소 금액
+    @Column(name = "refunded_amount", nullable = false)
+    private Long refundedAmount = 0L;
+
+    @Column(name = "points_used", nullable = false)
+    private Long pointsUsed = 0L;
+
+    // 적립금 취소 + 결제 실패/방치 주문 망취소 시 복구된 적립금
+    @Column(name = "points_refunded", nullable = false)
+    private Long pointsRefunded = 0L;
+
+    @Column(name = "points_earned", nullable = false)
+    private Long pointsEarned = 0L;
+
+    @Column(name = "orders_pending", nullable = false)
+    private Long ordersPending = 0L;
+
+    @Column(name = "orders_pending_approval", nullable = false)
+    private Long ordersPendingApproval = 0L;
+
+    @Column(name = "orders_approved", nullable = false)
+    private Long ordersApproved = 0L;
+
+    @Column(name = "orders_completed", nullable = false)
+    private Long ordersCompleted = 0L;
+
+    @Column(name = "orders_cancelled", nullable = false)
+    private Long ordersCancelled = 0L;
+
+    @Column(name = "orders_failed", nullable = false)
+    private Long ordersFailed = 0L;
+
+    @Column(name = "orders_network_cancelled", nullable = false)
+    private Long ordersNetworkCancelled = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public UserPaymentStats() {}
+
+    public UserPaymentStats(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 상태별 주문 수
+     */
+    public long getOrderCount(Order.OrderStatus status) {
+        return switch (status) {
+            case PENDING -> ordersPending;
+            case PENDING_APPROVAL -> ordersPendingApproval;
+            case APPROVED -> ordersApproved;
+            case COMPLETED -> ordersCompleted;
+            case CANCELLED -> ordersCancelled;
+            case FAILED -> ordersFailed;
+            case NETWORK_CANCELLED -> ordersNetworkCancelled;
+        };
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+
+    public Long getSpentAmount() { return spentAmount; }
+
+    public Long getRefundedAmount() { return refundedAmount; }
+
+    public Long getPointsUsed() { return pointsUsed; }
+
+    public Long getPointsRefunded() { return pointsRefunded; }
+
+    public Long getPointsEarned() { return pointsEarned; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.gateway;
+
+import java.util.Arrays;
+
+/**
+ * PG사별 호출 지연시간/오류율 슬라이딩 윈도우
+ *
+ * 최근 capacity 건의 호출 결과를 링 버퍼에 보관하고,
+ * windowMillis 보다 오래된 샘플은 통계 계산에서 제외합니다.
+ */
+public class GatewayHealthWindow {
+
+    private final long windowMillis;
+    private final long[] timestamps;
+    private final long[] latencies;
+    private final boolean[] failures;
+    private int next = 0;
+    private int size = 0;
+
+    public GatewayHealthWindow(int capacity, long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.timestamps = new long[capacity];
+        this.latencies = new long[capacity];
+        this.failures = new boolean[capacity];
+    }
+
+    public synchronized void record(long nowMillis, long latencyMillis, boolean success) {
+        timestamps[next] = nowMillis;
+        latencies[next] = latencyMillis;
+        failures[next] = !success;
+        next = (next + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+
+    public synchronized Snapshot snapshot(long nowMillis) {
+        long[] window = new long[size];
+        int count = 0;
+        int errors = 0;
+        for (int i = 0; i < size; i++) {
+            if (nowMillis - timestamps[i] <= windowMillis) {
+                window[count++] = latencies[i];
+                if (failures[i]) {
+                    errors++;
+                }
+            }
+        }
+        if (count == 0) {
+            return new Snapshot(0, 0.0, 0L, 0L);
+        }
+        Arrays.sort(window, 0, count);
+        return new Snapshot(count, (double) errors / count, percentile(window, count, 0.50), percentile(window, count, 0.99));
+    }
+
+    private static long percentile(long[] sorted, int count, double p) {
+        int index = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    /**
+     * 윈도우 통계 스냅샷
+     *
+     * @param sampleCount 윈도우 내 샘플 수
+     * @param errorRate 오류율 (0.0 ~ 1.0)
+     * @param p50Millis 지연시간 중앙값
+     * @param p99Millis 지연시간 99 백분위수
+     */
+    public record Snapshot(int sampleCount, double errorRate, long p50Millis, long p99Millis) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.gateway;
+
+/**
+ * 이니시스 인증 결과 승인 응답 (authUrl 호출)
+ *
+ * 테스트/운영 환경마다 키 이름이 달라 알려진 키를 순서대로 확인합니다.
+ * TEMP_TID_ 로 시작하는 임시 TID 는 실제 거래번호로 보지 않습니다.
+ */
+public record InicisAuthResponse(
+        String resultCode,
+        String resultMsg,
+        String tid,
+        String cardName,
+        String cardCode,
+        String applNum,
+        String netCancelUrl) {
+
+    private static final String[] TID_KEYS = {"tid", "TID", "P_TID", "transactionId", "transaction_id", "pgTid", "pg_tid"};
+
+    public static InicisAuthResponse from(PgResponse response) {
+        return new InicisAuthResponse(
+                response.resultCode(),
+                response.resultMsg(),
+                realTid(response),
+                response.first("cardName", "card_name", "CARD_NAME", "P_CARD_NAME", "cardCompany", "cardIssuer"),
+                response.first("cardCode", "card_code", "CARD_CODE", "P_CARD_CODE", "cardType"),
+                response.first("applNum", "appl_num", "APPL_NUM", "P_APPL_NUM", "authNum", "approvalNumber"),
+                response.first("netCancelUrl", "net_cancel_url", "NetCancelUrl", "NET_CANCEL_URL", "authUrl"));
+    }
+
+    private static String realTid(PgResponse response) {
+        for (String key : TID_KEYS) {
+            String tid = response.first(key);
+            if (tid != null && !tid.startsWith("TEMP_TID_")) {
+                return tid;
+            }
+        }
+        return null;
+    }
+}
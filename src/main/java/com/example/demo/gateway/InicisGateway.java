@@ -0,0 +1,74 @@
+package com.example.demo.gateway;
+
+import com.example.demo.entity.Payment;
+import com.example.demo.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 이니시스 PG 연동
+ *
+ * 실제 API 호출은 PaymentService의 이니시스 메서드에 위임합니다.
+ */
+@Component
+public class InicisGateway implements PaymentGateway {
+
+    public static final String PROVIDER = "INICIS";
+
+    private static final Logger logger = LoggerFactory.getLogger(InicisGateway.class);
+
+    // PaymentService -> PaymentGatewayRouter -> InicisGateway 순환 참조 방지
+    @Autowired
+    @Lazy
+    private PaymentService paymentService;
+
+    @Override
+    public String getProvider() {
+        return PROVIDER;
+    }
+
+    @Override
+    public Map<String, Object> refund(Payment payment, String reason, String clientIp) {
+        logger.info("Inicis 거래 취소 요청 - TID: {}, PgProvider: {}", payment.getTid(), payment.getPgProvider());
+        return paymentService.callInicisRefundAPI(payment.getTid(), reason, clientIp);
+    }
+
+    @Override
+    public Map<String, Object> networkCancel(Payment payment, String reason, String clientIp) {
+        // Inicis 망취소 필수 파라미터 검증
+        if (payment.getNetCancelUrl() == null || payment.getNetCancelUrl().trim().isEmpty()) {
+            logger.error("Inicis 망취소 실패 - NetCancelUrl 없음");
+            return Map.of(
+                "success", false,
+                "message", "Inicis 망취소에 필요한 NetCancelUrl이 없습니다"
+            );
+        }
+        if (payment.getAuthToken() == null || payment.getAuthToken().trim().isEmpty()) {
+            logger.error("Inicis 망취소 실패 - AuthToken 없음");
+            return Map.of(
+                "success", false,
+                "message", "Inicis 망취소에 필요한 AuthToken이 없습니다"
+            );
+        }
+
+        logger.info("Inicis 망취소 실행 - TID: {}, URL: {}", payment.getTid(), payment.getNetCancelUrl());
+        return paymentService.networkCancelInicisWithUrl(
+            payment.getTid(),
+            payment.getNetCancelUrl(),
+            payment.getAuthToken(),
+            reason,
+            clientIp
+        );
+    }
+
+    @Override
+    public PgTransactionStatus inquire(Payment payment) {
+        logger.info("Inicis 거래 조회 - TID: {}, OrderNo: {}", payment.getTid(), payment.getOrderNo());
+        return paymentService.inquireInicisTransaction(payment.getTid(), payment.getOrderNo());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.gateway;
+
+/**
+ * 이니시스 거래 조회 응답 (INIAPI inquiry)
+ *
+ * @param answered 정상 응답 여부 (2xx, 파싱 성공, resultCode 있음)
+ * @param status 거래 상태 (0: 승인, 1/2: 전체/부분 취소)
+ */
+public record InicisInquiryResponse(
+        boolean answered,
+        String resultCode,
+        String resultMsg,
+        String status) {
+
+    public static InicisInquiryResponse from(PgResponse response) {
+        return new InicisInquiryResponse(PgTransactionStatus.answered(response), response.resultCode(),
+                response.resultMsg(), response.first("status"));
+    }
+
+    /**
+     * resultCode 00 이면 status 로 상태를 판단하고, 아니면 승인되지 않은 거래
+     */
+    public PgTransactionStatus transactionStatus() {
+        return PgTransactionStatus.fromInquiry(answered, "00".equals(resultCode), status);
+    }
+}
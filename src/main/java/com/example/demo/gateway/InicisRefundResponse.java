@@ -0,0 +1,24 @@
+package com.example.demo.gateway;
+
+/**
+ * 이니시스 취소(환불) 응답 (INIAPI refund)
+ */
+public record InicisRefundResponse(
+        int httpStatus,
+        String resultCode,
+        String resultMsg,
+        String cancelDate,
+        String cancelTime) {
+
+    public static InicisRefundResponse from(PgResponse response) {
+        return new InicisRefundResponse(response.getStatus(), response.resultCode(), response.resultMsg(),
+                response.first("cancelDate"), response.first("cancelTime"));
+    }
+
+    /**
+     * 취소 성공 여부 (resultCode 00)
+     */
+    public boolean isSuccess() {
+        return httpStatus / 100 == 2 && "00".equals(resultCode);
+    }
+}
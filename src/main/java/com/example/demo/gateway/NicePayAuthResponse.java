@@ -0,0 +1,31 @@
+package com.example.demo.gateway;
+
+import java.util.Set;
+
+/**
+ * 나이스페이 승인 응답 (NextAppURL 호출)
+ */
+public record NicePayAuthResponse(
+        String resultCode,
+        String resultMsg,
+        String tid,
+        String authCode,
+        String authDate,
+        String cardName,
+        String cardCode) {
+
+    // 신용카드, 계좌이체, 가상계좌 발급, 휴대폰 소액결제, 현금영수증 성공
+    private static final Set<String> SUCCESS_CODES = Set.of("3001", "4000", "4100", "A000", "7001");
+
+    public static NicePayAuthResponse from(PgResponse response) {
+        return new NicePayAuthResponse(response.resultCode(), response.resultMsg(), response.tid(),
+                response.get("AuthCode"), response.get("AuthDate"), response.get("CardName"), response.get("CardCode"));
+    }
+
+    /**
+     * 승인 성공 여부 (결제 수단별 성공 코드)
+     */
+    public boolean isSuccess() {
+        return SUCCESS_CODES.contains(resultCode);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.gateway;
+
+import java.util.Set;
+
+/**
+ * 나이스페이 취소 응답 (취소 API, 망취소 공통)
+ */
+public record NicePayCancelResponse(
+        String resultCode,
+        String resultMsg,
+        String tid,
+        String cancelAmt,
+        String cancelDate) {
+
+    // 신용카드, 계좌이체, 가상계좌 취소 성공
+    private static final Set<String> SUCCESS_CODES = Set.of("2001", "2211", "2221");
+
+    public static NicePayCancelResponse from(PgResponse response) {
+        return new NicePayCancelResponse(response.resultCode(), response.resultMsg(), response.tid(),
+                response.get("CancelAmt"), response.get("CancelDate"));
+    }
+
+    /**
+     * 취소 성공 여부 (결제 수단별 성공 코드)
+     */
+    public boolean isSuccess() {
+        return SUCCESS_CODES.contains(resultCode);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.gateway;
+
+import com.example.demo.entity.Payment;
+import com.example.demo.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 나이스페이 PG 연동
+ *
+ * 실제 API 호출은 PaymentService의 NicePay 메서드에 위임하고,
+ * 취소 결과는 이니시스 형식(resultCode "00"/"99")으로 변환해 반환합니다.
+ */
+@Component
+public class NicePayGateway implements PaymentGateway {
+
+    public static final String PROVIDER = "NICEPAY";
+
+    private static final Logger logger = LoggerFactory.getLogger(NicePayGateway.class);
+
+    // PaymentService -> PaymentGatewayRouter -> NicePayGateway 순환 참조 방지
+    @Autowired
+    @Lazy
+    private PaymentService paymentService;
+
+    @Override
+    public String getProvider() {
+        return PROVIDER;
+    }
+
+    @Override
+    public Map<String, Object> refund(Payment payment, String reason, String clientIp) {
+        logger.info("NicePay 거래 취소 요청 - TID: {}, PgProvider: {}", payment.getTid(), payment.getPgProvider());
+        Map<String, Object> refundResult = paymentService.cancelNicePayment(
+            payment.getTid(), payment.getAmount(), reason, payment.getOrderNo());
+
+        // NicePay 결과를 Inicis 형식으로 변환
+        if (Boolean.TRUE.equals(refundResult.get("success"))) {
+            return Map.of(
+                "resultCode", "00",
+                "resultMsg", "취소 완료",
+                "originalResult", refundResult
+            );
+        }
+        return Map.of(
+            "resultCode", "99",
+            "resultMsg", "취소 실패: " + refundResult.get("resultMessage"),
+            "originalResult", refundResult
+        );
+    }
+
+    @Override
+    public Map<String, Object> networkCancel(Payment payment, String reason, String clientIp) {
+        // NicePay 망취소 필수 파라미터 검증
+        if (payment.getAuthToken() == null || payment.getAuthToken().trim().isEmpty()) {
+            logger.error("NicePay 망취소 실패 - AuthToken 없음");
+            return Map.of(
+                "success", false,
+                "message", "NicePay 망취소에 필요한 AuthToken이 없습니다"
+            );
+        }
+
+        logger.info("NicePay 망취소 실행 - TID: {}", payment.getTid());
+        return paymentService.networkCancelNicePay(payment.getTid(), reason, payment.getOrderNo());
+    }
+
+    @Override
+    public PgTransactionStatus inquire(Payment payment) {
+        logger.info("NicePay 거래 조회 - TID: {}, OrderNo: {}", payment.getTid(), payment.getOrderNo());
+        return paymentService.inquireNicePayTransaction(payment.getTid(), payment.getOrderNo());
+    }
+}
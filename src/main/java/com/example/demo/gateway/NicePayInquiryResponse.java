@@ -0,0 +1,26 @@
+package com.example.demo.gateway;
+
+/**
+ * 나이스페이 거래 조회 응답
+ *
+ * @param answered 정상 응답 여부 (2xx, 파싱 성공, ResultCode 있음)
+ * @param status 거래 상태 (0: 승인, 1/2: 전체/부분 취소)
+ */
+public record NicePayInquiryResponse(
+        boolean answered,
+        String resultCode,
+        String resultMsg,
+        String status) {
+
+    public static NicePayInquiryResponse from(PgResponse response) {
+        return new NicePayInquiryResponse(PgTransactionStatus.answered(response), response.resultCode(),
+                response.resultMsg(), response.first("Status", "status"));
+    }
+
+    /**
+     * ResultCode 0000 이면 Status 로 상태를 판단하고, 아니면 승인되지 않은 거래
+     */
+    public PgTransactionStatus transactionStatus() {
+        return PgTransactionStatus.fromInquiry(answered, "0000".equals(resultCode), status);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.gateway;
+
+import com.example.demo.entity.Payment;
+
+import java.util.Map;
+
+/**
+ * PG사 연동 추상화
+ *
+ * 결제 취소, 망취소 등 PG사별로 다른 호출 방식을 하나의 인터페이스로 감쌉니다.
+ * 구현체는 {@link PaymentGatewayRouter}에 등록되어 pgProvider 값으로 조회됩니다.
+ */
+public interface PaymentGateway {
+
+    /**
+     * PG사 구분 값 (payments.pg_provider 컬럼 값과 동일)
+     *
+     * @return INICIS, NICEPAY 등
+     */
+    String getProvider();
+
+    /**
+     * 결제 취소
+     *
+     * @param payment 취소할 원본 결제
+     * @param reason 취소 사유
+     * @param clientIp 클라이언트 IP
+     * @return 취소 결과 (resultCode "00" 이면 성공, resultMsg 포함)
+     */
+    Map<String, Object> refund(Payment payment, String reason, String clientIp);
+
+    /**
+     * 망취소
+     *
+     * @param payment 망취소할 원본 결제
+     * @param reason 망취소 사유
+     * @param clientIp 클라이언트 IP
+     * @return 망취소 결과 (success, message/resultMessage 포함)
+     */
+    Map<String, Object> networkCancel(Payment payment, String reason, String clientIp);
+
+    /**
+     * 거래 조회
+     *
+     * @param payment 조회할 결제 (tid, orderNo, amount 사용 - 저장되지 않은 객체일 수 있음)
+     * @return 거래 상태 (조회 실패 시 UNKNOWN, 예외를 던지지 않음)
+     */
+    PgTransactionStatus inquire(Payment payment);
+}
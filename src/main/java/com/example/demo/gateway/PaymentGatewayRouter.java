@@ -0,0 +1,198 @@
+package com.example.demo.gateway;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * PG사 라우터
+ *
+ * PG사별 호출 지연시간(p50/p99)과 오류율을 슬라이딩 윈도우로 추적하고,
+ * 신규 결제(checkout)를 설정된 가중치와 현재 상태에 따라 더 건강한 PG사로 배분합니다.
+ *
+ * <ul>
+ *   <li>오류율이 max-error-rate 를 넘거나 p99 가 가장 빠른 PG사의 outlier-factor 배를 넘으면 비정상으로 판단</li>
+ *   <li>비정상 PG사에는 probe-ratio 만큼의 트래픽만 보내 회복 여부를 계속 관측</li>
+ *   <li>샘플이 min-samples 미만이면 판단을 보류하고 정상으로 취급</li>
+ * </ul>
+ *
+ * 이미 결제된 건의 취소/망취소는 원 결제 PG사로만 처리해야 하므로 {@link #getGateway(String)} 로 조회합니다.
+ */
+@Component
+public class PaymentGatewayRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayRouter.class);
+
+    @Autowired
+    private List<PaymentGateway> gateways;
+
+    @Value("${payment.routing.enabled:true}")
+    private boolean routingEnabled;
+
+    @Value("${payment.routing.weight.inicis:50}")
+    private int inicisWeight;
+
+    @Value("${payment.routing.weight.nicepay:50}")
+    private int nicePayWeight;
+
+    @Value("${payment.routing.window-seconds:60}")
+    private int windowSeconds;
+
+    @Value("${payment.routing.window-capacity:512}")
+    private int windowCapacity;
+
+    @Value("${payment.routing.min-samples:20}")
+    private int minSamples;
+
+    @Value("${payment.routing.max-error-rate:0.3}")
+    private double maxErrorRate;
+
+    @Value("${payment.routing.outlier-factor:3.0}")
+    private double outlierFactor;
+
+    @Value("${payment.routing.probe-ratio:0.005}")
+    private double probeRatio;
+
+    private final Map<String, PaymentGateway> gatewayMap = new LinkedHashMap<>();
+    private final Map<String, Integer> weights = new LinkedHashMap<>();
+    private final Map<String, GatewayHealthWindow> windows = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (PaymentGateway gateway : gateways) {
+            String provider = gateway.getProvider();
+            gatewayMap.put(provider, gateway);
+            windows.put(provider, new GatewayHealthWindow(windowCapacity, windowSeconds * 1000L));
+        }
+        weights.put(InicisGateway.PROVIDER, inicisWeight);
+        weights.put(NicePayGateway.PROVIDER, nicePayWeight);
+        logger.info("PG 라우터 초기화 - providers: {}, weights: {}, routingEnabled: {}",
+                   gatewayMap.keySet(), weights, routingEnabled);
+    }
+
+    /**
+     * pgProvider 값으로 PG 연동 구현체 조회
+     *
+     * @param provider PG사 구분 값
+     * @return PG 연동 구현체, 지원하지 않는 PG사면 null
+     */
+    public PaymentGateway getGateway(String provider) {
+        return provider != null ? gatewayMap.get(provider) : null;
+    }
+
+    /**
+     * 신규 결제에 사용할 PG사 선택
+     *
+     * @return 선택된 PG사 구분 값
+     */
+    public String selectProvider() {
+        return selectProvider(ThreadLocalRandom.current());
+    }
+
+    String selectProvider(Random random) {
+        Map<String, Double> effective = effectiveWeights(System.currentTimeMillis());
+        double total = effective.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total <= 0) {
+            return InicisGateway.PROVIDER;
+        }
+
+        double pick = random.nextDouble() * total;
+        String selected = null;
+        for (Map.Entry<String, Double> entry : effective.entrySet()) {
+            selected = entry.getKey();
+            pick -= entry.getValue();
+            if (pick < 0) {
+                break;
+            }
+        }
+        return selected;
+    }
+
+    // PG사별 현재 유효 가중치 계산
+    Map<String, Double> effectiveWeights(long nowMillis) {
+        Map<String, GatewayHealthWindow.Snapshot> snapshots = snapshots(nowMillis);
+
+        long bestP99 = Long.MAX_VALUE;
+        for (GatewayHealthWindow.Snapshot snapshot : snapshots.values()) {
+            if (snapshot.sampleCount() >= minSamples && snapshot.errorRate() <= maxErrorRate) {
+                bestP99 = Math.min(bestP99, snapshot.p99Millis());
+            }
+        }
+
+        Map<String, Double> effective = new LinkedHashMap<>();
+        for (String provider : gatewayMap.keySet()) {
+            double weight = weights.getOrDefault(provider, 0);
+            if (weight <= 0) {
+                continue;
+            }
+            GatewayHealthWindow.Snapshot snapshot = snapshots.get(provider);
+            if (routingEnabled && snapshot.sampleCount() >= minSamples) {
+                boolean erroring = snapshot.errorRate() > maxErrorRate;
+                boolean slow = bestP99 != Long.MAX_VALUE && snapshot.p99Millis() > Math.max(1L, bestP99) * outlierFactor;
+                if (erroring || slow) {
+                    weight *= probeRatio;
+                } else {
+                    weight *= (1.0 - snapshot.errorRate());
+                }
+            }
+            effective.put(provider, weight);
+        }
+        return effective;
+    }
+
+    /**
+     * PG 호출 결과 기록
+     *
+     * @param provider PG사 구분 값
+     * @param latencyMillis 호출 소요 시간
+     * @param success 통신 성공 여부 (업무 실패 코드는 성공으로 취급)
+     */
+    public void record(String provider, long latencyMillis, boolean success) {
+        GatewayHealthWindow window = windows.get(provider);
+        if (window != null) {
+            window.record(System.currentTimeMillis(), latencyMillis, success);
+        }
+    }
+
+    /**
+     * PG 호출을 실행하면서 소요 시간과 성공 여부를 기록
+     *
+     * 예외가 발생하면 실패로 기록한 뒤 그대로 다시 던집니다.
+     */
+    public <T> T track(String provider, PgCall<T> call) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            record(provider, (System.nanoTime() - start) / 1_000_000, success);
+        }
+    }
+
+    /**
+     * PG사별 현재 윈도우 통계
+     */
+    public Map<String, GatewayHealthWindow.Snapshot> snapshots(long nowMillis) {
+        Map<String, GatewayHealthWindow.Snapshot> result = new LinkedHashMap<>();
+        for (Map.Entry<String, GatewayHealthWindow> entry : windows.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot(nowMillis));
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface PgCall<T> {
+        T call() throws Exception;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.demo.gateway;
+
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * PG 호출 분석 (PG사/작업별 승인율, 오류 코드 분포, 지연시간 백분위수 - 최근 1/5/15분)
+ *
+ * PaymentService 의 모든 PG 호출이 결과를 기록하고, 운영자는 /actuator/pganalytics 로 조회합니다.
+ * PG사+작업(series)마다 15분 분량의 링 버퍼를 두며, 호출/승인/오류 코드 수는 초 단위 버킷에,
+ * 지연시간은 histogram-slot-seconds 단위 버킷의 HdrHistogram(ms, 유효숫자 2자리)에 기록합니다.
+ * 지연시간 버킷을 초 단위로 두면 series 당 수 MB 가 되므로, 지연시간 백분위수의 윈도우 시작은 슬롯 경계로 내림합니다.
+ *
+ * 기록 경로는 락 없이 원자 카운터와 CAS 만 사용합니다. 링이 한 바퀴 돌아 만료된 버킷은 새 버킷으로 교체(CAS)하므로
+ * 메모리는 series 수 x 링 크기로 고정됩니다(series 당 약 1MB). series 수와 series 별 오류 코드 종류에도 상한
+ * (max-series, max-error-codes)을 두고, 넘는 series 의 호출은 버리고(droppedCalls) 넘는 오류 코드는 OTHER 로 묶습니다.
+ */
+@Component
+public class PgCallAnalytics {
+
+    /**
+     * 조회 윈도우 (분)
+     */
+    public static final int[] WINDOW_MINUTES = {1, 5, 15};
+
+    public static final String OTHER_CODE = "OTHER";
+
+    private static final int RING_SECONDS = 15 * 60;
+    private static final int CALLS = 0;
+    private static final int APPROVED = 1;
+    private static final int ERROR_CODE_OFFSET = 2;
+    private static final int OTHER_INDEX = 0;
+
+    // PG사별 승인(정상 처리) 결과코드 - 승인/취소/망취소/거래 조회 공통
+    private static final Map<String, Set<String>> APPROVED_CODES = Map.of(
+            InicisGateway.PROVIDER, Set.of("0000", "00"),
+            NicePayGateway.PROVIDER, Set.of("0000", "3001", "4000", "4100", "A000", "7001", "2001", "2211", "2221"));
+
+    @Value("${pg.analytics.histogram-slot-seconds:10}")
+    private int histogramSlotSeconds;
+
+    @Value("${pg.analytics.highest-latency-ms:60000}")
+    private long highestLatencyMillis;
+
+    @Value("${pg.analytics.max-series:32}")
+    private int maxSeries;
+
+    @Value("${pg.analytics.max-error-codes:16}")
+    private int maxErrorCodes;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Series>> providers = new ConcurrentHashMap<>();
+    private final AtomicInteger seriesCount = new AtomicInteger();
+    private final LongAdder droppedCalls = new LongAdder();
+
+    /**
+     * PG 응답(또는 통신 실패) 기록
+     *
+     * @param response PG 응답, 통신 실패로 응답이 없으면 null
+     * @param httpStatus 응답이 없을 때의 HTTP 상태 (받지 못했으면 0)
+     */
+    public void record(String provider, String operation, long latencyNanos, PgResponse response, int httpStatus) {
+        String code;
+        if (response == null) {
+            code = httpStatus > 0 ? "HTTP_" + httpStatus : "IO_ERROR";
+        } else if (!response.is2xxSuccessful()) {
+            code = "HTTP_" + response.getStatus();
+        } else {
+            code = response.resultCode() != null ? response.resultCode() : "NO_RESULT_CODE";
+        }
+        record(System.currentTimeMillis(), provider, operation, latencyNanos, code);
+    }
+
+    /**
+     * PG 결과코드 기록 (승인 여부는 PG사별 승인 결과코드로 판단)
+     */
+    public void record(long nowMillis, String provider, String operation, long latencyNanos, String resultCode) {
+        Series target = series(provider, operation);
+        if (target == null) {
+            droppedCalls.increment();
+            return;
+        }
+        Set<String> approvedCodes = APPROVED_CODES.get(provider);
+        boolean approved = approvedCodes != null && approvedCodes.contains(resultCode);
+        target.record(nowMillis / 1000, latencyNanos / 1_000_000, approved ? -1 : target.codeIndex(resultCode));
+    }
+
+    /**
+     * 현재 윈도우 통계
+     */
+    public Snapshot snapshot() {
+        return snapshot(System.currentTimeMillis());
+    }
+
+    public Snapshot snapshot(long nowMillis) {
+        long nowSecond = nowMillis / 1000;
+        Map<String, ProviderStats> result = new TreeMap<>();
+        providers.forEach((provider, operations) -> {
+            Map<String, WindowStats> providerWindows = new LinkedHashMap<>();
+            Map<String, Map<String, WindowStats>> operationWindows = new TreeMap<>();
+            for (int minutes : WINDOW_MINUTES) {
+                long fromSecond = nowSecond - minutes * 60L + 1;
+                Accumulator total = new Accumulator();
+                for (Map.Entry<String, Series> entry : operations.entrySet()) {
+                    Accumulator accumulator = new Accumulator();
+                    accumulator.add(entry.getValue(), fromSecond, nowSecond);
+                    total.add(entry.getValue(), fromSecond, nowSecond);
+                    operationWindows.computeIfAbsent(entry.getKey(), key -> new LinkedHashMap<>())
+                            .put(minutes + "m", accumulator.toStats());
+                }
+                providerWindows.put(minutes + "m", total.toStats());
+            }
+            result.put(provider, new ProviderStats(providerWindows, operationWindows));
+        });
+        return new Snapshot(LocalDateTime.now(), droppedCalls.sum(), result);
+    }
+
+    private Series series(String provider, String operation) {
+        ConcurrentHashMap<String, Series> operations = providers.get(provider);
+        Series target = operations != null ? operations.get(operation) : null;
+        if (target != null) {
+            return target;
+        }
+        if (provider == null || operation == null || seriesCount.get() >= maxSeries) {
+            return null;
+        }
+        return providers.computeIfAbsent(provider, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(operation, key -> seriesCount.incrementAndGet() <= maxSeries ? new Series() : null);
+    }
+
+    // 링의 현재 버킷 (만료된 버킷은 새 버킷으로 교체, 링 한 바퀴 이상 늦은 기록이면 null)
+    private static <B extends Bucket> B current(AtomicReferenceArray<B> ring, long epoch, LongFunction<B> factory) {
+        int index = (int) (epoch % ring.length());
+        while (true) {
+            B bucket = ring.get(index);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket.epoch == epoch ? bucket : null;
+            }
+            B fresh = factory.apply(epoch);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private abstract static class Bucket {
+        final long epoch;
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    // 1초 버킷: [호출 수, 승인 수, 오류 코드별 건수...]
+    private static final class CountBucket extends Bucket {
+        final AtomicLongArray counts;
+
+        CountBucket(long second, int length) {
+            super(second);
+            this.counts = new AtomicLongArray(length);
+        }
+    }
+
+    private static final class LatencyBucket extends Bucket {
+        final AtomicHistogram latency;
+
+        LatencyBucket(long slot, long highestLatencyMillis) {
+            super(slot);
+            this.latency = new AtomicHistogram(highestLatencyMillis, 2);
+        }
+    }
+
+    // PG사+작업별 링 버퍼
+    private final class Series {
+        final AtomicReferenceArray<CountBucket> counts = new AtomicReferenceArray<>(RING_SECONDS);
+        final AtomicReferenceArray<LatencyBucket> latencies =
+                new AtomicReferenceArray<>(RING_SECONDS / histogramSlotSeconds + 1);
+        final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+        final AtomicReferenceArray<String> codeNames = new AtomicReferenceArray<>(maxErrorCodes);
+        final AtomicInteger codeCount = new AtomicInteger();
+        final LongFunction<CountBucket> newCountBucket = epoch -> new CountBucket(epoch, ERROR_CODE_OFFSET + maxErrorCodes);
+        final LongFunction<LatencyBucket> newLatencyBucket = epoch -> new LatencyBucket(epoch, highestLatencyMillis);
+
+        Series() {
+            codeNames.set(OTHER_INDEX, OTHER_CODE);
+        }
+
+        void record(long second, long latencyMillis, int errorCode) {
+            CountBucket bucket = current(counts, second, newCountBucket);
+            if (bucket != null) {
+                bucket.counts.incrementAndGet(CALLS);
+                bucket.counts.incrementAndGet(errorCode < 0 ? APPROVED : ERROR_CODE_OFFSET + errorCode);
+            }
+            LatencyBucket slot = current(latencies, second / histogramSlotSeconds, newLatencyBucket);
+            if (slot != null) {
+                slot.latency.recordValue(Math.max(0, Math.min(latencyMillis, highestLatencyMillis)));
+            }
+        }
+
+        // 오류 코드 번호 (0 은 OTHER, 상한을 넘는 코드도 OTHER)
+        int codeIndex(String code) {
+            Integer index = codes.get(code);
+            if (index != null) {
+                return index;
+            }
+            if (codes.size() >= maxErrorCodes) {
+                return OTHER_INDEX;
+            }
+            return codes.computeIfAbsent(code, key -> {
+                int next = codeCount.incrementAndGet();
+                if (next >= maxErrorCodes) {
+                    return OTHER_INDEX;
+                }
+                codeNames.set(next, key);
+                return next;
+            });
+        }
+    }
+
+    // 윈도우 합산 (조회 시에만 사용)
+    private final class Accumulator {
+        long calls;
+        long approved;
+        final Map<String, Long> errorCodes = new TreeMap<>();
+        final Histogram latency = new Histogram(highestLatencyMillis, 2);
+
+        void add(Series series, long fromSecond, long toSecond) {
+            for (int i = 0; i < series.counts.length(); i++) {
+                CountBucket bucket = series.counts.get(i);
+                if (bucket == null || bucket.epoch < fromSecond || bucket.epoch > toSecond) {
+                    continue;
+                }
+                calls += bucket.counts.get(CALLS);
+                approved += bucket.counts.get(APPROVED);
+                for (int code = 0; code < maxErrorCodes; code++) {
+                    long count = bucket.counts.get(ERROR_CODE_OFFSET + code);
+                    if (count > 0) {
+                        errorCodes.merge(series.codeNames.get(code), count, Long::sum);
+                    }
+                }
+            }
+            long fromSlot = fromSecond / histogramSlotSeconds;
+            long toSlot = toSecond / histogramSlotSeconds;
+            for (int i = 0; i < series.latencies.length(); i++) {
+                LatencyBucket slot = series.latencies.get(i);
+                if (slot != null && slot.epoch >= fromSlot && slot.epoch <= toSlot) {
+                    latency.add(slot.latency);
+                }
+            }
+        }
+
+        WindowStats toStats() {
+            return new WindowStats(calls, approved, calls > 0 ? (double) approved / calls : 0.0, errorCodes,
+                    latency.getValueAtPercentile(50), latency.getValueAtPercentile(90),
+                    latency.getValueAtPercentile(99), latency.getMaxValue());
+        }
+    }
+
+    /**
+     * 윈도우 통계
+     *
+     * @param calls 호출 수
+     * @param approved 승인(정상 처리) 결과코드 수
+     * @param approvalRate 승인율 (0.0 ~ 1.0)
+     * @param errorCodes 승인 외 결과코드별 건수 (HTTP_xxx: HTTP 오류, IO_ERROR: 통신 실패)
+     */
+    public record WindowStats(long calls, long approved, double approvalRate, Map<String, Long> errorCodes,
+                              long p50Millis, long p90Millis, long p99Millis, long maxMillis) {
+    }
+
+    /**
+     * PG사별 통계
+     *
+     * @param windows 윈도우(1m, 5m, 15m)별 전체 작업 합계
+     * @param operations 작업(APPROVE, REFUND, NET_CANCEL 등)별 윈도우 통계
+     */
+    public record ProviderStats(Map<String, WindowStats> windows, Map<String, Map<String, WindowStats>> operations) {
+    }
+
+    /**
+     * @param droppedCalls series 상한을 넘어 기록하지 못한 호출 수 (기동 후 누적)
+     */
+    public record Snapshot(LocalDateTime generatedAt, long droppedCalls, Map<String, ProviderStats> providers) {
+    }
+}
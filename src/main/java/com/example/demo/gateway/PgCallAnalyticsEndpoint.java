@@ -0,0 +1,27 @@
+package com.example.demo.gateway;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 운영자용 PG 호출 분석 조회 엔드포인트 (GET /actuator/pganalytics)
+ *
+ * PG사/작업별 최근 1/5/15분 승인율, 오류 코드 분포, 지연시간 백분위수를 반환합니다. 인스턴스별 값입니다.
+ * prd/stg 에 노출되며 ACTUATOR_ADMIN 역할의 HTTP Basic 인증이 필요합니다 ({@link com.example.demo.config.SecurityConfig}).
+ */
+@Component
+@Endpoint(id = "pganalytics")
+public class PgCallAnalyticsEndpoint {
+
+    private final PgCallAnalytics pgCallAnalytics;
+
+    public PgCallAnalyticsEndpoint(PgCallAnalytics pgCallAnalytics) {
+        this.pgCallAnalytics = pgCallAnalytics;
+    }
+
+    @ReadOperation
+    public PgCallAnalytics.Snapshot snapshot() {
+        return pgCallAnalytics.snapshot();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.gateway;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * PG사 API 응답 (PgResponseReader 가 응답 본문을 한 번만 읽어 만든 결과)
+ *
+ * JSON 과 key=value 응답 모두 최상위 항목을 문자열 Map 으로 보관하고,
+ * 결과코드/메시지/TID 는 PG사별 키 이름 차이를 감춘 접근자로 제공합니다.
+ * 원문 문자열은 로그/감사 기록에 필요할 때만 만듭니다.
+ */
+public final class PgResponse {
+
+    private static final String PARSE_FAILED_CODE = "9999";
+
+    private final String provider;
+    private final int status;
+    private final boolean json;
+    private final Charset charset;
+    private final byte[] body;
+    private final Map<String, String> fields;
+    private final boolean parseFailed;
+    private String bodyText;
+
+    PgResponse(String provider, int status, boolean json, Charset charset, byte[] body,
+               Map<String, String> fields, boolean parseFailed) {
+        this.provider = provider;
+        this.status = status;
+        this.json = json;
+        this.charset = charset;
+        this.body = body;
+        this.fields = Collections.unmodifiableMap(fields);
+        this.parseFailed = parseFailed;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public boolean is2xxSuccessful() {
+        return status / 100 == 2;
+    }
+
+    public boolean isJson() {
+        return json;
+    }
+
+    public boolean isParseFailed() {
+        return parseFailed;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 응답 본문 길이 (bytes)
+     */
+    public int length() {
+        return body.length;
+    }
+
+    public boolean isEmpty() {
+        return body.length == 0;
+    }
+
+    /**
+     * 응답 원문 (처음 호출할 때 한 번만 디코딩)
+     */
+    public String bodyText() {
+        if (bodyText == null) {
+            bodyText = new String(body, charset);
+        }
+        return bodyText;
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    public String get(String key) {
+        return fields.get(key);
+    }
+
+    /**
+     * 주어진 키 중 처음으로 값이 있는 항목 (앞뒤 공백 제거)
+     */
+    public String first(String... keys) {
+        for (String key : keys) {
+            String value = fields.get(key);
+            if (value != null && !value.isBlank()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 결과코드 (NicePay: ResultCode, 이니시스: resultCode), 파싱 실패 시 9999
+     */
+    public String resultCode() {
+        if (parseFailed) {
+            return PARSE_FAILED_CODE;
+        }
+        return isNicePay() ? fields.get("ResultCode") : fields.get("resultCode");
+    }
+
+    /**
+     * 결과 메시지 (NicePay: ResultMsg, 이니시스: resultMsg), 파싱 실패 시 원문 포함
+     */
+    public String resultMsg() {
+        if (parseFailed) {
+            return "응답 파싱 실패: " + bodyText();
+        }
+        return isNicePay() ? fields.get("ResultMsg") : fields.get("resultMsg");
+    }
+
+    /**
+     * 거래번호 (NicePay: TID, 이니시스: tid)
+     */
+    public String tid() {
+        return isNicePay() ? first("TID", "tid") : first("tid", "TID", "P_TID");
+    }
+
+    private boolean isNicePay() {
+        return "NICEPAY".equals(provider);
+    }
+
+    @Override
+    public String toString() {
+        return provider + " " + status + " " + fields;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.demo.gateway;
+
+import com.example.demo.gateway.codec.PgCharsets;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PG사 API 응답 본문 디코더 (NicePay/이니시스 공용)
+ *
+ * 응답 스트림을 byte[] 로 한 번만 읽고, 중간 String/Map&lt;String, Object&gt; 없이 바로 {@link PgResponse} 를 만듭니다.
+ * <ul>
+ *   <li>JSON: Jackson 스트리밍 파서로 최상위 항목만 문자열로 읽음 (중첩 객체/배열은 JSON 문자열)</li>
+ *   <li>key=value&amp;key=value: 바이트 단위로 퍼센트 디코딩 후 문자셋 적용</li>
+ *   <li>문자셋: Content-Type 의 charset 우선, 없으면 UTF-8 로 검증해 실패하면 EUC-KR</li>
+ * </ul>
+ * 파서/버퍼를 공유하지 않으므로 여러 스레드에서 동시에 사용해도 됩니다.
+ */
+@Component
+public class PgResponseReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgResponseReader.class);
+
+    private static final JsonFactory JSON_FACTORY = new MappingJsonFactory();
+
+    /**
+     * 응답 스트림 디코딩 (스트림은 끝까지 읽고 닫습니다)
+     *
+     * @param contentType 응답 Content-Type 헤더 (없으면 null)
+     */
+    public PgResponse read(String provider, int status, InputStream in, String contentType) throws IOException {
+        if (in == null) {
+            return read(provider, status, new byte[0], contentType);
+        }
+        try (in) {
+            return read(provider, status, in.readAllBytes(), contentType);
+        }
+    }
+
+    /**
+     * 응답 본문 디코딩
+     *
+     * @param contentType 응답 Content-Type 헤더 (없으면 null)
+     */
+    public PgResponse read(String provider, int status, byte[] body, String contentType) {
+        byte[] bytes = body != null ? body : new byte[0];
+        Charset declared = charsetOf(contentType);
+        int start = firstNonWhitespace(bytes);
+        boolean json = start < bytes.length && (bytes[start] == '{' || bytes[start] == '[');
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (json) {
+            Charset charset = declared != null ? declared : StandardCharsets.UTF_8;
+            try {
+                readJson(bytes, charset, fields);
+            } catch (IOException e) {
+                logger.warn("{} 응답 JSON 파싱 실패: {}", provider, e.getMessage());
+                return new PgResponse(provider, status, true, charset, bytes, new LinkedHashMap<>(), true);
+            }
+            return new PgResponse(provider, status, true, charset, bytes, fields, false);
+        }
+
+        Charset charset = readForm(bytes, declared, fields);
+        return new PgResponse(provider, status, false, charset, bytes, fields, false);
+    }
+
+    private void readJson(byte[] body, Charset charset, Map<String, String> fields) throws IOException {
+        try (JsonParser parser = StandardCharsets.UTF_8.equals(charset)
+                ? JSON_FACTORY.createParser(body)
+                : JSON_FACTORY.createParser(new InputStreamReader(new ByteArrayInputStream(body), charset))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // 최상위가 배열인 응답은 항목 없이 원문만 보관
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    fields.put(name, parser.readValueAsTree().toString());
+                } else if (value == JsonToken.VALUE_NULL) {
+                    fields.put(name, "");
+                } else {
+                    fields.put(name, parser.getText());
+                }
+            }
+        }
+    }
+
+    // key=value&key=value 응답 디코딩, 실제로 적용한 문자셋 반환
+    private Charset readForm(byte[] body, Charset declared, Map<String, String> fields) {
+        Charset charset = declared;
+        if (charset == null) {
+            charset = isValidUtf8(body, 0, body.length) ? StandardCharsets.UTF_8 : PgCharsets.EUC_KR;
+        }
+        byte[] scratch = new byte[body.length];
+        int pairStart = 0;
+        while (pairStart < body.length) {
+            int pairEnd = indexOf(body, (byte) '&', pairStart, body.length);
+            int equals = indexOf(body, (byte) '=', pairStart, pairEnd);
+            if (equals < pairEnd) {
+                String key = decode(body, pairStart, equals, scratch, declared);
+                fields.put(key, decode(body, equals + 1, pairEnd, scratch, declared));
+            } else if (pairEnd > pairStart) {
+                // 값이 없는 키는 빈 문자열
+                fields.put(decode(body, pairStart, pairEnd, scratch, declared), "");
+            }
+            pairStart = pairEnd + 1;
+        }
+        return charset;
+    }
+
+    // 퍼센트 디코딩 후 문자셋 적용 (charset 미지정 응답은 값마다 UTF-8 검증, 실패 시 EUC-KR)
+    private String decode(byte[] body, int from, int to, byte[] scratch, Charset declared) {
+        int length = 0;
+        boolean ascii = true;
+        for (int i = from; i < to; i++) {
+            byte b = body[i];
+            if (b == '+') {
+                b = ' ';
+            } else if (b == '%' && i + 2 < to) {
+                int high = Character.digit(body[i + 1], 16);
+                int low = Character.digit(body[i + 2], 16);
+                if (high >= 0 && low >= 0) {
+                    b = (byte) ((high << 4) | low);
+                    i += 2;
+                }
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            scratch[length++] = b;
+        }
+        if (ascii) {
+            return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+        }
+        if (declared != null) {
+            return new String(scratch, 0, length, declared);
+        }
+        return new String(scratch, 0, length, isValidUtf8(scratch, 0, length) ? StandardCharsets.UTF_8 : PgCharsets.EUC_KR);
+    }
+
+    // 할당 없이 UTF-8 바이트열 여부 확인 (EUC-KR 한글 바이트열은 대부분 UTF-8 규칙에 맞지 않음)
+    static boolean isValidUtf8(byte[] bytes, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int b = bytes[i] & 0xFF;
+            int continuation;
+            if (b < 0x80) {
+                i++;
+                continue;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+            } else {
+                return false;
+            }
+            if (i + continuation >= to) {
+                return false;
+            }
+            for (int k = 1; k <= continuation; k++) {
+                if ((bytes[i + k] & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int firstNonWhitespace(byte[] bytes) {
+        int i = 0;
+        while (i < bytes.length && (bytes[i] == ' ' || bytes[i] == '\t' || bytes[i] == '\r' || bytes[i] == '\n')) {
+            i++;
+        }
+        return i;
+    }
+
+    // Content-Type 의 charset 파라미터 (없거나 알 수 없으면 null)
+    static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                String name = trimmed.substring("charset=".length()).replace("\"", "").trim();
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    logger.warn("알 수 없는 응답 charset: {}", name);
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.gateway;
+
+/**
+ * PG사 거래 조회 결과
+ *
+ * {@link PaymentGateway#inquire} 에서 PG사별 응답 코드를 이 값으로 변환합니다.
+ */
+public enum PgTransactionStatus {
+
+    /**
+     * 승인 완료 (취소되지 않음)
+     */
+    APPROVED,
+
+    /**
+     * 승인 후 취소됨 (전체/부분 취소)
+     */
+    CANCELLED,
+
+    /**
+     * 승인되지 않았거나 PG사에 거래가 없음
+     */
+    NOT_APPROVED,
+
+    /**
+     * 조회 실패 (통신 오류, 알 수 없는 응답) - 상태를 판단하지 않고 다음에 다시 조회
+     */
+    UNKNOWN;
+
+    // 조회 응답을 상태 판단에 쓸 수 있는지 (통신/파싱 오류가 아니고 결과코드가 있음)
+    static boolean answered(PgResponse response) {
+        return response.is2xxSuccessful() && !response.isParseFailed() && response.resultCode() != null;
+    }
+
+    // 조회 결과코드/거래 상태 -> 거래 상태
+    static PgTransactionStatus fromInquiry(boolean answered, boolean found, String status) {
+        if (!answered) {
+            return UNKNOWN;
+        }
+        if (!found) {
+            return NOT_APPROVED;
+        }
+        if ("0".equals(status)) {
+            return APPROVED;
+        }
+        if ("1".equals(status) || "2".equals(status)) {
+            return CANCELLED;
+        }
+        return UNKNOWN;
+    }
+}
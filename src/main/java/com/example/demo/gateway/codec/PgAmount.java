@@ -0,0 +1,96 @@
+package com.example.demo.gateway.codec;
+
+/**
+ * PG 전문 금액 파싱 (박싱 없이 long 반환)
+ *
+ * NicePay Amt 처럼 0 으로 채운 고정 길이 금액("000000009000")과 앞뒤 공백을 허용합니다.
+ */
+public final class PgAmount {
+
+    private PgAmount() {
+    }
+
+    /**
+     * 금액 파싱
+     *
+     * @throws NumberFormatException 비어 있거나 숫자가 아니거나 long 범위를 넘는 경우
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            throw new NumberFormatException("금액이 없습니다.");
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        boolean negative = start < end && text.charAt(start) == '-';
+        if (negative) {
+            start++;
+        }
+        if (start == end) {
+            throw invalid(text);
+        }
+        // 18자리 이하는 long 범위를 넘을 수 없으므로 범위 검사 없이 누적
+        if (end - start <= 18) {
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalid(text);
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+        return parseLong(text, start, end, negative);
+    }
+
+    // 19자리 이상: 음수 방향으로 누적해 Long.MIN_VALUE 까지 범위 검사
+    private static long parseLong(CharSequence text, int start, int end, boolean negative) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid(text);
+            }
+            if (value < Long.MIN_VALUE / 10 || value * 10 < Long.MIN_VALUE + digit) {
+                throw outOfRange(text);
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw outOfRange(text);
+            }
+            return -value;
+        }
+        return value;
+    }
+
+    // 예외 메시지 생성은 별도 메서드로 분리해 parse 가 JIT 인라인 대상이 되도록 유지
+    private static NumberFormatException invalid(CharSequence text) {
+        return new NumberFormatException("금액 형식이 아닙니다: \"" + text + "\"");
+    }
+
+    private static NumberFormatException outOfRange(CharSequence text) {
+        return new NumberFormatException("금액 범위를 벗어났습니다: \"" + text + "\"");
+    }
+
+    /**
+     * 금액 파싱, 없거나 잘못된 값이면 defaultValue
+     */
+    public static long parse(CharSequence text, long defaultValue) {
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return parse(text);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.gateway.codec;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PG 연동에 쓰는 문자셋 상수 (Charset.forName 조회를 호출마다 반복하지 않도록)
+ */
+public final class PgCharsets {
+
+    public static final Charset EUC_KR = Charset.forName("EUC-KR");
+    public static final Charset UTF_8 = StandardCharsets.UTF_8;
+
+    private PgCharsets() {
+    }
+}
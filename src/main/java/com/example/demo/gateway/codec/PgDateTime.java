@@ -0,0 +1,103 @@
+package com.example.demo.gateway.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * PG 전문 일시 형식 (yyyyMMddHHmmss) 변환
+ *
+ * NicePay EdiDate/AuthDate, 이니시스 timestamp/applDate+applTime 에 사용합니다.
+ * DateTimeFormatter 생성/문자열 연결 없이 숫자를 직접 쓰고 읽습니다.
+ */
+public final class PgDateTime {
+
+    /**
+     * yyyyMMddHHmmss 길이
+     */
+    public static final int COMPACT_LENGTH = 14;
+
+    /**
+     * 화면/응답용 일시 형식 (yyyy-MM-dd HH:mm:ss), 호출마다 새로 만들지 않도록 공유
+     */
+    public static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private PgDateTime() {
+    }
+
+    /**
+     * yyyyMMddHHmmss 문자열 (결과 String 외 할당 없음)
+     */
+    public static String formatCompact(LocalDateTime dateTime) {
+        byte[] digits = new byte[COMPACT_LENGTH];
+        writeCompact(dateTime, digits, 0);
+        return new String(digits, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * yyyyMMddHHmmss 를 dst[offset] 부터 ASCII 로 기록
+     *
+     * @return 기록한 바이트 수 (14)
+     */
+    public static int writeCompact(LocalDateTime dateTime, byte[] dst, int offset) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            throw new DateTimeException("4자리 연도만 지원합니다: " + year);
+        }
+        writeDigits(dst, offset, year, 4);
+        writeDigits(dst, offset + 4, dateTime.getMonthValue(), 2);
+        writeDigits(dst, offset + 6, dateTime.getDayOfMonth(), 2);
+        writeDigits(dst, offset + 8, dateTime.getHour(), 2);
+        writeDigits(dst, offset + 10, dateTime.getMinute(), 2);
+        writeDigits(dst, offset + 12, dateTime.getSecond(), 2);
+        return COMPACT_LENGTH;
+    }
+
+    /**
+     * yyyyMMddHHmmss 파싱
+     *
+     * @throws DateTimeException 길이/숫자/날짜가 올바르지 않은 경우
+     */
+    public static LocalDateTime parseCompact(CharSequence dateTime) {
+        if (dateTime == null || dateTime.length() != COMPACT_LENGTH) {
+            throw new DateTimeException("yyyyMMddHHmmss 형식이 아닙니다: " + dateTime);
+        }
+        return LocalDateTime.of(
+                digits(dateTime, 0, 4), digits(dateTime, 4, 2), digits(dateTime, 6, 2),
+                digits(dateTime, 8, 2), digits(dateTime, 10, 2), digits(dateTime, 12, 2));
+    }
+
+    /**
+     * yyyyMMdd + HHmmss 파싱 (두 문자열을 연결하지 않음)
+     *
+     * @throws DateTimeException 길이/숫자/날짜가 올바르지 않은 경우
+     */
+    public static LocalDateTime parseCompact(CharSequence date, CharSequence time) {
+        if (date == null || date.length() != 8 || time == null || time.length() != 6) {
+            throw new DateTimeException("yyyyMMdd/HHmmss 형식이 아닙니다: " + date + ", " + time);
+        }
+        return LocalDateTime.of(
+                digits(date, 0, 4), digits(date, 4, 2), digits(date, 6, 2),
+                digits(time, 0, 2), digits(time, 2, 2), digits(time, 4, 2));
+    }
+
+    private static void writeDigits(byte[] dst, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            dst[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int digits(CharSequence text, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new DateTimeException("숫자가 아닌 문자가 포함되어 있습니다: " + text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
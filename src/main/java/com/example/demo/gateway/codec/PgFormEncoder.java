@@ -0,0 +1,173 @@
+package com.example.demo.gateway.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * PG 요청용 application/x-www-form-urlencoded 본문 인코더
+ *
+ * {@link java.net.URLEncoder} 와 같은 규칙(영숫자와 . - * _ 는 그대로, 공백은 +, 나머지는 %XX)으로
+ * 대상 문자셋(EUC-KR/UTF-8) 바이트를 재사용 버퍼에 바로 씁니다.
+ * 키/값마다 String, StringBuilder, 중간 byte[] 를 만들지 않습니다.
+ *
+ * 인스턴스는 스레드 안전하지 않으므로 {@link #forCurrentThread(Charset)} 로 스레드별 인스턴스를 받아 사용합니다.
+ */
+public final class PgFormEncoder {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<PgFormEncoder> EUC_KR = ThreadLocal.withInitial(() -> new PgFormEncoder(PgCharsets.EUC_KR));
+    private static final ThreadLocal<PgFormEncoder> UTF_8 = ThreadLocal.withInitial(() -> new PgFormEncoder(PgCharsets.UTF_8));
+
+    private final Charset charset;
+    private final CharsetEncoder encoder;
+    private byte[] buffer = new byte[512];
+    private int size;
+    private CharBuffer chars = CharBuffer.allocate(64);
+    private ByteBuffer encoded = ByteBuffer.allocate(256);
+
+    public PgFormEncoder(Charset charset) {
+        this.charset = charset;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * 현재 스레드의 인코더 (비운 상태로 반환, EUC-KR/UTF-8 외 문자셋은 새 인스턴스)
+     */
+    public static PgFormEncoder forCurrentThread(Charset charset) {
+        PgFormEncoder encoder;
+        if (PgCharsets.EUC_KR.equals(charset)) {
+            encoder = EUC_KR.get();
+        } else if (PgCharsets.UTF_8.equals(charset)) {
+            encoder = UTF_8.get();
+        } else {
+            encoder = new PgFormEncoder(charset);
+        }
+        return encoder.reset();
+    }
+
+    public PgFormEncoder reset() {
+        size = 0;
+        return this;
+    }
+
+    public PgFormEncoder addAll(Map<String, String> params) {
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    public PgFormEncoder add(String key, String value) {
+        if (size > 0) {
+            put((byte) '&');
+        }
+        encode(key);
+        put((byte) '=');
+        if (value != null) {
+            encode(value);
+        }
+        return this;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 인코딩된 본문 길이 (bytes)
+     */
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void encode(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                encodeAscii(c);
+                i++;
+                continue;
+            }
+            // 비ASCII 구간을 한 번에 문자셋 인코딩 (서로게이트 쌍이 나뉘지 않도록)
+            int end = i + 1;
+            while (end < length && text.charAt(end) >= 0x80) {
+                end++;
+            }
+            encodeNonAscii(text, i, end);
+            i = end;
+        }
+    }
+
+    private void encodeAscii(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_') {
+            put((byte) c);
+        } else if (c == ' ') {
+            put((byte) '+');
+        } else {
+            putEscaped((byte) c);
+        }
+    }
+
+    private void encodeNonAscii(CharSequence text, int start, int end) {
+        int count = end - start;
+        if (chars.capacity() < count) {
+            chars = CharBuffer.allocate(Math.max(count, chars.capacity() * 2));
+        }
+        int maxBytes = (int) Math.ceil(count * (double) encoder.maxBytesPerChar());
+        if (encoded.capacity() < maxBytes) {
+            encoded = ByteBuffer.allocate(Math.max(maxBytes, encoded.capacity() * 2));
+        }
+        chars.clear();
+        for (int i = start; i < end; i++) {
+            chars.put(text.charAt(i));
+        }
+        chars.flip();
+        encoded.clear();
+        encoder.reset();
+        encoder.encode(chars, encoded, true);
+        encoder.flush(encoded);
+        byte[] bytes = encoded.array();
+        for (int i = 0, n = encoded.position(); i < n; i++) {
+            putEscaped(bytes[i]);
+        }
+    }
+
+    private void putEscaped(byte b) {
+        ensureCapacity(3);
+        buffer[size++] = '%';
+        buffer[size++] = HEX[(b >> 4) & 0x0F];
+        buffer[size++] = HEX[b & 0x0F];
+    }
+
+    private void put(byte b) {
+        ensureCapacity(1);
+        buffer[size++] = b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + extra, buffer.length * 2));
+        }
+    }
+}
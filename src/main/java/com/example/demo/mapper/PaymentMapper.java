@@ -3,10 +3,12 @@ package com.example.demo.mapper;
 import com.example.demo.dto.InicisResponseDto;
 import com.example.demo.dto.PaymentResultDto;
 import com.example.demo.entity.Payment;
+import com.example.demo.gateway.codec.PgAmount;
+import com.example.demo.gateway.codec.PgDateTime;
 import org.springframework.stereotype.Component;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 @Component
 public class PaymentMapper {
@@ -50,21 +52,15 @@ public class PaymentMapper {
     }
     
     private Long parseAmount(String price) {
-        try {
-            return price != null ? Long.parseLong(price) : 0L;
-        } catch (NumberFormatException e) {
-            return 0L;
-        }
+        return PgAmount.parse(price, 0L);
     }
     
     public LocalDateTime parsePaymentDate(String applDate, String applTime) {
         try {
             if (applDate != null && applTime != null) {
-                String dateTimeStr = applDate + applTime;
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-                return LocalDateTime.parse(dateTimeStr, formatter);
+                return PgDateTime.parseCompact(applDate, applTime);
             }
-        } catch (Exception e) {
+        } catch (DateTimeException e) {
             // 파싱 실패시 현재 시간 반환
         }
         return LocalDateTime.now();
@@ -0,0 +1,37 @@
+package com.example.demo.monitoring;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Spring Data 리포지토리 메서드 호출을 repository.call 관측(트레이싱 span + 타이머)으로 감싸는 인터셉터
+ *
+ * span 이름은 "OrderRepository.findByOrderNo" 형태이며, 하위에 실제 실행된 jdbc.statement span 이 붙습니다.
+ * 진행 중인 관측이 없는 호출(기동/스케줄 외 백그라운드)은 그대로 통과합니다.
+ */
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+
+    private final ObservationRegistry observationRegistry;
+    private final String repositoryName;
+
+    public RepositoryObservationInterceptor(ObservationRegistry observationRegistry, Class<?> repositoryInterface) {
+        this.observationRegistry = observationRegistry;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (observationRegistry.getCurrentObservation() == null) {
+            return invocation.proceed();
+        }
+        String methodName = invocation.getMethod().getName();
+        return Observation.createNotStarted("repository.call", observationRegistry)
+                .contextualName(repositoryName + "." + methodName)
+                .lowCardinalityKeyValue(KeyValue.of("repository", repositoryName))
+                .lowCardinalityKeyValue(KeyValue.of("method", methodName))
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.demo.monitoring;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * JDBC 실행을 {@link SqlStatementCounter} 에 집계하는 DataSource 래퍼
+ *
+ * Connection 이 만든 Statement 의 execute 계열 호출을 문장 수로, ResultSet 의 next() 를 읽은 행 수로,
+ * 갱신 결과 건수를 쓴 행 수로 집계합니다. 시퀀스 채번(select nextval)은 별도로도 집계합니다.
+ * 커넥션 풀(Hikari) 바깥을 감싸므로 풀 메트릭/unwrap 은 그대로 동작합니다.
+ *
+ * ObservationRegistry 가 주어지면 진행 중인 관측(HTTP 요청 등) 아래에서 execute 계열 호출마다
+ * jdbc.statement 관측(트레이싱 span)을 남깁니다.
+ * SQL 문은 바인딩 전 문장(?)만 span 속성으로 기록하고, 메트릭에는 db.operation(select/insert 등)만 태그로 씁니다.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final ObservationRegistry observationRegistry;
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        this(targetDataSource, ObservationRegistry.NOOP);
+    }
+
+    public SqlCountingDataSource(DataSource targetDataSource, ObservationRegistry observationRegistry) {
+        super(targetDataSource);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, observationRegistry));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection, observationRegistry));
+    }
+
+    /**
+     * 컨테이너 종료 시 감싼 커넥션 풀도 함께 종료합니다.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        if (target == null) {
+            return null;
+        }
+        return (T) Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final ObservationRegistry observationRegistry;
+
+        ConnectionHandler(Connection target, ObservationRegistry observationRegistry) {
+            this.target = target;
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            Object result = SqlCountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> wrap(Statement.class, (Statement) result, new StatementHandler((Statement) result, null, observationRegistry));
+                case "prepareStatement" -> wrap(PreparedStatement.class, (PreparedStatement) result, new StatementHandler((Statement) result, (String) args[0], observationRegistry));
+                case "prepareCall" -> wrap(CallableStatement.class, (CallableStatement) result, new StatementHandler((Statement) result, (String) args[0], observationRegistry));
+                default -> result;
+            };
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final ObservationRegistry observationRegistry;
+
+        StatementHandler(Statement target, String sql, ObservationRegistry observationRegistry) {
+            this.target = target;
+            this.sql = sql;
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result;
+            if (name.startsWith("execute")) {
+                String executedSql = sql != null ? sql : (args != null && args.length > 0 && args[0] instanceof String text ? text : null);
+                SqlStatementCounter.statementExecuted(isSequenceFetch(executedSql));
+                result = observe(executedSql, method, args);
+            } else {
+                result = SqlCountingDataSource.invoke(target, method, args);
+            }
+            switch (name) {
+                case "executeUpdate", "executeLargeUpdate" -> SqlStatementCounter.rowsWritten(((Number) result).longValue());
+                case "executeBatch" -> {
+                    for (int count : (int[]) result) {
+                        // reWriteBatchedInserts 사용 시 건수 대신 SUCCESS_NO_INFO 반환
+                        SqlStatementCounter.rowsWritten(count == Statement.SUCCESS_NO_INFO ? 1 : count);
+                    }
+                }
+                case "executeLargeBatch" -> {
+                    for (long count : (long[]) result) {
+                        SqlStatementCounter.rowsWritten(count == Statement.SUCCESS_NO_INFO ? 1 : count);
+                    }
+                }
+                case "executeQuery", "getResultSet" -> {
+                    return wrap(ResultSet.class, (ResultSet) result, new ResultSetHandler((ResultSet) result));
+                }
+                case "execute" -> {
+                    if (!(Boolean) result) {
+                        SqlStatementCounter.rowsWritten(target.getUpdateCount());
+                    }
+                }
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        private Object observe(String executedSql, Method method, Object[] args) throws Throwable {
+            // 요청/작업 관측 바깥(커넥션 검증, 기동 시 스키마 조회 등)의 SQL 은 단독 trace 로 남기지 않음
+            if (observationRegistry.isNoop() || observationRegistry.getCurrentObservation() == null) {
+                return SqlCountingDataSource.invoke(target, method, args);
+            }
+            String operation = operation(executedSql);
+            return Observation.createNotStarted("jdbc.statement", observationRegistry)
+                    .contextualName("jdbc " + operation)
+                    .lowCardinalityKeyValue(KeyValue.of("db.operation", operation))
+                    .highCardinalityKeyValue(KeyValue.of("db.statement", executedSql != null ? executedSql : "batch"))
+                    .observeChecked(() -> SqlCountingDataSource.invoke(target, method, args));
+        }
+    }
+
+    // SQL 첫 단어 (select/insert/update/delete 등), 배치 실행은 batch
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "other" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    // pooled 시퀀스 채번 (allocationSize 마다 1회)
+    private static boolean isSequenceFetch(String sql) {
+        return sql != null && sql.regionMatches(true, 0, "select nextval", 0, 14);
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+
+        ResultSetHandler(ResultSet target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlCountingDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && (Boolean) result) {
+                SqlStatementCounter.rowRead();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.monitoring;
+
+/**
+ * 요청(스레드) 단위 SQL 실행 횟수/행 수 집계
+ *
+ * {@link #begin()} 으로 집계를 시작한 스레드에서 실행된 JDBC 문장만 집계합니다.
+ * 배치 실행(executeBatch)은 DB 왕복 1회로 집계합니다.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * 현재 스레드의 집계 시작 (기존 집계는 초기화)
+     */
+    public static Counts begin() {
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * 현재 스레드의 집계 조회
+     *
+     * @return 집계 중이 아니면 null
+     */
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드의 집계 종료
+     */
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts;
+    }
+
+    static void statementExecuted(boolean sequenceFetch) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+            if (sequenceFetch) {
+                counts.sequenceFetches++;
+            }
+        }
+    }
+
+    static void rowRead() {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.rowsRead++;
+        }
+    }
+
+    static void rowsWritten(long rows) {
+        Counts counts = CURRENT.get();
+        if (counts != null && rows > 0) {
+            counts.rowsWritten += rows;
+        }
+    }
+
+    /**
+     * 집계 값 (하나의 스레드에서만 갱신)
+     */
+    public static final class Counts {
+
+        private long statements;
+        private long sequenceFetches;
+        private long rowsRead;
+        private long rowsWritten;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        /**
+         * pooled 시퀀스 채번 횟수 (statements 에 포함, ID 50개마다 1회라 요청마다 달라질 수 있음)
+         */
+        public long getSequenceFetches() {
+            return sequenceFetches;
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        @Override
+        public String toString() {
+            return "statements=" + statements + " (sequenceFetches=" + sequenceFetches + "), rowsRead=" + rowsRead + ", rowsWritten=" + rowsWritten;
+        }
+    }
+}
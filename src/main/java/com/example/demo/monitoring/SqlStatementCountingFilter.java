@@ -0,0 +1,106 @@
+package com.example.demo.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청 단위 SQL 실행 횟수/행 수 집계 필터
+ *
+ * <ul>
+ *   <li>sql.metrics.response-header=true (prd 외 기본값): 응답 헤더 X-SQL-Statements / X-SQL-Rows-Read / X-SQL-Rows-Written</li>
+ *   <li>항상: sql.statements.per.request / sql.rows.per.request 메트릭 (uri 패턴, method 태그)</li>
+ * </ul>
+ *
+ * {@code @ResponseBody} 응답은 본문 직렬화 직전에 {@link SqlStatementHeaderAdvice} 가 헤더를 추가합니다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_READ_HEADER = "X-SQL-Rows-Read";
+    public static final String ROWS_WRITTEN_HEADER = "X-SQL-Rows-Written";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.metrics.response-header:true}")
+    private boolean responseHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end();
+            if (responseHeader && !response.isCommitted()) {
+                writeHeaders(response, counts);
+            }
+            record(request, counts);
+        }
+    }
+
+    boolean isResponseHeaderEnabled() {
+        return responseHeader;
+    }
+
+    static void writeHeaders(HttpServletResponse response, SqlStatementCounter.Counts counts) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(counts.getStatements()));
+        response.setHeader(ROWS_READ_HEADER, String.valueOf(counts.getRowsRead()));
+        response.setHeader(ROWS_WRITTEN_HEADER, String.valueOf(counts.getRowsWritten()));
+    }
+
+    static void writeHeaders(HttpHeaders headers, SqlStatementCounter.Counts counts) {
+        headers.set(STATEMENTS_HEADER, String.valueOf(counts.getStatements()));
+        headers.set(ROWS_READ_HEADER, String.valueOf(counts.getRowsRead()));
+        headers.set(ROWS_WRITTEN_HEADER, String.valueOf(counts.getRowsWritten()));
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Counts counts) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("sql.statements.per.request")
+                .description("요청당 SQL 실행 횟수 (배치는 1회)")
+                .tag("uri", uri)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(counts.getStatements());
+        DistributionSummary.builder("sql.rows.per.request")
+                .description("요청당 SQL 처리 행 수")
+                .tag("uri", uri)
+                .tag("method", method)
+                .tag("type", "read")
+                .register(meterRegistry)
+                .record(counts.getRowsRead());
+        DistributionSummary.builder("sql.rows.per.request")
+                .description("요청당 SQL 처리 행 수")
+                .tag("uri", uri)
+                .tag("method", method)
+                .tag("type", "written")
+                .register(meterRegistry)
+                .record(counts.getRowsWritten());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.monitoring;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * {@code @ResponseBody} 응답 본문이 쓰이기 전에 SQL 집계 헤더 추가
+ *
+ * 본문이 쓰이면 응답이 커밋되어 필터에서는 헤더를 추가할 수 없으므로,
+ * 컨트롤러 처리가 끝나고 직렬화하기 직전의 집계 값을 헤더로 내보냅니다.
+ */
+@ControllerAdvice
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired(required = false)
+    private SqlStatementCountingFilter sqlStatementCountingFilter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sqlStatementCountingFilter != null && sqlStatementCountingFilter.isResponseHeaderEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementCounter.Counts counts = SqlStatementCounter.current();
+        if (counts != null) {
+            SqlStatementCountingFilter.writeHeaders(response.getHeaders(), counts);
+        }
+        return body;
+    }
+}
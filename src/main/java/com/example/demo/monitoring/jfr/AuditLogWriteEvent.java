@@ -0,0 +1,33 @@
+package com.example.demo.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * PG 통신 로그(if_inisis_log) 저장 1건
+ *
+ * 감사 커넥션 풀 대기 시간을 포함하므로 풀 고갈 시 긴 이벤트로 나타납니다.
+ */
+@Name("com.example.demo.AuditLogWrite")
+@Label("Audit Log Write")
+@Category({"Payment", "Audit"})
+@Description("if_inisis_log 저장")
+@StackTrace(false)
+public class AuditLogWriteEvent extends Event {
+
+    @Label("Order No")
+    public String orderNo;
+
+    @Label("Request Type")
+    public String requestType;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Success")
+    public boolean success;
+}
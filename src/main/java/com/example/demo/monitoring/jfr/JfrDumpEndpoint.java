@@ -0,0 +1,58 @@
+package com.example.demo.monitoring.jfr;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * 운영자용 JFR 덤프 엔드포인트 (GET /actuator/jfr?minutes=10)
+ *
+ * 상시 레코딩의 최근 N분(기본 10분, 최대 max-age)을 .jfr 파일로 내려줍니다.
+ * JDK Mission Control 또는 {@code jfr print --events com.example.demo.PgCall} 로 열어 봅니다.
+ * 노출은 management.endpoints.web.exposure.include 를 따르고, 호출에는 ACTUATOR_ADMIN 역할의 HTTP Basic 인증이 필요합니다 ({@link com.example.demo.config.SecurityConfig}).
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrDumpEndpoint {
+
+    private static final String JFR_CONTENT_TYPE = "application/octet-stream";
+
+    @Autowired
+    private PaymentFlightRecorder paymentFlightRecorder;
+
+    @ReadOperation(produces = JFR_CONTENT_TYPE)
+    public WebEndpointResponse<Resource> dump(@Nullable Integer minutes) throws IOException {
+        Duration lastPeriod = Duration.ofMinutes(minutes != null && minutes > 0 ? minutes : 10);
+        if (lastPeriod.compareTo(paymentFlightRecorder.getMaxAge()) > 0) {
+            lastPeriod = paymentFlightRecorder.getMaxAge();
+        }
+        Path file = Files.createTempFile("payment-", ".jfr");
+        try {
+            paymentFlightRecorder.dump(lastPeriod, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        // 응답 전송 후 스트림을 닫을 때 임시 파일 삭제
+        Resource resource = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)) {
+            @Override
+            public String getFilename() {
+                return file.getFileName().toString();
+            }
+        };
+        return new WebEndpointResponse<>(resource, WebEndpointResponse.STATUS_OK);
+    }
+}
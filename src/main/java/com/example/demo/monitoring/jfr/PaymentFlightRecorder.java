@@ -0,0 +1,104 @@
+package com.example.demo.monitoring.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 상시 JFR 레코딩
+ *
+ * 기동 시 JDK 기본(default, 오버헤드 1% 내외) 설정에 결제 이벤트({@link PgCallEvent}, {@link PaymentFlowEvent},
+ * {@link AuditLogWriteEvent})를 더한 레코딩을 디스크 순환 버퍼로 시작합니다. max-age/max-size 를 넘는 구간은 버려집니다.
+ *
+ * {@link #dump(Duration, Path)} 는 최근 구간만 잘라 .jfr 파일로 저장합니다 (청크 단위라 요청 구간보다 조금 길 수 있음).
+ */
+@Component
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentFlightRecorder implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentFlightRecorder.class);
+
+    @Value("${jfr.recording.settings:default}")
+    private String settings;
+
+    @Value("${jfr.recording.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${jfr.recording.max-size-mb:200}")
+    private long maxSizeMb;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("payment-always-on");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.enable(PgCallEvent.class);
+        recording.enable(PaymentFlowEvent.class);
+        recording.enable(AuditLogWriteEvent.class);
+        recording.start();
+        logger.info("JFR 상시 레코딩 시작 - settings: {}, maxAge: {}m, maxSize: {}MB", settings, maxAgeMinutes, maxSizeMb);
+    }
+
+    /**
+     * 최근 구간 레코딩을 파일로 저장
+     *
+     * @param lastPeriod 저장할 최근 구간 (레코딩 max-age 보다 길면 보관된 전체 구간)
+     * @param destination 저장할 .jfr 파일
+     * @return 저장한 바이트 수
+     */
+    public long dump(Duration lastPeriod, Path destination) throws IOException {
+        FlightRecorderMXBean flightRecorder = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+        long snapshotId = flightRecorder.takeSnapshot();
+        try {
+            Map<String, String> options = Map.of(
+                    "startTime", Instant.now().minus(lastPeriod).toString(),
+                    "blockSize", "1048576");
+            long streamId = flightRecorder.openStream(snapshotId, options);
+            long written = 0;
+            try (OutputStream out = Files.newOutputStream(destination)) {
+                byte[] block;
+                while ((block = flightRecorder.readStream(streamId)) != null) {
+                    out.write(block);
+                    written += block.length;
+                }
+            } finally {
+                flightRecorder.closeStream(streamId);
+            }
+            return written;
+        } finally {
+            flightRecorder.closeRecording(snapshotId);
+        }
+    }
+
+    public Duration getMaxAge() {
+        return Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
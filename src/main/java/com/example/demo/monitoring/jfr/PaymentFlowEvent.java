@@ -0,0 +1,55 @@
+package com.example.demo.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 결제 흐름 1건 (승인, 결제 취소, 적립금 취소, 망취소)
+ *
+ * 흐름 전체(DB 처리, PG 호출, 로그 저장 포함) 소요 시간을 기록합니다.
+ * 같은 스레드의 {@link PgCallEvent}/{@link AuditLogWriteEvent} 와 시간 구간으로 대응시켜 지연 원인을 나눠 볼 수 있습니다.
+ */
+@Name("com.example.demo.PaymentFlow")
+@Label("Payment Flow")
+@Category({"Payment"})
+@Description("결제 승인/취소/망취소 흐름")
+@StackTrace(false)
+public class PaymentFlowEvent extends Event {
+
+    public static final String APPROVAL = "APPROVAL";
+    public static final String REFUND = "REFUND";
+    public static final String POINTS_REFUND = "POINTS_REFUND";
+    public static final String NETWORK_CANCEL = "NETWORK_CANCEL";
+
+    @Label("Flow")
+    public String flow;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Order No")
+    public String orderNo;
+
+    @Label("Success")
+    public boolean success;
+
+    public static PaymentFlowEvent begin(String flow, String provider, String orderNo) {
+        PaymentFlowEvent event = new PaymentFlowEvent();
+        if (event.isEnabled()) {
+            event.flow = flow;
+            event.provider = provider;
+            event.orderNo = orderNo;
+        }
+        event.begin();
+        return event;
+    }
+
+    public void end(boolean success) {
+        this.success = success;
+        commit();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.net.URI;
+
+/**
+ * PG API 호출 1건 (승인, 취소, 망취소 등)
+ *
+ * 응답 바이트는 Content-Length 기준이며, chunked 응답 등 길이를 알 수 없으면 -1 입니다.
+ */
+@Name("com.example.demo.PgCall")
+@Label("PG Call")
+@Category({"Payment", "PG"})
+@Description("PG API 호출 (PG사, 작업, 호스트, HTTP 상태, 요청/응답 크기)")
+@StackTrace(false)
+public class PgCallEvent extends Event {
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Host")
+    public String host;
+
+    @Label("HTTP Status")
+    public int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes = -1;
+
+    public static PgCallEvent begin(String provider, String operation, String url) {
+        PgCallEvent event = new PgCallEvent();
+        if (event.isEnabled()) {
+            event.provider = provider;
+            event.operation = operation;
+            event.host = hostOf(url);
+        }
+        event.begin();
+        return event;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
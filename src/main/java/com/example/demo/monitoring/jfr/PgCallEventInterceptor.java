@@ -0,0 +1,42 @@
+package com.example.demo.monitoring.jfr;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * RestTemplate PG 호출의 요청/응답 크기와 HTTP 상태를 진행 중인 {@link PgCallEvent} 에 기록하는 인터셉터
+ *
+ * 이벤트는 호출하는 쪽에서 {@link #begin}/{@link #end} 로 감싸며, 같은 스레드에서만 유효합니다.
+ */
+public class PgCallEventInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final ThreadLocal<PgCallEvent> CURRENT = new ThreadLocal<>();
+
+    public static PgCallEvent begin(String provider, String operation, String url) {
+        PgCallEvent event = PgCallEvent.begin(provider, operation, url);
+        CURRENT.set(event);
+        return event;
+    }
+
+    public static void end(PgCallEvent event) {
+        CURRENT.remove();
+        event.commit();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        PgCallEvent event = CURRENT.get();
+        if (event == null) {
+            return execution.execute(request, body);
+        }
+        event.requestBytes = body.length;
+        ClientHttpResponse response = execution.execute(request, body);
+        event.status = response.getStatusCode().value();
+        event.responseBytes = response.getHeaders().getContentLength();
+        return response;
+    }
+}
@@ -2,8 +2,13 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.IfInisisLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +20,17 @@ public interface IfInisisLogRepository extends JpaRepository<IfInisisLog, Long>
     List<IfInisisLog> findByTransactionIdOrderByCreatedAtDesc(String transactionId);
     
     Optional<IfInisisLog> findTopByOrderNoAndRequestTypeOrderByCreatedAtDesc(String orderNo, String requestType);
+
+    // createdBefore 이전 로그를 최대 limit 건 보관 테이블로 이동 (감사 트랜잭션 매니저로 바로 커밋)
+    @Transactional
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM if_inisis_log WHERE id IN (" +
+                   "SELECT id FROM if_inisis_log WHERE created_at < :createdBefore ORDER BY id LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED) RETURNING *) " +
+                   "INSERT INTO if_inisis_log_archive (id, order_no, transaction_id, trace_id, request_type, request_url, " +
+                   "request_data, response_data, http_status, is_success, error_message, payment_provider, created_at, archived_at) " +
+                   "SELECT id, order_no, transaction_id, trace_id, request_type, request_url, " +
+                   "request_data, response_data, http_status, is_success, error_message, payment_provider, created_at, now() " +
+                   "FROM moved", nativeQuery = true)
+    int moveCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.OrderArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, Long> {
+    Optional<OrderArchive> findByOrderNo(String orderNo);
+
+    // 사용자 주문을 운영 + 보관 테이블에서 한 번에 조회 (운영 행은 archived_at 이 null, 최신순)
+    @Query(value = "SELECT id, order_no, user_id, total_amount, points_used, card_amount, status, created_at, updated_at, " +
+                   "CAST(NULL AS TIMESTAMP) AS archived_at FROM orders WHERE user_id = :userId " +
+                   "UNION ALL " +
+                   "SELECT id, order_no, user_id, total_amount, points_used, card_amount, status, created_at, updated_at, " +
+                   "archived_at FROM orders_archive WHERE user_id = :userId " +
+                   "ORDER BY created_at DESC", nativeQuery = true)
+    List<OrderArchive> findUserOrderHistory(@Param("userId") Long userId);
+
+    // 운영 orders 에서 지운 행을 그대로 보관 테이블에 추가 (한 문장이므로 양쪽에 동시에 있거나 없는 순간이 없음)
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM orders WHERE id IN (:ids) RETURNING *) " +
+                   "INSERT INTO orders_archive (id, order_no, user_id, total_amount, points_used, card_amount, status, " +
+                   "created_at, updated_at, archived_at) " +
+                   "SELECT id, order_no, user_id, total_amount, points_used, card_amount, status, " +
+                   "created_at, updated_at, now() FROM moved", nativeQuery = true)
+    int moveOrders(@Param("ids") Collection<Long> ids);
+}
@@ -2,8 +2,12 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,67 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByOrderNo(String orderNo);
     List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
     boolean existsByOrderNo(String orderNo);
-}
\ No newline at end of file
+
+    // 주문 상세 ETag 계산용 버전 정보 (주문 + 결제 내역의 건수/최종 변경 시각)
+    @Query("SELECT o.id AS orderId, o.status AS status, o.updatedAt AS orderUpdatedAt, " +
+           "COUNT(p.id) AS paymentCount, MAX(p.updatedAt) AS paymentUpdatedAt " +
+           "FROM Order o LEFT JOIN Payment p ON p.orderNo = o.orderNo " +
+           "WHERE o.orderNo = :orderNo GROUP BY o.id, o.status, o.updatedAt")
+    Optional<OrderVersion> findVersionByOrderNo(@Param("orderNo") String orderNo);
+
+    // 사용자 주문 목록 ETag 계산용 버전 정보
+    @Query("SELECT COUNT(DISTINCT o.id) AS orderCount, MAX(o.updatedAt) AS orderUpdatedAt, " +
+           "COUNT(p.id) AS paymentCount, MAX(p.updatedAt) AS paymentUpdatedAt " +
+           "FROM Order o LEFT JOIN Payment p ON p.orderNo = o.orderNo " +
+           "WHERE o.userId = :userId")
+    UserOrdersVersion findVersionByUserId(@Param("userId") Long userId);
+
+    // 방치 주문 정리 대상 잠금 (id 키셋 순서, 다른 인스턴스가 잠갔거나 선점 중인 주문은 기다리지 않고 건너뜀)
+    @Query(value = "SELECT * FROM orders WHERE status IN ('PENDING', 'PENDING_APPROVAL') " +
+                   "AND updated_at < :staleBefore AND id > :afterId " +
+                   "AND (sweep_claimed_until IS NULL OR sweep_claimed_until < :now) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Order> lockStaleOrders(@Param("staleBefore") LocalDateTime staleBefore,
+                                @Param("afterId") long afterId,
+                                @Param("limit") int limit,
+                                @Param("now") LocalDateTime now);
+
+    // 방치 주문 정리 선점 표시 (updated_at 은 그대로 두어 선점이 끝나면 다시 정리 대상이 됨)
+    @Modifying
+    @Query(value = "UPDATE orders SET sweep_claimed_until = :claimedUntil WHERE id IN (:ids)", nativeQuery = true)
+    int claimForSweep(@Param("ids") List<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    // 방치 주문 PG 취소 시작 표시 (주문 잠금 아래에서 기록, 커밋 후 승인 흐름이 이 주문을 거절)
+    @Modifying
+    @Query(value = "UPDATE orders SET sweep_cancelling_at = :now WHERE id = :id AND sweep_cancelling_at IS NULL", nativeQuery = true)
+    int markSweepCancelling(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 주문 advisory lock (트랜잭션 종료 시 해제, 이미 잡혀 있으면 기다리지 않고 false)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, hashtext(:orderNo))", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("namespace") int namespace, @Param("orderNo") String orderNo);
+
+    // 보관 대상 잠금: createdBefore 이전에 생성된 종료 상태 주문 (id 키셋 순서, 잠긴 주문은 건너뜀)
+    // 상태 스냅샷에 반영되지 않은 결제 이벤트가 남은 주문은 반영 후 옮김
+    @Query(value = "SELECT * FROM orders WHERE status IN ('COMPLETED', 'CANCELLED', 'FAILED', 'NETWORK_CANCELLED') " +
+                   "AND created_at < :createdBefore AND id > :afterId " +
+                   "AND NOT EXISTS (SELECT 1 FROM payment_events e WHERE e.order_id = orders.id AND e.seq > orders.event_seq) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Order> lockArchivableOrders(@Param("createdBefore") LocalDateTime createdBefore,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    interface OrderVersion {
+        Long getOrderId();
+        Order.OrderStatus getStatus();
+        LocalDateTime getOrderUpdatedAt();
+        Long getPaymentCount();
+        LocalDateTime getPaymentUpdatedAt();
+    }
+
+    interface UserOrdersVersion {
+        Long getOrderCount();
+        LocalDateTime getOrderUpdatedAt();
+        Long getPaymentCount();
+        LocalDateTime getPaymentUpdatedAt();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.PaymentArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentArchiveRepository extends JpaRepository<PaymentArchive, Long> {
+    // 주문번호로 보관된 결제 내역 조회 (최신순)
+    @Query("SELECT p FROM PaymentArchive p WHERE p.orderNo = :orderNo " +
+           "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentArchive> findByOrderNoOrderByPaymentDateDesc(@Param("orderNo") String orderNo);
+
+    // 여러 주문의 결제 내역을 운영 + 보관 테이블에서 한 번에 조회 (운영 행은 archived_at 이 null)
+    @Query(value = "SELECT id, order_no, user_id, tid, amount, status, result_code, result_msg, payment_date, card_name, " +
+                   "card_code, appl_num, created_at, updated_at, payment_type, pg_provider, net_cancel_url, auth_token, " +
+                   "CAST(NULL AS TIMESTAMP) AS archived_at FROM payments WHERE order_no IN (:orderNos) " +
+                   "UNION ALL " +
+                   "SELECT id, order_no, user_id, tid, amount, status, result_code, result_msg, payment_date, card_name, " +
+                   "card_code, appl_num, created_at, updated_at, payment_type, pg_provider, net_cancel_url, auth_token, " +
+                   "archived_at FROM payments_archive WHERE order_no IN (:orderNos) " +
+                   "ORDER BY payment_date DESC, id DESC", nativeQuery = true)
+    List<PaymentArchive> findPaymentHistoryByOrderNoIn(@Param("orderNos") Collection<String> orderNos);
+
+    // 주문번호의 결제 내역을 운영 payments 에서 보관 테이블로 이동
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM payments WHERE order_no IN (:orderNos) RETURNING *) " +
+                   "INSERT INTO payments_archive (id, order_no, user_id, tid, amount, status, result_code, result_msg, " +
+                   "payment_date, card_name, card_code, appl_num, created_at, updated_at, payment_type, pg_provider, " +
+                   "net_cancel_url, auth_token, archived_at) " +
+                   "SELECT id, order_no, user_id, tid, amount, status, result_code, result_msg, " +
+                   "payment_date, card_name, card_code, appl_num, created_at, updated_at, payment_type, pg_provider, " +
+                   "net_cancel_url, auth_token, now() FROM moved", nativeQuery = true)
+    int movePayments(@Param("orderNos") Collection<String> orderNos);
+
+    // 주문 id 의 결제 로그를 운영 payment_logs 에서 보관 테이블로 이동
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM payment_logs WHERE order_id IN (:orderIds) RETURNING *) " +
+                   "INSERT INTO payment_logs_archive (id, order_id, transaction_id, payment_method, amount, status, " +
+                   "result_code, result_message, approved_at, created_at, archived_at) " +
+                   "SELECT id, order_id, transaction_id, payment_method, amount, status, " +
+                   "result_code, result_message, approved_at, created_at, now() FROM moved", nativeQuery = true)
+    int movePaymentLogs(@Param("orderIds") Collection<Long> orderIds);
+
+    // 주문 id 의 결제 이벤트를 운영 payment_events 에서 보관 테이블로 이동
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM payment_events WHERE order_id IN (:orderIds) RETURNING *) " +
+                   "INSERT INTO payment_events_archive (id, order_id, order_no, user_id, seq, event_type, payment_id, " +
+                   "amount, created_at, archived_at) " +
+                   "SELECT id, order_id, order_no, user_id, seq, event_type, payment_id, " +
+                   "amount, created_at, now() FROM moved", nativeQuery = true)
+    int movePaymentEvents(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.PaymentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+
+    // 주문 스냅샷 이후 이벤트 (적용 순서)
+    List<PaymentEvent> findByOrderIdAndSeqGreaterThanOrderBySeq(Long orderId, int seq);
+
+    // 스냅샷에 반영되지 않은 이벤트 (since ~ quietBefore 사이 기록, 주문/순번 순서)
+    @Query(value = "SELECT e.* FROM payment_events e JOIN orders o ON o.id = e.order_id " +
+                   "WHERE e.created_at >= :since AND e.created_at < :quietBefore AND e.seq > o.event_seq " +
+                   "ORDER BY e.order_id, e.seq LIMIT :limit", nativeQuery = true)
+    List<PaymentEvent> findUnprojected(@Param("since") LocalDateTime since,
+                                       @Param("quietBefore") LocalDateTime quietBefore,
+                                       @Param("limit") int limit);
+}
@@ -4,6 +4,7 @@ import com.example.demo.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.Query;
@@ -19,6 +20,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
            "ORDER BY p.paymentDate DESC, p.id DESC")
     List<Payment> findByOrderNoOrderByPaymentDateDesc(@Param("orderNo") String orderNo);
 
+    // 여러 주문의 결제 내역을 한 번에 조회 (주문 목록 조회 시 주문별 반복 조회 방지)
+    @Query("SELECT p FROM Payment p WHERE p.orderNo IN :orderNos " +
+           "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<Payment> findByOrderNoInOrderByPaymentDateDesc(@Param("orderNos") Collection<String> orderNos);
+
     // 주문번호로 완료된 결제만 조회
     @Query("SELECT p FROM Payment p WHERE p.orderNo = :orderNo AND p.status = 'COMPLETED' " +
            "ORDER BY p.paymentDate DESC")
@@ -28,11 +34,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.tid = :tid ORDER BY p.paymentDate DESC, p.id DESC")
     List<Payment> findByTidOrderByPaymentDateDesc(@Param("tid") String tid);
 
-    // 기존 메서드는 deprecated, 대신 findByTidOrderByPaymentDateDesc 사용 권장
+    // TID로 가장 최신 결제 1건만 조회 (LIMIT 1)
+    Optional<Payment> findFirstByTidOrderByPaymentDateDescIdDesc(String tid);
+
+    // 기존 메서드는 deprecated, 대신 findFirstByTidOrderByPaymentDateDescIdDesc 사용 권장
     @Deprecated
     default Optional<Payment> findByTid(String tid) {
-        List<Payment> payments = findByTidOrderByPaymentDateDesc(tid);
-        return payments.isEmpty() ? Optional.empty() : Optional.of(payments.get(0));
+        return findFirstByTidOrderByPaymentDateDescIdDesc(tid);
     }
 
     boolean existsByOrderNo(String orderNo);
@@ -46,11 +54,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
            "ORDER BY p.paymentDate DESC, p.id DESC")
     List<Payment> findByTidAndStatusOrderByPaymentDateDesc(@Param("tid") String tid, @Param("status") String status);
 
-    // 기존 메서드는 deprecated, 대신 findByTidAndStatusOrderByPaymentDateDesc 사용 권장
+    // TID와 상태로 가장 최신 결제 1건만 조회 (LIMIT 1)
+    Optional<Payment> findFirstByTidAndStatusOrderByPaymentDateDescIdDesc(String tid, String status);
+
+    // 기존 메서드는 deprecated, 대신 findFirstByTidAndStatusOrderByPaymentDateDescIdDesc 사용 권장
     @Deprecated
     default Optional<Payment> findByTidAndStatus(String tid, String status) {
-        List<Payment> payments = findByTidAndStatusOrderByPaymentDateDesc(tid, status);
-        return payments.isEmpty() ? Optional.empty() : Optional.of(payments.get(0));
+        return findFirstByTidAndStatusOrderByPaymentDateDescIdDesc(tid, status);
     }
 
     // 주문번호와 TID로 결제 내역 조회 (중복 결제 확인용)
@@ -58,8 +68,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
            "ORDER BY p.paymentDate DESC, p.id DESC")
     List<Payment> findByOrderNoAndTidOrderByPaymentDateDesc(@Param("orderNo") String orderNo, @Param("tid") String tid);
 
+    // 주문번호와 TID로 가장 최신 결제 1건만 조회 (LIMIT 1)
+    Optional<Payment> findFirstByOrderNoAndTidOrderByPaymentDateDescIdDesc(String orderNo, String tid);
+
     default Optional<Payment> findByOrderNoAndTid(String orderNo, String tid) {
-        List<Payment> payments = findByOrderNoAndTidOrderByPaymentDateDesc(orderNo, tid);
-        return payments.isEmpty() ? Optional.empty() : Optional.of(payments.get(0));
+        return findFirstByOrderNoAndTidOrderByPaymentDateDescIdDesc(orderNo, tid);
     }
 }
\ No newline at end of file
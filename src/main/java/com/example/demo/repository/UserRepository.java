@@ -2,7 +2,11 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +14,16 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // 샤딩 환경의 사용자 ID 채번 (0번 샤드의 users id 시퀀스를 전체 샤드 공용으로 사용)
+    @Query(value = "SELECT nextval(pg_get_serial_sequence('users', 'id'))", nativeQuery = true)
+    Long nextId();
+
+    // 채번한 ID 로 사용자 저장 (사용자 샤드에 저장하므로 IDENTITY 채번을 거치지 않음)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO users (id, name, email, points, phone_number) " +
+                   "VALUES (:#{#user.id}, :#{#user.name}, :#{#user.email}, :#{#user.points}, :#{#user.phoneNumber})",
+           nativeQuery = true)
+    int insertWithId(@Param("user") User user);
+}
@@ -0,0 +1,199 @@
+package com.example.demo.service;
+
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.entity.Order;
+import com.example.demo.repository.IfInisisLogRepository;
+import com.example.demo.repository.OrderArchiveRepository;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.PaymentArchiveRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 주문 보관(archive)
+ *
+ * 생성 후 archive.order-age-days 가 지난 종료 상태(완료/취소/실패/망취소) 주문을 결제 내역, 결제 로그, 결제 이벤트와 함께
+ * 보관 테이블(orders_archive, payments_archive, payment_logs_archive, payment_events_archive)로 옮겨 주문/결제 시 쓰는 운영 테이블과 인덱스를 작게 유지합니다.
+ * 주문은 id 키셋 순서로 batch-size 건씩 FOR UPDATE SKIP LOCKED 로 잠그고, 배치마다 한 트랜잭션에서 이동합니다.
+ * 환불 등 결제 흐름이 주문 잠금({@link OrderLockService})을 잡고 있는 주문은 건너뛰고 다음 실행 때 옮깁니다.
+ * 샤딩 환경에서는 샤드마다 차례로 이동합니다.
+ * PG 통신 로그(if_inisis_log)는 감사 DataSource 에서 같은 기준 시각으로 따로 이동합니다.
+ *
+ * 보관된 주문은 {@link PaymentService} 이력 조회에서 운영 테이블에 없을 때 보관 테이블로 조회합니다.
+ * 메트릭: payment.archive.rows (table 태그), payment.archive.run (실행 시간)
+ */
+@Service
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private PaymentArchiveRepository paymentArchiveRepository;
+
+    @Autowired
+    private IfInisisLogRepository ifInisisLogRepository;
+
+    @Autowired
+    private OrderLockService orderLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.order-age-days:365}")
+    private long orderAgeDays;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${archive.max-orders-per-run:50000}")
+    private int maxOrdersPerRun;
+
+    /**
+     * 주기 실행 (archive.enabled=false 면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${archive.interval-ms:3600000}",
+               initialDelayString = "${archive.interval-ms:3600000}")
+    public void archiveOldOrders() {
+        if (enabled) {
+            LocalDateTime createdBefore = LocalDateTime.now().minusDays(orderAgeDays);
+            shardRouter.forEachShard(shard -> archiveOrders(createdBefore, 0L));
+            archiveAuditLogs(createdBefore);
+        }
+    }
+
+    /**
+     * createdBefore 이전에 생성된 종료 상태 주문을 결제 내역/결제 로그와 함께 보관 테이블로 이동 (현재 샤드)
+     *
+     * 배치 처리 중 DB 오류가 나면 해당 배치는 롤백(운영 테이블에 그대로 남음)하고 중단합니다.
+     *
+     * @param createdBefore 이 시각 이전에 생성된 주문만 대상
+     * @param afterId 이 id 다음 주문부터 처리 (처음부터면 0)
+     * @return 이동한 주문 수
+     */
+    public int archiveOrders(LocalDateTime createdBefore, long afterId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startedAt = System.nanoTime();
+        long lastId = afterId;
+        int scanned = 0;
+        int archived = 0;
+
+        try {
+            while (scanned < maxOrdersPerRun) {
+                int limit = Math.min(batchSize, maxOrdersPerRun - scanned);
+                long batchAfterId = lastId;
+                Batch batch = transactionTemplate.execute(status -> archiveBatch(createdBefore, batchAfterId, limit));
+                if (batch == null || batch.locked() == 0) {
+                    break;
+                }
+                // 커밋된 배치만 집계
+                count("orders", batch.orders());
+                count("payments", batch.payments());
+                count("payment_logs", batch.paymentLogs());
+                count("payment_events", batch.paymentEvents());
+                archived += batch.orders();
+                scanned += batch.locked();
+                lastId = batch.lastId();
+                if (batch.locked() < limit) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("주문 보관 중단 - 마지막 처리 id: {}", lastId, e);
+        }
+
+        if (meterRegistry != null) {
+            Timer.builder("payment.archive.run").register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        if (archived > 0) {
+            logger.info("주문 보관: {}건 ({} 이전 생성)", archived, createdBefore);
+        }
+        return archived;
+    }
+
+    /**
+     * createdBefore 이전 PG 통신 로그를 보관 테이블로 이동 (감사 DataSource, batch-size 건씩 커밋)
+     *
+     * @return 이동한 로그 수
+     */
+    public int archiveAuditLogs(LocalDateTime createdBefore) {
+        int archived = 0;
+        try {
+            int moved;
+            do {
+                moved = ifInisisLogRepository.moveCreatedBefore(createdBefore, batchSize);
+                archived += moved;
+                count("if_inisis_log", moved);
+            } while (moved == batchSize);
+        } catch (Exception e) {
+            logger.error("PG 통신 로그 보관 중단 - 이동 {}건", archived, e);
+        }
+        if (archived > 0) {
+            logger.info("PG 통신 로그 보관: {}건 ({} 이전 생성)", archived, createdBefore);
+        }
+        return archived;
+    }
+
+    // 한 배치 잠금 + 이동 (호출한 트랜잭션 안에서 실행)
+    private Batch archiveBatch(LocalDateTime createdBefore, long afterId, int limit) {
+        List<Order> orders = orderRepository.lockArchivableOrders(createdBefore, afterId, limit);
+        if (orders.isEmpty()) {
+            return new Batch(0, 0, 0, 0, 0, afterId);
+        }
+        // 환불 등 결제 흐름이 처리 중인 주문은 이번에 옮기지 않음
+        List<Order> unlocked = orders.stream()
+                .filter(order -> orderLockService.tryLock(order.getOrderNo(), 0))
+                .toList();
+        long lastId = orders.get(orders.size() - 1).getId();
+        if (unlocked.isEmpty()) {
+            return new Batch(orders.size(), 0, 0, 0, 0, lastId);
+        }
+        List<Long> orderIds = unlocked.stream().map(Order::getId).toList();
+        List<String> orderNos = unlocked.stream().map(Order::getOrderNo).toList();
+        int payments = paymentArchiveRepository.movePayments(orderNos);
+        int paymentLogs = paymentArchiveRepository.movePaymentLogs(orderIds);
+        int paymentEvents = paymentArchiveRepository.movePaymentEvents(orderIds);
+        int moved = orderArchiveRepository.moveOrders(orderIds);
+        return new Batch(orders.size(), moved, payments, paymentLogs, paymentEvents, lastId);
+    }
+
+    private record Batch(int locked, int orders, int payments, int paymentLogs, int paymentEvents, long lastId) {
+    }
+
+    private void count(String table, int rows) {
+        if (meterRegistry != null && rows > 0) {
+            Counter.builder("payment.archive.rows")
+                    .tag("table", table)
+                    .register(meterRegistry)
+                    .increment(rows);
+        }
+    }
+}
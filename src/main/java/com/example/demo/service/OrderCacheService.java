@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.datasource.ReadYourWritesTracker;
+import com.example.demo.entity.Order;
+import com.example.demo.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 조회 API 조건부 GET(ETag/If-None-Match) 지원
+ *
+ * 응답 본문을 만들지 않고 주문/결제 내역의 건수와 최종 변경 시각(updatedAt)만으로 strong ETag 를 계산합니다.
+ * 결제 내역은 추가/상태 변경만 있고 삭제되지 않으므로 건수 + 최종 변경 시각으로 변경 여부를 판단할 수 있습니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderCacheService {
+
+    // 더 이상 상태가 바뀌지 않는 주문 (COMPLETED 는 취소/망취소로 바뀔 수 있어 별도 처리)
+    private static final Set<Order.OrderStatus> FINAL_STATUSES =
+            EnumSet.of(Order.OrderStatus.CANCELLED, Order.OrderStatus.NETWORK_CANCELLED, Order.OrderStatus.FAILED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Value("${http.cache.terminal-order-max-age-seconds:86400}")
+    private long terminalOrderMaxAgeSeconds;
+
+    @Value("${http.cache.completed-order-max-age-seconds:60}")
+    private long completedOrderMaxAgeSeconds;
+
+    /**
+     * 주문 상태 조회(/status/order) ETag - 이미 조회한 주문으로 계산
+     */
+    public String orderStatusETag(Order order) {
+        return "\"os-" + order.getId() + "-" + version(order.getUpdatedAt()) + "\"";
+    }
+
+    /**
+     * 주문 상세 조회(/order-detail) 버전 정보 (쿼리 1회)
+     *
+     * @return 주문이 없으면 null
+     */
+    public OrderRepository.OrderVersion findOrderDetailVersion(String orderNo) {
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.orderKey(orderNo));
+        return orderRepository.findVersionByOrderNo(orderNo).orElse(null);
+    }
+
+    /**
+     * 주문 상세 조회(/order-detail) ETag
+     */
+    public String orderDetailETag(OrderRepository.OrderVersion version) {
+        return "\"od-" + version.getOrderId() + "-" + version(version.getOrderUpdatedAt())
+                + "-" + version.getPaymentCount() + "-" + version(version.getPaymentUpdatedAt()) + "\"";
+    }
+
+    /**
+     * 사용자 주문 목록(/orders/{userId}) ETag
+     */
+    public String userOrdersETag(Long userId) {
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(userId));
+        OrderRepository.UserOrdersVersion version = orderRepository.findVersionByUserId(userId);
+        return "\"uo-" + userId + "-" + version.getOrderCount() + "-" + version(version.getOrderUpdatedAt())
+                + "-" + version.getPaymentCount() + "-" + version(version.getPaymentUpdatedAt()) + "\"";
+    }
+
+    /**
+     * 주문 상태별 Cache-Control
+     *
+     * <ul>
+     *   <li>CANCELLED / NETWORK_CANCELLED / FAILED : 더 이상 바뀌지 않으므로 장기 캐시</li>
+     *   <li>COMPLETED : 취소될 수 있으므로 짧은 max-age 후 ETag 로 재검증</li>
+     *   <li>그 외 진행 중 상태 : 매번 ETag 로 재검증 (no-cache)</li>
+     * </ul>
+     */
+    public CacheControl cacheControlFor(Order.OrderStatus status) {
+        if (status != null && FINAL_STATUSES.contains(status)) {
+            return CacheControl.maxAge(terminalOrderMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate();
+        }
+        if (status == Order.OrderStatus.COMPLETED) {
+            return CacheControl.maxAge(completedOrderMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate().mustRevalidate();
+        }
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    // 마이크로초 단위 변경 시각 (DB timestamp 정밀도)
+    private static String version(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return "0";
+        }
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), updatedAt);
+        return Long.toString(micros, 36);
+    }
+}
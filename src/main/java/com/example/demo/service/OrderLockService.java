@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import com.example.demo.admission.AdmissionOutcome;
+import com.example.demo.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 단위 노드 간 상호 배제 (PostgreSQL 트랜잭션 advisory lock)
+ *
+ * 승인/환불/망취소처럼 PG사로 돈이 오가는 흐름은 상태 확인 후 PG를 호출하므로, 여러 인스턴스가 같은 주문을
+ * 동시에 처리하면 PG 취소가 두 번 나갈 수 있습니다. 흐름 시작 시 주문번호 해시를 키로 pg_try_advisory_xact_lock 을
+ * 잡고, 잠금은 호출한 트랜잭션이 커밋/롤백될 때 해제됩니다. 뒤에 들어온 요청은 앞 요청이 커밋한 상태를 보고 판단합니다.
+ *
+ * 잠금을 기다리며 DB 세션을 막지 않도록 try-lock 을 retry-interval-ms 간격으로 timeout-ms 까지 반복합니다.
+ * 같은 트랜잭션에서 다시 잡으면 그대로 성공합니다 (재진입).
+ * 메트릭: payment.order-lock.wait (result 태그: acquired/timeout)
+ */
+@Service
+public class OrderLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderLockService.class);
+
+    // advisory lock classid: 다른 용도의 advisory lock 과 키가 겹치지 않도록 고정 ("ORDR")
+    static final int ORDER_LOCK_NAMESPACE = 0x4F524452;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payment.order-lock.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${payment.order-lock.retry-interval-ms:50}")
+    private long retryIntervalMs;
+
+    /**
+     * 주문 잠금 (timeout-ms 까지 재시도)
+     *
+     * @return 잠금을 얻으면 true, 시간 안에 못 얻으면 false
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLock(String orderNo) {
+        return tryLock(orderNo, timeoutMs);
+    }
+
+    /**
+     * 주문 잠금 (waitMs 까지 재시도, 0 이면 한 번만 시도)
+     *
+     * @return 잠금을 얻으면 true, 시간 안에 못 얻으면 false
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLock(String orderNo, long waitMs) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        boolean acquired = orderRepository.tryAdvisoryXactLock(ORDER_LOCK_NAMESPACE, orderNo);
+        try {
+            while (!acquired && System.nanoTime() - deadline < 0) {
+                Thread.sleep(retryIntervalMs);
+                acquired = orderRepository.tryAdvisoryXactLock(ORDER_LOCK_NAMESPACE, orderNo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long waitedNanos = System.nanoTime() - startedAt;
+        if (meterRegistry != null) {
+            Timer.builder("payment.order-lock.wait")
+                    .tag("result", acquired ? "acquired" : "timeout")
+                    .register(meterRegistry)
+                    .record(waitedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            AdmissionOutcome.markDropped("order-lock-timeout");
+            logger.warn("주문 잠금 실패 (다른 요청 처리 중) - Order: {}, 대기: {}ms", orderNo,
+                    TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+        }
+        return acquired;
+    }
+}
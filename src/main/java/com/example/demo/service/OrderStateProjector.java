@@ -0,0 +1,223 @@
+package com.example.demo.service;
+
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.PaymentEvent;
+import com.example.demo.repository.PaymentEventRepository;
+import com.example.demo.stream.OrderStatusChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 이벤트 -> 주문/결제 상태 스냅샷 반영 (읽기 모델)
+ *
+ * 결제 흐름은 {@link PaymentEventJournal} 로 이벤트만 INSERT 하고, 이 클래스가 커밋 직후 같은 스레드의 짧은 새 트랜잭션에서
+ * orders.status/event_seq 와 망취소된 원본 결제의 payments.status 를 갱신한 뒤 상태 변경 알림(NOTIFY)을 보냅니다.
+ * 스냅샷 UPDATE 는 event_seq 가 더 작을 때만 적용하므로 여러 인스턴스가 같은 주문을 반영해도 되돌아가지 않습니다.
+ * 커밋 직후 반영이 실패하거나 인스턴스가 그 사이 종료되면 주기 실행({@link #projectPending()})이
+ * catch-up-window-minutes 안의 반영되지 않은 이벤트를 다시 반영합니다.
+ * 결제 흐름은 주문을 읽은 뒤 {@link PaymentEventJournal#catchUp} 으로 스냅샷 이후 이벤트를 적용하므로 반영이 늦어도 판단이 틀리지 않습니다.
+ */
+@Service
+public class OrderStateProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStateProjector.class);
+
+    private static final String UPDATE_ORDER_SQL =
+            "UPDATE orders SET status = ?, event_seq = ?, updated_at = ? WHERE id = ? AND event_seq < ?";
+
+    private static final String UPDATE_PAYMENT_SQL =
+            "UPDATE payments SET status = ?, updated_at = ? WHERE id = ? AND status <> ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PaymentEventRepository paymentEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private OrderStatusChannel channel;
+
+    @Value("${payment.events.catch-up-window-minutes:60}")
+    private long catchUpWindowMinutes;
+
+    @Value("${payment.events.catch-up-quiet-seconds:10}")
+    private long catchUpQuietSeconds;
+
+    @Value("${payment.events.catch-up-batch-size:500}")
+    private int catchUpBatchSize;
+
+    /**
+     * 주문의 스냅샷 반영 예약 (현재 트랜잭션 커밋 후, 트랜잭션 밖이면 바로 반영)
+     *
+     * @param events 이번에 적용한 이벤트 (결제 상태를 바꾸는 이벤트 확인용)
+     */
+    public void projectAfterCommit(Order order, List<PaymentEvent> events) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            project(List.of(Projection.of(order, events)));
+            order.markProjected();
+            return;
+        }
+        PendingProjections pending = (PendingProjections) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingProjections();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.orders.put(order.getId(), order);
+        pending.events.computeIfAbsent(order.getId(), id -> new ArrayList<>()).addAll(events);
+    }
+
+    /**
+     * 반영되지 않은 이벤트 주기 반영 (샤드마다, 최근 quiet 초 안의 이벤트는 커밋 직후 반영에 맡김)
+     */
+    @Scheduled(fixedDelayString = "${payment.events.catch-up-interval-ms:30000}",
+               initialDelayString = "${payment.events.catch-up-interval-ms:30000}")
+    public void projectPending() {
+        shardRouter.forEachShard(shard -> {
+            try {
+                projectPending(LocalDateTime.now().minusMinutes(catchUpWindowMinutes),
+                        LocalDateTime.now().minusSeconds(catchUpQuietSeconds));
+            } catch (Exception e) {
+                logger.error("주문 스냅샷 주기 반영 실패 - shard: {}", shard, e);
+            }
+        });
+    }
+
+    /**
+     * since ~ quietBefore 사이 기록된 반영되지 않은 이벤트 반영 (현재 샤드)
+     *
+     * @return 스냅샷을 갱신한 주문 수
+     */
+    public int projectPending(LocalDateTime since, LocalDateTime quietBefore) {
+        int projected = 0;
+        List<PaymentEvent> events;
+        do {
+            events = paymentEventRepository.findUnprojected(since, quietBefore, catchUpBatchSize);
+            Map<Long, List<PaymentEvent>> byOrder = new LinkedHashMap<>();
+            for (PaymentEvent event : events) {
+                byOrder.computeIfAbsent(event.getOrderId(), id -> new ArrayList<>()).add(event);
+            }
+            List<Projection> projections = byOrder.values().stream().map(Projection::of).toList();
+            int updated = project(projections);
+            projected += updated;
+            if (updated == 0) {
+                // 한 배치가 모두 다른 인스턴스에서 먼저 반영됐거나 이벤트가 batch-size 보다 많은 주문 - 다음 주기에 다시 확인
+                break;
+            }
+        } while (events.size() == catchUpBatchSize);
+        if (projected > 0) {
+            logger.info("주문 스냅샷 주기 반영: {}건", projected);
+        }
+        return projected;
+    }
+
+    // 스냅샷 UPDATE + 결제 상태 UPDATE + 알림 (새 트랜잭션, 현재 샤드) - 갱신된 주문 수
+    private int project(Collection<Projection> projections) {
+        if (projections.isEmpty()) {
+            return 0;
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Integer updated = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Projection> list = List.copyOf(projections);
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_ORDER_SQL, list, list.size(), (ps, projection) -> {
+                ps.setString(1, projection.status().name());
+                ps.setInt(2, projection.seq());
+                ps.setTimestamp(3, now);
+                ps.setLong(4, projection.orderId());
+                ps.setInt(5, projection.seq());
+            })[0];
+
+            List<Object[]> paymentUpdates = new ArrayList<>();
+            int changed = 0;
+            for (int i = 0; i < list.size(); i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                changed++;
+                for (PaymentEvent event : list.get(i).events()) {
+                    String paymentStatus = event.getEventType().paymentStatus();
+                    if (paymentStatus != null && event.getPaymentId() != null) {
+                        paymentUpdates.add(new Object[] {paymentStatus, now, event.getPaymentId(), paymentStatus});
+                    }
+                }
+            }
+            if (!paymentUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_PAYMENT_SQL, paymentUpdates);
+            }
+            if (channel != null) {
+                for (int i = 0; i < list.size(); i++) {
+                    if (counts[i] > 0) {
+                        channel.publish(list.get(i).orderNo(), list.get(i).status());
+                    }
+                }
+            }
+            return changed;
+        });
+        return updated != null ? updated : 0;
+    }
+
+    // 주문 1건의 반영할 상태 (마지막 이벤트 기준)
+    private record Projection(Long orderId, String orderNo, Order.OrderStatus status, int seq, List<PaymentEvent> events) {
+
+        static Projection of(Order order, List<PaymentEvent> events) {
+            return new Projection(order.getId(), order.getOrderNo(), order.getStatus(), order.getEventSeq(), events);
+        }
+
+        static Projection of(List<PaymentEvent> events) {
+            PaymentEvent last = events.get(events.size() - 1);
+            return new Projection(last.getOrderId(), last.getOrderNo(), last.getEventType().orderStatus(), last.getSeq(), events);
+        }
+    }
+
+    private final class PendingProjections implements TransactionSynchronization {
+        final Map<Long, Order> orders = new LinkedHashMap<>();
+        final Map<Long, List<PaymentEvent>> events = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            List<Projection> projections = orders.values().stream()
+                    .filter(Order::hasUnprojectedEvents)
+                    .map(order -> Projection.of(order, events.get(order.getId())))
+                    .toList();
+            try {
+                project(projections);
+                orders.values().forEach(Order::markProjected);
+            } catch (Exception e) {
+                // 이벤트는 커밋됐으므로 주기 반영과 다음 흐름의 catchUp 이 보정
+                logger.warn("주문 스냅샷 반영 실패 (주기 반영 대기) - orders: {}", orders.keySet(), e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OrderStateProjector.this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import com.example.demo.entity.PaymentEvent;
+import com.example.demo.repository.PaymentEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 주문 상태 변경 기록 (결제 이벤트 저널 쓰기)
+ *
+ * 결제 흐름은 주문 잠금({@link OrderLockService}) 아래에서 {@link #catchUp} 으로 스냅샷 이후 이벤트를 적용한 주문에
+ * {@link #append} 로 이벤트를 추가합니다. 이벤트 INSERT 와 사용자 결제 집계 증감은 흐름의 트랜잭션에서 함께 커밋되고,
+ * orders/payments 의 상태 스냅샷은 커밋 후 {@link OrderStateProjector} 가 반영합니다.
+ */
+@Component
+public class PaymentEventJournal {
+
+    @Autowired
+    private PaymentEventRepository paymentEventRepository;
+
+    @Autowired
+    private OrderStateProjector orderStateProjector;
+
+    @Autowired
+    private UserPaymentStatsRecorder userPaymentStatsRecorder;
+
+    /**
+     * 이벤트 추가 후 주문에 적용 (주문은 저장되어 id 가 있어야 함)
+     *
+     * @param payment 이벤트 대상 결제 (없으면 null)
+     */
+    public PaymentEvent append(Order order, PaymentEvent.EventType type, Payment payment) {
+        Order.OrderStatus from = type == PaymentEvent.EventType.ORDER_CREATED ? null : order.getStatus();
+        PaymentEvent event = new PaymentEvent(order, order.getEventSeq() + 1, type, payment);
+        paymentEventRepository.save(event);
+        order.apply(event);
+        if (from != order.getStatus()) {
+            userPaymentStatsRecorder.recordOrderStatus(order.getUserId(), from, order.getStatus());
+        }
+        orderStateProjector.projectAfterCommit(order, List.of(event));
+        return event;
+    }
+
+    /**
+     * 스냅샷(orders.status/event_seq) 이후 이벤트를 주문에 적용 (반영이 늦은 스냅샷은 커밋 후 다시 반영)
+     */
+    public void catchUp(Order order) {
+        List<PaymentEvent> events = paymentEventRepository.findByOrderIdAndSeqGreaterThanOrderBySeq(order.getId(), order.getEventSeq());
+        if (events.isEmpty()) {
+            return;
+        }
+        events.forEach(order::apply);
+        orderStateProjector.projectAfterCommit(order, events);
+    }
+}
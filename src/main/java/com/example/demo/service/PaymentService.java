@@ -1,24 +1,31 @@
 package com.example.demo.service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,21 +41,58 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.demo.admission.AdmissionOutcome;
+import com.example.demo.datasource.ReadYourWritesTracker;
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.NetworkCancelResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.dto.PaymentHistoryResponse;
+import com.example.demo.dto.PointsRefundResponse;
+import com.example.demo.dto.RefundResponse;
+import com.example.demo.gateway.InicisAuthResponse;
+import com.example.demo.gateway.InicisInquiryResponse;
+import com.example.demo.gateway.InicisRefundResponse;
+import com.example.demo.gateway.NicePayAuthResponse;
+import com.example.demo.gateway.NicePayCancelResponse;
+import com.example.demo.gateway.NicePayInquiryResponse;
+import com.example.demo.gateway.PgResponse;
+import com.example.demo.gateway.PgResponseReader;
+import com.example.demo.gateway.codec.PgAmount;
+import com.example.demo.gateway.codec.PgCharsets;
+import com.example.demo.gateway.codec.PgDateTime;
+import com.example.demo.gateway.codec.PgFormEncoder;
 import com.example.demo.dto.PaymentResultDto;
+import com.example.demo.dto.UserPaymentStatsResponse;
 import com.example.demo.entity.IfInisisLog;
 import com.example.demo.entity.Order;
+import com.example.demo.entity.OrderArchive;
 import com.example.demo.entity.Payment;
+import com.example.demo.entity.PaymentArchive;
+import com.example.demo.entity.PaymentEvent;
 import com.example.demo.entity.PaymentLog;
 import com.example.demo.entity.User;
+import com.example.demo.entity.UserPaymentStats;
+import com.example.demo.gateway.InicisGateway;
+import com.example.demo.gateway.PaymentGateway;
+import com.example.demo.gateway.PaymentGatewayRouter;
+import com.example.demo.gateway.PgCallAnalytics;
+import com.example.demo.gateway.PgTransactionStatus;
 import com.example.demo.mapper.PaymentMapper;
+import com.example.demo.monitoring.jfr.AuditLogWriteEvent;
+import com.example.demo.monitoring.jfr.PaymentFlowEvent;
+import com.example.demo.monitoring.jfr.PgCallEvent;
+import com.example.demo.monitoring.jfr.PgCallEventInterceptor;
 import com.example.demo.repository.IfInisisLogRepository;
+import com.example.demo.repository.OrderArchiveRepository;
 import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.PaymentArchiveRepository;
 import com.example.demo.repository.PaymentLogRepository;
 import com.example.demo.repository.PaymentRepository;
+import com.example.demo.repository.UserPaymentStatsRepository;
 import com.example.demo.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * 결제 관련 비즈니스 로직을 처리하는 서비스 클래스
@@ -71,9 +115,16 @@ import com.fasterxml.jackson.databind.SerializationFeature;
  */
 @Service
 @Transactional
+@Observed(name = "payment.service")
 public class PaymentService {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+
+    // 주문 잠금을 못 얻었을 때 응답 메시지
+    private static final String ORDER_BUSY_MESSAGE = "같은 주문의 다른 결제 요청을 처리 중입니다. 잠시 후 다시 시도해 주세요.";
+
+    // 방치 주문 정리가 PG 취소를 시작한 주문의 승인 거절 메시지
+    private static final String SWEEP_CANCELLING_MESSAGE = "결제 시간이 지나 자동 취소 중인 주문입니다.";
     
     @Autowired
     private PaymentRepository paymentRepository;
@@ -86,26 +137,69 @@ public class PaymentService {
     
     @Autowired
     private PaymentLogRepository paymentLogRepository;
+
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Autowired
+    private PaymentArchiveRepository paymentArchiveRepository;
+
+    @Autowired
+    private OrderLockService orderLockService;
+
+    @Autowired
+    private PaymentEventJournal paymentEventJournal;
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private IfInisisLogRepository ifInisisLogRepository;
+
+    @Autowired
+    private PaymentGatewayRouter gatewayRouter;
+
+    @Autowired
+    private PgCallAnalytics pgCallAnalytics;
+
+    @Autowired
+    private PgResponseReader pgResponseReader;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private UserPaymentStatsRecorder userPaymentStatsRecorder;
+
+    @Autowired
+    private UserPaymentStatsRepository userPaymentStatsRepository;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired(required = false)
+    private Tracer tracer;
     
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    // 애플리케이션 공용 ObjectMapper (JacksonConfig, 들여쓰기 없음) - 로그 출력용 보기 좋은 JSON 은 writerWithDefaultPrettyPrinter 사용
+    @Autowired
+    private ObjectMapper objectMapper;
 
-    public PaymentService() {
-        this.objectMapper = new ObjectMapper();
-        // JSON 출력 형식 설정
-        this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
-    }
+    private final RestTemplate restTemplate;
     
     // RestTemplate 타임아웃 설정
     {
         restTemplate = new RestTemplate();
         restTemplate.getRequestFactory();
+        restTemplate.getInterceptors().add(new PgCallEventInterceptor());
+    }
+
+    // PG API 호출(RestTemplate)을 http.client.requests 관측/트레이싱 대상으로 등록 (traceparent 헤더 전파)
+    @PostConstruct
+    void initRestTemplateObservation() {
+        restTemplate.setObservationRegistry(observationRegistry);
     }
     
     // 이니시스 설정 (환경별)
@@ -115,6 +209,9 @@ public class PaymentService {
     @Value("${inicis.refund.url}")
     private String inicisRefundUrl;
 
+    @Value("${inicis.inquiry.url:https://iniapi.inicis.com/v2/pg/inquiry}")
+    private String inicisInquiryUrl;
+
     @Value("${inicis.merchant.id}")
     private String inicisMerchantId;
 
@@ -134,6 +231,12 @@ public class PaymentService {
     @Value("${nicepay.api.url}")
     private String nicePayApiUrl;
 
+    @Value("${nicepay.inquiry.url:https://webapi.nicepay.co.kr/webapi/inquery/trans_status.jsp}")
+    private String nicePayInquiryUrl;
+
+    @Value("${nicepay.cancel.url:https://pg-api.nicepay.co.kr/webapi/cancel_process.jsp}")
+    private String nicePayCancelUrl;
+
     // FO 도메인 설정 (환경별)
     @Value("${fo.domain}")
     private String foDomain;
@@ -141,12 +244,18 @@ public class PaymentService {
     
     
     
+    @Transactional(readOnly = true)
     public Optional<Payment> getPaymentByOrderNo(String orderNo) {
+        shardRouter.routeOrder(orderNo);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.orderKey(orderNo));
         List<Payment> payments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo);
         return payments.isEmpty() ? Optional.empty() : Optional.of(payments.get(0));
     }
     
+    @Transactional(readOnly = true)
     public boolean isPaymentCompleted(String orderNo) {
+        shardRouter.routeOrder(orderNo);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.orderKey(orderNo));
         List<Payment> payments = paymentRepository.findByOrderNoAndStatusCompleted(orderNo);
         return !payments.isEmpty();
     }
@@ -161,7 +270,7 @@ public class PaymentService {
      * @param cardAmount 카드 결제 금액
      * @return 생성된 주문 정보
      */
-    public Map<String, Object> createOrder(Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount) {
+    public CreateOrderResponse createOrder(Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount) {
         return createOrder(userId, totalAmount, pointsUsed, cardAmount, false);
     }
 
@@ -179,9 +288,10 @@ public class PaymentService {
      * @return 생성된 주문 정보 (주문번호, 주문 ID 등)
      * @throws IllegalArgumentException 사용자가 존재하지 않거나 적립금이 부족한 경우
      */
-    public Map<String, Object> createOrder(Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount, Boolean isNetworkCancelTest) {
+    public CreateOrderResponse createOrder(Long userId, Long totalAmount, Integer pointsUsed, Long cardAmount, Boolean isNetworkCancelTest) {
         logger.info("Creating order - userId: {}, totalAmount: {}, pointsUsed: {}, cardAmount: {}, isNetworkCancelTest: {}",
                    userId, totalAmount, pointsUsed, cardAmount, isNetworkCancelTest);
+        shardRouter.routeUser(userId);
         
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -193,7 +303,9 @@ public class PaymentService {
             throw new IllegalArgumentException("적립금이 부족합니다.");
         }
         
-        String orderNo = "ORD" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8);
+        // 주문번호에 사용자 버킷 표기 (PG 콜백 등 주문번호만으로 샤드 결정)
+        String orderNo = "ORD" + System.currentTimeMillis() + ShardRouter.orderNoTag(userId)
+                + UUID.randomUUID().toString().substring(0, 8);
 
         // 망취소 테스트 모드인 경우 주문번호에 NETCANCEL 키워드 추가
         if (isNetworkCancelTest != null && isNetworkCancelTest) {
@@ -203,6 +315,8 @@ public class PaymentService {
         
         Order order = new Order(orderNo, userId, totalAmount, pointsUsed, cardAmount, Order.OrderStatus.PENDING);
         orderRepository.save(order);
+        paymentEventJournal.append(order, PaymentEvent.EventType.ORDER_CREATED, null);
+        recordWrite(order);
         
         user.setPoints(user.getPoints() - pointsUsed);
         userRepository.save(user);
@@ -222,13 +336,13 @@ public class PaymentService {
             pointPayment.setCardName("적립금");
 
             paymentRepository.save(pointPayment);
+            recordWrite(pointPayment);
             logger.info("Point usage recorded - OrderNo: {}, Points: {}", orderNo, pointsUsed);
         }
 
         // 적립금만으로 결제가 완료되는 경우 (카드 결제 금액이 0) 주문 상태를 완료로 변경
         if (cardAmount == 0 && pointsUsed > 0) {
-            order.setStatus(Order.OrderStatus.COMPLETED);
-            orderRepository.save(order);
+            paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_APPROVED, null);
 
             // 보너스 포인트 적립
             processPaymentSuccess(order);
@@ -236,37 +350,28 @@ public class PaymentService {
             logger.info("Order completed with points only - OrderNo: {}, Points: {}", orderNo, pointsUsed);
         }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("orderId", order.getId());
-        result.put("orderNo", orderNo);
-        result.put("cardAmount", cardAmount);
-        result.put("pointsUsed", pointsUsed);
-        result.put("totalAmount", totalAmount);
-
-        // 적립금만으로 결제가 완료된 경우 완료 정보 추가
+        // 적립금만으로 결제가 완료된 경우 완료 정보 포함
         if (cardAmount == 0 && pointsUsed > 0) {
-            result.put("paymentCompleted", true);
-            result.put("paymentMethod", "POINTS_ONLY");
-            result.put("completedAt", LocalDateTime.now());
-
+            String redirectUrl;
             try {
                 String encodedMessage = java.net.URLEncoder.encode("적립금 결제가 완료되었습니다.", "UTF-8");
-                result.put("redirectUrl", "/order/success?orderNo=" + orderNo +
+                redirectUrl = "/order/success?orderNo=" + orderNo +
                           "&amount=" + totalAmount +
                           "&message=" + encodedMessage +
-                          "&status=COMPLETED");
+                          "&status=COMPLETED";
             } catch (Exception e) {
                 logger.warn("Failed to encode URL message", e);
-                result.put("redirectUrl", "/order/success?orderNo=" + orderNo +
+                redirectUrl = "/order/success?orderNo=" + orderNo +
                           "&amount=" + totalAmount +
-                          "&status=COMPLETED");
+                          "&status=COMPLETED";
             }
-        } else {
-            result.put("paymentCompleted", false);
-            result.put("paymentMethod", "CARD_REQUIRED");
+            return CreateOrderResponse.pointsOnly(order.getId(), orderNo, totalAmount, pointsUsed, cardAmount,
+                    LocalDateTime.now(), redirectUrl);
         }
 
-        return result;
+        // PG사별 지연시간/오류율 기준으로 결제할 PG사 안내
+        return CreateOrderResponse.cardRequired(order.getId(), orderNo, totalAmount, pointsUsed, cardAmount,
+                gatewayRouter.selectProvider());
     }
     
     // 결제 알림 처리 (notify)
@@ -275,6 +380,11 @@ public class PaymentService {
             logger.info("Processing payment notify with params: {}", params);
             
             String orderNo = extractOrderNumber(params);
+            shardRouter.routeOrder(orderNo);
+            // 같은 주문의 다른 결제 흐름이 진행 중이면 FAIL 응답 (PG사가 알림을 다시 보냄)
+            if (orderNo != null && !orderLockService.tryLock(orderNo)) {
+                return "FAIL";
+            }
             String resultCode = extractResultCode(params);
             String resultMsg = extractResultMessage(params);
             String tid = extractTransactionId(params);
@@ -288,7 +398,13 @@ public class PaymentService {
             }
             
             Order order = orderOpt.get();
+            paymentEventJournal.catchUp(order);
             logger.info("Notify: Found order with current status: {}", order.getStatus());
+            if (order.isSweepCancelling()) {
+                // PG 취소가 진행 중이므로 기록하지 않고 수신만 확인 (다시 보내도 결과는 같음)
+                logger.warn("Notify: 방치 주문 정리가 PG 취소 중인 주문 - 승인 기록하지 않음: {}, TID: {}", orderNo, tid);
+                return "OK";
+            }
             
             // PaymentLog 처리
             PaymentLog paymentLog = createOrUpdatePaymentLog(order, tid, resultCode, resultMsg);
@@ -298,11 +414,10 @@ public class PaymentService {
 
                 // Notify 콜백에서는 단순히 결제 완료 처리 (승인은 이미 완료된 상태)
                 paymentLog.setApprovedAt(LocalDateTime.now());
-                order.setStatus(Order.OrderStatus.APPROVED);
-                order.setStatus(Order.OrderStatus.COMPLETED);
 
-                // payments 테이블에 결제 정보 저장
-                savePaymentRecord(order, paymentLog);
+                // payments 테이블에 결제 정보 저장 후 승인 이벤트 기록
+                Payment payment = savePaymentRecord(order, paymentLog);
+                paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_APPROVED, payment);
 
                 // 보너스 포인트 적립
                 processPaymentSuccess(order);
@@ -312,8 +427,8 @@ public class PaymentService {
             }
             
             // 저장 및 검증
-            savePaymentLogWithVerification(paymentLog);
-            orderRepository.save(order);
+            savePaymentLog(paymentLog);
+            recordWrite(order);
             
             return "OK";
             
@@ -325,6 +440,18 @@ public class PaymentService {
     
     // 결제 응답 처리 (response)
     public Map<String, Object> processPaymentResponse(Map<String, Object> params) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.APPROVAL, "INICIS", extractOrderNumber(params));
+        Map<String, Object> result = null;
+        try {
+            result = withOrderLock(extractOrderNumber(params), () -> doProcessPaymentResponse(params));
+            return result;
+        } finally {
+            event.end(result != null && Boolean.TRUE.equals(result.get("success")));
+        }
+    }
+
+    // 이니시스 결제 응답 처리 본문
+    private Map<String, Object> doProcessPaymentResponse(Map<String, Object> params) {
         String orderNo = null;
         IfInisisLog inicisLog = null;
 
@@ -350,6 +477,14 @@ public class PaymentService {
             }
             
             Order order = orderOpt.get();
+            paymentEventJournal.catchUp(order);
+            if (order.isSweepCancelling()) {
+                // PG 승인 API 를 호출하지 않음
+                logger.warn("Response: 방치 주문 정리가 PG 취소 중인 주문 - 승인하지 않음: {}", orderNo);
+                Map<String, Object> refused = Map.of("success", false, "message", SWEEP_CANCELLING_MESSAGE, "orderNo", orderNo);
+                updateInicisLogResponse(inicisLog, refused, 409, false, SWEEP_CANCELLING_MESSAGE);
+                return refused;
+            }
             PaymentLog paymentLog = createOrUpdatePaymentLog(order, tid, resultCode, resultMsg);
             
             // authUrl과 authToken이 있으면 추가 인증 API 호출
@@ -370,8 +505,6 @@ public class PaymentService {
                     }
 
                     paymentLog.setApprovedAt(LocalDateTime.now());
-                    order.setStatus(Order.OrderStatus.APPROVED);
-                    order.setStatus(Order.OrderStatus.COMPLETED);
 
                     // netCancelUrl이 params에 있으면 authResult에 추가
                     if (netCancelUrl != null && !netCancelUrl.trim().isEmpty()) {
@@ -385,8 +518,9 @@ public class PaymentService {
                         logger.info("params에서 authToken 추가 (망취소용)");
                     }
 
-                    // payments 테이블에 결제 정보 저장 (인증 결과 포함)
-                    savePaymentRecordWithAuthResult(order, paymentLog, authResult);
+                    // payments 테이블에 결제 정보 저장 (인증 결과 포함) 후 승인 이벤트 기록
+                    Payment payment = savePaymentRecordWithAuthResult(order, paymentLog, authResult);
+                    paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_APPROVED, payment);
 
                     // 보너스 포인트 적립
                     processPaymentSuccess(order);
@@ -400,8 +534,8 @@ public class PaymentService {
                 processFailedPayment(order, paymentLog, "9999", "인증 정보가 없습니다.");
             }
             
-            savePaymentLogWithVerification(paymentLog);
-            orderRepository.save(order);
+            savePaymentLog(paymentLog);
+            recordWrite(order);
             
             String message = "0000".equals(resultCode) ? "결제가 완료되었습니다." : "결제가 실패했습니다: " + resultMsg;
             boolean success = "0000".equals(resultCode);
@@ -511,36 +645,45 @@ public class PaymentService {
     // 실패한 결제 처리
     private void processFailedPayment(Order order, PaymentLog paymentLog, String resultCode, String resultMsg) {
         logger.info("Processing failed payment for order: {}, resultCode: {}", order.getOrderNo(), resultCode);
-        order.setStatus(Order.OrderStatus.FAILED);
+        recordWrite(order);
         restoreUserPoints(order);
         
-        // 실패한 결제도 Payment 레코드 생성 (디버깅 및 추적 목적)
-        createFailedPaymentRecord(order, paymentLog, resultCode, resultMsg);
+        // 실패한 결제도 Payment 레코드 생성 (디버깅 및 추적 목적) 후 실패 이벤트 기록
+        Payment payment = createFailedPaymentRecord(order, paymentLog, resultCode, resultMsg);
+        paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_FAILED, payment);
     }
     
     // 실패한 결제 레코드 생성
-    private void createFailedPaymentRecord(Order order, PaymentLog paymentLog, String resultCode, String resultMsg) {
+    private Payment createFailedPaymentRecord(Order order, PaymentLog paymentLog, String resultCode, String resultMsg) {
+        return createFailedPaymentRecord(order, paymentLog.getTransactionId(), InicisGateway.PROVIDER, resultCode, resultMsg);
+    }
+
+    // 저장한 실패 결제 (저장 중 오류면 null)
+    private Payment createFailedPaymentRecord(Order order, String tid, String pgProvider, String resultCode, String resultMsg) {
         try {
             Payment payment = new Payment();
             payment.setOrderNo(order.getOrderNo());
             payment.setUserId(order.getUserId());
-            payment.setTid(paymentLog.getTransactionId());
+            payment.setTid(tid);
             payment.setAmount(order.getCardAmount());
             payment.setResultCode(resultCode);
             payment.setResultMsg(resultMsg);
             payment.setStatus("FAILED");
             payment.setPaymentType(Payment.PaymentType.CARD.name());
-            payment.setPgProvider("INICIS");
+            payment.setPgProvider(pgProvider);
             payment.setPaymentDate(LocalDateTime.now());
             payment.setCardName("결제실패");
             payment.setCanRefund(false);
             
             Payment savedPayment = paymentRepository.save(payment);
+            recordWrite(payment);
             logger.info("Failed payment record created: ID={}, OrderNo={}, TID={}", 
                        savedPayment.getId(), savedPayment.getOrderNo(), savedPayment.getTid());
+            return savedPayment;
             
         } catch (Exception e) {
             logger.error("Error creating failed payment record for orderNo: {}", order.getOrderNo(), e);
+            return null;
         }
     }
     
@@ -609,14 +752,14 @@ public class PaymentService {
             
             // API 호출
             try {
-                ResponseEntity<String> response = restTemplate.postForEntity(inicisApiUrl, request, String.class);
-                String responseBody = response.getBody();
+                PgResponse response = postToInicis("APPROVE", inicisApiUrl, request);
+                String responseBody = response.bodyText();
                 
-                logger.info("Inicis API response status: {}", response.getStatusCode());
+                logger.info("Inicis API response status: {}", response.getStatus());
                 logger.info("Inicis API response body: {}", responseBody);
                 
                 // 응답 분석 (실제로는 응답 파싱해서 성공 여부 확인해야 함)
-                if (response.getStatusCode().is2xxSuccessful() && responseBody != null) {
+                if (response.is2xxSuccessful() && !response.isEmpty()) {
                     // 응답에 에러가 없으면 성공으로 간주
                     if (!responseBody.contains("error") && !responseBody.contains("fail")) {
                         logger.info("Inicis approval successful for orderNo: {}", orderNo);
@@ -725,6 +868,7 @@ public class PaymentService {
                 Long earnedPoints = Math.max(1L, order.getTotalAmount() / 100);
                 user.setPoints(user.getPoints() + earnedPoints.intValue());
                 userRepository.save(user);
+                userPaymentStatsRecorder.recordPointsEarned(user.getId(), earnedPoints);
                 
                 logger.info("Earned points added - User: {}, Points: {}, Total: {}", 
                            user.getId(), earnedPoints, user.getPoints());
@@ -744,6 +888,7 @@ public class PaymentService {
                     User user = userOpt.get();
                     user.setPoints(user.getPoints() + order.getPointsUsed());
                     userRepository.save(user);
+                    userPaymentStatsRecorder.recordPointsRestored(user.getId(), order.getPointsUsed());
                     logger.info("Points restored to user: {}, restored: {}, total: {}", 
                                user.getId(), order.getPointsUsed(), user.getPoints());
                 }
@@ -753,8 +898,8 @@ public class PaymentService {
         }
     }
     
-    // payments 테이블에 결제 정보 저장
-    private void savePaymentRecord(Order order, PaymentLog paymentLog) {
+    // payments 테이블에 결제 정보 저장 (저장한 결제, 저장 중 오류면 null)
+    private Payment savePaymentRecord(Order order, PaymentLog paymentLog) {
         try {
             logger.info("Saving payment record for order: {}", order.getOrderNo());
             
@@ -774,28 +919,23 @@ public class PaymentService {
             payment.setPaymentDate(paymentLog.getApprovedAt());
             
             paymentRepository.save(payment);
+            recordWrite(payment);
             logger.info("Payment record saved successfully - Order: {}, Payment ID: {}, TID: {}", 
                        order.getOrderNo(), payment.getId(), payment.getTid());
+            return payment;
             
         } catch (Exception e) {
             logger.error("Error saving payment record for order: {}, error: {}", 
                         order.getOrderNo(), e.getMessage(), e);
+            return null;
         }
     }
     
-    // PaymentLog 저장 및 검증
-    private void savePaymentLogWithVerification(PaymentLog paymentLog) {
+    // PaymentLog 저장 (INSERT/UPDATE 는 트랜잭션 커밋 시 배치로 반영되므로 저장 직후 재조회하지 않음)
+    private void savePaymentLog(PaymentLog paymentLog) {
         try {
-            logger.info("Saving PaymentLog...");
             PaymentLog savedPaymentLog = paymentLogRepository.save(paymentLog);
             logger.info("PaymentLog saved with ID: {}", savedPaymentLog.getId());
-            
-            Optional<PaymentLog> verifyLog = paymentLogRepository.findById(savedPaymentLog.getId());
-            if (verifyLog.isPresent()) {
-                logger.info("PaymentLog verification successful");
-            } else {
-                logger.warn("WARNING: PaymentLog verification failed - cannot find saved log");
-            }
         } catch (Exception e) {
             logger.error("ERROR saving PaymentLog: {}", e.getMessage(), e);
             throw e;
@@ -857,69 +997,54 @@ public class PaymentService {
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(formData, headers);
             
             try {
-                ResponseEntity<String> response = restTemplate.postForEntity(authUrl, request, String.class);
-                String responseBody = response.getBody();
+                PgResponse response = postToInicis("AUTH_APPROVE", authUrl, request);
                 
-                // 승인 응답 데이터 로그 출력 (JSON 포맷)
+                // 승인 응답 데이터 로그 출력 (파싱된 항목을 JSON 포맷으로)
                 try {
                     logger.info("=== 승인 응답 RESPONSE DATA ===");
                     logger.info("Order No: {}", order.getOrderNo());
-                    logger.info("HTTP Status: {}", response.getStatusCode());
-                    logger.info("Response Headers: {}", response.getHeaders());
+                    logger.info("HTTP Status: {}", response.getStatus());
                     
-                    if (responseBody != null && !responseBody.trim().isEmpty()) {
-                        // JSON 형태로 파싱해서 예쁘게 출력
-                        if (responseBody.trim().startsWith("{") || responseBody.trim().startsWith("[")) {
-                            Object parsedResponse = objectMapper.readValue(responseBody, Object.class);
-                            String prettyResponseJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(parsedResponse);
-                            logger.info("Response JSON:\n{}", prettyResponseJson);
-                        } else {
-                            logger.info("Response Body: {}", responseBody);
-                        }
-                    } else {
+                    if (response.isEmpty()) {
                         logger.info("Response Body: (empty)");
+                    } else if (response.isJson() && !response.isParseFailed()) {
+                        logger.info("Response JSON:\n{}", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(response.getFields()));
+                    } else {
+                        logger.info("Response Body: {}", response.bodyText());
                     }
                     logger.info("=== 승인 응답 RESPONSE DATA END ===");
                 } catch (Exception logException) {
-                    logger.info("Auth API response status: {}, body: {}", response.getStatusCode(), responseBody);
+                    logger.info("Auth API response status: {}, body: {}", response.getStatus(), response.bodyText());
                 }
                 
                 // 응답 로그 저장
-                responseLog = logApiResponse(order.getOrderNo(), authUrl, responseBody, response.getStatusCode().value(), true, null);
+                responseLog = logApiResponse(order.getOrderNo(), authUrl, response, response.getStatus(), true, null);
                 
                 // 응답에서 실제 TID와 결제 정보 추출
                 Map<String, Object> responseData = new HashMap<>();
                 responseData.put("code", "0000");
                 responseData.put("message", "성공");
 
-                // 실제 응답에서 TID 추출 시도
-                if (responseBody != null && !responseBody.trim().isEmpty()) {
-                    try {
-                        // JSON 응답인 경우 파싱해서 TID 추출
-                        if (responseBody.trim().startsWith("{")) {
-                            Map<String, Object> parsedResponse = objectMapper.readValue(responseBody, Map.class);
-
-                            // 이니시스 응답에서 실제 TID 추출
-                            String realTid = extractRealTidFromResponse(parsedResponse);
-                            if (realTid != null && !realTid.trim().isEmpty()) {
-                                responseData.put("tid", realTid);
-                                logger.info("Real TID extracted from auth response: {}", realTid);
-                            }
-
-                            // 카드 정보 추출 (다양한 키 패턴 지원)
-                            extractCardInfo(parsedResponse, responseData);
-
-                            // netCancelUrl 추출 (Inicis 인증 응답에서)
-                            String netCancelUrl = extractNetCancelUrl(parsedResponse);
-                            if (netCancelUrl != null && !netCancelUrl.trim().isEmpty()) {
-                                responseData.put("netCancelUrl", netCancelUrl);
-                                logger.info("Inicis 인증 응답에서 netCancelUrl 추출 성공: {}", netCancelUrl);
-                            } else {
-                                logger.info("Inicis 인증 응답에 netCancelUrl 없음 (테스트 환경에서는 정상)");
-                            }
-                        }
-                    } catch (Exception parseException) {
-                        logger.warn("Failed to parse auth response for TID extraction: {}", parseException.getMessage());
+                // JSON 응답에서 실제 TID, 카드 정보, netCancelUrl 추출 (응답 디코딩 시 이미 파싱됨)
+                if (response.isJson() && !response.isParseFailed()) {
+                    InicisAuthResponse auth = InicisAuthResponse.from(response);
+
+                    // 이니시스 응답에서 실제 TID 추출
+                    if (auth.tid() != null) {
+                        responseData.put("tid", auth.tid());
+                        logger.info("Real TID extracted from auth response: {}", auth.tid());
+                    }
+
+                    // 카드 정보 추출 (다양한 키 패턴 지원)
+                    putCardInfo(auth, responseData);
+
+                    // netCancelUrl 추출 (Inicis 인증 응답에서)
+                    String netCancelUrl = auth.netCancelUrl();
+                    if (netCancelUrl != null) {
+                        responseData.put("netCancelUrl", netCancelUrl);
+                        logger.info("Inicis 인증 응답에서 netCancelUrl 추출 성공: {}", netCancelUrl);
+                    } else {
+                        logger.info("Inicis 인증 응답에 netCancelUrl 없음 (테스트 환경에서는 정상)");
                     }
                 }
 
@@ -952,6 +1077,7 @@ public class PaymentService {
         try {
             IfInisisLog log = new IfInisisLog(orderNo, "REQUEST", "INICIS");
             log.setRequestUrl(requestUrl);
+            log.setTraceId(currentTraceId());
             
             // JSON 형식으로 변환하여 저장
             String jsonRequestData = objectMapper.writerWithDefaultPrettyPrinter()
@@ -959,7 +1085,7 @@ public class PaymentService {
             log.setRequestData(jsonRequestData);
             log.setIsSuccess(true);
             
-            return ifInisisLogRepository.save(log);
+            return saveAuditLog(log);
             
         } catch (Exception e) {
             logger.error("Error saving API request log: {}", e.getMessage(), e);
@@ -968,11 +1094,12 @@ public class PaymentService {
     }
     
     // API 응답 로그 저장
-    private IfInisisLog logApiResponse(String orderNo, String requestUrl, String responseData, 
+    private IfInisisLog logApiResponse(String orderNo, String requestUrl, PgResponse responseData, 
                                       int httpStatus, boolean isSuccess, String errorMessage) {
         try {
             IfInisisLog log = new IfInisisLog(orderNo, "RESPONSE", "INICIS");
             log.setRequestUrl(requestUrl);
+            log.setTraceId(currentTraceId());
             
             // JSON 형식으로 변환하여 저장
             String jsonResponseData = formatResponseDataAsJson(responseData, errorMessage);
@@ -981,7 +1108,7 @@ public class PaymentService {
             log.setIsSuccess(isSuccess);
             log.setErrorMessage(errorMessage);
             
-            return ifInisisLogRepository.save(log);
+            return saveAuditLog(log);
             
         } catch (Exception e) {
             logger.error("Error saving API response log: {}", e.getMessage(), e);
@@ -990,19 +1117,17 @@ public class PaymentService {
     }
     
     // 응답 데이터를 JSON 형식으로 포맷팅
-    private String formatResponseDataAsJson(String responseData, String errorMessage) {
+    private String formatResponseDataAsJson(PgResponse responseData, String errorMessage) {
         try {
             Map<String, Object> jsonResponse = new HashMap<>();
             
-            if (responseData != null && !responseData.trim().isEmpty()) {
-                // 이미 JSON 형식인지 확인
-                if (responseData.trim().startsWith("{") || responseData.trim().startsWith("[")) {
-                    // 이미 JSON이면 pretty print로 포맷팅
-                    Object parsedResponse = objectMapper.readValue(responseData, Object.class);
-                    return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(parsedResponse);
+            if (responseData != null && !responseData.isEmpty()) {
+                if (responseData.isJson() && !responseData.isParseFailed()) {
+                    // 이미 JSON이면 다시 파싱하지 않고 원문 그대로 저장
+                    return responseData.bodyText();
                 } else {
                     // JSON이 아니면 rawResponse로 감싸서 JSON 생성
-                    jsonResponse.put("rawResponse", responseData);
+                    jsonResponse.put("rawResponse", responseData.bodyText());
                 }
             }
             
@@ -1022,7 +1147,7 @@ public class PaymentService {
             // 실패시 기본 JSON 구조 반환
             try {
                 Map<String, Object> fallbackResponse = new HashMap<>();
-                fallbackResponse.put("originalResponse", responseData);
+                fallbackResponse.put("originalResponse", responseData != null ? responseData.bodyText() : null);
                 fallbackResponse.put("errorMessage", errorMessage);
                 fallbackResponse.put("formatError", e.getMessage());
                 return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(fallbackResponse);
@@ -1032,88 +1157,25 @@ public class PaymentService {
         }
     }
 
-    // 이니시스 응답에서 카드 정보 추출
-    private void extractCardInfo(Map<String, Object> response, Map<String, Object> responseData) {
-        if (response == null || responseData == null) return;
-
-        // 카드명 추출 (다양한 키 패턴 지원)
-        String[] cardNameKeys = {"cardName", "card_name", "CARD_NAME", "P_CARD_NAME", "cardCompany", "cardIssuer"};
-        for (String key : cardNameKeys) {
-            Object value = response.get(key);
-            if (value != null && !value.toString().trim().isEmpty()) {
-                responseData.put("cardName", value.toString().trim());
-                break;
-            }
+    // 이니시스 인증 응답의 카드 정보
+    private void putCardInfo(InicisAuthResponse auth, Map<String, Object> responseData) {
+        if (auth.cardName() != null) {
+            responseData.put("cardName", auth.cardName());
         }
-
-        // 카드코드 추출
-        String[] cardCodeKeys = {"cardCode", "card_code", "CARD_CODE", "P_CARD_CODE", "cardType"};
-        for (String key : cardCodeKeys) {
-            Object value = response.get(key);
-            if (value != null && !value.toString().trim().isEmpty()) {
-                responseData.put("cardCode", value.toString().trim());
-                break;
-            }
+        if (auth.cardCode() != null) {
+            responseData.put("cardCode", auth.cardCode());
         }
-
-        // 승인번호 추출
-        String[] applNumKeys = {"applNum", "appl_num", "APPL_NUM", "P_APPL_NUM", "authNum", "approvalNumber"};
-        for (String key : applNumKeys) {
-            Object value = response.get(key);
-            if (value != null && !value.toString().trim().isEmpty()) {
-                responseData.put("applNum", value.toString().trim());
-                break;
-            }
+        if (auth.applNum() != null) {
+            responseData.put("applNum", auth.applNum());
         }
 
         logger.info("Extracted card info - cardName: {}, cardCode: {}, applNum: {}",
                    responseData.get("cardName"), responseData.get("cardCode"), responseData.get("applNum"));
     }
 
-    // Inicis 인증 응답에서 netCancelUrl 추출
-    private String extractNetCancelUrl(Map<String, Object> response) {
-        if (response == null) return null;
-
-        // Inicis 응답에서 netCancelUrl을 찾는 다양한 키들
-        String[] netCancelUrlKeys = {"netCancelUrl", "net_cancel_url", "NetCancelUrl", "NET_CANCEL_URL", "authUrl"};
-
-        for (String key : netCancelUrlKeys) {
-            Object value = response.get(key);
-            if (value != null && !value.toString().trim().isEmpty()) {
-                String url = value.toString().trim();
-                logger.info("Inicis 응답에서 netCancelUrl 발견 (키: {}): {}", key, url);
-                return url;
-            }
-        }
-
-        logger.debug("Inicis 응답에서 netCancelUrl을 찾을 수 없음. 응답 키들: {}", response.keySet());
-        return null;
-    }
-
-    // 이니시스 응답에서 실제 TID 추출
-    private String extractRealTidFromResponse(Map<String, Object> response) {
-        if (response == null) return null;
-
-        // 이니시스 응답에서 TID를 찾는 다양한 키들
-        String[] tidKeys = {"tid", "TID", "P_TID", "transactionId", "transaction_id", "pgTid", "pg_tid"};
-
-        for (String key : tidKeys) {
-            Object tidValue = response.get(key);
-            if (tidValue != null && !tidValue.toString().trim().isEmpty()) {
-                String tid = tidValue.toString().trim();
-                // TEMP_TID로 시작하는 임시 TID는 제외
-                if (!tid.startsWith("TEMP_TID_")) {
-                    return tid;
-                }
-            }
-        }
-
-        return null;
-    }
-
 
-    // payments 테이블에 인증 결과 포함 저장
-    private void savePaymentRecordWithAuthResult(Order order, PaymentLog paymentLog, Map<String, Object> authResult) {
+    // payments 테이블에 인증 결과 포함 저장 (저장한 결제, 저장 중 오류면 null)
+    private Payment savePaymentRecordWithAuthResult(Order order, PaymentLog paymentLog, Map<String, Object> authResult) {
         try {
             logger.info("Saving payment record with auth result for order: {}", order.getOrderNo());
 
@@ -1181,77 +1243,90 @@ public class PaymentService {
             }
 
             paymentRepository.save(payment);
+            recordWrite(payment);
             logger.info("Payment record with auth result saved - Order: {}, Payment ID: {}, TID: {}, AuthToken: {}",
                    order.getOrderNo(), payment.getId(), payment.getTid(),
                    payment.getAuthToken() != null && !payment.getAuthToken().isEmpty() ? "있음" : "없음");
             // }
+            return payment;
             
         } catch (Exception e) {
             logger.error("Error saving payment record with auth result for order: {}, error: {}", 
                         order.getOrderNo(), e.getMessage(), e);
+            return null;
         }
     }
 
     // 사용자별 결제 내역 조회 (주문별로 그룹핑)
-    public Map<String, Object> getUserPaymentHistory(Long userId) {
+    @Transactional(readOnly = true)
+    public PaymentHistoryResponse getUserPaymentHistory(Long userId) {
+        shardRouter.routeUser(userId);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(userId));
         try {
             logger.info("Getting payment history for user: {}", userId);
 
-            // 사용자의 모든 주문 조회
-            List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-            // 각 주문에 대한 결제 정보 추가
-            List<Map<String, Object>> orderDetails = new ArrayList<>();
+            // 사용자의 모든 주문 조회 (보관된 주문 포함)
+            UserOrders userOrders = findUserOrders(userId);
+            List<Order> orders = userOrders.orders();
+            Map<String, List<Payment>> paymentsByOrderNo = userOrders.paymentsByOrderNo();
 
+            // 각 주문에 대한 결제 정보 추가 (대표 결제는 가장 최신)
+            List<PaymentHistoryResponse.OrderItem> orderItems = new ArrayList<>();
             for (Order order : orders) {
-                List<Payment> payments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(order.getOrderNo());
-
-                Map<String, Object> orderDetail = new HashMap<>();
-                orderDetail.put("orderId", order.getId());
-                orderDetail.put("orderNo", order.getOrderNo());
-                orderDetail.put("totalAmount", order.getTotalAmount());
-                orderDetail.put("cardAmount", order.getCardAmount());
-                orderDetail.put("pointsUsed", order.getPointsUsed());
-                orderDetail.put("status", order.getStatus().name());
-                orderDetail.put("statusMessage", getOrderStatusMessage(order.getStatus()));
-                orderDetail.put("createdAt", order.getCreatedAt());
-                orderDetail.put("updatedAt", order.getUpdatedAt());
-                orderDetail.put("payments", payments);
-
-                // 대표 결제 정보 (가장 최신)
-                Payment primaryPayment = payments.isEmpty() ? null : payments.get(0);
-                orderDetail.put("payment", primaryPayment);
-
-                orderDetails.add(orderDetail);
-            }
-
-            return Map.of(
-                "success", true,
-                "userId", userId,
-                "orders", orderDetails,
-                "totalCount", orderDetails.size()
-            );
+                List<Payment> payments = paymentsByOrderNo.getOrDefault(order.getOrderNo(), List.of());
+                orderItems.add(new PaymentHistoryResponse.OrderItem(
+                    order.getId(),
+                    order.getOrderNo(),
+                    order.getTotalAmount(),
+                    order.getCardAmount(),
+                    order.getPointsUsed(),
+                    order.getStatus().name(),
+                    getOrderStatusMessage(order.getStatus()),
+                    order.getCreatedAt(),
+                    order.getUpdatedAt(),
+                    userOrders.isArchived(order),
+                    payments,
+                    payments.isEmpty() ? null : payments.get(0)
+                ));
+            }
+
+            return PaymentHistoryResponse.of(userId, orderItems);
 
         } catch (Exception e) {
             logger.error("Error getting payment history for user: {}", userId, e);
-            return Map.of(
-                "success", false,
-                "message", "결제 내역 조회 중 오류가 발생했습니다: " + e.getMessage()
-            );
+            return PaymentHistoryResponse.failure("결제 내역 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
+
+    /**
+     * 사용자 결제/적립금 누적 집계 조회 (집계 행 1건, 결제/주문이 없는 사용자는 0)
+     */
+    @Transactional(readOnly = true)
+    public UserPaymentStatsResponse getUserPaymentStats(Long userId) {
+        shardRouter.routeUser(userId);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(userId));
+        UserPaymentStats stats = userPaymentStatsRepository.findById(userId).orElseGet(() -> new UserPaymentStats(userId));
+        return UserPaymentStatsResponse.from(stats);
+    }
     
     // 사용자별 주문 내역과 결제 정보 조회 (조인)
+    @Transactional(readOnly = true)
     public Map<String, Object> getUserOrdersWithPayments(Long userId) {
+        shardRouter.routeUser(userId);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(userId));
         try {
             logger.info("Getting orders with payments for user: {}", userId);
             
-            // 사용자의 모든 주문 조회
-            List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+            // 사용자의 모든 주문 조회 (보관된 주문 포함)
+            UserOrders userOrders = findUserOrders(userId);
+            List<Order> orders = userOrders.orders();
+            Map<String, List<Payment>> paymentsByOrderNo = userOrders.paymentsByOrderNo();
             
             // 각 주문에 대한 결제 정보 추가
             List<Map<String, Object>> orderDetails = orders.stream().map(order -> {
+                // 보관된 주문은 운영 테이블에 없어 환불할 수 없음
+                boolean archived = userOrders.isArchived(order);
                 Map<String, Object> orderInfo = new HashMap<>();
                 orderInfo.put("orderId", order.getId());
                 orderInfo.put("orderNo", order.getOrderNo());
@@ -1262,9 +1337,10 @@ public class PaymentService {
                 orderInfo.put("statusMessage", getOrderStatusMessage(order.getStatus()));
                 orderInfo.put("createdAt", order.getCreatedAt());
                 orderInfo.put("updatedAt", order.getUpdatedAt());
+                orderInfo.put("archived", archived);
                 
-                // 해당 주문의 모든 결제 정보 조회 (각각 별도 로우로 표시)
-                List<Payment> allPayments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(order.getOrderNo());
+                // 해당 주문의 모든 결제 정보 (각각 별도 로우로 표시)
+                List<Payment> allPayments = paymentsByOrderNo.getOrDefault(order.getOrderNo(), List.of());
 
                 // 취소가 발생한 경우 원본 사용내역은 숨기고 취소내역만 표시
                 List<Payment> filteredPayments = filterPaymentsForDisplay(allPayments);
@@ -1281,7 +1357,7 @@ public class PaymentService {
                     paymentInfo.put("resultMsg", payment.getResultMsg());
                     paymentInfo.put("paymentDate", payment.getPaymentDate());
                     paymentInfo.put("cardName", payment.getCardName());
-                    paymentInfo.put("canRefund", canRefundPayment(payment));
+                    paymentInfo.put("canRefund", !archived && canRefundPayment(payment));
 
                     return paymentInfo;
                 }).toList();
@@ -1301,7 +1377,7 @@ public class PaymentService {
                     paymentInfo.put("resultMsg", firstPayment.getResultMsg());
                     paymentInfo.put("paymentDate", firstPayment.getPaymentDate());
                     paymentInfo.put("cardName", firstPayment.getCardName());
-                    paymentInfo.put("canRefund", canRefundPayment(firstPayment));
+                    paymentInfo.put("canRefund", !archived && canRefundPayment(firstPayment));
 
                     orderInfo.put("payment", paymentInfo);
                 } else {
@@ -1327,66 +1403,89 @@ public class PaymentService {
         }
     }
 
+    // 사용자 주문 목록 (운영 + 보관 테이블, 생성일 최신순) 과 주문번호별 결제 내역 (주문별 최신순 유지)
+    // 두 테이블을 UNION ALL 한 문장으로 읽으므로 보관 주문이 없어도 조회 횟수는 주문 1회 + 결제 1회 그대로
+    private UserOrders findUserOrders(Long userId) {
+        List<Order> orders = new ArrayList<>();
+        Set<String> archivedOrderNos = new HashSet<>();
+        for (OrderArchive order : orderArchiveRepository.findUserOrderHistory(userId)) {
+            orders.add(order.toOrder());
+            if (order.isArchived()) {
+                archivedOrderNos.add(order.getOrderNo());
+            }
+        }
+        if (orders.isEmpty()) {
+            return new UserOrders(orders, Map.of(), archivedOrderNos);
+        }
+
+        List<String> orderNos = orders.stream().map(Order::getOrderNo).toList();
+        Map<String, List<Payment>> grouped = new HashMap<>();
+        for (PaymentArchive payment : paymentArchiveRepository.findPaymentHistoryByOrderNoIn(orderNos)) {
+            grouped.computeIfAbsent(payment.getOrderNo(), key -> new ArrayList<>()).add(payment.toPayment());
+        }
+        grouped.values().forEach(PaymentService::applyNetworkCancels);
+        return new UserOrders(orders, grouped, archivedOrderNos);
+    }
+
+    private record UserOrders(List<Order> orders, Map<String, List<Payment>> paymentsByOrderNo,
+                              Set<String> archivedOrderNos) {
+        boolean isArchived(Order order) {
+            return archivedOrderNos.contains(order.getOrderNo());
+        }
+    }
+
     // 주문번호로 주문 상세 정보와 결제 내역 조회
-    public Map<String, Object> getOrderDetailWithPayments(String orderNo) {
+    @Transactional(readOnly = true)
+    public OrderDetailResponse getOrderDetailWithPayments(String orderNo) {
+        shardRouter.routeOrder(orderNo);
+        readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.orderKey(orderNo));
         try {
             logger.info("Getting order detail with payments for orderNo: {}", orderNo);
 
-            // 주문 정보 조회
+            // 주문 정보 조회 (운영 테이블에 없을 때만 보관 테이블 조회)
             Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
+            boolean archived = orderOpt.isEmpty();
+            if (archived) {
+                orderOpt = orderArchiveRepository.findByOrderNo(orderNo).map(OrderArchive::toOrder);
+            }
             if (orderOpt.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "주문을 찾을 수 없습니다: " + orderNo
-                );
+                return OrderDetailResponse.failure("주문을 찾을 수 없습니다: " + orderNo);
             }
 
             Order order = orderOpt.get();
 
             // 해당 주문의 모든 결제 정보 조회
-            List<Payment> allPayments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo);
+            List<Payment> allPayments = applyNetworkCancels(archived
+                ? paymentArchiveRepository.findByOrderNoOrderByPaymentDateDesc(orderNo).stream()
+                    .map(PaymentArchive::toPayment).toList()
+                : paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo));
 
             // 취소가 발생한 경우 원본 사용내역은 숨기고 취소내역만 표시
             List<Payment> filteredPayments = filterPaymentsForDisplay(allPayments);
 
-            List<Map<String, Object>> paymentInfoList = filteredPayments.stream().map(payment -> {
-                Map<String, Object> paymentInfo = new HashMap<>();
-                paymentInfo.put("paymentId", payment.getId());
-                paymentInfo.put("tid", payment.getTid());
-                paymentInfo.put("amount", payment.getAmount());
-                paymentInfo.put("status", payment.getStatus());
-                paymentInfo.put("paymentType", payment.getPaymentType());
-                paymentInfo.put("paymentTypeDescription", getPaymentTypeDescription(payment.getPaymentType()));
-                paymentInfo.put("resultCode", payment.getResultCode());
-                paymentInfo.put("resultMsg", payment.getResultMsg());
-                paymentInfo.put("paymentDate", payment.getPaymentDate());
-                paymentInfo.put("cardName", payment.getCardName());
-                paymentInfo.put("canRefund", canRefundPayment(payment));
-
-                return paymentInfo;
-            }).toList();
+            List<OrderDetailResponse.PaymentItem> paymentItems = filteredPayments.stream()
+                .map(payment -> new OrderDetailResponse.PaymentItem(
+                    payment.getId(),
+                    payment.getTid(),
+                    payment.getAmount(),
+                    payment.getStatus(),
+                    payment.getPaymentType(),
+                    getPaymentTypeDescription(payment.getPaymentType()),
+                    payment.getResultCode(),
+                    payment.getResultMsg(),
+                    payment.getPaymentDate(),
+                    payment.getCardName(),
+                    !archived && canRefundPayment(payment)))
+                .toList();
 
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("orderId", order.getId());
-            result.put("orderNo", order.getOrderNo());
-            result.put("totalAmount", order.getTotalAmount());
-            result.put("cardAmount", order.getCardAmount());
-            result.put("pointsUsed", order.getPointsUsed());
-            result.put("status", order.getStatus().toString());
-            result.put("statusMessage", getOrderStatusMessage(order.getStatus()));
-            result.put("createdAt", order.getCreatedAt());
-            result.put("updatedAt", order.getUpdatedAt());
-            result.put("payments", paymentInfoList);
-
-            return result;
+            return new OrderDetailResponse(true, null, order.getId(), order.getOrderNo(),
+                order.getTotalAmount(), order.getCardAmount(), order.getPointsUsed(),
+                order.getStatus().toString(), getOrderStatusMessage(order.getStatus()),
+                order.getCreatedAt(), order.getUpdatedAt(), paymentItems);
 
         } catch (Exception e) {
             logger.error("Error getting order detail with payments for orderNo: {}", orderNo, e);
-            return Map.of(
-                "success", false,
-                "message", "주문 상세 조회 중 오류가 발생했습니다: " + e.getMessage()
-            );
+            return OrderDetailResponse.failure("주문 상세 조회 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
@@ -1398,8 +1497,17 @@ public class PaymentService {
                 logger.warn("Order not found for updateOrderStatusBasedOnPayments: {}", orderNo);
                 return;
             }
+            paymentEventJournal.catchUp(orderOpt.get());
+            updateOrderStatusBasedOnPayments(orderOpt.get());
+        } catch (Exception e) {
+            logger.error("Error updating order status for orderNo: {}", orderNo, e);
+        }
+    }
 
-            Order order = orderOpt.get();
+    // 이미 조회해 결제 이벤트를 적용한 주문으로 상태 업데이트 (모든 결제가 취소됐으면 주문 취소 이벤트 기록)
+    private void updateOrderStatusBasedOnPayments(Order order) {
+        String orderNo = order.getOrderNo();
+        try {
             List<Payment> allPayments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo);
 
             // 모든 활성 결제 내역 (취소되지 않은 것들)
@@ -1432,8 +1540,8 @@ public class PaymentService {
             // 모든 결제가 취소된 경우 주문을 취소 상태로 변경
             if (activePaymentAmount == 0 && refundAmount > 0 &&
                 order.getStatus() != Order.OrderStatus.CANCELLED) {
-                order.setStatus(Order.OrderStatus.CANCELLED);
-                orderRepository.save(order);
+                paymentEventJournal.append(order, PaymentEvent.EventType.ORDER_CANCELLED, null);
+                recordWrite(order);
                 logger.info("Order {} status changed to CANCELLED - all payments refunded", orderNo);
             }
 
@@ -1488,68 +1596,78 @@ public class PaymentService {
             .toList();
     }
 
+    // 같은 주문의 돈이 오가는 흐름(승인/환불/망취소)을 인스턴스 간 직렬화 (잠금은 현재 트랜잭션 종료 시 해제)
+    // 잠금 쿼리가 트랜잭션의 첫 SQL 이므로 여기서 주문의 샤드 지정
+    private Map<String, Object> withOrderLock(String orderNo, Supplier<Map<String, Object>> flow) {
+        return withOrderLock(orderNo, message -> Map.of(
+            "success", false,
+            "message", message
+        ), flow);
+    }
+
+    // busy: 잠금을 얻지 못했을 때의 실패 응답 (메시지 -> 응답)
+    private <T> T withOrderLock(String orderNo, Function<String, T> busy, Supplier<T> flow) {
+        shardRouter.routeOrder(orderNo);
+        if (orderNo != null && !orderLockService.tryLock(orderNo)) {
+            return busy.apply(ORDER_BUSY_MESSAGE);
+        }
+        return flow.get();
+    }
+
     // 주문번호로 결제 취소
-    public Map<String, Object> refundPaymentByOrderNo(String orderNo, String refundReason, String clientIp) {
+    public RefundResponse refundPaymentByOrderNo(String orderNo, String refundReason, String clientIp) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.REFUND, null, orderNo);
+        RefundResponse result = null;
+        try {
+            result = withOrderLock(orderNo, RefundResponse::failure, () -> doRefundPaymentByOrderNo(orderNo, refundReason, clientIp));
+            return result;
+        } finally {
+            event.end(result != null && result.success());
+        }
+    }
+
+    // 주문번호로 결제 취소 본문
+    private RefundResponse doRefundPaymentByOrderNo(String orderNo, String refundReason, String clientIp) {
         try {
             logger.info("Processing refund for orderNo: {}, reason: {}", orderNo, refundReason);
             
-            // 해당 주문의 완료된 결제 정보 조회
-            List<Payment> completedPayments = paymentRepository.findByOrderNoAndStatusCompleted(orderNo);
-            Optional<Payment> paymentOpt = completedPayments.isEmpty() ? Optional.empty() : Optional.of(completedPayments.get(0));
+            // 해당 주문의 결제 내역을 한 번만 조회하여 완료된 결제/취소 내역 확인
+            List<Payment> orderPayments = applyNetworkCancels(paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo));
+            Optional<Payment> paymentOpt = orderPayments.stream()
+                .filter(p -> "COMPLETED".equals(p.getStatus()))
+                .findFirst();
             if (paymentOpt.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "해당 주문의 결제 정보를 찾을 수 없습니다."
-                );
+                return RefundResponse.failure("해당 주문의 결제 정보를 찾을 수 없습니다.");
             }
             
             Payment payment = paymentOpt.get();
             
             // 취소 가능한 상태인지 확인
             if (!canRefundPayment(payment)) {
-                return Map.of(
-                    "success", false,
-                    "message", "취소할 수 없는 결제 상태입니다. (상태: " + payment.getStatus() + ")"
-                );
+                return RefundResponse.failure("취소할 수 없는 결제 상태입니다. (상태: " + payment.getStatus() + ")");
             }
             
             String tid = payment.getTid();
             if (tid == null || tid.trim().isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "결제의 거래 ID(TID)가 없어 취소할 수 없습니다."
-                );
+                return RefundResponse.failure("결제의 거래 ID(TID)가 없어 취소할 수 없습니다.");
             }
 
-            // PG사 구분하여 적절한 취소 API 호출
-            Map<String, Object> refundResult;
-
-            // pgProvider 컬럼을 통해 PG사 구분
-            String pgProvider = payment.getPgProvider();
-            if ("NICEPAY".equals(pgProvider)) {
-                logger.info("NicePay 거래 취소 요청 - TID: {}, PgProvider: {}", tid, pgProvider);
-                refundResult = cancelNicePayment(tid, payment.getAmount(), refundReason, payment.getOrderNo());
+            // 이미 취소된 거래인지 확인 (원본 결제는 COMPLETED 로 남으므로 취소 내역으로 판단)
+            boolean alreadyRefunded = orderPayments.stream()
+                .anyMatch(p -> Payment.PaymentType.CARD_REFUND.name().equals(p.getPaymentType()) && tid.equals(p.getTid()));
+            if (alreadyRefunded) {
+                return RefundResponse.failure("이미 취소된 결제입니다.");
+            }
 
-                // NicePay 결과를 Inicis 형식으로 변환
-                if ((Boolean) refundResult.get("success")) {
-                    refundResult = Map.of(
-                        "resultCode", "00",
-                        "resultMsg", "취소 완료",
-                        "originalResult", refundResult
-                    );
-                } else {
-                    refundResult = Map.of(
-                        "resultCode", "99",
-                        "resultMsg", "취소 실패: " + refundResult.get("resultMessage"),
-                        "originalResult", refundResult
-                    );
-                }
-            } else {
-                // pgProvider가 null이거나 INICIS인 경우 (기존 데이터 호환성)
-                logger.info("Inicis 거래 취소 요청 - TID: {}, PgProvider: {}", tid, pgProvider);
-                refundResult = callInicisRefundAPI(tid, refundReason, clientIp);
+            // pgProvider 컬럼을 통해 PG사 구분 (null인 경우 기존 데이터 호환성을 위해 INICIS)
+            String pgProvider = payment.getPgProvider() != null ? payment.getPgProvider() : "INICIS";
+            PaymentGateway gateway = gatewayRouter.getGateway(pgProvider);
+            if (gateway == null) {
+                return RefundResponse.failure("지원하지 않는 PG사입니다: " + pgProvider);
             }
-            
+
+            Map<String, Object> refundResult = gateway.refund(payment, refundReason, clientIp);
+
             String resultCode = (String) refundResult.get("resultCode");
             if ("00".equals(resultCode)) {
                 // 취소 성공 시 payments 테이블에 취소 데이터 저장
@@ -1558,27 +1676,14 @@ public class PaymentService {
                 // 주문 상태 업데이트 (모든 결제가 취소되었는지 확인)
                 updateOrderStatusBasedOnPayments(orderNo);
 
-                return Map.of(
-                    "success", true,
-                    "message", "주문이 성공적으로 취소되었습니다.",
-                    "orderNo", orderNo,
-                    "tid", tid,
-                    "refundResult", refundResult
-                );
+                return RefundResponse.refunded(orderNo, tid, refundResult);
             } else {
-                return Map.of(
-                    "success", false,
-                    "message", "결제 취소에 실패했습니다: " + refundResult.get("resultMsg"),
-                    "resultCode", resultCode
-                );
+                return RefundResponse.failure("결제 취소에 실패했습니다: " + refundResult.get("resultMsg"), resultCode);
             }
             
         } catch (Exception e) {
             logger.error("Error processing refund for orderNo: {}", orderNo, e);
-            return Map.of(
-                "success", false,
-                "message", "결제 취소 처리 중 오류가 발생했습니다: " + e.getMessage()
-            );
+            return RefundResponse.failure("결제 취소 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
     
@@ -1586,6 +1691,24 @@ public class PaymentService {
     private boolean canRefundPayment(Payment payment) {
         return "COMPLETED".equals(payment.getStatus()) && payment.getAmount() > 0;
     }
+
+    // 같은 TID 의 망취소 기록이 있는 카드 결제를 메모리에서 CANCELLED 로 표시 (스냅샷 반영 전에도 망취소된 결제로 판단)
+    private static List<Payment> applyNetworkCancels(List<Payment> payments) {
+        Set<String> cancelledTids = new HashSet<>();
+        for (Payment payment : payments) {
+            if (Payment.PaymentType.NETWORK_CANCEL.name().equals(payment.getPaymentType()) && payment.getTid() != null) {
+                cancelledTids.add(payment.getTid());
+            }
+        }
+        if (!cancelledTids.isEmpty()) {
+            for (Payment payment : payments) {
+                if (Payment.PaymentType.CARD.name().equals(payment.getPaymentType()) && cancelledTids.contains(payment.getTid())) {
+                    payment.setStatus("CANCELLED");
+                }
+            }
+        }
+        return payments;
+    }
     
     // 주문 상태 메시지 반환
     private String getOrderStatusMessage(Order.OrderStatus status) {
@@ -1619,8 +1742,7 @@ public class PaymentService {
             logger.info("Processing refund for TID: {}, reason: {}", tid, refundReason);
             
             // 해당 TID의 가장 최신 완료된 결제 정보 조회
-            List<Payment> completedPayments = paymentRepository.findByTidAndStatusOrderByPaymentDateDesc(tid, "COMPLETED");
-            Optional<Payment> paymentOpt = completedPayments.isEmpty() ? Optional.empty() : Optional.of(completedPayments.get(0));
+            Optional<Payment> paymentOpt = paymentRepository.findFirstByTidAndStatusOrderByPaymentDateDescIdDesc(tid, "COMPLETED");
             if (paymentOpt.isEmpty()) {
                 return Map.of(
                     "success", false,
@@ -1665,9 +1787,9 @@ public class PaymentService {
     }
     
     // 이니시스 취소 API 호출
-    private Map<String, Object> callInicisRefundAPI(String tid, String refundReason, String clientIp) {
+    public Map<String, Object> callInicisRefundAPI(String tid, String refundReason, String clientIp) {
         try {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+            String timestamp = PgDateTime.formatCompact(LocalDateTime.now());
             
             // 취소 요청 데이터 생성
             Map<String, Object> data = new HashMap<>();
@@ -1703,21 +1825,22 @@ public class PaymentService {
             // HTTP 요청 생성 및 전송
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestData, headers);
             
-            ResponseEntity<String> response = restTemplate.postForEntity(inicisRefundUrl, request, String.class);
-            String responseBody = response.getBody();
+            PgResponse response = postToInicis("REFUND", inicisRefundUrl, request);
+            InicisRefundResponse refund = InicisRefundResponse.from(response);
+
+            logInicisRefund(tid, requestData, response, refund);
             
             logger.info("=== 취소 응답 RESPONSE DATA ===");
             logger.info("TID: {}", tid);
-            logger.info("HTTP Status: {}", response.getStatusCode());
-            if (responseBody != null && !responseBody.trim().isEmpty()) {
-                if (responseBody.trim().startsWith("{")) {
-                    Object parsedResponse = objectMapper.readValue(responseBody, Object.class);
-                    String prettyResponseJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(parsedResponse);
-                    logger.info("Response JSON:\n{}", prettyResponseJson);
+            logger.info("HTTP Status: {}", response.getStatus());
+            if (!response.isEmpty()) {
+                if (response.isJson() && !response.isParseFailed()) {
+                    logger.info("Response JSON:\n{}", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(response.getFields()));
                 } else {
-                    logger.info("Response Body: {}", responseBody);
+                    logger.info("Response Body: {}", response.bodyText());
                 }
             }
+            logger.info("Result: {} {} (success={})", refund.resultCode(), refund.resultMsg(), refund.isSuccess());
             logger.info("=== 취소 응답 RESPONSE DATA END ===");
             
             // 간단한 응답 처리
@@ -1752,6 +1875,7 @@ public class PaymentService {
             refundPayment.setCardCode(originalPayment.getCardCode());
             
             paymentRepository.save(refundPayment);
+            recordWrite(refundPayment);
             logger.info("Refund record saved successfully - Payment ID: {}", refundPayment.getId());
             
         } catch (Exception e) {
@@ -1776,52 +1900,52 @@ public class PaymentService {
     }
 
     // 적립금 취소 (포인트 복구)
-    public Map<String, Object> refundPointsByOrderNo(String orderNo, String refundReason) {
+    public PointsRefundResponse refundPointsByOrderNo(String orderNo, String refundReason) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.POINTS_REFUND, null, orderNo);
+        PointsRefundResponse result = null;
+        try {
+            result = withOrderLock(orderNo, PointsRefundResponse::failure, () -> doRefundPointsByOrderNo(orderNo, refundReason));
+            return result;
+        } finally {
+            event.end(result != null && result.success());
+        }
+    }
+
+    // 적립금 취소 본문
+    private PointsRefundResponse doRefundPointsByOrderNo(String orderNo, String refundReason) {
         try {
             logger.info("Processing point refund for orderNo: {}, reason: {}", orderNo, refundReason);
 
-            // 해당 주문의 적립금 사용 내역 조회
-            List<Payment> pointPayments = paymentRepository.findByOrderNo(orderNo)
-                    .stream()
+            // 해당 주문의 결제 내역을 한 번만 조회하여 적립금 사용/취소 내역으로 분류
+            List<Payment> orderPayments = paymentRepository.findByOrderNo(orderNo);
+            List<Payment> pointPayments = orderPayments.stream()
                     .filter(p -> Payment.PaymentType.POINT.name().equals(p.getPaymentType()) && "COMPLETED".equals(p.getStatus()))
                     .toList();
 
             if (pointPayments.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "해당 주문의 적립금 사용 내역을 찾을 수 없습니다."
-                );
+                return PointsRefundResponse.failure("해당 주문의 적립금 사용 내역을 찾을 수 없습니다.");
             }
 
             // 이미 취소된 적립금이 있는지 확인
-            List<Payment> refundedPoints = paymentRepository.findByOrderNo(orderNo)
-                    .stream()
+            List<Payment> refundedPoints = orderPayments.stream()
                     .filter(p -> Payment.PaymentType.POINT_REFUND.name().equals(p.getPaymentType()))
                     .toList();
 
             if (!refundedPoints.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "이미 적립금이 취소되었습니다."
-                );
+                return PointsRefundResponse.failure("이미 적립금이 취소되었습니다.");
             }
 
             // 주문 정보 조회하여 사용자 정보 가져오기
             Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
             if (orderOpt.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "주문 정보를 찾을 수 없습니다."
-                );
+                return PointsRefundResponse.failure("주문 정보를 찾을 수 없습니다.");
             }
 
             Order order = orderOpt.get();
+            paymentEventJournal.catchUp(order);
             Optional<User> userOpt = userRepository.findById(order.getUserId());
             if (userOpt.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "사용자 정보를 찾을 수 없습니다."
-                );
+                return PointsRefundResponse.failure("사용자 정보를 찾을 수 없습니다.");
             }
 
             User user = userOpt.get();
@@ -1847,27 +1971,19 @@ public class PaymentService {
             pointRefund.setCardName("적립금");
 
             paymentRepository.save(pointRefund);
+            recordWrite(pointRefund);
 
             logger.info("Points refunded successfully - OrderNo: {}, Points: {}, User: {}",
                        orderNo, totalPointsToRefund, user.getId());
 
             // 주문 상태 업데이트 (모든 결제가 취소되었는지 확인)
-            updateOrderStatusBasedOnPayments(orderNo);
+            updateOrderStatusBasedOnPayments(order);
 
-            return Map.of(
-                "success", true,
-                "message", "적립금이 성공적으로 취소되었습니다.",
-                "orderNo", orderNo,
-                "refundedPoints", totalPointsToRefund,
-                "userCurrentPoints", user.getPoints()
-            );
+            return PointsRefundResponse.refunded(orderNo, totalPointsToRefund, user.getPoints());
 
         } catch (Exception e) {
             logger.error("Error processing point refund for orderNo: {}", orderNo, e);
-            return Map.of(
-                "success", false,
-                "message", "적립금 취소 처리 중 오류가 발생했습니다: " + e.getMessage()
-            );
+            return PointsRefundResponse.failure("적립금 취소 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
@@ -1881,6 +1997,7 @@ public class PaymentService {
         try {
             IfInisisLog log = new IfInisisLog(orderNo != null ? orderNo : "UNKNOWN", requestType, "INICIS");
             log.setRequestUrl(requestUrl);
+            log.setTraceId(currentTraceId());
 
             // 요청 데이터를 JSON으로 변환하여 저장
             if (requestData != null) {
@@ -1904,7 +2021,7 @@ public class PaymentService {
                 }
             }
 
-            ifInisisLogRepository.save(log);
+            saveAuditLog(log);
             logger.info("Created Inicis log: orderNo={}, requestType={}", orderNo, requestType);
 
             return log;
@@ -1936,7 +2053,7 @@ public class PaymentService {
                     log.setErrorMessage(errorMessage);
                 }
 
-                ifInisisLogRepository.save(log);
+                saveAuditLog(log);
                 logger.info("Updated Inicis log response: orderNo={}, success={}", log.getOrderNo(), isSuccess);
             }
 
@@ -1964,6 +2081,11 @@ public class PaymentService {
             result.put("paymentData", requestData);
             result.put("apiUrl", nicePayApiUrl + "payment/webpay/pay_form.jsp");
 
+            // NicePay 상태가 나쁘면 다른 PG사로 결제하도록 안내 (failover)
+            String pgProvider = gatewayRouter.selectProvider();
+            result.put("pgProvider", pgProvider);
+            result.put("failover", !"NICEPAY".equals(pgProvider));
+
             logger.info("NICE Pay payment request created for order: {}", orderNo);
             return result;
 
@@ -1978,6 +2100,27 @@ public class PaymentService {
     // NICE Pay 결제 응답 처리
     @Transactional
     public PaymentResultDto handleNicePayResponse(Map<String, Object> params) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.APPROVAL, "NICEPAY", extractOrderNoFromNicePay(params));
+        PaymentResultDto result = null;
+        try {
+            String orderNo = extractOrderNoFromNicePay(params);
+            shardRouter.routeOrder(orderNo);
+            if (orderNo != null && !orderLockService.tryLock(orderNo)) {
+                result = new PaymentResultDto();
+                result.setSuccess(false);
+                result.setOrderNo(orderNo);
+                result.setResultMessage(ORDER_BUSY_MESSAGE);
+                return result;
+            }
+            result = doHandleNicePayResponse(params);
+            return result;
+        } finally {
+            event.end(result != null && result.isSuccess());
+        }
+    }
+
+    // NICE Pay 결제 응답 처리 본문
+    private PaymentResultDto doHandleNicePayResponse(Map<String, Object> params) {
         String orderNo = null;
         try {
             logger.info("=== NICE Pay 응답 처리 시작 ===");
@@ -2011,6 +2154,7 @@ public class PaymentService {
                 try {
                     logger.info("=== 결제 정보 저장 시작 ===");
                     logger.info("OrderNo: {}, TID: {}, Amount: {}", orderNo, tid, amt);
+                    long amount = PgAmount.parse(amt);
 
                     // 주문 정보 조회
                     Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
@@ -2021,13 +2165,20 @@ public class PaymentService {
                         return result;
                     }
                     Order order = orderOpt.get();
+                    paymentEventJournal.catchUp(order);
+                    if (order.isSweepCancelling()) {
+                        logger.warn("방치 주문 정리가 PG 취소 중인 주문 - 결제 저장하지 않음: {}, TID: {}", orderNo, tid);
+                        result.setSuccess(false);
+                        result.setResultMessage(SWEEP_CANCELLING_MESSAGE);
+                        return result;
+                    }
 
                     // 중복 결제 확인
                     Optional<Payment> existingPayment = paymentRepository.findByOrderNoAndTid(orderNo, tid);
                     if (existingPayment.isPresent()) {
                         logger.warn("Duplicate payment detected: orderNo={}, tid={}", orderNo, tid);
                         result.setTid(tid);
-                        result.setAmount(Long.valueOf(amt));
+                        result.setAmount(amount);
                         logger.info("Using existing payment record");
                         return result;
                     }
@@ -2037,7 +2188,7 @@ public class PaymentService {
                         orderNo,
                         order.getUserId(),
                         tid,
-                        Long.valueOf(amt),
+                        amount,
                         "COMPLETED",
                         resultCode,
                         resultMsg,
@@ -2052,14 +2203,15 @@ public class PaymentService {
                     // 저장 전 로그
                     logger.info("Saving payment to database...");
                     Payment savedPayment = paymentRepository.save(payment);
+                    recordWrite(payment);
                     logger.info("Payment saved with ID: {}", savedPayment.getId());
 
                     // 주문 상태 업데이트
                     logger.info("Updating order status...");
-                    updateOrderStatusBasedOnPayments(orderNo);
+                    updateOrderStatusBasedOnPayments(order);
 
                     result.setTid(tid);
-                    result.setAmount(Long.valueOf(amt));
+                    result.setAmount(amount);
 
                     logger.info("=== NICE Pay payment completed for order: {} ===", orderNo);
 
@@ -2098,6 +2250,7 @@ public class PaymentService {
     // NICE Pay 취소 요청
     @Transactional
     public Map<String, Object> cancelNicePayment(String tid, Long amount, String reason, String orderNo) {
+        shardRouter.routeOrder(orderNo);
         Map<String, Object> result = new HashMap<>();
 
         try {
@@ -2121,7 +2274,7 @@ public class PaymentService {
             }
 
             cancelParams.put("PartialCancelCode", "0"); // 0: 전체취소, 1: 부분취소
-            cancelParams.put("EdiDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")));
+            cancelParams.put("EdiDate", PgDateTime.formatCompact(LocalDateTime.now()));
             cancelParams.put("CharSet", "utf-8"); // 한글 메시지 때문에 euc-kr로 변경
             cancelParams.put("EdiType", "KV"); // Key=Value 형식
 
@@ -2136,35 +2289,29 @@ public class PaymentService {
             String signData = generateNicePayCancelSignature(cancelParams);
             cancelParams.put("SignData", signData);
 
-            // 실제 NicePay 취소 API URL
-            String cancelUrl = "https://pg-api.nicepay.co.kr/webapi/cancel_process.jsp";
+            // NicePay 취소 API URL
+            String cancelUrl = nicePayCancelUrl;
             logger.info("NicePay 취소 URL: {}", cancelUrl);
 
             // HTTP 호출
-            String cancelResponse = callHttpPost(cancelUrl, cancelParams);
-
-            // 응답 파싱
-            Map<String, String> responseMap = parseNicePayResponse(cancelResponse);
+            PgResponse cancelResponse = gatewayRouter.track("NICEPAY", () -> callHttpPost("NICEPAY", "CANCEL", cancelUrl, cancelParams));
 
             // 로그 생성
             createPaymentProviderLog(tid, "NICEPAY_CANCEL_REQUEST", cancelUrl, new HashMap<>(cancelParams), "NICEPAY");
-            createPaymentProviderLog(tid, "NICEPAY_CANCEL_RESPONSE", cancelUrl, new HashMap<>(responseMap), "NICEPAY");
-
-            String resultCode = responseMap.get("ResultCode");
-            String resultMsg = responseMap.get("ResultMsg");
+            createPaymentProviderLog(tid, "NICEPAY_CANCEL_RESPONSE", cancelUrl, new HashMap<>(cancelResponse.getFields()), "NICEPAY");
 
-            // NicePay 취소 성공 코드 확인
-            boolean isCancelSuccess = "2001".equals(resultCode) ||  // 신용카드 취소 성공
-                                     "2211".equals(resultCode) ||  // 계좌이체 취소 성공
-                                     "2221".equals(resultCode);    // 가상계좌 취소 성공
+            NicePayCancelResponse cancel = NicePayCancelResponse.from(cancelResponse);
+            String resultCode = cancel.resultCode();
+            String resultMsg = cancel.resultMsg();
 
-            if (isCancelSuccess) {
+            // NicePay 취소 성공 코드 확인 (신용카드/계좌이체/가상계좌)
+            if (cancel.isSuccess()) {
                 result.put("success", true);
                 result.put("resultCode", resultCode);
                 result.put("resultMessage", resultMsg);
                 result.put("tid", tid);
                 result.put("cancelAmount", amount);
-                result.put("cancelDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                result.put("cancelDate", LocalDateTime.now().format(PgDateTime.DISPLAY));
 
                 logger.info("NicePay 취소 성공 - TID: {}, ResultCode: {}", tid, resultCode);
             } else {
@@ -2281,6 +2428,7 @@ public class PaymentService {
         try {
             IfInisisLog log = new IfInisisLog(orderNo != null ? orderNo : "UNKNOWN", requestType, provider);
             log.setRequestUrl(requestUrl);
+            log.setTraceId(currentTraceId());
 
             // 요청 데이터를 JSON으로 변환하여 저장
             if (requestData != null) {
@@ -2299,7 +2447,7 @@ public class PaymentService {
                 log.setTransactionId(tid);
             }
 
-            ifInisisLogRepository.save(log);
+            saveAuditLog(log);
             logger.info("Created {} log: orderNo={}, requestType={}", provider, orderNo, requestType);
 
             return log;
@@ -2310,6 +2458,23 @@ public class PaymentService {
         }
     }
 
+    // 이니시스 취소 로그 (TID 기준, 요청/응답을 한 건으로 저장)
+    private void logInicisRefund(String tid, Map<String, Object> requestData, PgResponse response, InicisRefundResponse refund) {
+        try {
+            IfInisisLog log = new IfInisisLog(tid, "INICIS_REFUND", "INICIS");
+            log.setRequestUrl(inicisRefundUrl);
+            log.setTraceId(currentTraceId());
+            log.setTransactionId(tid);
+            log.setRequestData(objectMapper.writeValueAsString(requestData));
+            log.setResponseData(objectMapper.writeValueAsString(response.getFields()));
+            log.setHttpStatus(response.getStatus());
+            log.setIsSuccess(refund.isSuccess());
+            saveAuditLog(log);
+        } catch (Exception e) {
+            logger.error("Error creating INICIS refund log: {}", e.getMessage(), e);
+        }
+    }
+
     // 범용 결제 제공자 로그 응답 업데이트
     private void updatePaymentProviderLogResponse(IfInisisLog log, Map<String, Object> responseData, int httpStatus, boolean isSuccess, String errorMessage) {
         try {
@@ -2332,7 +2497,7 @@ public class PaymentService {
                     log.setErrorMessage(errorMessage);
                 }
 
-                ifInisisLogRepository.save(log);
+                saveAuditLog(log);
                 logger.info("Updated {} log response: orderNo={}, success={}", log.getPaymentProvider(), log.getOrderNo(), isSuccess);
             }
 
@@ -2399,6 +2564,18 @@ public class PaymentService {
     // NICE Pay 승인 API 처리 (인증 응답 후 호출)
     @Transactional
     public Map<String, Object> approveNicePayPayment(Map<String, Object> authParams) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.APPROVAL, "NICEPAY", extractOrderNoFromNicePay(authParams));
+        Map<String, Object> result = null;
+        try {
+            result = withOrderLock(extractOrderNoFromNicePay(authParams), () -> doApproveNicePayPayment(authParams));
+            return result;
+        } finally {
+            event.end(result != null && Boolean.TRUE.equals(result.get("success")));
+        }
+    }
+
+    // NICE Pay 승인 처리 본문
+    private Map<String, Object> doApproveNicePayPayment(Map<String, Object> authParams) {
         String orderNo = null;
         try {
             logger.info("=== NICE Pay 승인 처리 시작 ===");
@@ -2452,6 +2629,17 @@ public class PaymentService {
                 );
             }
 
+            // 방치 주문 정리가 PG 취소 중인 주문은 승인 API 를 호출하지 않음
+            if (orderRepository.findByOrderNo(orderNo).map(Order::isSweepCancelling).orElse(false)) {
+                logger.warn("NICE Pay 승인 거절 - 방치 주문 정리가 PG 취소 중인 주문: {}", orderNo);
+                return Map.of(
+                    "success", false,
+                    "resultCode", "SWEEP_CANCELLING",
+                    "resultMessage", SWEEP_CANCELLING_MESSAGE,
+                    "orderNo", orderNo
+                );
+            }
+
             // 승인 로그 생성
             IfInisisLog log = createPaymentProviderLog(orderNo, "NICEPAY_APPROVAL_REQUEST",
                                                      "APPROVAL_API", authParams, "NICEPAY");
@@ -2548,39 +2736,32 @@ public class PaymentService {
             approvalParams.put("AuthToken", authToken);
             approvalParams.put("MID", nicePayMerchantId);
             approvalParams.put("Amt", amount);
-            approvalParams.put("EdiDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")));
+            approvalParams.put("EdiDate", PgDateTime.formatCompact(LocalDateTime.now()));
             approvalParams.put("CharSet", "euc-kr");
             approvalParams.put("SignData", generateNicePaySignature(approvalParams));
 
             // HTTP 클라이언트를 사용하여 NextAppURL 호출
-            String approvalResponse = callHttpPost(nextAppURL, approvalParams);
-            // 응답 파싱
-            Map<String, String> responseMap = parseNicePayResponse(approvalResponse);
-            logger.info("NicePay 승인 성공 - responseMap: {}", responseMap);
-            String resultCode = responseMap.get("ResultCode");
-            String resultMsg = responseMap.get("ResultMsg");
+            PgResponse approvalResponse = gatewayRouter.track("NICEPAY", () -> callHttpPost("NICEPAY", "APPROVE", nextAppURL, approvalParams));
+            logger.info("NicePay 승인 응답 - responseMap: {}", approvalResponse.getFields());
+            NicePayAuthResponse approval = NicePayAuthResponse.from(approvalResponse);
+            String resultCode = approval.resultCode();
+            String resultMsg = approval.resultMsg();
 
             // NicePay 성공 코드 확인 (결제 수단별로 다름)
-            boolean isSuccess = "3001".equals(resultCode) ||  // 신용카드 성공
-                               "4000".equals(resultCode) ||   // 계좌이체 성공
-                               "4100".equals(resultCode) ||   // 가상계좌 발급 성공
-                               "A000".equals(resultCode) ||   // 휴대폰 소액결제 성공
-                               "7001".equals(resultCode);     // 현금영수증 성공
-
-            if (isSuccess) {
+            if (approval.isSuccess()) {
                 result.put("success", true);
                 result.put("resultCode", resultCode);
                 result.put("resultMessage", resultMsg);
                 result.put("orderNo", orderNo);
                 result.put("amount", amount);
-                result.put("tid", responseMap.get("TID"));
+                result.put("tid", approval.tid());
                 result.put("authToken", authToken);
                 result.put("nextAppURL", nextAppURL);
-                result.put("authDate", responseMap.get("AuthDate"));
-                result.put("authCode", responseMap.get("AuthCode"));
-                result.put("approvedAt", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                result.put("authDate", approval.authDate());
+                result.put("authCode", approval.authCode());
+                result.put("approvedAt", LocalDateTime.now().format(PgDateTime.DISPLAY));
 
-                logger.info("NicePay 승인 성공 - TID: {}, AuthCode: {}", responseMap.get("TID"), responseMap.get("AuthCode"));
+                logger.info("NicePay 승인 성공 - TID: {}, AuthCode: {}", approval.tid(), approval.authCode());
             } else {
                 result.put("success", false);
                 result.put("resultCode", resultCode);
@@ -2602,125 +2783,140 @@ public class PaymentService {
         return result;
     }
 
-    // HTTP POST 호출 메서드
-    private String callHttpPost(String url, Map<String, String> params) throws Exception {
+    // HTTP POST 호출 메서드 (pg.http.post 관측, traceparent 헤더 전파, JFR PgCall 이벤트, PG 호출 분석, 응답은 PgResponseReader 로 한 번만 디코딩)
+    private PgResponse callHttpPost(String provider, String operation, String url, Map<String, String> params) throws Exception {
+        long startedAt = System.nanoTime();
+        PgResponse recorded = null;
+        PgCallEvent event = PgCallEvent.begin(provider, operation, url);
         HttpURLConnection conn = null;
+        RequestReplySenderContext<HttpURLConnection, Integer> context =
+                new RequestReplySenderContext<>(HttpURLConnection::setRequestProperty);
+        Observation observation = null;
         try {
             URL urlObj = new URL(url);
             conn = (HttpURLConnection) urlObj.openConnection();
+            context.setCarrier(conn);
+            context.setRemoteServiceName(urlObj.getHost());
+            observation = Observation.createNotStarted("pg.http.post", () -> context, observationRegistry)
+                    .contextualName("pg post " + urlObj.getHost())
+                    .lowCardinalityKeyValue(KeyValue.of("host", urlObj.getHost()))
+                    .highCardinalityKeyValue(KeyValue.of("path", urlObj.getPath()))
+                    .start();
             conn.setRequestMethod("POST");
             conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=euc-kr");
             conn.setDoOutput(true);
             conn.setConnectTimeout(30000);
             conn.setReadTimeout(30000);
 
-            // 파라미터를 euc-kr 인코딩하여 전송
-            StringBuilder postData = new StringBuilder();
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                if (postData.length() != 0) {
-                    postData.append('&');
-                }
-                postData.append(URLEncoder.encode(entry.getKey(), "euc-kr"));
-                postData.append('=');
-                postData.append(URLEncoder.encode(entry.getValue(), "euc-kr"));
-            }
-
+            // 파라미터를 euc-kr 인코딩하여 스레드별 재사용 버퍼에 바로 기록 후 전송
+            PgFormEncoder form = PgFormEncoder.forCurrentThread(PgCharsets.EUC_KR).addAll(params);
+            event.requestBytes = form.size();
+            conn.setFixedLengthStreamingMode(form.size());
             try (OutputStream os = conn.getOutputStream()) {
-                os.write(postData.toString().getBytes("euc-kr"));
+                form.writeTo(os);
             }
 
             int responseCode = conn.getResponseCode();
-            StringBuilder response = new StringBuilder();
+            event.status = responseCode;
+            context.setResponse(responseCode);
+            observation.lowCardinalityKeyValue(KeyValue.of("status", String.valueOf(responseCode)));
 
             if (responseCode == HttpURLConnection.HTTP_OK) {
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream(), "UTF-8"))) {
-                    String line;
-                    while ((line = br.readLine()) != null) {
-                        response.append(line);
-                    }
-                }
-            } else {
-                // 오류 응답도 읽어서 로깅
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getErrorStream(), "UTF-8"))) {
-                    String line;
-                    while ((line = br.readLine()) != null) {
-                        response.append(line);
-                    }
-                } catch (Exception e) {
-                    logger.warn("오류 응답 읽기 실패", e);
-                }
-                logger.error("HTTP 오류 응답 - 코드: {}, 내용: {}", responseCode, response.toString());
-                throw new Exception("HTTP 응답 코드: " + responseCode + ", 내용: " + response.toString());
+                PgResponse response = pgResponseReader.read(provider, responseCode, conn.getInputStream(), conn.getContentType());
+                event.responseBytes = response.length();
+                logger.debug("{} {} 원본 응답: {}", provider, operation, response.bodyText());
+                recorded = response;
+                return response;
             }
 
-            return response.toString();
+            // 오류 응답도 읽어서 로깅
+            String errorBody = "";
+            try {
+                PgResponse errorResponse = pgResponseReader.read(provider, responseCode, conn.getErrorStream(), conn.getContentType());
+                event.responseBytes = errorResponse.length();
+                errorBody = errorResponse.bodyText();
+            } catch (Exception e) {
+                logger.warn("오류 응답 읽기 실패", e);
+            }
+            logger.error("HTTP 오류 응답 - 코드: {}, 내용: {}", responseCode, errorBody);
+            throw new Exception("HTTP 응답 코드: " + responseCode + ", 내용: " + errorBody);
+        } catch (Exception e) {
+            if (observation != null) {
+                observation.error(e);
+            }
+            throw e;
         } finally {
+            if (observation != null) {
+                observation.stop();
+            }
             if (conn != null) {
                 conn.disconnect();
             }
+            event.commit();
+            pgCallAnalytics.record(provider, operation, System.nanoTime() - startedAt, recorded, event.status);
+            if (recorded == null) {
+                AdmissionOutcome.markDropped("pg-error");
+            }
         }
     }
 
-    // NicePay 응답 파싱 메서드
-    private Map<String, String> parseNicePayResponse(String response) {
-        Map<String, String> result = new HashMap<>();
-        if (response == null || response.isEmpty()) {
-            logger.warn("NicePay 응답이 비어있습니다.");
-            return result;
-        }
-
-        logger.info("NicePay 원본 응답: {}", response);
-
+    // 이니시스 API 호출 (PG사 상태 추적, JFR PgCall 이벤트, PG 호출 분석)
+    private PgResponse postToInicis(String operation, String url, HttpEntity<?> request) throws Exception {
+        long startedAt = System.nanoTime();
+        PgResponse recorded = null;
+        PgCallEvent event = PgCallEventInterceptor.begin("INICIS", operation, url);
         try {
-            // JSON 형태 응답인지 확인
-            if (response.trim().startsWith("{")) {
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> jsonMap = mapper.readValue(response, Map.class);
-                for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
-                    result.put(entry.getKey(), entry.getValue() != null ? entry.getValue().toString() : "");
-                }
-                logger.info("JSON 응답으로 파싱 완료: {}", result);
-                return result;
+            ResponseEntity<byte[]> response = gatewayRouter.track("INICIS", () -> restTemplate.postForEntity(url, request, byte[].class));
+            MediaType contentType = response.getHeaders().getContentType();
+            recorded = pgResponseReader.read("INICIS", response.getStatusCode().value(), response.getBody(),
+                    contentType != null ? contentType.toString() : null);
+            return recorded;
+        } finally {
+            PgCallEventInterceptor.end(event);
+            pgCallAnalytics.record("INICIS", operation, System.nanoTime() - startedAt, recorded, event.status);
+            if (recorded == null) {
+                AdmissionOutcome.markDropped("pg-error");
             }
+        }
+    }
 
-            // key=value&key=value 형태 응답 파싱
-            String[] pairs = response.split("&");
-            for (String pair : pairs) {
-                String[] keyValue = pair.split("=", 2);
-                if (keyValue.length == 2) {
-                    try {
-                        // UTF-8로 먼저 시도
-                        String key = URLDecoder.decode(keyValue[0], "UTF-8");
-                        String value = URLDecoder.decode(keyValue[1], "UTF-8");
-                        result.put(key, value);
-                    } catch (Exception e) {
-                        // UTF-8 실패시 euc-kr로 시도
-                        try {
-                            String key = URLDecoder.decode(keyValue[0], "euc-kr");
-                            String value = URLDecoder.decode(keyValue[1], "euc-kr");
-                            result.put(key, value);
-                        } catch (Exception e2) {
-                            // 디코딩 없이 원본값 사용
-                            result.put(keyValue[0], keyValue[1]);
-                            logger.warn("URL 디코딩 실패, 원본값 사용: {}", pair);
-                        }
-                    }
-                } else if (keyValue.length == 1 && !keyValue[0].isEmpty()) {
-                    // 값이 없는 키는 빈 문자열로 설정
-                    result.put(keyValue[0], "");
-                }
-            }
+    // read-your-writes: 커밋 후 주문/사용자 키 기록 (복제본 지연 동안 해당 조회는 primary)
+    private void recordWrite(Order order) {
+        readYourWritesTracker.recordWriteAfterCommit(ReadYourWritesTracker.orderKey(order.getOrderNo()),
+                ReadYourWritesTracker.userKey(order.getUserId()));
+    }
 
-            logger.info("Key-Value 응답으로 파싱 완료: {}", result);
+    private void recordWrite(Payment payment) {
+        if (payment.getUserId() != null) {
+            readYourWritesTracker.recordWriteAfterCommit(ReadYourWritesTracker.orderKey(payment.getOrderNo()),
+                    ReadYourWritesTracker.userKey(payment.getUserId()));
+        } else {
+            readYourWritesTracker.recordWriteAfterCommit(ReadYourWritesTracker.orderKey(payment.getOrderNo()));
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("NicePay 응답 파싱 중 전체 오류 발생", e);
-            // 파싱 실패시 원본 응답을 ResultMsg에 저장
-            result.put("ResultCode", "9999");
-            result.put("ResultMsg", "응답 파싱 실패: " + response);
+    // PG 통신 로그 저장 (JFR AuditLogWrite 이벤트, 감사 풀 고갈 시 예외는 호출 측에서 처리)
+    private IfInisisLog saveAuditLog(IfInisisLog log) {
+        AuditLogWriteEvent event = new AuditLogWriteEvent();
+        event.begin();
+        try {
+            IfInisisLog saved = ifInisisLogRepository.save(log);
+            event.success = true;
+            return saved;
+        } finally {
+            if (event.shouldCommit()) {
+                event.orderNo = log.getOrderNo();
+                event.requestType = log.getRequestType();
+                event.provider = log.getPaymentProvider();
+                event.commit();
+            }
         }
+    }
 
-        return result;
+    // 현재 요청의 traceId (if_inisis_log 와 분산 트레이스 연결용)
+    private String currentTraceId() {
+        Span span = tracer != null ? tracer.currentSpan() : null;
+        return span != null ? span.context().traceId() : null;
     }
 
     // NicePay 전자서명 생성
@@ -2767,6 +2963,11 @@ public class PaymentService {
             }
 
             Order order = orderOpt.get();
+            paymentEventJournal.catchUp(order);
+            if (order.isSweepCancelling()) {
+                logger.warn("방치 주문 정리가 PG 취소 중인 주문 - 결제 저장하지 않음: {}", orderNo);
+                return;
+            }
             String tid = (String) result.get("tid");
             String amt = (String) result.get("amount");
 
@@ -2775,7 +2976,7 @@ public class PaymentService {
             payment.setOrderNo(orderNo);
             payment.setUserId(order.getUserId());
             payment.setTid(tid);
-            payment.setAmount(amt != null ? Long.parseLong(amt) : order.getCardAmount());
+            payment.setAmount(amt != null ? PgAmount.parse(amt) : order.getCardAmount());
             payment.setStatus("COMPLETED");
             payment.setPaymentDate(LocalDateTime.now());
             payment.setPaymentType(Payment.PaymentType.CARD.name());
@@ -2800,10 +3001,11 @@ public class PaymentService {
             }
 
             paymentRepository.save(payment);
+            recordWrite(payment);
 
             // 주문 상태 업데이트
-            order.setStatus(Order.OrderStatus.COMPLETED);
-            orderRepository.save(order);
+            paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_APPROVED, payment);
+            recordWrite(order);
 
             logger.info("NICE Pay 결제 정보 저장 완료: orderNo={}, tid={}", orderNo, tid);
 
@@ -2816,85 +3018,47 @@ public class PaymentService {
     // 망취소 관련 메서드
     // =================
 
-    // 망취소 후 결제 상태 업데이트 (별도 트랜잭션)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updatePaymentStatusAfterNetworkCancel(Long paymentId) {
-        try {
-            Optional<Payment> paymentOpt = paymentRepository.findById(paymentId);
-            if (paymentOpt.isPresent()) {
-                Payment payment = paymentOpt.get();
-                payment.setStatus("CANCELLED");
-                payment.setResultMsg(payment.getResultMsg() + " (망취소 완료)");
-                paymentRepository.save(payment);
-                logger.info("망취소 성공으로 결제 상태를 CANCELLED로 변경 - Payment ID: {}", paymentId);
-            } else {
-                logger.error("Payment not found for ID: {}", paymentId);
-            }
-        } catch (Exception e) {
-            logger.error("Error updating payment status after network cancel: {}", e.getMessage(), e);
-        }
-    }
-
     /**
-     * 망취소 기록 저장 (별도 트랜잭션)
+     * 망취소 성공 반영 (호출한 트랜잭션 안에서 한 번에 처리)
      *
-     * 망취소 처리 후 별도의 취소 기록을 생성합니다.
-     * 원본 결제의 음수 금액으로 NETWORK_CANCEL 타입의 결제 기록을 생성하여
-     * 일반 취소와 구분할 수 있도록 합니다.
+     * 음수 금액의 NETWORK_CANCEL 결제 기록과 망취소 이벤트를 추가합니다. 원본 결제/주문 행은 수정하지 않으며,
+     * 상태 스냅샷(원본 결제 CANCELLED, 주문 NETWORK_CANCELLED)은 커밋 후 {@link OrderStateProjector} 가 반영합니다.
      *
-     * @param originalPayment 원본 결제 정보
+     * @param order 망취소 대상 주문
+     * @param originalPayment 원본 카드 결제
      * @param networkCancelResult 망취소 처리 결과
      * @param reason 망취소 사유
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void saveNetworkCancelRecord(Payment originalPayment, Map<String, Object> networkCancelResult, String reason) {
-        try {
-            logger.info("망취소 기록 저장 - Original Payment ID: {}", originalPayment.getId());
-
-            Payment networkCancelPayment = new Payment();
-            networkCancelPayment.setOrderNo(originalPayment.getOrderNo());
-            networkCancelPayment.setUserId(originalPayment.getUserId());
-            networkCancelPayment.setTid(originalPayment.getTid());
-            networkCancelPayment.setAmount(-originalPayment.getAmount()); // 음수로 저장하여 취소 표시
-            networkCancelPayment.setStatus("COMPLETED");
-            networkCancelPayment.setPaymentType(Payment.PaymentType.NETWORK_CANCEL.name());
-            networkCancelPayment.setPgProvider(originalPayment.getPgProvider());
-            networkCancelPayment.setResultCode("00");
-            networkCancelPayment.setResultMsg("망취소 완료 - " + reason);
-            networkCancelPayment.setCardName(originalPayment.getCardName());
-            networkCancelPayment.setPaymentDate(LocalDateTime.now());
-
-            // 망취소 관련 추가 정보 설정
-            if (networkCancelResult.get("cancelType") != null) {
-                networkCancelPayment.setResultMsg(networkCancelPayment.getResultMsg() +
-                    " (타입: " + networkCancelResult.get("cancelType") + ")");
-            }
-
-            paymentRepository.save(networkCancelPayment);
-            logger.info("망취소 기록 저장 완료 - Payment ID: {}, Amount: {}",
-                       networkCancelPayment.getId(), networkCancelPayment.getAmount());
-
-        } catch (Exception e) {
-            logger.error("망취소 기록 저장 중 오류: {}", e.getMessage(), e);
-        }
-    }
-
-    // 망취소 후 주문 상태 업데이트 (별도 트랜잭션)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void updateOrderStatusAfterNetworkCancel(String orderNo) {
-        try {
-            Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
-            if (orderOpt.isPresent()) {
-                Order order = orderOpt.get();
-                order.setStatus(Order.OrderStatus.NETWORK_CANCELLED);
-                orderRepository.save(order);
-                logger.info("망취소 성공으로 주문 상태를 NETWORK_CANCELLED로 변경 - Order: {}", orderNo);
-            } else {
-                logger.error("Order not found for OrderNo: {}", orderNo);
-            }
-        } catch (Exception e) {
-            logger.error("Error updating order status after network cancel: {}", e.getMessage(), e);
-        }
+    private void recordNetworkCancel(Order order, Payment originalPayment, Map<String, Object> networkCancelResult, String reason) {
+        // 1. 망취소 기록 (음수 금액으로 취소 표시)
+        Payment networkCancelPayment = new Payment();
+        networkCancelPayment.setOrderNo(originalPayment.getOrderNo());
+        networkCancelPayment.setUserId(originalPayment.getUserId());
+        networkCancelPayment.setTid(originalPayment.getTid());
+        networkCancelPayment.setAmount(-originalPayment.getAmount());
+        networkCancelPayment.setStatus("COMPLETED");
+        networkCancelPayment.setPaymentType(Payment.PaymentType.NETWORK_CANCEL.name());
+        networkCancelPayment.setPgProvider(originalPayment.getPgProvider());
+        networkCancelPayment.setResultCode("00");
+        networkCancelPayment.setResultMsg("망취소 완료 - " + reason);
+        networkCancelPayment.setCardName(originalPayment.getCardName());
+        networkCancelPayment.setPaymentDate(LocalDateTime.now());
+
+        // 망취소 관련 추가 정보 설정
+        if (networkCancelResult.get("cancelType") != null) {
+            networkCancelPayment.setResultMsg(networkCancelPayment.getResultMsg() +
+                " (타입: " + networkCancelResult.get("cancelType") + ")");
+        }
+
+        paymentRepository.save(networkCancelPayment);
+        recordWrite(networkCancelPayment);
+
+        // 2. 망취소 이벤트 (원본 결제 기준)
+        paymentEventJournal.append(order, PaymentEvent.EventType.NETWORK_CANCELLED, originalPayment);
+        recordWrite(order);
+
+        logger.info("망취소 반영 완료 - Order: {}, Original Payment ID: {}, Cancel Amount: {}",
+                   order.getOrderNo(), originalPayment.getId(), networkCancelPayment.getAmount());
     }
 
     /**
@@ -2909,40 +3073,44 @@ public class PaymentService {
      * @param clientIp 클라이언트 IP 주소
      * @return 망취소 처리 결과 (성공/실패, 메시지, 취소 금액 등)
      */
-    public Map<String, Object> performNetworkCancel(String orderNo, String reason, String clientIp) {
+    public NetworkCancelResponse performNetworkCancel(String orderNo, String reason, String clientIp) {
+        PaymentFlowEvent event = PaymentFlowEvent.begin(PaymentFlowEvent.NETWORK_CANCEL, null, orderNo);
+        NetworkCancelResponse result = null;
+        try {
+            result = withOrderLock(orderNo, NetworkCancelResponse::failure, () -> doPerformNetworkCancel(orderNo, reason, clientIp));
+            return result;
+        } finally {
+            event.end(result != null && result.success());
+        }
+    }
+
+    // 수동 망취소 본문
+    private NetworkCancelResponse doPerformNetworkCancel(String orderNo, String reason, String clientIp) {
         try {
             logger.info("=== 수동 망취소 요청 - Order: {}, Reason: {} ===", orderNo, reason);
 
             // 주문 정보 조회
             Optional<Order> orderOpt = orderRepository.findByOrderNo(orderNo);
             if (orderOpt.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "주문을 찾을 수 없습니다: " + orderNo
-                );
+                return NetworkCancelResponse.failure("주문을 찾을 수 없습니다: " + orderNo);
             }
 
             Order order = orderOpt.get();
+            paymentEventJournal.catchUp(order);
 
             // 이미 망취소된 주문인지 확인
             if (order.getStatus() == Order.OrderStatus.NETWORK_CANCELLED) {
-                return Map.of(
-                    "success", false,
-                    "message", "이미 망취소된 주문입니다"
-                );
+                return NetworkCancelResponse.failure("이미 망취소된 주문입니다");
             }
 
             // 완료된 결제 내역 조회
-            List<Payment> completedPayments = paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo)
+            List<Payment> completedPayments = applyNetworkCancels(paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo))
                 .stream()
                 .filter(p -> "COMPLETED".equals(p.getStatus()) && p.getAmount() > 0)
                 .toList();
 
             if (completedPayments.isEmpty()) {
-                return Map.of(
-                    "success", false,
-                    "message", "망취소할 수 있는 완료된 결제가 없습니다"
-                );
+                return NetworkCancelResponse.failure("망취소할 수 있는 완료된 결제가 없습니다");
             }
 
             // 카드 결제 찾기 (망취소 대상)
@@ -2952,10 +3120,7 @@ public class PaymentService {
                 .orElse(null);
 
             if (cardPayment == null) {
-                return Map.of(
-                    "success", false,
-                    "message", "망취소할 수 있는 카드 결제가 없습니다"
-                );
+                return NetworkCancelResponse.failure("망취소할 수 있는 카드 결제가 없습니다");
             }
 
             // PG사별 망취소 실행
@@ -2966,95 +3131,35 @@ public class PaymentService {
             logger.info("AuthToken: {}", cardPayment.getAuthToken() != null && !cardPayment.getAuthToken().isEmpty() ? "있음" : "없음");
             logger.info("결제 금액: {}", cardPayment.getAmount());
 
-            Map<String, Object> networkCancelResult;
-            if ("INICIS".equals(cardPayment.getPgProvider())) {
-                // Inicis 망취소 필수 파라미터 검증
-                if (cardPayment.getNetCancelUrl() == null || cardPayment.getNetCancelUrl().trim().isEmpty()) {
-                    logger.error("Inicis 망취소 실패 - NetCancelUrl 없음");
-                    return Map.of(
-                        "success", false,
-                        "message", "Inicis 망취소에 필요한 NetCancelUrl이 없습니다"
-                    );
-                }
-                if (cardPayment.getAuthToken() == null || cardPayment.getAuthToken().trim().isEmpty()) {
-                    logger.error("Inicis 망취소 실패 - AuthToken 없음");
-                    return Map.of(
-                        "success", false,
-                        "message", "Inicis 망취소에 필요한 AuthToken이 없습니다"
-                    );
-                }
-
-                logger.info("Inicis 망취소 실행 - TID: {}, URL: {}", cardPayment.getTid(), cardPayment.getNetCancelUrl());
-                networkCancelResult = networkCancelInicisWithUrl(
-                    cardPayment.getTid(),
-                    cardPayment.getNetCancelUrl(),
-                    cardPayment.getAuthToken(),
-                    reason,
-                    clientIp
-                );
-            } else if ("NICEPAY".equals(cardPayment.getPgProvider())) {
-                // NicePay 망취소 필수 파라미터 검증
-                if (cardPayment.getAuthToken() == null || cardPayment.getAuthToken().trim().isEmpty()) {
-                    logger.error("NicePay 망취소 실패 - AuthToken 없음");
-                    return Map.of(
-                        "success", false,
-                        "message", "NicePay 망취소에 필요한 AuthToken이 없습니다"
-                    );
-                }
-
-                logger.info("NicePay 망취소 실행 - TID: {}", cardPayment.getTid());
-                networkCancelResult = networkCancelNicePay(
-                    cardPayment.getTid(),
-                    reason,
-                    orderNo
-                );
-            } else {
+            PaymentGateway gateway = gatewayRouter.getGateway(cardPayment.getPgProvider());
+            if (gateway == null) {
                 logger.error("지원하지 않는 PG사: {}", cardPayment.getPgProvider());
-                return Map.of(
-                    "success", false,
-                    "message", "지원하지 않는 PG사입니다: " + cardPayment.getPgProvider()
-                );
+                return NetworkCancelResponse.failure("지원하지 않는 PG사입니다: " + cardPayment.getPgProvider());
             }
 
+            Map<String, Object> networkCancelResult = gateway.networkCancel(cardPayment, reason, clientIp);
+
             // 망취소 성공 시 상태 업데이트 및 기록 저장
             if (networkCancelResult.get("success") != null &&
                 Boolean.TRUE.equals(networkCancelResult.get("success"))) {
 
-                // 1. 원본 결제 상태 업데이트
-                updatePaymentStatusAfterNetworkCancel(cardPayment.getId());
-
-                // 2. 망취소 기록 저장 (음수 금액으로 취소 표시)
-                saveNetworkCancelRecord(cardPayment, networkCancelResult, reason);
-
-                // 3. 주문 상태 업데이트
-                updateOrderStatusAfterNetworkCancel(orderNo);
+                // 원본 결제/주문 상태 변경 및 망취소 기록 저장
+                recordNetworkCancel(order, cardPayment, networkCancelResult, reason);
 
                 logger.info("망취소 완료 처리 성공 - Order: {}, Payment ID: {}, Amount: {}",
                            orderNo, cardPayment.getId(), cardPayment.getAmount());
 
-                return Map.of(
-                    "success", true,
-                    "message", "망취소가 성공적으로 완료되었습니다",
-                    "orderNo", orderNo,
-                    "cancelledAmount", cardPayment.getAmount(),
-                    "pgProvider", cardPayment.getPgProvider(),
-                    "networkCancelResult", networkCancelResult
-                );
+                return NetworkCancelResponse.cancelled(orderNo, cardPayment.getAmount(), cardPayment.getPgProvider(),
+                        networkCancelResult);
             } else {
                 logger.error("망취소 실패 - Order: {}, Result: {}", orderNo, networkCancelResult);
-                return Map.of(
-                    "success", false,
-                    "message", "망취소 실패: " + networkCancelResult.getOrDefault("resultMessage", "알 수 없는 오류"),
-                    "networkCancelResult", networkCancelResult
-                );
+                return NetworkCancelResponse.failure("망취소 실패: " + networkCancelResult.getOrDefault("resultMessage",
+                        networkCancelResult.getOrDefault("message", "알 수 없는 오류")), networkCancelResult);
             }
 
         } catch (Exception e) {
             logger.error("수동 망취소 처리 중 오류: {}", e.getMessage(), e);
-            return Map.of(
-                "success", false,
-                "message", "망취소 처리 중 오류가 발생했습니다: " + e.getMessage()
-            );
+            return NetworkCancelResponse.failure("망취소 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
@@ -3099,17 +3204,14 @@ public class PaymentService {
             logger.info("사용할 URL: {}", netCancelUrl);
 
             // API 호출
-            String response = callHttpPost(netCancelUrl, requestParams);
-
-            // 응답 파싱
-            Map<String, String> responseMap = parseInicisRefundResponse(response);
+            PgResponse response = gatewayRouter.track("INICIS", () -> callHttpPost("INICIS", "NET_CANCEL", netCancelUrl, requestParams));
 
-            String resultCode = responseMap.get("resultCode");
-            String resultMsg = responseMap.get("resultMsg");
+            String resultCode = response.resultCode();
+            String resultMsg = response.resultMsg();
 
             // 로그 생성
             createPaymentProviderLog(tid, "INICIS_NETWORK_CANCEL_REQUEST_WITH_URL", netCancelUrl, new HashMap<>(requestParams), "INICIS");
-            createPaymentProviderLog(tid, "INICIS_NETWORK_CANCEL_RESPONSE_WITH_URL", netCancelUrl, new HashMap<>(responseMap), "INICIS");
+            createPaymentProviderLog(tid, "INICIS_NETWORK_CANCEL_RESPONSE_WITH_URL", netCancelUrl, new HashMap<>(response.getFields()), "INICIS");
 
             if ("0000".equals(resultCode)) {
                 result.put("success", true);
@@ -3117,7 +3219,7 @@ public class PaymentService {
                 result.put("resultMessage", resultMsg);
                 result.put("tid", tid);
                 result.put("cancelType", "NETWORK_CANCEL");
-                result.put("cancelDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                result.put("cancelDate", LocalDateTime.now().format(PgDateTime.DISPLAY));
 
                 logger.info("이니시스 망취소 성공 (URL 직접 지정) - TID: {}", tid);
             } else {
@@ -3140,6 +3242,7 @@ public class PaymentService {
     // 나이스페이 망취소
     @Transactional
     public Map<String, Object> networkCancelNicePay(String tid, String reason, String orderNo) {
+        shardRouter.routeOrder(orderNo);
         Map<String, Object> result = new HashMap<>();
 
         try {
@@ -3182,7 +3285,7 @@ public class PaymentService {
             }
 
             // 망취소 요청 파라미터 생성 (NicePay 망취소 필수 파라미터 포함)
-            String ediDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+            String ediDate = PgDateTime.formatCompact(LocalDateTime.now());
 
             Map<String, String> cancelParams = new HashMap<>();
             cancelParams.put("TID", tid);                    // 필수
@@ -3232,35 +3335,29 @@ public class PaymentService {
             logger.info("요청 파라미터 개수: {}", cancelParams.size());
 
             // API 호출
-            String cancelResponse = callHttpPost(netCancelUrl, cancelParams);
+            String finalNetCancelUrl = netCancelUrl;
+            PgResponse cancelResponse = gatewayRouter.track("NICEPAY", () -> callHttpPost("NICEPAY", "NET_CANCEL", finalNetCancelUrl, cancelParams));
 
             logger.info("=== NicePay 망취소 API 응답 ===");
-            logger.info("응답 길이: {} bytes", cancelResponse != null ? cancelResponse.length() : 0);
-            logger.info("원본 응답: {}", cancelResponse);
-
-            // 응답 파싱
-            Map<String, String> responseMap = parseNicePayResponse(cancelResponse);
-            logger.info("파싱된 응답: {}", responseMap);
+            logger.info("응답 길이: {} bytes", cancelResponse.length());
+            logger.info("파싱된 응답: {}", cancelResponse.getFields());
 
             // 로그 생성
             createPaymentProviderLog(tid, "NICEPAY_NETWORK_CANCEL_REQUEST", netCancelUrl, new HashMap<>(cancelParams), "NICEPAY");
-            createPaymentProviderLog(tid, "NICEPAY_NETWORK_CANCEL_RESPONSE", netCancelUrl, new HashMap<>(responseMap), "NICEPAY");
-
-            String resultCode = responseMap.get("ResultCode");
-            String resultMsg = responseMap.get("ResultMsg");
+            createPaymentProviderLog(tid, "NICEPAY_NETWORK_CANCEL_RESPONSE", netCancelUrl, new HashMap<>(cancelResponse.getFields()), "NICEPAY");
 
-            // 나이스페이 망취소 성공 코드 확인
-            boolean isCancelSuccess = "2001".equals(resultCode) ||  // 신용카드 취소 성공
-                                     "2211".equals(resultCode) ||  // 계좌이체 취소 성공
-                                     "2221".equals(resultCode);    // 가상계좌 취소 성공
+            NicePayCancelResponse cancel = NicePayCancelResponse.from(cancelResponse);
+            String resultCode = cancel.resultCode();
+            String resultMsg = cancel.resultMsg();
 
-            if (isCancelSuccess) {
+            // 나이스페이 망취소 성공 코드 확인 (신용카드/계좌이체/가상계좌)
+            if (cancel.isSuccess()) {
                 result.put("success", true);
                 result.put("resultCode", resultCode);
                 result.put("resultMessage", resultMsg);
                 result.put("tid", tid);
                 result.put("cancelType", "NETWORK_CANCEL");
-                result.put("cancelDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+                result.put("cancelDate", LocalDateTime.now().format(PgDateTime.DISPLAY));
 
                 logger.info("나이스페이 망취소 성공 - TID: {}, ResultCode: {}", tid, resultCode);
             } else {
@@ -3280,55 +3377,301 @@ public class PaymentService {
         return result;
     }
 
+    // =================
+    // PG 거래 조회 / 방치 주문 정리
+    // =================
 
-    // 이니시스 환불/망취소 응답 파싱
-    private Map<String, String> parseInicisRefundResponse(String response) {
-        Map<String, String> result = new HashMap<>();
-        if (response == null || response.isEmpty()) {
-            logger.warn("이니시스 환불 응답이 비어있습니다.");
-            return result;
-        }
+    /**
+     * 이니시스 거래 조회 (INIAPI)
+     *
+     * 응답 resultCode 00 이면 status(0: 승인, 1/2: 전체/부분 취소)로 상태를 판단하고,
+     * 00 이 아니면 승인되지 않은 거래로 봅니다. 통신 오류나 알 수 없는 응답은 UNKNOWN 입니다.
+     *
+     * @param tid 거래번호
+     * @param orderNo 주문번호
+     * @return 거래 상태
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PgTransactionStatus inquireInicisTransaction(String tid, String orderNo) {
+        try {
+            String timestamp = PgDateTime.formatCompact(LocalDateTime.now());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("tid", tid);
+            data.put("oid", orderNo);
 
-        logger.info("이니시스 환불 원본 응답: {}", response);
+            // hashData 생성 (SHA512): INIAPIKey + mid + type + timestamp + data
+            String dataJson = objectMapper.writeValueAsString(data);
+            String hashData = sha512Hash(inicisApiKey + inicisMerchantId + "inquiry" + timestamp + dataJson);
 
+            Map<String, Object> requestData = new HashMap<>();
+            requestData.put("mid", inicisMerchantId);
+            requestData.put("type", "inquiry");
+            requestData.put("timestamp", timestamp);
+            requestData.put("clientIp", "127.0.0.1");
+            requestData.put("hashData", hashData);
+            requestData.put("data", data);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            InicisInquiryResponse response = InicisInquiryResponse.from(
+                    postToInicis("INQUIRY", inicisInquiryUrl, new HttpEntity<>(requestData, headers)));
+
+            PgTransactionStatus status = response.transactionStatus();
+            logger.info("이니시스 거래 조회 - TID: {}, ResultCode: {}, Status: {} -> {}",
+                       tid, response.resultCode(), response.status(), status);
+            return status;
+        } catch (Exception e) {
+            logger.warn("이니시스 거래 조회 실패 - TID: {}, {}", tid, e.getMessage());
+            return PgTransactionStatus.UNKNOWN;
+        }
+    }
+
+    /**
+     * 나이스페이 거래 조회
+     *
+     * 응답 ResultCode 0000 이면 Status(0: 승인, 1/2: 전체/부분 취소)로 상태를 판단하고,
+     * 0000 이 아니면 승인되지 않은 거래로 봅니다. 통신 오류나 알 수 없는 응답은 UNKNOWN 입니다.
+     *
+     * @param tid 거래번호
+     * @param orderNo 주문번호
+     * @return 거래 상태
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PgTransactionStatus inquireNicePayTransaction(String tid, String orderNo) {
         try {
-            // JSON 형태 응답 파싱 (이니시스는 주로 JSON으로 응답)
-            if (response.trim().startsWith("{")) {
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> jsonMap = mapper.readValue(response, Map.class);
-                for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
-                    result.put(entry.getKey(), entry.getValue() != null ? entry.getValue().toString() : "");
-                }
-                logger.info("이니시스 환불 JSON 응답 파싱 완료: {}", result);
-                return result;
+            String ediDate = PgDateTime.formatCompact(LocalDateTime.now());
+
+            Map<String, String> params = new HashMap<>();
+            params.put("TID", tid);
+            params.put("MID", nicePayMerchantId);
+            params.put("Moid", orderNo);
+            params.put("EdiDate", ediDate);
+            params.put("CharSet", "utf-8");
+            // 전자서명: TID + MID + EdiDate + MerchantKey
+            params.put("SignData", sha256Hash(tid + nicePayMerchantId + ediDate + nicePayMerchantKey));
+
+            NicePayInquiryResponse response = NicePayInquiryResponse.from(gatewayRouter.track("NICEPAY",
+                    () -> callHttpPost("NICEPAY", "INQUIRY", nicePayInquiryUrl, params)));
+
+            PgTransactionStatus status = response.transactionStatus();
+            logger.info("나이스페이 거래 조회 - TID: {}, ResultCode: {}, Status: {} -> {}",
+                       tid, response.resultCode(), response.status(), status);
+            return status;
+        } catch (Exception e) {
+            logger.warn("나이스페이 거래 조회 실패 - TID: {}, {}", tid, e.getMessage());
+            return PgTransactionStatus.UNKNOWN;
+        }
+    }
+
+    /**
+     * 방치 주문의 거래 확인 ({@link StaleOrderSweeper}, 잠금 없이 읽기만 함)
+     *
+     * 거래번호는 완료된 카드 결제, 결제 로그, PG 통신 로그 순으로 찾습니다.
+     *
+     * @param orderId 정리하려고 선점한 주문 id
+     * @return 정리할 거래 (거래번호가 없으면 transaction 이 null), 이미 결제 대기 상태가 아니면 null
+     */
+    @Transactional(readOnly = true)
+    public StaleOrderSweeper.StaleTransaction findStaleTransaction(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order != null) {
+            paymentEventJournal.catchUp(order);
+        }
+        if (order == null || !isAwaitingPayment(order)) {
+            return null;
+        }
+        Payment cardPayment = findCompletedCardPayment(order.getOrderNo());
+        Payment transaction = cardPayment != null ? cardPayment : findKnownTransaction(order);
+        return new StaleOrderSweeper.StaleTransaction(orderId, order.getOrderNo(), transaction, cardPayment != null);
+    }
+
+    /**
+     * 방치 주문 PG 취소 전 확인 (주문 잠금 아래에서 아직 결제 대기이고 카드 결제가 저장되지 않았는지)
+     *
+     * 확인되면 같은 트랜잭션에서 PG 취소 시작 표시(sweep_cancelling_at)를 기록합니다. PG 취소는 이 트랜잭션이 커밋되어
+     * 주문 잠금이 풀린 뒤 호출하므로, 그 사이 잠금을 잡은 승인 흐름은 표시를 보고 주문을 완료하지 않습니다.
+     * 승인 요청이 처리 중이거나 그 사이 결제가 저장됐으면 false 이며, 이때는 PG 취소를 하지 않습니다.
+     */
+    public boolean confirmStaleOrderUnrecorded(StaleOrderSweeper.StaleTransaction stale) {
+        if (!orderLockService.tryLock(stale.orderNo(), 0)) {
+            return false;
+        }
+        Order order = orderRepository.findById(stale.orderId()).orElse(null);
+        if (order != null) {
+            paymentEventJournal.catchUp(order);
+        }
+        if (order == null || !isAwaitingPayment(order) || findCompletedCardPayment(stale.orderNo()) != null) {
+            return false;
+        }
+        orderRepository.markSweepCancelling(order.getId(), LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * 방치 주문 정리 결과 반영 ({@link StaleOrderSweeper})
+     *
+     * PG 조회/취소는 호출 전에 트랜잭션 밖에서 끝내고, 여기서는 주문 잠금을 잡은 짧은 트랜잭션에서
+     * 주문 상태를 다시 확인한 뒤 완료/실패/망취소로 확정합니다. 실패/망취소면 차감했던 적립금을 복구합니다.
+     *
+     * <ul>
+     *   <li>거래번호 없음: 결제를 진행하지 않은 주문으로 보고 실패 처리</li>
+     *   <li>카드 결제 저장됨 + PG 승인: 주문만 완료로 변경</li>
+     *   <li>카드 결제 없음 + PG 승인: 결제 저장 전 중단된 거래이므로 PG 취소가 끝났으면 망취소 처리</li>
+     *   <li>카드 결제 없음 + PG 미승인/취소: 실패 처리</li>
+     *   <li>PG 조회 실패, 저장된 결제와 PG 상태 불일치, 다른 요청이 주문 잠금 중이거나 그 사이 주문을 처리함:
+     *       그대로 두고 다음 정리 때 다시 확인</li>
+     * </ul>
+     *
+     * @param stale {@link #findStaleTransaction} 결과
+     * @param status PG 거래 조회 결과 (거래번호가 없으면 null)
+     * @param cancelled PG 취소 완료 여부 (카드 결제 없음 + PG 승인일 때)
+     * @return 처리 결과
+     */
+    public StaleOrderSweeper.Outcome applyStaleOrderResult(StaleOrderSweeper.StaleTransaction stale,
+                                                           PgTransactionStatus status, boolean cancelled) {
+        String orderNo = stale.orderNo();
+        Payment transaction = stale.transaction();
+        // 승인/취소 요청이 처리 중인 주문은 기다리지 않고 다음 정리로 미룸 (PG 취소가 끝났으면 다음 조회에서 취소로 확인됨)
+        if (!orderLockService.tryLock(orderNo, 0)) {
+            logger.info("방치 주문 정리 보류 (다른 요청이 주문 잠금 중) - Order: {}, PG 취소: {}", orderNo, cancelled);
+            return StaleOrderSweeper.Outcome.UNRESOLVED;
+        }
+        Order order = orderRepository.findById(stale.orderId()).orElse(null);
+        if (order != null) {
+            paymentEventJournal.catchUp(order);
+        }
+        if (order == null || !isAwaitingPayment(order)) {
+            logger.info("방치 주문 정리 생략 (다른 요청이 먼저 처리) - Order: {}", orderNo);
+            return StaleOrderSweeper.Outcome.SKIPPED;
+        }
+
+        if (transaction == null) {
+            if (findKnownTransaction(order) != null) {
+                logger.info("방치 주문 정리 보류 (확인 후 거래번호 기록됨) - Order: {}", orderNo);
+                return StaleOrderSweeper.Outcome.UNRESOLVED;
             }
+            logger.info("방치 주문 실패 처리 (거래번호 없음) - Order: {}", orderNo);
+            failStaleOrder(order, null, null, "결제 미진행 주문 자동 정리");
+            return StaleOrderSweeper.Outcome.FAILED;
+        }
 
-            // key=value&key=value 형태 응답 파싱 (혹시 다른 형태로 올 경우)
-            String[] pairs = response.split("&");
-            for (String pair : pairs) {
-                String[] keyValue = pair.split("=", 2);
-                if (keyValue.length == 2) {
-                    try {
-                        String key = URLDecoder.decode(keyValue[0], "UTF-8");
-                        String value = URLDecoder.decode(keyValue[1], "UTF-8");
-                        result.put(key, value);
-                    } catch (Exception e) {
-                        logger.warn("이니시스 환불 응답 파싱 중 URL 디코딩 실패: {}", pair);
-                        result.put(keyValue[0], keyValue[1]);
-                    }
+        if (stale.recorded()) {
+            if (status == PgTransactionStatus.APPROVED) {
+                paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_APPROVED, transaction);
+                recordWrite(order);
+                logger.info("방치 주문 완료 처리 (카드 결제 저장됨, PG 승인) - Order: {}, TID: {}", orderNo, transaction.getTid());
+                return StaleOrderSweeper.Outcome.COMPLETED;
+            }
+            logger.warn("방치 주문 정리 보류 (저장된 카드 결제와 PG 상태 불일치) - Order: {}, TID: {}, PG: {}",
+                       orderNo, transaction.getTid(), status);
+            return StaleOrderSweeper.Outcome.UNRESOLVED;
+        }
+
+        if (findCompletedCardPayment(orderNo) != null) {
+            if (cancelled) {
+                logger.error("방치 주문 정리 보류 (PG 취소 후 카드 결제가 저장됨, 확인 필요) - Order: {}, TID: {}", orderNo, transaction.getTid());
+            } else {
+                logger.info("방치 주문 정리 보류 (PG 조회 후 카드 결제가 저장됨) - Order: {}", orderNo);
+            }
+            return StaleOrderSweeper.Outcome.UNRESOLVED;
+        }
+
+        switch (status) {
+            case APPROVED -> {
+                if (!cancelled) {
+                    return StaleOrderSweeper.Outcome.UNRESOLVED;
                 }
+                networkCancelStaleOrder(order, transaction);
+                return StaleOrderSweeper.Outcome.NETWORK_CANCELLED;
+            }
+            case CANCELLED, NOT_APPROVED -> {
+                failStaleOrder(order, transaction.getTid(), transaction.getPgProvider(), "PG 미승인 주문 자동 정리 (" + status + ")");
+                return StaleOrderSweeper.Outcome.FAILED;
             }
+            default -> {
+                logger.info("방치 주문 정리 보류 (PG 조회 실패) - Order: {}, TID: {}", orderNo, transaction.getTid());
+                return StaleOrderSweeper.Outcome.UNRESOLVED;
+            }
+        }
+    }
 
-            logger.info("이니시스 환불 key=value 응답 파싱 완료: {}", result);
+    private static boolean isAwaitingPayment(Order order) {
+        return order.getStatus() == Order.OrderStatus.PENDING || order.getStatus() == Order.OrderStatus.PENDING_APPROVAL;
+    }
 
-        } catch (Exception e) {
-            logger.error("이니시스 환불 응답 파싱 실패: {}", e.getMessage(), e);
-            // 파싱 실패 시 원본 응답을 error 키에 저장
-            result.put("error", "응답 파싱 실패");
-            result.put("originalResponse", response);
+    // 주문의 완료된 카드 결제 (최근 결제일 순 첫 건, 망취소된 결제 제외)
+    private Payment findCompletedCardPayment(String orderNo) {
+        return applyNetworkCancels(paymentRepository.findByOrderNoOrderByPaymentDateDesc(orderNo)).stream()
+                .filter(p -> Payment.PaymentType.CARD.name().equals(p.getPaymentType()) && "COMPLETED".equals(p.getStatus()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // 저장된 결제가 없는 주문의 거래번호/PG사 (결제 로그 -> PG 통신 로그, 임시 TID 제외) - 조회용 저장하지 않는 결제 객체
+    private Payment findKnownTransaction(Order order) {
+        String tid = null;
+        String provider = null;
+        Optional<PaymentLog> paymentLog = paymentLogRepository.findTopByOrderIdOrderByCreatedAtDesc(order.getId());
+        if (paymentLog.isPresent() && isRealTid(paymentLog.get().getTransactionId())) {
+            // 결제 로그는 이니시스 결제 응답 처리에서만 생성
+            tid = paymentLog.get().getTransactionId();
+            provider = InicisGateway.PROVIDER;
+        } else {
+            for (IfInisisLog log : ifInisisLogRepository.findByOrderNoOrderByCreatedAtDesc(order.getOrderNo())) {
+                if (isRealTid(log.getTransactionId())) {
+                    tid = log.getTransactionId();
+                    provider = log.getPaymentProvider();
+                    break;
+                }
+            }
         }
+        if (tid == null) {
+            return null;
+        }
+        Payment payment = new Payment();
+        payment.setOrderNo(order.getOrderNo());
+        payment.setUserId(order.getUserId());
+        payment.setTid(tid);
+        payment.setAmount(order.getCardAmount());
+        payment.setPaymentType(Payment.PaymentType.CARD.name());
+        payment.setPgProvider(provider);
+        return payment;
+    }
 
-        return result;
+    private static boolean isRealTid(String tid) {
+        return tid != null && !tid.isBlank() && !tid.startsWith("TEMP_TID_");
     }
 
-}
\ No newline at end of file
+    // 방치 주문 실패 처리: 적립금 복구 + 실패 결제 기록
+    private void failStaleOrder(Order order, String tid, String pgProvider, String reason) {
+        restoreUserPoints(order);
+        Payment payment = createFailedPaymentRecord(order, tid, pgProvider, "9998", reason);
+        paymentEventJournal.append(order, PaymentEvent.EventType.PAYMENT_FAILED, payment);
+        recordWrite(order);
+    }
+
+    // 방치 주문 망취소 처리: PG 취소 완료 후 적립금 복구 + 음수 금액 망취소 기록
+    private void networkCancelStaleOrder(Order order, Payment transaction) {
+        Payment networkCancelPayment = new Payment();
+        networkCancelPayment.setOrderNo(order.getOrderNo());
+        networkCancelPayment.setUserId(order.getUserId());
+        networkCancelPayment.setTid(transaction.getTid());
+        networkCancelPayment.setAmount(-transaction.getAmount());
+        networkCancelPayment.setStatus("COMPLETED");
+        networkCancelPayment.setPaymentType(Payment.PaymentType.NETWORK_CANCEL.name());
+        networkCancelPayment.setPgProvider(transaction.getPgProvider());
+        networkCancelPayment.setResultCode("00");
+        networkCancelPayment.setResultMsg("망취소 완료 - 미완료 주문 자동 취소");
+        networkCancelPayment.setPaymentDate(LocalDateTime.now());
+        networkCancelPayment.setCanRefund(false);
+        paymentRepository.save(networkCancelPayment);
+        recordWrite(networkCancelPayment);
+
+        // 저장된 원본 결제가 없으므로 결제 상태는 바꾸지 않음
+        paymentEventJournal.append(order, PaymentEvent.EventType.NETWORK_CANCELLED, null);
+        restoreUserPoints(order);
+        recordWrite(order);
+        logger.info("방치 주문 망취소 처리 - Order: {}, TID: {}, Amount: {}", order.getOrderNo(), transaction.getTid(), transaction.getAmount());
+    }
+}
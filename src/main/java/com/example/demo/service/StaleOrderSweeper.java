@@ -0,0 +1,244 @@
+package com.example.demo.service;
+
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import com.example.demo.gateway.PaymentGateway;
+import com.example.demo.gateway.PaymentGatewayRouter;
+import com.example.demo.gateway.PgTransactionStatus;
+import com.example.demo.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 결제 대기로 방치된 주문 정리
+ *
+ * createOrder 에서 적립금을 먼저 차감하므로 PENDING/PENDING_APPROVAL 로 남은 주문은 적립금을 계속 묶어 둡니다.
+ * 마지막 변경 후 일정 시간이 지난 주문을 id 키셋 순서로 batch-size 건씩 짧은 트랜잭션에서
+ * FOR UPDATE SKIP LOCKED 로 잠가 선점 표시(sweep_claimed_until)만 하고 바로 커밋합니다.
+ * 이후 주문마다 트랜잭션 밖에서 PG사 거래를 조회/취소하고, {@link PaymentService#applyStaleOrderResult} 의
+ * 주문별 짧은 트랜잭션(주문 advisory lock)에서 완료/실패/망취소로 반영합니다.
+ * PG 호출과 처리 속도 제한 대기 중에는 행 잠금을 잡지 않으며, 여러 인스턴스가 동시에 실행해도
+ * 선점 중인 주문은 건너뛰므로 중복 처리되지 않습니다. 선점은 claim-ttl-seconds 가 지나면 풀립니다.
+ * 승인됐지만 결제가 저장되지 않은 거래는 {@link PaymentService#confirmStaleOrderUnrecorded} 가 주문 잠금 아래에서
+ * PG 취소 시작 표시(sweep_cancelling_at)를 커밋한 뒤에 PG 취소하며, 표시가 있는 주문은 승인 흐름이 완료하지 않습니다.
+ * PG 취소가 실패하면 표시를 남긴 채 다음 정리에서 다시 조회/취소합니다.
+ *
+ * 샤딩 환경에서는 샤드마다 차례로 정리합니다.
+ *
+ * PG 조회 호출량은 max-orders-per-second 로 제한합니다.
+ * 메트릭: payment.sweeper.orders (outcome 태그), payment.sweeper.run (실행 시간)
+ */
+@Service
+public class StaleOrderSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleOrderSweeper.class);
+
+    /**
+     * 주문 1건 정리 결과
+     */
+    public enum Outcome {
+        COMPLETED, FAILED, NETWORK_CANCELLED, UNRESOLVED, SKIPPED
+    }
+
+    /**
+     * 정리할 주문의 거래 ({@link PaymentService#findStaleTransaction})
+     *
+     * @param transaction 완료된 카드 결제 또는 로그에서 찾은 거래 (저장하지 않는 결제 객체), 없으면 null
+     * @param recorded 완료된 카드 결제가 저장되어 있는지
+     */
+    public record StaleTransaction(Long orderId, String orderNo, Payment transaction, boolean recorded) {
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PaymentGatewayRouter gatewayRouter;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${payment.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payment.sweeper.stale-after-minutes:30}")
+    private long staleAfterMinutes;
+
+    @Value("${payment.sweeper.batch-size:20}")
+    private int batchSize;
+
+    @Value("${payment.sweeper.max-orders-per-run:500}")
+    private int maxOrdersPerRun;
+
+    @Value("${payment.sweeper.max-orders-per-second:5}")
+    private double maxOrdersPerSecond;
+
+    @Value("${payment.sweeper.claim-ttl-seconds:300}")
+    private long claimTtlSeconds;
+
+    /**
+     * 주기 실행 (payment.sweeper.enabled=false 면 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${payment.sweeper.interval-ms:60000}",
+               initialDelayString = "${payment.sweeper.interval-ms:60000}")
+    public void sweepStaleOrders() {
+        if (enabled) {
+            LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+            shardRouter.forEachShard(shard -> sweep(staleBefore, 0L));
+        }
+    }
+
+    /**
+     * staleBefore 이전에 마지막으로 변경된 결제 대기 주문 정리 (현재 샤드)
+     *
+     * 배치마다 선점 트랜잭션을 커밋한 뒤 주문별로 처리합니다. 선점 중 DB 오류가 나면 중단하고,
+     * 주문 1건 처리 중 오류는 기록 후 다음 주문으로 넘어갑니다. (선점은 만료 후 다시 정리 대상)
+     *
+     * @param staleBefore 이 시각 이전에 변경된 주문만 대상
+     * @param afterId 이 id 다음 주문부터 처리 (처음부터면 0)
+     * @return 결과별 처리 건수
+     */
+    public Map<Outcome, Integer> sweep(LocalDateTime staleBefore, long afterId) {
+        Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long intervalNanos = maxOrdersPerSecond > 0 ? (long) (1_000_000_000L / maxOrdersPerSecond) : 0L;
+        long startedAt = System.nanoTime();
+        long nextSlot = startedAt;
+        long lastId = afterId;
+        int processed = 0;
+
+        try {
+            while (processed < maxOrdersPerRun) {
+                int limit = Math.min(batchSize, maxOrdersPerRun - processed);
+                long batchAfterId = lastId;
+                List<Long> claimed = transactionTemplate.execute(status -> claimBatch(staleBefore, batchAfterId, limit));
+                if (claimed == null || claimed.isEmpty()) {
+                    break;
+                }
+                for (Long orderId : claimed) {
+                    nextSlot = pace(nextSlot, intervalNanos);
+                    Outcome outcome = reconcile(orderId);
+                    counts.merge(outcome, 1, Integer::sum);
+                    count(outcome, 1);
+                    lastId = orderId;
+                }
+                processed += claimed.size();
+                // 잠긴/선점된 주문은 건너뛰고 채우므로 limit 미만이면 남은 대상 없음
+                if (claimed.size() < limit) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("방치 주문 정리 중단 - 마지막 처리 id: {}", lastId, e);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        if (meterRegistry != null) {
+            Timer.builder("payment.sweeper.run").register(meterRegistry).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (processed > 0) {
+            logger.info("방치 주문 정리: {}건, {}건/s - {}", processed,
+                    String.format("%.1f", processed / (elapsedNanos / 1_000_000_000.0)), counts);
+        }
+        return counts;
+    }
+
+    // 한 배치 선점 (호출한 트랜잭션 안에서 실행, 커밋 시 행 잠금 해제)
+    private List<Long> claimBatch(LocalDateTime staleBefore, long afterId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = orderRepository.lockStaleOrders(staleBefore, afterId, limit, now).stream()
+                .map(Order::getId)
+                .toList();
+        if (!ids.isEmpty()) {
+            orderRepository.claimForSweep(ids, now.plusSeconds(claimTtlSeconds));
+        }
+        return ids;
+    }
+
+    // 주문 1건 정리: 거래 확인 -> PG 조회/취소 (트랜잭션 밖) -> 결과 반영 (주문별 짧은 트랜잭션)
+    private Outcome reconcile(Long orderId) {
+        try {
+            StaleTransaction stale = paymentService.findStaleTransaction(orderId);
+            if (stale == null) {
+                return Outcome.SKIPPED;
+            }
+            if (stale.transaction() == null) {
+                return paymentService.applyStaleOrderResult(stale, null, false);
+            }
+
+            PaymentGateway gateway = gatewayRouter.getGateway(stale.transaction().getPgProvider());
+            if (gateway == null) {
+                logger.warn("방치 주문 정리 보류 (지원하지 않는 PG사) - Order: {}, PG: {}",
+                        stale.orderNo(), stale.transaction().getPgProvider());
+                return Outcome.UNRESOLVED;
+            }
+            PgTransactionStatus status = gateway.inquire(stale.transaction());
+
+            boolean cancelled = false;
+            if (!stale.recorded() && status == PgTransactionStatus.APPROVED) {
+                // 결제 저장 전 중단된 거래: 승인 요청이 처리 중이 아닌지 잠금 아래에서 확인하고 취소 시작을 기록한 뒤 PG 취소
+                if (!paymentService.confirmStaleOrderUnrecorded(stale)) {
+                    return Outcome.UNRESOLVED;
+                }
+                Map<String, Object> refundResult = gateway.refund(stale.transaction(), "미완료 주문 자동 취소", "127.0.0.1");
+                if (!"00".equals(refundResult.get("resultCode"))) {
+                    logger.warn("방치 주문 정리 보류 (PG 취소 실패) - Order: {}, TID: {}, Result: {}",
+                            stale.orderNo(), stale.transaction().getTid(), refundResult);
+                    return Outcome.UNRESOLVED;
+                }
+                cancelled = true;
+            }
+            return paymentService.applyStaleOrderResult(stale, status, cancelled);
+        } catch (Exception e) {
+            logger.error("방치 주문 정리 실패 - Order id: {}", orderId, e);
+            return Outcome.UNRESOLVED;
+        }
+    }
+
+    // 초당 처리 건수 제한: 다음 처리 가능 시각까지 대기
+    private static long pace(long nextSlot, long intervalNanos) {
+        if (intervalNanos == 0) {
+            return nextSlot;
+        }
+        long waitNanos = nextSlot - System.nanoTime();
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+        return Math.max(nextSlot, System.nanoTime()) + intervalNanos;
+    }
+
+    private void count(Outcome outcome, int count) {
+        if (meterRegistry != null) {
+            Counter.builder("payment.sweeper.orders")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+}
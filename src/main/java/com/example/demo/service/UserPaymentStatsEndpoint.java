@@ -0,0 +1,27 @@
+package com.example.demo.service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 운영자용 사용자 결제 집계 재계산 엔드포인트 (POST /actuator/userstats)
+ *
+ * 배포 직후 기존 사용자 집계를 채우거나 증분 갱신이 어긋났을 때 실행합니다.
+ * prd/stg 에 노출되며 ACTUATOR_ADMIN 역할의 HTTP Basic 인증이 필요합니다 ({@link com.example.demo.config.SecurityConfig}).
+ */
+@Component
+@Endpoint(id = "userstats")
+public class UserPaymentStatsEndpoint {
+
+    private final UserPaymentStatsRebuilder rebuilder;
+
+    public UserPaymentStatsEndpoint(UserPaymentStatsRebuilder rebuilder) {
+        this.rebuilder = rebuilder;
+    }
+
+    @WriteOperation
+    public UserPaymentStatsRebuilder.Result rebuild() {
+        return rebuilder.rebuild();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Payment;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 결제 내역 저장을 {@link UserPaymentStatsRecorder} 에 기록하는 JPA 엔티티 리스너
+ *
+ * Hibernate 가 스프링 빈 컨테이너로 생성하므로 필드 주입을 사용합니다.
+ * 결제 내역은 저장 시점의 유형/상태로만 집계하므로 이후 원본 결제 상태 변경(망취소 시 CANCELLED)은 반영하지 않습니다.
+ * 주문 상태 증감은 결제 이벤트를 추가할 때 {@link PaymentEventJournal} 이 기록합니다.
+ */
+public class UserPaymentStatsEntityListener {
+
+    @Autowired(required = false)
+    private UserPaymentStatsRecorder recorder;
+
+    @PostPersist
+    public void recordInsert(Payment payment) {
+        if (recorder != null) {
+            recorder.recordPayment(payment);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.demo.service;
+
+import com.example.demo.datasource.ShardContext;
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.entity.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 결제/적립금 누적 집계(user_payment_stats) 재계산
+ *
+ * 주문/결제 내역(보관 테이블 포함)으로 집계를 다시 계산해 덮어씁니다. 배포 직후 기존 사용자 집계를 채우거나
+ * 증분 갱신이 어긋났을 때 사용합니다 (/actuator/userstats 또는 user-stats.rebuild.cron).
+ * 사용자 id 범위를 chunk-size 단위로 나눠 parallelism 개 스레드에서 chunk 마다 한 트랜잭션으로 처리합니다.
+ * chunk 의 집계 행을 먼저 잠그고(없으면 생성) 다시 계산하므로, 실행 중에 커밋되는 결제의 증분 갱신은
+ * 재계산 이전 또는 이후에 한 번만 반영됩니다. 샤딩 환경에서는 샤드마다 사용자 범위를 나눕니다.
+ *
+ * 결제 내역으로 다시 계산하는 기준은 증분 갱신({@link UserPaymentStatsRecorder})과 같습니다.
+ * <ul>
+ *   <li>결제 금액: 카드 승인(망취소로 CANCELLED 가 된 승인 포함), 환불 금액: 카드 환불 + 망취소</li>
+ *   <li>적립금 취소: 적립금 취소 내역 + 실패 주문/카드 승인 없이 망취소된 주문(방치 주문 정리)의 사용 적립금</li>
+ *   <li>적립 적립금: 이니시스 카드 승인 건과 적립금 전액 결제 주문마다 주문 금액의 1% (최소 1)</li>
+ * </ul>
+ */
+@Service
+public class UserPaymentStatsRebuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserPaymentStatsRebuilder.class);
+
+    private static final String ENSURE_ROWS_SQL;
+    private static final String LOCK_ROWS_SQL =
+            "SELECT user_id FROM user_payment_stats WHERE user_id BETWEEN ? AND ? ORDER BY user_id FOR UPDATE";
+    private static final String RECOMPUTE_SQL;
+
+    static {
+        List<String> columns = UserPaymentStatsRecorder.COLUMNS;
+        ENSURE_ROWS_SQL = "INSERT INTO user_payment_stats (user_id, " + String.join(", ", columns) + ", updated_at) "
+                + "SELECT id, " + String.join(", ", Collections.nCopies(columns.size(), "0")) + ", now() "
+                + "FROM users WHERE id BETWEEN ? AND ? ON CONFLICT (user_id) DO NOTHING";
+
+        String statusCounts = Arrays.stream(Order.OrderStatus.values())
+                .map(status -> "COUNT(*) FILTER (WHERE o.status = '" + status.name() + "') AS " + UserPaymentStatsRecorder.statusColumn(status))
+                .collect(Collectors.joining(", "));
+        RECOMPUTE_SQL = "WITH o AS ("
+                + "SELECT order_no, user_id, total_amount, points_used, card_amount, status FROM orders WHERE user_id BETWEEN ? AND ? "
+                + "UNION ALL SELECT order_no, user_id, total_amount, points_used, card_amount, status FROM orders_archive WHERE user_id BETWEEN ? AND ?"
+                + "), p AS ("
+                + "SELECT order_no, payment_type, status, amount, pg_provider FROM payments WHERE order_no IN (SELECT order_no FROM o) "
+                + "UNION ALL SELECT order_no, payment_type, status, amount, pg_provider FROM payments_archive WHERE order_no IN (SELECT order_no FROM o)"
+                + "), po AS ("
+                + "SELECT order_no, "
+                + "SUM(CASE WHEN payment_type = 'CARD' AND status IN ('COMPLETED', 'CANCELLED') THEN amount ELSE 0 END) AS spent, "
+                + "SUM(CASE WHEN payment_type IN ('CARD_REFUND', 'NETWORK_CANCEL') THEN ABS(amount) ELSE 0 END) AS refunded, "
+                + "SUM(CASE WHEN payment_type = 'POINT' AND status = 'COMPLETED' THEN amount ELSE 0 END) AS points_used, "
+                + "SUM(CASE WHEN payment_type = 'POINT_REFUND' THEN ABS(amount) ELSE 0 END) AS points_refunded, "
+                + "COUNT(*) FILTER (WHERE payment_type = 'CARD' AND status IN ('COMPLETED', 'CANCELLED')) AS approvals, "
+                + "COUNT(*) FILTER (WHERE payment_type = 'CARD' AND status IN ('COMPLETED', 'CANCELLED') AND pg_provider = 'INICIS') AS inicis_approvals "
+                + "FROM p GROUP BY order_no"
+                + "), a AS ("
+                + "SELECT o.user_id, "
+                + "SUM(COALESCE(po.spent, 0)) AS spent_amount, "
+                + "SUM(COALESCE(po.refunded, 0)) AS refunded_amount, "
+                + "SUM(COALESCE(po.points_used, 0)) AS points_used, "
+                + "SUM(COALESCE(po.points_refunded, 0) + CASE WHEN o.status = 'FAILED' "
+                + "OR (o.status = 'NETWORK_CANCELLED' AND COALESCE(po.approvals, 0) = 0) THEN o.points_used ELSE 0 END) AS points_refunded, "
+                + "SUM(GREATEST(1, o.total_amount / 100) * (COALESCE(po.inicis_approvals, 0) "
+                + "+ CASE WHEN o.card_amount = 0 AND o.points_used > 0 THEN 1 ELSE 0 END)) AS points_earned, "
+                + statusCounts + " "
+                + "FROM o LEFT JOIN po ON po.order_no = o.order_no GROUP BY o.user_id"
+                + ") "
+                + "UPDATE user_payment_stats s SET "
+                + columns.stream().map(column -> column + " = COALESCE(a." + column + ", 0)").collect(Collectors.joining(", "))
+                + ", updated_at = now() "
+                + "FROM user_payment_stats t LEFT JOIN a ON a.user_id = t.user_id "
+                + "WHERE s.user_id = t.user_id AND t.user_id BETWEEN ? AND ?";
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Value("${user-stats.rebuild.chunk-size:1000}")
+    private long chunkSize;
+
+    @Value("${user-stats.rebuild.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 주기 실행 (user-stats.rebuild.cron, 기본 꺼짐)
+     */
+    @Scheduled(cron = "${user-stats.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 전체 사용자 집계 재계산
+     *
+     * @return chunk 수, 재계산한 사용자 수, 실패한 chunk 수, 소요 시간
+     * @throws IllegalStateException 이미 재계산 중인 경우
+     */
+    public Result rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("사용자 결제 집계를 이미 재계산 중입니다.");
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            List<Chunk> chunks = new ArrayList<>();
+            shardRouter.forEachShard(shard -> {
+                Map<String, Object> range = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users");
+                if (range.get("min_id") instanceof Number minId && range.get("max_id") instanceof Number maxId) {
+                    for (long from = minId.longValue(); from <= maxId.longValue(); from += chunkSize) {
+                        chunks.add(new Chunk(shard, from, Math.min(from + chunkSize - 1, maxId.longValue())));
+                    }
+                }
+            });
+
+            AtomicInteger users = new AtomicInteger();
+            int failed = 0;
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "user-stats-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            })) {
+                List<Future<?>> results = new ArrayList<>(chunks.size());
+                for (Chunk chunk : chunks) {
+                    results.add(executor.submit(() -> users.addAndGet(rebuildChunk(transactionTemplate, chunk))));
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    try {
+                        results.get(i).get();
+                    } catch (ExecutionException e) {
+                        failed++;
+                        logger.error("사용자 결제 집계 재계산 실패: {}", chunks.get(i), e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("사용자 결제 집계 재계산 중단", e);
+                    }
+                }
+            }
+
+            Result result = new Result(chunks.size(), users.get(), failed, System.currentTimeMillis() - startedAt);
+            logger.info("사용자 결제 집계 재계산 완료: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // chunk 사용자의 집계 행 생성/잠금 후 재계산 (한 트랜잭션)
+    private int rebuildChunk(TransactionTemplate transactionTemplate, Chunk chunk) {
+        try (ShardContext.Scope scope = shardRouter.useShard(chunk.shard())) {
+            Integer updated = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(ENSURE_ROWS_SQL, chunk.fromUserId(), chunk.toUserId());
+                jdbcTemplate.queryForList(LOCK_ROWS_SQL, Long.class, chunk.fromUserId(), chunk.toUserId());
+                return jdbcTemplate.update(RECOMPUTE_SQL,
+                        chunk.fromUserId(), chunk.toUserId(), chunk.fromUserId(), chunk.toUserId(),
+                        chunk.fromUserId(), chunk.toUserId());
+            });
+            return updated != null ? updated : 0;
+        }
+    }
+
+    private record Chunk(int shard, long fromUserId, long toUserId) {
+    }
+
+    /**
+     * 재계산 결과
+     *
+     * @param chunks 처리한 사용자 id 범위 수
+     * @param users 재계산한 사용자 수
+     * @param failedChunks 실패한 범위 수 (다시 실행하면 해당 범위도 재계산)
+     * @param elapsedMillis 소요 시간
+     */
+    public record Result(int chunks, int users, int failedChunks, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 결제/적립금 누적 집계(user_payment_stats) 증분 갱신
+ *
+ * 결제 내역 저장, 주문 상태 변경(엔티티 리스너), 적립금 적립/복구(PaymentService)마다 증감분을 현재 트랜잭션에 모아 두고
+ * 커밋 직전에 사용자당 UPSERT 1건(여러 사용자면 배치 1회)으로 더합니다. 커밋 시점 flush 로 생기는 변경까지 포함하도록
+ * 먼저 영속성 컨텍스트를 flush 합니다. 같은 사용자의 동시 트랜잭션은 집계 행 잠금으로 커밋 직전 짧게만 직렬화되고,
+ * 여러 사용자를 갱신할 때는 user id 순서로 잠가 교착을 피합니다. 트랜잭션 밖에서 호출되면 바로 반영합니다.
+ *
+ * 엔티티 리스너가 EntityManagerFactory 생성 중에 만들어지므로 JPA 빈에 직접 의존하지 않습니다.
+ * 기존 데이터나 어긋난 집계는 {@link UserPaymentStatsRebuilder} 로 다시 계산합니다.
+ */
+@Component
+public class UserPaymentStatsRecorder {
+
+    /**
+     * 증감 컬럼 (금액 5개 + 주문 상태별 주문 수)
+     */
+    public static final List<String> COLUMNS;
+
+    private static final int SPENT_AMOUNT = 0;
+    private static final int REFUNDED_AMOUNT = 1;
+    private static final int POINTS_USED = 2;
+    private static final int POINTS_REFUNDED = 3;
+    private static final int POINTS_EARNED = 4;
+    private static final int ORDER_STATUS_OFFSET = 5;
+
+    private static final String UPSERT_SQL;
+
+    static {
+        List<String> columns = new ArrayList<>(List.of("spent_amount", "refunded_amount", "points_used", "points_refunded", "points_earned"));
+        for (Order.OrderStatus status : Order.OrderStatus.values()) {
+            columns.add(statusColumn(status));
+        }
+        COLUMNS = List.copyOf(columns);
+        UPSERT_SQL = "INSERT INTO user_payment_stats (user_id, " + String.join(", ", COLUMNS) + ", updated_at) VALUES (?, "
+                + COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", ")) + ", now()) "
+                + "ON CONFLICT (user_id) DO UPDATE SET "
+                + COLUMNS.stream().map(column -> column + " = user_payment_stats." + column + " + EXCLUDED." + column)
+                        .collect(Collectors.joining(", "))
+                + ", updated_at = EXCLUDED.updated_at";
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    /**
+     * 주문 상태별 주문 수 컬럼명
+     */
+    public static String statusColumn(Order.OrderStatus status) {
+        return "orders_" + status.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 결제 내역 저장 (결제 유형/상태로 집계 항목 결정)
+     */
+    public void recordPayment(Payment payment) {
+        if (payment.getAmount() == null) {
+            return;
+        }
+        long amount = Math.abs(payment.getAmount());
+        String paymentType = payment.getPaymentType();
+        if (Payment.PaymentType.CARD.name().equals(paymentType) && "COMPLETED".equals(payment.getStatus())) {
+            add(payment.getUserId(), SPENT_AMOUNT, amount);
+        } else if (Payment.PaymentType.CARD_REFUND.name().equals(paymentType)
+                || Payment.PaymentType.NETWORK_CANCEL.name().equals(paymentType)) {
+            add(payment.getUserId(), REFUNDED_AMOUNT, amount);
+        } else if (Payment.PaymentType.POINT.name().equals(paymentType) && "COMPLETED".equals(payment.getStatus())) {
+            add(payment.getUserId(), POINTS_USED, amount);
+        } else if (Payment.PaymentType.POINT_REFUND.name().equals(paymentType)) {
+            add(payment.getUserId(), POINTS_REFUNDED, amount);
+        }
+    }
+
+    /**
+     * 주문 상태 변경 (from: 새 주문이면 null)
+     */
+    public void recordOrderStatus(Long userId, Order.OrderStatus from, Order.OrderStatus to) {
+        if (from != null) {
+            add(userId, ORDER_STATUS_OFFSET + from.ordinal(), -1);
+        }
+        add(userId, ORDER_STATUS_OFFSET + to.ordinal(), 1);
+    }
+
+    /**
+     * 결제 완료 적립금 적립
+     */
+    public void recordPointsEarned(Long userId, long points) {
+        add(userId, POINTS_EARNED, points);
+    }
+
+    /**
+     * 결제 실패/망취소로 사용 적립금 복구
+     */
+    public void recordPointsRestored(Long userId, long points) {
+        add(userId, POINTS_REFUNDED, points);
+    }
+
+    private void add(Long userId, int column, long amount) {
+        if (userId == null || amount == 0) {
+            return;
+        }
+        Map<Long, long[]> pending = pendingDeltas();
+        if (pending == null) {
+            pending = new TreeMap<>();
+            pending.computeIfAbsent(userId, key -> new long[COLUMNS.size()])[column] += amount;
+            apply(pending);
+            return;
+        }
+        pending.computeIfAbsent(userId, key -> new long[COLUMNS.size()])[column] += amount;
+    }
+
+    // 현재 트랜잭션에 모은 사용자별 증감분 (처음 호출 시 커밋 직전 반영 등록, 트랜잭션 밖이면 null)
+    @SuppressWarnings("unchecked")
+    private Map<Long, long[]> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, long[]> pending = (Map<Long, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, long[]> deltas = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(UserPaymentStatsRecorder.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(UserPaymentStatsRecorder.this, deltas);
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    flushEntityManager();
+                    apply(deltas);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserPaymentStatsRecorder.this);
+                }
+            });
+            pending = deltas;
+        }
+        return pending;
+    }
+
+    // 커밋 시 flush 될 주문/결제 변경(엔티티 리스너)을 먼저 반영
+    private void flushEntityManager() {
+        EntityManagerFactory factory = entityManagerFactory.getIfUnique();
+        if (factory != null && TransactionSynchronizationManager.getResource(factory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().flush();
+        }
+    }
+
+    private void apply(Map<Long, long[]> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            long[] values = entry.getValue();
+            boolean changed = false;
+            Object[] row = new Object[values.length + 1];
+            row[0] = entry.getKey();
+            for (int i = 0; i < values.length; i++) {
+                row[i + 1] = values[i];
+                changed |= values[i] != 0;
+            }
+            if (changed) {
+                rows.add(row);
+            }
+        }
+        deltas.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.stream;
+
+import com.example.demo.datasource.ShardDataSources;
+import com.example.demo.entity.Order;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 주문 상태 변경 알림 채널 (PostgreSQL LISTEN/NOTIFY)
+ *
+ * 주문 상태 스냅샷을 반영한 트랜잭션({@link com.example.demo.service.OrderStateProjector})이 pg_notify('order_status', '주문번호:상태') 를 보내고, 인스턴스마다 DB(샤딩 환경은 샤드별)
+ * 커넥션 하나를 점유해 LISTEN 한 뒤 받은 알림을 구독자에게 전달합니다. 어느 인스턴스에서 상태가 바뀌어도 모든 인스턴스가 받습니다.
+ * 커넥션이 끊기면 reconnect-delay-ms 후 다시 LISTEN 하고, 그 사이 놓친 알림은 구독자의 {@link Subscriber#resync()} 로 보정합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "order.stream.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatusChannel implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusChannel.class);
+
+    public static final String CHANNEL = "order_status";
+
+    /**
+     * 알림 구독자 (LISTEN 스레드에서 호출)
+     */
+    public interface Subscriber {
+
+        void statusChanged(String orderNo, Order.OrderStatus status);
+
+        // LISTEN 을 (다시) 시작한 직후 - 끊긴 동안 놓친 변경 보정
+        void resync();
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${order.stream.listen-poll-ms:1000}")
+    private int listenPollMs;
+
+    @Value("${order.stream.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Thread> listeners = new ArrayList<>();
+    private volatile boolean running;
+
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * 상태 변경 알림 (현재 트랜잭션 커넥션으로 실행, 커밋 시 전달)
+     */
+    public void publish(String orderNo, Order.OrderStatus status) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, orderNo + ":" + status.name());
+    }
+
+    @Override
+    public synchronized void start() {
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        List<DataSource> targets = shards != null ? shards.all() : List.of(dataSource);
+        running = true;
+        for (int i = 0; i < targets.size(); i++) {
+            DataSource target = targets.get(i);
+            String name = "order-status-listen-" + i;
+            Thread thread = new Thread(() -> listen(target), name);
+            thread.setDaemon(true);
+            thread.start();
+            listeners.add(thread);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : listeners) {
+            try {
+                thread.join(listenPollMs * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        listeners.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen(DataSource target) {
+        while (running) {
+            try (Connection connection = target.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                subscribers.forEach(Subscriber::resync);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(listenPollMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("주문 상태 LISTEN 커넥션 오류, {}ms 후 재연결: {}", reconnectDelayMs, e.getMessage());
+                sleep(reconnectDelayMs);
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String orderNo = payload.substring(0, separator);
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.statusChanged(orderNo, Order.OrderStatus.valueOf(payload.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                logger.warn("주문 상태 알림 전달 실패: {}", payload, e);
+            }
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.stream;
+
+import com.example.demo.datasource.ReplicaRoutingDataSource;
+import com.example.demo.datasource.ShardContext;
+import com.example.demo.datasource.ShardRouter;
+import com.example.demo.dto.OrderStatusResponse;
+import com.example.demo.entity.Order;
+import com.example.demo.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 주문 상태 SSE 스트림 관리 (GET /api/payment/status/order/{orderNo}/stream)
+ *
+ * 연결 즉시 현재 상태를 보내고, 이후 {@link OrderStatusChannel} 알림으로 상태가 바뀔 때마다 "status" 이벤트를 보냅니다.
+ * 종료 상태(취소/망취소/실패)가 되거나 timeout-seconds 가 지나면 스트림을 닫으며, 클라이언트가 다시 연결하면 현재 상태부터 받습니다.
+ * 노드당 열린 스트림이 max-streams-per-node 에 도달하면 새 스트림을 열지 않고(503), 클라이언트는 상태 조회 폴링으로 대체합니다.
+ * 프록시/로드밸런서가 유휴 연결을 끊지 않도록 heartbeat-interval-ms 마다 SSE 주석을 보냅니다.
+ * 메트릭: order.stream.open (열린 스트림 수)
+ */
+@Component
+public class OrderStatusStreams implements OrderStatusChannel.Subscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusStreams.class);
+
+    // 더 이상 바뀌지 않는 상태 (스트림 종료 조건)
+    private static final Set<Order.OrderStatus> FINAL_STATUSES =
+            EnumSet.of(Order.OrderStatus.CANCELLED, Order.OrderStatus.NETWORK_CANCELLED, Order.OrderStatus.FAILED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private OrderStatusChannel channel;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.stream.max-streams-per-node:1000}")
+    private int maxStreamsPerNode;
+
+    @Value("${order.stream.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    private final Map<String, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        if (channel != null) {
+            channel.subscribe(this);
+        }
+        if (meterRegistry != null) {
+            Gauge.builder("order.stream.open", open, AtomicInteger::get).register(meterRegistry);
+        }
+    }
+
+    /**
+     * 주문 상태 스트림 열기 - 조회한 상태를 먼저 보내고, 등록 후 primary 에서 한 번 더 확인
+     *
+     * @return 알림 채널이 꺼져 있거나 노드당 스트림 한도에 도달했으면 null (클라이언트는 폴링)
+     */
+    public SseEmitter open(Order order) {
+        if (channel == null || open.incrementAndGet() > maxStreamsPerNode) {
+            open.decrementAndGet();
+            return null;
+        }
+        Stream stream = new Stream(order.getOrderNo(), new SseEmitter(TimeUnit.SECONDS.toMillis(timeoutSeconds)));
+        stream.emitter.onCompletion(() -> close(stream));
+        stream.emitter.onTimeout(stream.emitter::complete);
+        stream.emitter.onError(e -> close(stream));
+        streams.compute(stream.orderNo, (key, watching) -> {
+            Set<Stream> registered = watching != null ? watching : new CopyOnWriteArraySet<>();
+            registered.add(stream);
+            return registered;
+        });
+        stream.send(order);
+        // 조회 후 등록 전에 바뀐 상태(알림 누락)와 복제본 지연 보정
+        if (!FINAL_STATUSES.contains(order.getStatus())) {
+            reload(stream.orderNo).ifPresent(stream::send);
+        }
+        return stream.emitter;
+    }
+
+    /**
+     * 열린 스트림 수
+     */
+    public int openStreams() {
+        return open.get();
+    }
+
+    @Override
+    public void statusChanged(String orderNo, Order.OrderStatus status) {
+        Set<Stream> watching = streams.get(orderNo);
+        if (watching == null || watching.stream().allMatch(stream -> stream.lastStatus == status)) {
+            return;
+        }
+        reload(orderNo).ifPresent(order -> watching.forEach(stream -> stream.send(order)));
+    }
+
+    @Override
+    public void resync() {
+        for (Map.Entry<String, Set<Stream>> entry : streams.entrySet()) {
+            reload(entry.getKey()).ifPresent(order -> entry.getValue().forEach(stream -> stream.send(order)));
+        }
+    }
+
+    /**
+     * 열린 스트림에 heartbeat 주석 전송 (끊긴 연결 정리)
+     */
+    @Scheduled(fixedDelayString = "${order.stream.heartbeat-interval-ms:15000}",
+               initialDelayString = "${order.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Stream> watching : streams.values()) {
+            for (Stream stream : watching) {
+                stream.heartbeat();
+            }
+        }
+    }
+
+    // NOTIFY 는 primary 에서 커밋된 변경이므로 복제본 지연을 피해 primary 에서 주문 재조회
+    private Optional<Order> reload(String orderNo) {
+        try (ShardContext.Scope scope = shardRouter.useOrderShard(orderNo)) {
+            return readTransaction.execute(status -> {
+                ReplicaRoutingDataSource.usePrimaryForCurrentTransaction();
+                return orderRepository.findByOrderNo(orderNo);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("스트림 주문 상태 재조회 실패: {}", orderNo, e);
+            return Optional.empty();
+        }
+    }
+
+    private void close(Stream stream) {
+        if (stream.closed.compareAndSet(false, true)) {
+            open.decrementAndGet();
+            streams.computeIfPresent(stream.orderNo, (key, watching) -> {
+                watching.remove(stream);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    private final class Stream {
+
+        private final String orderNo;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Order.OrderStatus lastStatus;
+
+        private Stream(String orderNo, SseEmitter emitter) {
+            this.orderNo = orderNo;
+            this.emitter = emitter;
+        }
+
+        // 마지막으로 보낸 상태와 다를 때만 전송, 종료 상태면 스트림 종료
+        private synchronized void send(Order order) {
+            if (closed.get() || order.getStatus() == lastStatus) {
+                return;
+            }
+            lastStatus = order.getStatus();
+            try {
+                emitter.send(SseEmitter.event().name("status")
+                        .data(OrderStatusResponse.from(order), MediaType.APPLICATION_JSON));
+                if (FINAL_STATUSES.contains(lastStatus)) {
+                    emitter.complete();
+                    close(this);
+                }
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                close(this);
+            }
+        }
+
+        private synchronized void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                close(this);
+            }
+        }
+    }
+}
@@ -1,37 +1,113 @@
 package com.example.demo.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * JWT 발급/검증 (설정 기반 키 링)
+ *
+ * jwt.keys.&lt;키 ID&gt; 로 등록한 비밀값이 모두 검증 키가 되고, jwt.signing-key-id 의 키로 서명하며 토큰 헤더 kid 에 키 ID 를 넣습니다.
+ * 모든 노드가 같은 설정을 읽으므로 어느 노드에서 발급한 토큰도 다른 노드와 재시작 후에 그대로 검증됩니다.
+ * 키 교체: 새 키를 jwt.keys 에 추가해 전체 배포 → jwt.signing-key-id 를 새 키로 바꿔 배포 → jwt.expiration 이 지난 뒤 이전 키 제거
+ * 키별 JwtParser 는 기동 시 한 번 만들어 재사용합니다.
+ */
 @Component
 public class JwtUtil {
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
+    // jwt.keys 가 없을 때 jwt.secret 에 붙이는 키 ID
+    private static final String DEFAULT_KEY_ID = "default";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jwt.secret:}")
+    private String secret;
+
+    @Value("${jwt.signing-key-id:" + DEFAULT_KEY_ID + "}")
+    private String signingKeyId;
+
     @Value("${jwt.expiration:86400000}") // 24시간
     private long expiration;
 
+    private Key signingKey;
+
+    // 키 ID → 해당 키로 서명 검증하는 파서 (불변)
+    private Map<String, JwtParser> parsers;
+
+    /**
+     * 키 링 로드 (비밀값이 32바이트 미만이거나 서명 키가 목록에 없으면 기동 실패)
+     */
+    @PostConstruct
+    void loadKeyRing() {
+        Map<String, String> secrets = Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElseGet(HashMap::new);
+        if (secrets.isEmpty() && !secret.isBlank()) {
+            secrets = Map.of(DEFAULT_KEY_ID, secret);
+        }
+
+        Map<String, Key> keys = new TreeMap<>();
+        secrets.forEach((keyId, value) -> {
+            try {
+                keys.put(keyId, Keys.hmacShaKeyFor(value.getBytes(StandardCharsets.UTF_8)));
+            } catch (WeakKeyException e) {
+                throw new IllegalStateException("JWT 키 '" + keyId + "' 는 32바이트 이상이어야 합니다.", e);
+            }
+        });
+        signingKey = keys.get(signingKeyId);
+        if (signingKey == null) {
+            throw new IllegalStateException("jwt.signing-key-id '" + signingKeyId + "' 에 해당하는 키가 jwt.keys 에 없습니다.");
+        }
+
+        Map<String, JwtParser> built = new HashMap<>();
+        keys.forEach((keyId, key) -> built.put(keyId, Jwts.parserBuilder().setSigningKey(key).build()));
+        parsers = Map.copyOf(built);
+        logger.info("JWT 키 링 - 서명 키: {}, 검증 키: {}", signingKeyId, keys.keySet());
+    }
+
     public String generateToken(Long userId, String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
                 .setSubject(userId.toString())
                 .claim("email", email)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -39,20 +115,35 @@ public class JwtUtil {
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return Long.valueOf(claims.getSubject());
+        return Long.valueOf(parseClaims(token).getSubject());
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("email", String.class);
+        return parseClaims(token).get("email", String.class);
+    }
+
+    // 헤더 kid 의 파서로 서명 검증 (kid 가 없거나 키 링에 없는 키면 거부)
+    private Claims parseClaims(String token) {
+        String keyId = keyId(token);
+        JwtParser parser = keyId == null ? null : parsers.get(keyId);
+        if (parser == null) {
+            throw new UnsupportedJwtException("알 수 없는 JWT 서명 키: " + keyId);
+        }
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // 서명 검증 전에 헤더(첫 번째 구간)만 디코딩해 kid 추출
+    private String keyId(String token) {
+        int headerEnd = token == null ? -1 : token.indexOf('.');
+        if (headerEnd <= 0) {
+            throw new MalformedJwtException("JWT 형식이 아닙니다.");
+        }
+        try {
+            JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, headerEnd)));
+            JsonNode keyId = header.get(JwsHeader.KEY_ID);
+            return keyId != null && keyId.isTextual() ? keyId.asText() : null;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT 헤더를 읽을 수 없습니다.", e);
+        }
     }
-}
\ No newline at end of file
+}
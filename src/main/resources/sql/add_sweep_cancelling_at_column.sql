@@ -0,0 +1,11 @@
+-- sweep_cancelling_at 컬럼 추가 마이그레이션
+-- 방치 주문 정리(StaleOrderSweeper)는 승인됐지만 결제가 저장되지 않은 거래를 PG 취소하기 전에
+-- 주문 잠금 아래에서 이 컬럼을 기록하고 커밋합니다. PG 취소는 잠금을 놓은 뒤 호출하므로,
+-- 그 사이 들어온 승인 응답/알림은 이 표시가 있는 주문을 완료 처리하지 않고 거절합니다.
+-- 표시는 지우지 않으며 PG 취소가 실패하면 다음 정리에서 다시 조회/취소합니다.
+
+-- orders 테이블에 sweep_cancelling_at 컬럼 추가
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS sweep_cancelling_at TIMESTAMP;
+
+-- 주석 추가
+COMMENT ON COLUMN orders.sweep_cancelling_at IS '방치 주문 정리 PG 취소 시작 시각 (있으면 승인 흐름이 주문을 완료하지 않음)';
@@ -0,0 +1,9 @@
+-- sweep_claimed_until 컬럼 추가 마이그레이션
+-- 방치 주문 정리(StaleOrderSweeper)가 짧은 트랜잭션에서 주문을 선점하고 커밋한 뒤 PG 조회/취소를 하므로,
+-- 그동안 다른 인스턴스가 같은 주문을 다시 집어 가지 않도록 선점 만료 시각을 기록합니다.
+
+-- orders 테이블에 sweep_claimed_until 컬럼 추가
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS sweep_claimed_until TIMESTAMP;
+
+-- 주석 추가
+COMMENT ON COLUMN orders.sweep_claimed_until IS '방치 주문 정리 선점 만료 시각 (이 시각 전에는 다른 정리 실행이 건너뜀)';
@@ -0,0 +1,11 @@
+-- trace_id 컬럼 추가 마이그레이션
+-- PG 통신 로그와 분산 트레이스(요청 단위 span)를 연결하기 위한 컬럼 추가
+
+-- if_inisis_log 테이블에 trace_id 컬럼 추가
+ALTER TABLE if_inisis_log ADD COLUMN IF NOT EXISTS trace_id VARCHAR(32);
+
+-- traceId 로 요청의 PG 통신 로그 조회
+CREATE INDEX IF NOT EXISTS idx_if_inisis_log_trace_id ON if_inisis_log(trace_id);
+
+-- 주석 추가
+COMMENT ON COLUMN if_inisis_log.trace_id IS '분산 트레이싱 traceId (W3C traceparent, 32자리 hex)';
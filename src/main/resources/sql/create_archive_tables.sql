@@ -0,0 +1,113 @@
+-- 오래된 주문/결제/로그 보관(archive) 테이블 생성
+-- OrderArchiver 가 종료 상태이면서 archive.order-age-days 보다 오래된 주문을 결제/결제 로그와 함께 이 테이블로 옮깁니다.
+-- 보관 테이블은 INSERT 만 하고 UPDATE 하지 않으므로 fillfactor 100 으로 갱신용 빈 공간을 남기지 않습니다.
+-- 압축은 기본 TOAST 동작(행이 약 2KB 를 넘을 때 긴 TEXT 값부터 압축)에 맡기며, 별도 압축 설정은 두지 않습니다.
+-- (orders/payments/payment_logs 보관 행은 고정 길이와 짧은 VARCHAR 위주라 압축할 값이 거의 없고,
+--  측정 없이 낮춘 toast_tuple_target 은 효과가 확인되지 않아 이전 버전에서 설정했다면 RESET 합니다)
+-- 크기 확인: SELECT relname, pg_size_pretty(pg_total_relation_size(oid)) FROM pg_class WHERE relname LIKE '%\_archive';
+-- 원래 id 를 그대로 유지하므로 id 시퀀스/기본값은 두지 않습니다.
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    order_no VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_amount BIGINT NOT NULL,
+    points_used INTEGER NOT NULL,
+    card_amount BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS payments_archive (
+    id BIGINT PRIMARY KEY,
+    order_no VARCHAR(255) NOT NULL,
+    user_id BIGINT,
+    tid VARCHAR(255),
+    amount BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    result_code VARCHAR(255),
+    result_msg VARCHAR(255),
+    payment_date TIMESTAMP,
+    card_name VARCHAR(255),
+    card_code VARCHAR(255),
+    appl_num VARCHAR(255),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    payment_type VARCHAR(255) NOT NULL,
+    pg_provider VARCHAR(255),
+    net_cancel_url VARCHAR(255),
+    auth_token VARCHAR(255),
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS payment_logs_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    transaction_id VARCHAR(255),
+    payment_method VARCHAR(255),
+    amount BIGINT,
+    status VARCHAR(255),
+    result_code VARCHAR(255),
+    result_message VARCHAR(255),
+    approved_at TIMESTAMP,
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE orders_archive SET (fillfactor = 100);
+ALTER TABLE payments_archive SET (fillfactor = 100);
+ALTER TABLE payment_logs_archive SET (fillfactor = 100);
+ALTER TABLE orders_archive RESET (toast_tuple_target);
+ALTER TABLE payments_archive RESET (toast_tuple_target);
+ALTER TABLE payment_logs_archive RESET (toast_tuple_target);
+
+-- 이력 조회(운영 테이블에 없을 때만)용 인덱스
+CREATE UNIQUE INDEX IF NOT EXISTS idx_orders_archive_order_no ON orders_archive (order_no);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_user_id ON orders_archive (user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_payments_archive_order_no ON payments_archive (order_no);
+CREATE INDEX IF NOT EXISTS idx_payment_logs_archive_order_id ON payment_logs_archive (order_id);
+
+-- 운영 테이블: 보관 대상 조회/이동용
+-- id 는 인스턴스마다 50개씩 미리 할당한 시퀀스 값(allocationSize 50)이라 인스턴스 사이에서는 created_at 순서와 맞지 않습니다.
+-- BRIN 은 id 가 아니라 행이 힙에 놓인 물리 순서에 기대는데, 주문은 생성 시각(created_at = now())에 힙 끝에 추가되므로
+-- 블록 범위(128 페이지)마다 created_at 범위가 좁고, 보관 조회(created_at < 기준 시각)는 오래된 블록 범위만 읽습니다.
+-- B-tree 는 행마다 항목이 있어 테이블에 비례해 커지지만 BRIN 은 블록 범위당 요약 1건이라 작고 INSERT 비용도 거의 없습니다.
+-- 보관 후 VACUUM 된 앞쪽 페이지에 새 주문이 들어가면 범위가 넓어지므로 상관도를 확인하고, 1 에서 크게 떨어지면 B-tree 로 바꿉니다.
+--   SELECT correlation FROM pg_stats WHERE tablename = 'orders' AND attname = 'created_at';
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_brin ON orders USING brin (created_at);
+CREATE INDEX IF NOT EXISTS idx_payments_order_no ON payments (order_no);
+CREATE INDEX IF NOT EXISTS idx_payment_logs_order_id ON payment_logs (order_id);
+
+-- 감사 로그 보관 테이블 (audit.datasource 가 별도 DB 면 해당 DB 에서 실행)
+CREATE TABLE IF NOT EXISTS if_inisis_log_archive (
+    id BIGINT PRIMARY KEY,
+    order_no VARCHAR(50) NOT NULL,
+    transaction_id VARCHAR(100),
+    trace_id VARCHAR(32),
+    request_type VARCHAR(50) NOT NULL,
+    request_url VARCHAR(500),
+    request_data TEXT,
+    response_data TEXT,
+    http_status INTEGER,
+    is_success BOOLEAN,
+    error_message TEXT,
+    payment_provider VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE if_inisis_log_archive SET (fillfactor = 100);
+ALTER TABLE if_inisis_log_archive RESET (toast_tuple_target);
+
+CREATE INDEX IF NOT EXISTS idx_if_inisis_log_archive_order_no ON if_inisis_log_archive (order_no);
+-- PG 통신 로그도 INSERT 시각 순서로 힙에 쌓이므로 같은 기준으로 BRIN (상관도 확인도 같음)
+CREATE INDEX IF NOT EXISTS idx_if_inisis_log_created_at_brin ON if_inisis_log USING brin (created_at);
+
+-- 주석 추가
+COMMENT ON TABLE orders_archive IS '보관된 주문 (운영 orders 에서 이동, 읽기 전용)';
+COMMENT ON TABLE payments_archive IS '보관된 결제 내역 (운영 payments 에서 이동, 읽기 전용)';
+COMMENT ON TABLE payment_logs_archive IS '보관된 결제 로그 (운영 payment_logs 에서 이동, 읽기 전용)';
+COMMENT ON TABLE if_inisis_log_archive IS '보관된 PG 통신 로그 (운영 if_inisis_log 에서 이동, 읽기 전용)';
+COMMENT ON COLUMN orders_archive.archived_at IS '보관 테이블로 이동한 시각';
@@ -0,0 +1,30 @@
+-- 시퀀스 기반 ID 채번 마이그레이션
+-- orders / payments / payment_logs / if_inisis_log 의 ID 를 IDENTITY 에서 pooled 시퀀스로 전환합니다.
+-- 애플리케이션은 시퀀스 1회 호출로 ID 50개를 확보하므로 INSERT 를 JDBC 배치로 묶을 수 있습니다.
+-- 엔티티의 @SequenceGenerator(allocationSize = 50) 와 INCREMENT BY 값이 반드시 같아야 합니다.
+
+-- 시퀀스 생성
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payments_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payment_logs_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS if_inisis_log_seq INCREMENT BY 50;
+
+-- 기존 데이터 이후부터 채번되도록 시작값 설정
+-- (pooled 방식은 nextval 값 N 에 대해 N-49 ~ N 구간을 사용하므로 MAX(id) + 50 으로 설정)
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+SELECT setval('payments_seq', COALESCE((SELECT MAX(id) FROM payments), 0) + 50, false);
+SELECT setval('payment_logs_seq', COALESCE((SELECT MAX(id) FROM payment_logs), 0) + 50, false);
+SELECT setval('if_inisis_log_seq', COALESCE((SELECT MAX(id) FROM if_inisis_log), 0) + 50, false);
+
+-- 기존 IDENTITY / SERIAL 기본값 제거 (ID 는 애플리케이션이 시퀀스로 채번)
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payment_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE if_inisis_log ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE if_inisis_log ALTER COLUMN id DROP DEFAULT;
+
+-- 주석 추가
+COMMENT ON SEQUENCE orders_seq IS '주문 ID 시퀀스 (allocationSize 50)';
+COMMENT ON SEQUENCE payments_seq IS '결제 ID 시퀀스 (allocationSize 50)';
+COMMENT ON SEQUENCE payment_logs_seq IS '결제 로그 ID 시퀀스 (allocationSize 50)';
+COMMENT ON SEQUENCE if_inisis_log_seq IS '이니시스 통신 로그 ID 시퀀스 (allocationSize 50)';
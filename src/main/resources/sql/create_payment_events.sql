@@ -0,0 +1,49 @@
+-- 결제 이벤트 저널 테이블 생성 / orders.event_seq 컬럼 추가 마이그레이션
+-- 주문/결제 상태 변경은 payment_events 에 INSERT 만 하고(append-only), orders.status 와 망취소된 원본 결제의
+-- payments.status 는 OrderStateProjector 가 커밋 후 이벤트를 반영하는 스냅샷입니다.
+-- orders.event_seq 는 스냅샷에 반영된 주문별 마지막 이벤트 순번이며, 기존 주문은 0 (현재 status 가 그대로 시작 상태)에서 시작합니다.
+-- 샤딩 환경에서는 샤드마다 실행합니다.
+
+CREATE SEQUENCE IF NOT EXISTS payment_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS payment_events (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    order_no VARCHAR(50) NOT NULL,
+    user_id BIGINT,
+    seq INTEGER NOT NULL,
+    event_type VARCHAR(30) NOT NULL, -- ORDER_CREATED, PAYMENT_APPROVED, PAYMENT_FAILED, ORDER_CANCELLED, NETWORK_CANCELLED
+    payment_id BIGINT,
+    amount BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_events_order_seq UNIQUE (order_id, seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_events_created_at ON payment_events (created_at);
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS event_seq INTEGER NOT NULL DEFAULT 0;
+
+-- 보관 테이블 (OrderArchiver 가 주문과 함께 이동, 원래 id 유지)
+CREATE TABLE IF NOT EXISTS payment_events_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    order_no VARCHAR(50) NOT NULL,
+    user_id BIGINT,
+    seq INTEGER NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payment_id BIGINT,
+    amount BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_events_archive_order_id ON payment_events_archive (order_id, seq);
+
+-- 주석 추가
+COMMENT ON SEQUENCE payment_events_seq IS '결제 이벤트 ID 시퀀스 (allocationSize 50, 순서는 seq 로 판단)';
+COMMENT ON TABLE payment_events IS '결제 이벤트 저널 (append-only, 주문 상태의 쓰기 모델)';
+COMMENT ON COLUMN payment_events.seq IS '주문별 이벤트 순번 (1부터, 주문 잠금 아래에서 증가)';
+COMMENT ON COLUMN payment_events.event_type IS '이벤트 유형 (적용 후 주문 상태 결정)';
+COMMENT ON COLUMN payment_events.payment_id IS '이벤트 대상 결제 (망취소는 CANCELLED 로 반영할 원본 카드 결제)';
+COMMENT ON COLUMN orders.event_seq IS '상태 스냅샷에 반영된 마지막 결제 이벤트 순번';
+COMMENT ON TABLE payment_events_archive IS '보관된 결제 이벤트 (운영 payment_events 에서 이동, 읽기 전용)';
@@ -0,0 +1,24 @@
+-- 샤드 버킷 배치/이동 상태 (0번 샤드에만 생성)
+-- 모든 인스턴스가 shard_layout 을 주기적으로 읽어 같은 버킷 → 샤드 배치와 이동 중 버킷을 사용합니다.
+-- shard.bucket-ranges 는 테이블이 비어 있을 때 처음 한 번만 저장하고, 이후 배치 변경(재샤딩)은 이 테이블에만 기록합니다.
+-- shard_instances 는 인스턴스별 heartbeat 로, 다른 인스턴스가 실행 중이면 샤드 이동을 거부하는 데 사용합니다.
+-- shard.enabled=true 로 기동하면 ShardRouter 가 테이블이 없을 때 이 스크립트를 적용합니다.
+
+CREATE TABLE IF NOT EXISTS shard_layout (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    bucket_ranges TEXT NOT NULL,
+    moving_buckets VARCHAR(20),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS shard_instances (
+    instance_id VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+-- 주석 추가
+COMMENT ON COLUMN shard_layout.bucket_ranges IS '버킷 배치 (shard.bucket-ranges 형식: 0-511:0,512-1023:1)';
+COMMENT ON COLUMN shard_layout.moving_buckets IS '샤드 이동 중인 버킷 범위 (예: 512-767), 없으면 NULL';
+COMMENT ON COLUMN shard_layout.version IS '배치/이동 상태가 바뀔 때마다 증가';
+COMMENT ON COLUMN shard_instances.heartbeat_at IS '마지막 heartbeat 시각 (DB 시각)';
@@ -0,0 +1,10 @@
+-- 샤드 ID 시퀀스 구간 설정 (hbm2ddl 이 꺼진 환경(validate/none)에서 1번 이후 샤드마다 실행)
+-- n번 샤드의 시퀀스를 n * 1000000000000000 (ShardRouter.ID_RANGE_PER_SHARD) 이상으로 올려
+-- 샤드 이동 시 옮겨 온 행과 그 샤드에서 새로 채번한 id 가 겹치지 않게 합니다.
+-- 스키마는 0번 샤드와 같아야 하므로 create_id_sequences.sql 등 기존 마이그레이션을 먼저 적용합니다.
+-- 사용법: psql -v shard=1 -f create_shard_sequences.sql
+
+SELECT setval(quote_ident(sequencename), :shard * 1000000000000000)
+FROM pg_sequences
+WHERE schemaname = current_schema()
+  AND (last_value IS NULL OR last_value < :shard * 1000000000000000);
@@ -0,0 +1,9 @@
+-- 방치 주문 정리(StaleOrderSweeper) 대상 조회용 부분 인덱스
+-- 결제 대기 주문만 포함하므로 완료/취소 주문이 늘어도 인덱스 크기가 작게 유지됩니다.
+-- 조회: status IN ('PENDING', 'PENDING_APPROVAL') AND updated_at < ? AND id > ?
+--       AND (sweep_claimed_until IS NULL OR sweep_claimed_until < ?) ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+-- sweep_claimed_until 컬럼은 add_sweep_claimed_until_column.sql 에서 추가합니다.
+
+CREATE INDEX IF NOT EXISTS idx_orders_pending_id ON orders (id)
+    INCLUDE (updated_at)
+    WHERE status IN ('PENDING', 'PENDING_APPROVAL');
@@ -0,0 +1,30 @@
+-- 사용자별 결제/적립금 누적 집계 테이블 생성
+-- 결제/환불/적립금 변경 트랜잭션 안에서 UserPaymentStatsRecorder 가 증감분을 UPSERT 합니다.
+-- 기존 사용자 집계는 생성 후 POST /actuator/userstats (UserPaymentStatsRebuilder) 로 채웁니다.
+-- 샤딩 환경에서는 샤드마다 실행합니다.
+
+CREATE TABLE IF NOT EXISTS user_payment_stats (
+    user_id BIGINT PRIMARY KEY,
+    spent_amount BIGINT NOT NULL DEFAULT 0,
+    refunded_amount BIGINT NOT NULL DEFAULT 0,
+    points_used BIGINT NOT NULL DEFAULT 0,
+    points_refunded BIGINT NOT NULL DEFAULT 0,
+    points_earned BIGINT NOT NULL DEFAULT 0,
+    orders_pending BIGINT NOT NULL DEFAULT 0,
+    orders_pending_approval BIGINT NOT NULL DEFAULT 0,
+    orders_approved BIGINT NOT NULL DEFAULT 0,
+    orders_completed BIGINT NOT NULL DEFAULT 0,
+    orders_cancelled BIGINT NOT NULL DEFAULT 0,
+    orders_failed BIGINT NOT NULL DEFAULT 0,
+    orders_network_cancelled BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+);
+
+-- 주석 추가
+COMMENT ON TABLE user_payment_stats IS '사용자별 결제/적립금 누적 집계 (증분 갱신, 재계산 가능)';
+COMMENT ON COLUMN user_payment_stats.spent_amount IS '카드 승인 금액 합계';
+COMMENT ON COLUMN user_payment_stats.refunded_amount IS '카드 환불 + 망취소 금액 합계';
+COMMENT ON COLUMN user_payment_stats.points_used IS '결제에 사용한 적립금 합계';
+COMMENT ON COLUMN user_payment_stats.points_refunded IS '적립금 취소 + 결제 실패/망취소로 복구된 적립금 합계';
+COMMENT ON COLUMN user_payment_stats.points_earned IS '결제 완료로 적립된 적립금 합계';
+COMMENT ON COLUMN user_payment_stats.orders_completed IS '주문 상태별 주문 수 (orders_<상태>)';
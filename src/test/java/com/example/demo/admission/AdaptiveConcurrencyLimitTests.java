@@ -0,0 +1,74 @@
+package com.example.demo.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long MILLIS = 1_000_000L;
+
+	@Test
+	void newRequestsCannotUseReservedSlots() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 10, 1, 10, 0.2);
+		List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			permits.add(limit.tryAcquire(false));
+		}
+		assertNull(limit.tryAcquire(false));
+		assertNotNull(limit.tryAcquire(true));
+		assertNotNull(limit.tryAcquire(true));
+		assertNull(limit.tryAcquire(true));
+
+		permits.get(0).release(false);
+		assertEquals(9, limit.getInFlight());
+	}
+
+	@Test
+	void limitGrowsUnderSaturationWithSteadyLatency() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 10, 1, 100, 0);
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(20 * MILLIS, limit.getLimit(), false);
+		}
+		assertTrue(limit.getLimit() > 20, "limit=" + limit.getLimit());
+	}
+
+	@Test
+	void limitDoesNotGrowWhenMostlyIdle() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 10, 1, 100, 0);
+		for (int i = 0; i < 50; i++) {
+			limit.onSample(20 * MILLIS, 1, false);
+		}
+		assertEquals(10, limit.getLimit());
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 50, 4, 100, 0);
+		for (int i = 0; i < 200; i++) {
+			limit.onSample(20 * MILLIS, 50, false);
+		}
+		int before = limit.getLimit();
+		for (int i = 0; i < 30; i++) {
+			limit.onSample(200 * MILLIS, limit.getLimit(), false);
+		}
+		assertTrue(limit.getLimit() < before / 2, "before=" + before + ", after=" + limit.getLimit());
+	}
+
+	@Test
+	void failuresBackOffMultiplicativelyDownToMinimum() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 100, 4, 100, 0);
+		limit.onSample(20 * MILLIS, 100, true);
+		assertEquals(90, limit.getLimit());
+		for (int i = 0; i < 100; i++) {
+			limit.onSample(20 * MILLIS, 100, true);
+		}
+		assertEquals(4, limit.getLimit());
+	}
+}
@@ -0,0 +1,147 @@
+package com.example.demo.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+	"admission.payment.initial-limit=5",
+	"admission.payment.min-limit=5",
+	"admission.payment.max-limit=5"
+})
+@AutoConfigureMockMvc
+class AdmissionControlFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdmissionControlFilter admissionControlFilter;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void saturatedPaymentLimitRejectsNewCheckoutsBeforeInProgressOnes() throws Exception {
+		AdaptiveConcurrencyLimit paymentLimit = admissionControlFilter.limitFor(new MockHttpServletRequest("POST", "/api/payment/create-order"));
+		List<AdaptiveConcurrencyLimit.Permit> held = new ArrayList<>();
+		try {
+			// 일반 요청 한도(5 * 0.8 = 4)까지 점유
+			for (int i = 0; i < 4; i++) {
+				held.add(paymentLimit.tryAcquire(false));
+			}
+
+			mockMvc.perform(post("/api/payment/create-order").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "1"));
+
+			// 진행 중인 결제의 망취소는 예약분으로 처리 (존재하지 않는 주문이라 success=false)
+			mockMvc.perform(post("/api/payment/network-cancel/NO_SUCH_ORDER").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isOk());
+
+			// 조회는 별도 한도
+			mockMvc.perform(get("/api/payment/status/order/NO_SUCH_ORDER"))
+				.andExpect(status().isBadRequest());
+
+			held.add(paymentLimit.tryAcquire(true));
+			mockMvc.perform(post("/api/payment/refund/order/NO_SUCH_ORDER").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isServiceUnavailable());
+		} finally {
+			held.forEach(permit -> permit.release(false));
+		}
+
+		assertEquals(0, paymentLimit.getInFlight());
+		assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limiter", "payment").tag("priority", "false").counter().count());
+		assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limiter", "payment").tag("priority", "true").counter().count());
+		assertEquals(5.0, meterRegistry.get("admission.limit").tag("limiter", "payment").gauge().value());
+	}
+
+	@Test
+	void serviceMarkedFailuresShrinkTheLimitEvenWhenAnsweredWith400() throws Exception {
+		AdmissionControlFilter filter = newFilter();
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/payment/refund/order/ORD1");
+		AdaptiveConcurrencyLimit paymentLimit = filter.limitFor(request);
+		int before = paymentLimit.getLimit();
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		try {
+			// 컨트롤러가 PG 오류를 400 으로 바꿔 응답
+			filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+				AdmissionOutcome.markDropped("pg-error");
+				((MockHttpServletResponse) res).setStatus(400);
+			});
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+
+		assertTrue(paymentLimit.getLimit() < before, "limit=" + paymentLimit.getLimit());
+		assertEquals(0, paymentLimit.getInFlight());
+	}
+
+	@Test
+	void asyncStreamRequestsAreNotSampled() throws Exception {
+		AdmissionControlFilter filter = newFilter();
+		AdaptiveConcurrencyLimit readLimit = filter.limitFor(new MockHttpServletRequest("GET", "/api/payment/status/order/ORD1/stream"));
+		int before = readLimit.getLimit();
+
+		// 한도의 절반 이상이 처리 중일 때 즉시 반환되는 스트림 요청이 지연 표본이 되면 한도가 늘어남
+		List<AdaptiveConcurrencyLimit.Permit> held = new ArrayList<>();
+		for (int i = 0; i < before - 1; i++) {
+			held.add(readLimit.tryAcquire(true));
+		}
+		try {
+			for (int i = 0; i < 20; i++) {
+				MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/payment/status/order/ORD1/stream");
+				request.setAsyncSupported(true);
+				filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+			}
+		} finally {
+			held.forEach(AdaptiveConcurrencyLimit.Permit::releaseWithoutSample);
+		}
+
+		assertEquals(before, readLimit.getLimit());
+		assertEquals(0, readLimit.getInFlight());
+	}
+
+	@Test
+	void requestsOutsidePaymentApiAreNotLimited() {
+		assertTrue(admissionControlFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/users/1")));
+		assertFalse(admissionControlFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/payment/orders/1")));
+		assertFalse(AdmissionControlFilter.isPriority(new MockHttpServletRequest("POST", "/api/payment/log-request")));
+		assertTrue(AdmissionControlFilter.isPriority(new MockHttpServletRequest("POST", "/api/payment/nicepay/approve")));
+	}
+
+	private static AdmissionControlFilter newFilter() {
+		AdmissionControlFilter filter = new AdmissionControlFilter();
+		ReflectionTestUtils.setField(filter, "paymentInitialLimit", 20);
+		ReflectionTestUtils.setField(filter, "paymentMinLimit", 4);
+		ReflectionTestUtils.setField(filter, "paymentMaxLimit", 200);
+		ReflectionTestUtils.setField(filter, "readInitialLimit", 10);
+		ReflectionTestUtils.setField(filter, "readMinLimit", 2);
+		ReflectionTestUtils.setField(filter, "readMaxLimit", 500);
+		ReflectionTestUtils.setField(filter, "reservedRatio", 0.2);
+		ReflectionTestUtils.setField(filter, "retryAfterSeconds", 1);
+		filter.init();
+		return filter;
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.IfInisisLog;
+import com.example.demo.entity.User;
+import com.example.demo.repository.IfInisisLogRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.PgSimulator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AuditDataSourceTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private IfInisisLogRepository ifInisisLogRepository;
+
+	@Autowired
+	@Qualifier("audit")
+	private DataSource auditDataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void logWriteCommitsIndependentlyOfPaymentTransaction() {
+		String orderNo = "AUDIT_" + UUID.randomUUID();
+		TransactionTemplate paymentTransaction = new TransactionTemplate(transactionManager);
+		paymentTransaction.executeWithoutResult(status -> {
+			ifInisisLogRepository.save(new IfInisisLog(orderNo, "REQUEST", "INICIS"));
+			status.setRollbackOnly();
+		});
+
+		assertEquals(1, ifInisisLogRepository.findByOrderNoOrderByCreatedAtDesc(orderNo).size());
+	}
+
+	@Test
+	void exhaustedAuditPoolDoesNotBlockApproval() throws Exception {
+		User user = new User("감사풀테스트", "audit-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		Long userId = userRepository.save(user).getId();
+		String orderNo = paymentService.createOrder(userId, 10000L, 1000, 9000L).orderNo();
+
+		HikariDataSource auditPool = auditDataSource.unwrap(HikariDataSource.class);
+		List<Connection> held = new ArrayList<>();
+		try {
+			for (int i = 0; i < auditPool.getMaximumPoolSize(); i++) {
+				held.add(auditDataSource.getConnection());
+			}
+			Map<String, Object> result = paymentService.processPaymentResponse(inicisAuthParams(orderNo));
+			assertEquals(true, result.get("success"));
+		} finally {
+			for (Connection connection : held) {
+				connection.close();
+			}
+		}
+		assertTrue(ifInisisLogRepository.findByOrderNoOrderByCreatedAtDesc(orderNo).isEmpty());
+	}
+
+	@Test
+	void poolMetricsArePublishedForBothPools() {
+		assertNotNull(meterRegistry.find("hikaricp.connections.max").tag("pool", "audit").gauge());
+		assertTrue(meterRegistry.find("hikaricp.connections.max").gauges().size() >= 2);
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
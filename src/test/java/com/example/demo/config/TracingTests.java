@@ -0,0 +1,167 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.IfInisisLog;
+import com.example.demo.entity.User;
+import com.example.demo.repository.IfInisisLogRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.PgSimulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureObservability(metrics = false)
+@AutoConfigureMockMvc
+class TracingTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+	private static final Path SPAN_FILE = Path.of("build", "tracing-tests", "spans-" + UUID.randomUUID() + ".jsonl");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private SdkTracerProvider sdkTracerProvider;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private IfInisisLogRepository ifInisisLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@DynamicPropertySource
+	static void tracingProperties(DynamicPropertyRegistry registry) {
+		registry.add("tracing.file-export.enabled", () -> "true");
+		registry.add("tracing.file-export.path", SPAN_FILE::toString);
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void approvalRequestIsTracedThroughServiceRepositoryJdbcAndPgCall() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 1000, 9000L).orderNo();
+
+		mockMvc.perform(post("/api/payment/response")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(inicisAuthParams(orderNo))))
+			.andExpect(status().isOk());
+
+		String traceId = traceIdOf(pgSimulator.lastTraceparent(PgSimulator.INICIS_AUTH_PATH));
+		List<Map<String, Object>> spans = spansOf(traceId);
+		assertTrue(hasSpan(spans, "http post /api/payment/response"), names(spans));
+		assertTrue(hasSpan(spans, "payment-service#process-payment-response"), names(spans));
+		assertTrue(hasSpan(spans, "order-repository.find-by-order-no"), names(spans));
+		assertTrue(hasSpan(spans, "jdbc select"), names(spans));
+		assertTrue(spans.stream().anyMatch(span -> "CLIENT".equals(span.get("kind"))), names(spans));
+
+		List<IfInisisLog> logs = ifInisisLogRepository.findByOrderNoOrderByCreatedAtDesc(orderNo);
+		assertFalse(logs.isEmpty());
+		logs.forEach(log -> assertEquals(traceId, log.getTraceId()));
+	}
+
+	@Test
+	void networkCancelPropagatesTraceparentOnDirectPgCall() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 1000, 9000L).orderNo();
+		paymentService.processPaymentResponse(inicisAuthParams(orderNo));
+
+		mockMvc.perform(post("/api/payment/network-cancel/" + orderNo)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"reason\":\"테스트\"}"))
+			.andExpect(status().isOk());
+
+		String traceId = traceIdOf(pgSimulator.lastTraceparent(PgSimulator.INICIS_NET_CANCEL_PATH));
+		List<Map<String, Object>> spans = spansOf(traceId);
+		assertTrue(hasSpan(spans, "pg post 127.0.0.1"), names(spans));
+		assertTrue(hasSpan(spans, "payment-service#perform-network-cancel"), names(spans));
+	}
+
+	private List<Map<String, Object>> spansOf(String traceId) throws IOException {
+		sdkTracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+		return Files.readAllLines(SPAN_FILE).stream()
+			.map(this::readSpan)
+			.filter(span -> traceId.equals(span.get("traceId")))
+			.toList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> readSpan(String line) {
+		try {
+			return objectMapper.readValue(line, Map.class);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static boolean hasSpan(List<Map<String, Object>> spans, String name) {
+		return spans.stream().anyMatch(span -> name.equals(span.get("name")));
+	}
+
+	private static String names(List<Map<String, Object>> spans) {
+		return spans.stream().map(span -> String.valueOf(span.get("name"))).distinct().toList().toString();
+	}
+
+	// traceparent: 00-{traceId}-{spanId}-{flags}
+	private static String traceIdOf(String traceparent) {
+		assertTrue(traceparent != null && traceparent.startsWith("00-"), "traceparent=" + traceparent);
+		return traceparent.split("-")[1];
+	}
+
+	private Long newUser() {
+		User user = new User("트레이싱테스트", "tracing-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
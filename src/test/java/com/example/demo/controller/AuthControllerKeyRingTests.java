@@ -0,0 +1,162 @@
+package com.example.demo.controller;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JWT 키 링: 키 교체 중인 두 인스턴스(같은 DB)를 한 클라이언트가 번갈아 호출해도 로그인 토큰이 양쪽에서 검증되는지 확인
+ *
+ * 이 인스턴스는 이전 키(rotation-old)로, 다른 인스턴스는 새 키(rotation-new)로 서명하고 둘 다 두 키로 검증합니다.
+ * 전용 설정 컨텍스트라 다른 테스트와 공유되지 않으므로 끝나면 닫아 DB 커넥션을 돌려줍니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+	"jwt.keys.rotation-old=" + AuthControllerKeyRingTests.OLD_SECRET,
+	"jwt.keys.rotation-new=" + AuthControllerKeyRingTests.NEW_SECRET,
+	"jwt.signing-key-id=rotation-old"
+})
+@DirtiesContext
+class AuthControllerKeyRingTests {
+
+	static final String OLD_SECRET = "rotation_old_jwt_secret_key_for_tests_only";
+	static final String NEW_SECRET = "rotation_new_jwt_secret_key_for_tests_only";
+
+	private static ConfigurableApplicationContext otherInstance;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeAll
+	static void startOtherInstance() {
+		otherInstance = new SpringApplicationBuilder(DemoApplication.class)
+			.run("--server.port=0",
+				"--jwt.keys.rotation-old=" + OLD_SECRET,
+				"--jwt.keys.rotation-new=" + NEW_SECRET,
+				"--jwt.signing-key-id=rotation-new",
+				"--spring.jpa.show-sql=false");
+	}
+
+	@AfterAll
+	static void stopOtherInstance() {
+		if (otherInstance != null) {
+			otherInstance.close();
+		}
+	}
+
+	@Test
+	void tokenIssuedByEitherInstanceIsAcceptedByBoth() throws Exception {
+		User user = newUser();
+		List<String> instances = List.of(baseUrl(port), baseUrl(otherPort()));
+
+		for (String issuer : instances) {
+			String token = login(issuer, user.getEmail());
+			for (String verifier : instances) {
+				HttpResponse<String> me = me(verifier, token);
+				assertEquals(200, me.statusCode(), issuer + " → " + verifier);
+				assertEquals(user.getId().longValue(), objectMapper.readTree(me.body()).get("userId").asLong());
+			}
+		}
+	}
+
+	@Test
+	void tokenCarriesSigningKeyId() throws Exception {
+		User user = newUser();
+
+		assertEquals("rotation-old", keyId(login(baseUrl(port), user.getEmail())));
+		assertEquals("rotation-new", keyId(login(baseUrl(otherPort()), user.getEmail())));
+	}
+
+	@Test
+	void tokenSignedWithRemovedKeyIsRejected() throws Exception {
+		User user = newUser();
+		String retired = Jwts.builder()
+			.setHeaderParam(JwsHeader.KEY_ID, "rotation-retired")
+			.setSubject(user.getId().toString())
+			.signWith(Keys.hmacShaKeyFor("rotation_retired_jwt_secret_for_tests_only".getBytes(StandardCharsets.UTF_8)),
+				SignatureAlgorithm.HS256)
+			.compact();
+		// 키 ID 는 맞지만 다른 비밀값으로 서명한 토큰
+		String forged = Jwts.builder()
+			.setHeaderParam(JwsHeader.KEY_ID, "rotation-old")
+			.setSubject(user.getId().toString())
+			.signWith(Keys.hmacShaKeyFor("rotation_forged_jwt_secret_for_tests_only".getBytes(StandardCharsets.UTF_8)),
+				SignatureAlgorithm.HS256)
+			.compact();
+
+		for (String token : List.of(retired, forged)) {
+			HttpResponse<String> me = me(baseUrl(port), token);
+			assertEquals(400, me.statusCode());
+			assertEquals("유효하지 않은 토큰입니다.", me.body());
+		}
+	}
+
+	private String login(String baseUrl, String email) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\"}"))
+			.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode(), response.body());
+		return objectMapper.readTree(response.body()).get("token").asText();
+	}
+
+	private HttpResponse<String> me(String baseUrl, String token) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/me"))
+			.header("Authorization", "Bearer " + token)
+			.GET()
+			.build();
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private String keyId(String token) throws Exception {
+		JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+		return header.get(JwsHeader.KEY_ID).asText();
+	}
+
+	private static int otherPort() {
+		return Integer.parseInt(otherInstance.getEnvironment().getProperty("local.server.port"));
+	}
+
+	private static String baseUrl(int port) {
+		return "http://localhost:" + port;
+	}
+
+	private User newUser() {
+		User user = new User("키링테스트", "keyring-" + UUID.randomUUID() + "@example.com");
+		return userRepository.save(user);
+	}
+}
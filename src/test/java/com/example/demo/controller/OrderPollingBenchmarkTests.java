@@ -0,0 +1,91 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 주문 조회 폴링 부하에서 조건부 GET(If-None-Match) 적용 전/후 응답 바이트와 CPU 시간 비교
+ *
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.com.example.demo=INFO"})
+@AutoConfigureMockMvc
+class OrderPollingBenchmarkTests {
+
+	private static final int WARMUP = 200;
+	private static final int POLLS = 2000;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void pollingWithIfNoneMatch() throws Exception {
+		User user = new User("폴링테스트", "polling-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		Long userId = userRepository.save(user).getId();
+		String orderNo = null;
+		for (int i = 0; i < 5; i++) {
+			orderNo = paymentService.createOrder(userId, 1000L, 1000, 0L).orderNo();
+		}
+
+		String[] urls = {
+			"/api/payment/order-detail/" + orderNo,
+			"/api/payment/status/order/" + orderNo,
+			"/api/payment/orders/" + userId
+		};
+		for (String url : urls) {
+			poll(url, false, WARMUP);
+			poll(url, true, WARMUP);
+			Result full = poll(url, false, POLLS);
+			Result conditional = poll(url, true, POLLS);
+			System.out.printf("[polling] %s%n  full       : %d bytes, %.1f us cpu/req%n  conditional: %d bytes, %.1f us cpu/req (bytes -%.1f%%, cpu -%.1f%%)%n",
+				url, full.bytes, full.cpuMicrosPerRequest(), conditional.bytes, conditional.cpuMicrosPerRequest(),
+				100.0 * (full.bytes - conditional.bytes) / full.bytes,
+				100.0 * (full.cpuNanos - conditional.cpuNanos) / full.cpuNanos);
+			assertTrue(conditional.bytes < full.bytes, url + " 304 응답 바이트가 줄지 않음");
+		}
+	}
+
+	private Result poll(String url, boolean conditional, int count) throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		String eTag = mockMvc.perform(get(url)).andReturn().getResponse().getHeader("ETag");
+		long bytes = 0;
+		long cpuStart = threads.getCurrentThreadCpuTime();
+		for (int i = 0; i < count; i++) {
+			MvcResult result = conditional
+				? mockMvc.perform(get(url).header("If-None-Match", eTag)).andReturn()
+				: mockMvc.perform(get(url)).andReturn();
+			bytes += result.getResponse().getContentAsByteArray().length;
+		}
+		return new Result(bytes, threads.getCurrentThreadCpuTime() - cpuStart, count);
+	}
+
+	private record Result(long bytes, long cpuNanos, int count) {
+
+		double cpuMicrosPerRequest() {
+			return cpuNanos / 1000.0 / count;
+		}
+	}
+}
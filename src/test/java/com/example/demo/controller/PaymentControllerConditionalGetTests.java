@@ -0,0 +1,104 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentControllerConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void orderDetailReturns304UntilPaymentsChange() throws Exception {
+		Long userId = newUser();
+		String orderNo = paymentService.createOrder(userId, 1000L, 1000, 0L).orderNo();
+		String url = "/api/payment/order-detail/" + orderNo;
+
+		MvcResult first = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+		String eTag = first.getResponse().getHeader("ETag");
+		assertNotNull(eTag);
+		assertTrue(first.getResponse().getHeader("Cache-Control").contains("max-age=60"));
+
+		MvcResult notModified = mockMvc.perform(get(url).header("If-None-Match", eTag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string("ETag", eTag))
+			.andReturn();
+		assertEquals(0, notModified.getResponse().getContentLength());
+
+		// 적립금 취소 → 결제 내역 추가
+		paymentService.refundPointsByOrderNo(orderNo, "테스트");
+
+		MvcResult changed = mockMvc.perform(get(url).header("If-None-Match", eTag))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertNotEquals(eTag, changed.getResponse().getHeader("ETag"));
+	}
+
+	@Test
+	void failedOrderIsCachedLongTerm() throws Exception {
+		Long userId = newUser();
+		String orderNo = paymentService.createOrder(userId, 10000L, 0, 10000L).orderNo();
+		// 인증 정보 없는 결제 응답 → 주문 FAILED
+		paymentService.processPaymentResponse(new HashMap<>(Map.of("orderNumber", orderNo, "resultCode", "0000")));
+
+		mockMvc.perform(get("/api/payment/order-detail/" + orderNo))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Cache-Control", "max-age=86400, private"));
+	}
+
+	@Test
+	void statusAndOrderListRevalidateWhileInProgress() throws Exception {
+		Long userId = newUser();
+		String orderNo = paymentService.createOrder(userId, 10000L, 0, 10000L).orderNo();
+
+		String statusETag = mockMvc.perform(get("/api/payment/status/order/" + orderNo))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Cache-Control", "no-cache, private"))
+			.andReturn().getResponse().getHeader("ETag");
+		mockMvc.perform(get("/api/payment/status/order/" + orderNo).header("If-None-Match", statusETag))
+			.andExpect(status().isNotModified());
+
+		String listETag = mockMvc.perform(get("/api/payment/orders/" + userId))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader("ETag");
+		mockMvc.perform(get("/api/payment/orders/" + userId).header("If-None-Match", listETag))
+			.andExpect(status().isNotModified());
+
+		paymentService.createOrder(userId, 5000L, 0, 5000L);
+		mockMvc.perform(get("/api/payment/orders/" + userId).header("If-None-Match", listETag))
+			.andExpect(status().isOk());
+	}
+
+	private Long newUser() {
+		User user = new User("캐시테스트", "etag-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+}
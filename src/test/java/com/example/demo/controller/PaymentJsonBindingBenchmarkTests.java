@@ -0,0 +1,146 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.CreateOrderRequest;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PaymentController 요청 디코딩 + 응답 인코딩 처리량 비교
+ *
+ * 기존: Map 바인딩 + 들여쓰기(INDENT_OUTPUT) ObjectMapper
+ * 변경: record 바인딩 + 들여쓰기 없음 + Blackbird 모듈 (JacksonConfig 와 동일 구성)
+ *
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+class PaymentJsonBindingBenchmarkTests {
+
+	private static final int WARMUP = 50_000;
+	private static final int ITERATIONS = 200_000;
+
+	private static final byte[] CREATE_ORDER_BODY =
+		"{\"userId\":1,\"totalAmount\":10000,\"pointsUsed\":1000,\"cardAmount\":9000,\"isNetworkCancelTest\":false}"
+			.getBytes(StandardCharsets.UTF_8);
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	private static final byte[] PAYMENT_RESPONSE_BODY = ("{\"resultCode\":\"0000\",\"resultMsg\":\"성공\",\"mid\":\"INIpayTest\","
+		+ "\"orderNumber\":\"ORDER_1700000000000_1234\",\"authToken\":\"SIM_AUTH_TOKEN\","
+		+ "\"authUrl\":\"https://stdpay.inicis.com/api/payAuth\",\"netCancelUrl\":\"https://stdpay.inicis.com/api/netCancel\","
+		+ "\"charset\":\"UTF-8\",\"merchantData\":\"\"}").getBytes(StandardCharsets.UTF_8);
+
+	private final ObjectMapper legacyMapper = new ObjectMapper()
+		.registerModule(new JavaTimeModule())
+		.configure(SerializationFeature.INDENT_OUTPUT, true);
+
+	private final ObjectMapper tunedMapper = new ObjectMapper()
+		.registerModule(new JavaTimeModule())
+		.registerModule(new BlackbirdModule())
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	@Test
+	void createOrder() throws Exception {
+		Result legacy = measure(() -> {
+			Map<String, Object> request = legacyMapper.readValue(CREATE_ORDER_BODY, MAP_TYPE);
+			Map<String, Object> result = new HashMap<>();
+			result.put("orderId", Long.valueOf(request.get("userId").toString()));
+			result.put("orderNo", "ORDER_1700000000000_1234");
+			result.put("totalAmount", Long.valueOf(request.get("totalAmount").toString()));
+			result.put("pointsUsed", Integer.valueOf(request.get("pointsUsed").toString()));
+			result.put("cardAmount", Long.valueOf(request.get("cardAmount").toString()));
+			result.put("paymentCompleted", false);
+			result.put("paymentMethod", "CARD_REQUIRED");
+			result.put("pgProvider", "INICIS");
+			return legacyMapper.writeValueAsBytes(result);
+		});
+		Result tuned = measure(() -> {
+			CreateOrderRequest request = tunedMapper.readValue(CREATE_ORDER_BODY, CreateOrderRequest.class);
+			return tunedMapper.writeValueAsBytes(CreateOrderResponse.cardRequired(request.userId(), "ORDER_1700000000000_1234",
+				request.totalAmount(), request.pointsUsed(), request.cardAmount(), "INICIS"));
+		});
+		report("create-order", legacy, tuned);
+	}
+
+	@Test
+	void paymentResponse() throws Exception {
+		// PG 콜백 본문은 Map 그대로 받고, 응답 결과 Map 직렬화만 달라짐
+		Result legacy = measure(() -> legacyMapper.writeValueAsBytes(paymentResult(legacyMapper.readValue(PAYMENT_RESPONSE_BODY, MAP_TYPE))));
+		Result tuned = measure(() -> tunedMapper.writeValueAsBytes(paymentResult(tunedMapper.readValue(PAYMENT_RESPONSE_BODY, MAP_TYPE))));
+		report("response", legacy, tuned);
+	}
+
+	@Test
+	void orderDetail() throws Exception {
+		OrderDetailResponse detail = orderDetail(3);
+		Map<String, Object> legacyDetail = legacyMapper.convertValue(detail, MAP_TYPE);
+		Result legacy = measure(() -> legacyMapper.writeValueAsBytes(legacyDetail));
+		Result tuned = measure(() -> tunedMapper.writeValueAsBytes(detail));
+		report("order-detail", legacy, tuned);
+		assertEquals(detail, tunedMapper.readValue(tunedMapper.writeValueAsBytes(detail), OrderDetailResponse.class));
+	}
+
+	private static Map<String, Object> paymentResult(Map<?, ?> params) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("success", true);
+		result.put("orderNo", params.get("orderNumber"));
+		result.put("tid", "SIM_TID_1234");
+		result.put("message", "결제가 완료되었습니다.");
+		result.put("redirectUrl", "/order/success?orderNo=" + params.get("orderNumber"));
+		return result;
+	}
+
+	private static OrderDetailResponse orderDetail(int paymentCount) {
+		LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+		List<OrderDetailResponse.PaymentItem> payments = new ArrayList<>();
+		for (int i = 0; i < paymentCount; i++) {
+			payments.add(new OrderDetailResponse.PaymentItem((long) i, "SIM_TID_" + i, 3000L, "APPROVED", "CARD",
+				"카드 결제", "0000", "성공", now, "신한카드", true));
+		}
+		return new OrderDetailResponse(true, null, 1L, "ORDER_1700000000000_1234", 10000L, 9000L, 1000,
+			"COMPLETED", "결제 완료", now, now, payments);
+	}
+
+	private static Result measure(Callable<byte[]> operation) throws Exception {
+		long bytes = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			operation.call();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			bytes += operation.call().length;
+		}
+		return new Result(System.nanoTime() - start, bytes / ITERATIONS);
+	}
+
+	private static void report(String endpoint, Result legacy, Result tuned) {
+		System.out.printf("[json] %s%n  legacy: %,.0f ops/s, %d bytes%n  tuned : %,.0f ops/s, %d bytes (%.2fx)%n",
+			endpoint, legacy.opsPerSecond(), legacy.bytesPerOp, tuned.opsPerSecond(), tuned.bytesPerOp,
+			tuned.opsPerSecond() / legacy.opsPerSecond());
+	}
+
+	private record Result(long nanos, long bytesPerOp) {
+
+		double opsPerSecond() {
+			return ITERATIONS * 1_000_000_000.0 / nanos;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.PgSimulator;
+import com.example.demo.support.PgTrafficRecording;
+import com.example.demo.support.PgTrafficReplayer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 녹화된 PG 트래픽 재생 (처리량 회귀 측정)
+ *
+ * if_inisis_log 의 시간 구간을 주문별 콜백/승인/환불/망취소 흐름으로 재구성해 실제 포트로 보내고,
+ * PG 호출은 PG 시뮬레이터가 녹화된 응답으로 돌려줍니다. 원래 시각 간격을 replay.speed 배속으로 재생합니다.
+ *
+ *   ./gradlew benchmark --tests '*PgTrafficReplayBenchmarkTests' -Dreplay.source-url=jdbc:postgresql://... \
+ *       -Dreplay.source-username=... -Dreplay.source-password=... \
+ *       -Dreplay.from=2026-10-01T12:00:00 -Dreplay.to=2026-10-01T12:10:00 -Dreplay.speed=4
+ *
+ * replay.source-url 이 없으면 이 인스턴스에서 승인/환불/망취소 트래픽을 직접 만들어 녹화한 뒤 재생하고,
+ * 모든 단계가 녹화 당시와 같은 결과인지 확인합니다.
+ * 원본 사용자는 적립금이 충분한 테스트 사용자로 바꿔 재생합니다. (원본 DB 는 읽기만 함)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+	properties = {"spring.jpa.show-sql=false", "logging.level.com.example.demo=INFO"})
+class PgTrafficReplayBenchmarkTests {
+
+	private static final int ORDERS = 60;
+	private static final long INTER_ARRIVAL_MILLIS = 25;
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void pgProperties(DynamicPropertyRegistry registry) {
+		registry.add("inicis.refund.url", () -> pgSimulator.url(PgTrafficReplayer.INICIS_REFUND_PATH));
+		registry.add("nicepay.cancel.url", () -> pgSimulator.url(PgTrafficReplayer.NICEPAY_CANCEL_PATH));
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void replayRecordedTraffic() throws Exception {
+		double speed = Double.parseDouble(System.getProperty("replay.speed", "4"));
+		String sourceUrl = System.getProperty("replay.source-url");
+		PgTrafficRecording recording = sourceUrl != null ? loadSource(sourceUrl) : recordOwnTraffic();
+		System.out.printf("[pg-replay] recording %s ~ %s: %d orders, %d steps, %d skipped%n", recording.getFrom(),
+			recording.getTo(), recording.getOrders().size(), recording.stepCount(), recording.getSkippedOrders());
+
+		Map<Long, Long> users = new HashMap<>();
+		for (PgTrafficRecording.RecordedOrder order : recording.getOrders()) {
+			users.computeIfAbsent(order.userId(), sourceUserId -> newUser());
+		}
+		PgTrafficReplayer replayer = new PgTrafficReplayer("http://localhost:" + port, pgSimulator, users::get);
+		PgTrafficReplayer.Result result = replayer.replay(recording, speed);
+		System.out.println(result.report());
+
+		assertEquals(recording.getOrders().size(), result.orders());
+		if (sourceUrl == null) {
+			assertEquals(ORDERS, result.orders());
+			assertEquals(0, result.failedSteps(), "요청 실패 단계");
+			assertEquals(0, result.mismatchedSteps(), "녹화 당시와 결과가 다른 단계");
+			assertTrue(result.latency().containsKey("REFUND") && result.latency().containsKey("NETWORK_CANCEL"),
+				"환불/망취소 단계 누락: " + result.latency().keySet());
+		}
+	}
+
+	private static PgTrafficRecording loadSource(String sourceUrl) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(sourceUrl,
+			System.getProperty("replay.source-username", "postgres"), System.getProperty("replay.source-password", ""));
+		LocalDateTime to = LocalDateTime.parse(System.getProperty("replay.to", LocalDateTime.now().toString()));
+		LocalDateTime from = LocalDateTime.parse(System.getProperty("replay.from", to.minusMinutes(10).toString()));
+		return PgTrafficRecording.load(new JdbcTemplate(dataSource), from, to);
+	}
+
+	// 이니시스 승인 후 일부는 환불, 일부는 망취소
+	private PgTrafficRecording recordOwnTraffic() throws InterruptedException {
+		pgSimulator.fallback((path, body) -> PgTrafficReplayer.INICIS_REFUND_PATH.equals(path)
+			? new PgSimulator.Response(200, "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\"}") : null);
+		LocalDateTime from = LocalDateTime.now();
+		try {
+			Long userId = newUser();
+			for (int i = 0; i < ORDERS; i++) {
+				String orderNo = paymentService.createOrder(userId, 10000L, 1000, 9000L).orderNo();
+				assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+				if (i % 3 == 1) {
+					assertTrue(paymentService.refundPaymentByOrderNo(orderNo, "재생 테스트 환불", "127.0.0.1").success());
+				} else if (i % 3 == 2) {
+					assertTrue(paymentService.performNetworkCancel(orderNo, "재생 테스트 망취소", "127.0.0.1").success());
+				}
+				Thread.sleep(INTER_ARRIVAL_MILLIS);
+			}
+		} finally {
+			pgSimulator.fallback(null);
+		}
+		return PgTrafficRecording.load(jdbcTemplate, from, LocalDateTime.now().plusSeconds(1));
+	}
+
+	private Long newUser() {
+		User user = new User("재생테스트", "replay-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
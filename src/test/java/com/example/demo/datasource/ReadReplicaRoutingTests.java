@@ -0,0 +1,133 @@
+package com.example.demo.datasource;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * primary/복제본 라우팅 (로컬 PostgreSQL 2대 필요)
+ *
+ * primary 는 localhost:5432, 스트리밍 복제본은 REPLICA_JDBC_URL(기본 localhost:5433)을 사용합니다.
+ * 복제본에 연결할 수 없으면 건너뜁니다.
+ */
+@SpringBootTest
+@EnabledIf("replicaAvailable")
+class ReadReplicaRoutingTests {
+
+	private static final String REPLICA_URL = System.getenv().getOrDefault("REPLICA_JDBC_URL", "jdbc:postgresql://localhost:5433/demo");
+	private static final String IN_RECOVERY = "SELECT pg_is_in_recovery()";
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	private ReadYourWritesTracker readYourWritesTracker;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@DynamicPropertySource
+	static void replicaProperties(DynamicPropertyRegistry registry) {
+		registry.add("datasource.replica.enabled", () -> "true");
+		registry.add("datasource.replica.urls", () -> REPLICA_URL);
+		registry.add("datasource.replica.max-lag-seconds", () -> "1");
+		registry.add("datasource.replica.lag-check-interval-ms", () -> "60000");
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		replicaLagMonitor.refresh();
+		assertTrue(inReadOnlyTransaction(() -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+		assertFalse(inTransaction(() -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+	}
+
+	@Test
+	void ownWritesAreReadFromPrimary() {
+		replicaLagMonitor.refresh();
+		Long writer = newUser();
+		Long other = newUser();
+		paymentService.createOrder(writer, 1000L, 1000, 0L);
+
+		assertFalse(inReadOnlyTransaction(() -> {
+			readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(writer));
+			return jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class);
+		}));
+		assertTrue(inReadOnlyTransaction(() -> {
+			readYourWritesTracker.routeToPrimaryIfRecentlyWritten(ReadYourWritesTracker.userKey(other));
+			return jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class);
+		}));
+		assertEquals(1, paymentService.getUserOrdersWithPayments(writer).get("totalCount"));
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() throws Exception {
+		try (Connection replica = DriverManager.getConnection(REPLICA_URL, "postgres", "")) {
+			replica.createStatement().execute("SELECT pg_wal_replay_pause()");
+			try {
+				paymentService.createOrder(newUser(), 1000L, 1000, 0L);
+				Thread.sleep(1500);
+				replicaLagMonitor.refresh();
+				assertTrue(replicaLagMonitor.healthyReplicas().isEmpty());
+				assertFalse(inReadOnlyTransaction(() -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+			} finally {
+				replica.createStatement().execute("SELECT pg_wal_replay_resume()");
+			}
+		}
+		Thread.sleep(200);
+		replicaLagMonitor.refresh();
+		assertTrue(inReadOnlyTransaction(() -> jdbcTemplate.queryForObject(IN_RECOVERY, Boolean.class)));
+	}
+
+	static boolean replicaAvailable() {
+		try (Connection connection = DriverManager.getConnection(REPLICA_URL, "postgres", "");
+			 ResultSet resultSet = connection.createStatement().executeQuery(IN_RECOVERY)) {
+			return resultSet.next() && resultSet.getBoolean(1);
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private <T> T inReadOnlyTransaction(Supplier<T> work) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		return template.execute(status -> work.get());
+	}
+
+	private <T> T inTransaction(Supplier<T> work) {
+		return new TransactionTemplate(transactionManager).execute(status -> work.get());
+	}
+
+	private Long newUser() {
+		User user = new User("복제본테스트", "replica-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+}
@@ -0,0 +1,243 @@
+package com.example.demo.datasource;
+
+import com.example.demo.controller.UserController;
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.entity.User;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.ActuatorAdmin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 사용자 기준 샤드 라우팅/이동 (로컬 PostgreSQL 3대 필요)
+ *
+ * 0번 샤드는 localhost:5432, 1번 이후는 SHARD_JDBC_URLS(기본 localhost:5434, localhost:5435)를 사용합니다.
+ * 샤드에 연결할 수 없으면 건너뜁니다.
+ */
+@SpringBootTest(properties = {
+	"management.endpoints.web.exposure.include=health,shards",
+	ActuatorAdmin.PASSWORD_PROPERTY
+})
+@AutoConfigureMockMvc
+@EnabledIf("shardsAvailable")
+class ShardRoutingTests {
+
+	private static final String SHARD_URLS = System.getenv().getOrDefault("SHARD_JDBC_URLS",
+			"jdbc:postgresql://localhost:5434/demo,jdbc:postgresql://localhost:5435/demo");
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private ShardDataSources shardDataSources;
+
+	@Autowired
+	private ShardMigrator shardMigrator;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserController userController;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void shardProperties(DynamicPropertyRegistry registry) {
+		registry.add("shard.enabled", () -> "true");
+		registry.add("shard.urls", () -> SHARD_URLS);
+	}
+
+	@Test
+	void ordersAreStoredOnUserShardAndRoutedByOrderNo() {
+		Set<Integer> usedShards = new HashSet<>();
+		for (int i = 0; i < 12; i++) {
+			Long userId = newUser();
+			int shard = shardRouter.shardOfUser(userId);
+			usedShards.add(shard);
+			String orderNo = paymentService.createOrder(userId, 1000L, 1000, 0L).orderNo();
+
+			assertEquals(ShardRouter.bucketOfUser(userId), ShardRouter.bucketOfOrderNo(orderNo));
+			assertEquals(shard, shardRouter.shardOfOrder(orderNo));
+			for (int other = 0; other < shardDataSources.size(); other++) {
+				assertEquals(other == shard ? 1 : 0, countOrders(other, orderNo));
+			}
+			assertTrue(paymentService.getOrderDetailWithPayments(orderNo).success());
+			assertEquals(1, paymentService.getUserOrdersWithPayments(userId).get("totalCount"));
+		}
+		assertTrue(usedShards.size() > 1, "사용자가 한 샤드에만 배치됨: " + usedShards);
+	}
+
+	@Test
+	void legacyOrderNoIsFoundByLookup() {
+		Long userId = newUser();
+		int shard = shardRouter.shardOfUser(userId);
+		String orderNo = paymentService.createOrder(userId, 1000L, 1000, 0L).orderNo();
+		String legacyOrderNo = "ORDER_LEGACY_" + UUID.randomUUID();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+		jdbcTemplate.update("UPDATE orders SET order_no = ? WHERE order_no = ?", legacyOrderNo, orderNo);
+		jdbcTemplate.update("UPDATE payments SET order_no = ? WHERE order_no = ?", legacyOrderNo, orderNo);
+
+		assertEquals(-1, ShardRouter.bucketOfOrderNo(legacyOrderNo));
+		assertEquals(shard, shardRouter.shardOfOrder(legacyOrderNo));
+		assertTrue(paymentService.getOrderDetailWithPayments(legacyOrderNo).success());
+	}
+
+	@Test
+	void movedBucketIsServedFromTargetShard() {
+		Long userId = newUser();
+		int bucket = ShardRouter.bucketOfUser(userId);
+		int source = shardRouter.shardOfUser(userId);
+		int target = (source + 1) % shardDataSources.size();
+		CreateOrderResponse order = paymentService.createOrder(userId, 3000L, 1000, 2000L);
+
+		try {
+			ShardMigrator.Result result = shardMigrator.moveBuckets(bucket, bucket, target);
+
+			assertTrue(result.users() >= 1);
+			assertEquals(target, shardRouter.shardOfOrder(order.orderNo()));
+			assertEquals(0, countOrders(source, order.orderNo()));
+			assertEquals(1, countOrders(target, order.orderNo()));
+			assertTrue(paymentService.getOrderDetailWithPayments(order.orderNo()).success());
+			assertEquals(1, paymentService.getUserOrdersWithPayments(userId).get("totalCount"));
+			// 이동한 샤드에서 새로 채번한 id 가 옮겨 온 행과 겹치지 않음
+			assertNotEquals(order.orderId(), paymentService.createOrder(userId, 1000L, 1000, 0L).orderId());
+		} finally {
+			shardMigrator.moveBuckets(bucket, bucket, source);
+		}
+		assertEquals(1, countOrders(source, order.orderNo()));
+	}
+
+	@Test
+	void bucketIsMovedOverHttpByActuatorAdminOnly() throws Exception {
+		Long userId = newUser();
+		int bucket = ShardRouter.bucketOfUser(userId);
+		int source = shardRouter.shardOfUser(userId);
+		int target = (source + 1) % shardDataSources.size();
+		CreateOrderResponse order = paymentService.createOrder(userId, 3000L, 1000, 2000L);
+
+		mockMvc.perform(post("/actuator/shards").contentType(MediaType.APPLICATION_JSON).content(moveBody(bucket, target)))
+			.andExpect(status().isUnauthorized());
+		assertEquals(source, shardRouter.shardOfUser(userId));
+
+		try {
+			mockMvc.perform(post("/actuator/shards").header("Authorization", ActuatorAdmin.authorization())
+					.contentType(MediaType.APPLICATION_JSON).content(moveBody(bucket, target)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.bucketRanges").isNotEmpty());
+
+			assertEquals(target, shardRouter.shardOfOrder(order.orderNo()));
+			assertEquals(0, countOrders(source, order.orderNo()));
+			assertEquals(1, countOrders(target, order.orderNo()));
+			mockMvc.perform(get("/actuator/shards").header("Authorization", ActuatorAdmin.authorization()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.movingBuckets").doesNotExist());
+		} finally {
+			mockMvc.perform(post("/actuator/shards").header("Authorization", ActuatorAdmin.authorization())
+					.contentType(MediaType.APPLICATION_JSON).content(moveBody(bucket, source)))
+				.andExpect(status().isOk());
+		}
+		assertEquals(1, countOrders(source, order.orderNo()));
+	}
+
+	@Test
+	void movingBucketRejectsRequests() {
+		Long userId = newUser();
+		int bucket = ShardRouter.bucketOfUser(userId);
+		shardRouter.beginMove(bucket, bucket);
+		try {
+			assertThrows(IllegalStateException.class, () -> paymentService.createOrder(userId, 1000L, 1000, 0L));
+		} finally {
+			shardRouter.endMove();
+		}
+		paymentService.createOrder(userId, 1000L, 1000, 0L);
+	}
+
+	@Test
+	void beginMoveWaitsForInFlightRequests() throws Exception {
+		Long userId = newUser();
+		int bucket = ShardRouter.bucketOfUser(userId);
+		CompletableFuture<Void> begin;
+		try (ShardContext.Scope scope = shardRouter.useUserShard(userId)) {
+			begin = CompletableFuture.runAsync(() -> shardRouter.beginMove(bucket, bucket));
+			Thread.sleep(300);
+			assertFalse(begin.isDone(), "처리 중인 요청이 있는데 이동 시작");
+		}
+		try {
+			begin.get(5, TimeUnit.SECONDS);
+			assertThrows(IllegalStateException.class, () -> shardRouter.useUserShard(userId));
+		} finally {
+			shardRouter.endMove();
+		}
+	}
+
+	@Test
+	void moveIsRefusedWhileAnotherInstanceIsRunning() {
+		Long userId = newUser();
+		int bucket = ShardRouter.bucketOfUser(userId);
+		JdbcTemplate layout = new JdbcTemplate(shardDataSources.get(0));
+		String otherInstance = "test-" + UUID.randomUUID();
+		layout.update("INSERT INTO shard_instances (instance_id, heartbeat_at) VALUES (?, now())", otherInstance);
+		try {
+			assertThrows(IllegalStateException.class, () -> shardMigrator.moveBuckets(bucket, bucket, 0));
+			assertNull(shardRouter.describeMovingBuckets());
+		} finally {
+			layout.update("DELETE FROM shard_instances WHERE instance_id = ?", otherInstance);
+		}
+	}
+
+	static boolean shardsAvailable() {
+		for (String url : SHARD_URLS.split(",")) {
+			try (Connection connection = DriverManager.getConnection(url.trim(), "postgres", "password1!")) {
+				connection.isValid(1);
+			} catch (Exception e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String moveBody(int bucket, int shard) {
+		return "{\"fromBucket\":" + bucket + ",\"toBucket\":" + bucket + ",\"shard\":" + shard + "}";
+	}
+
+	private int countOrders(int shard, String orderNo) {
+		Integer count = new JdbcTemplate(shardDataSources.get(shard))
+				.queryForObject("SELECT COUNT(*) FROM orders WHERE order_no = ?", Integer.class, orderNo);
+		return count != null ? count : 0;
+	}
+
+	private Long newUser() {
+		User user = new User("샤드테스트", "shard-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userController.createUser(user).getBody().getId();
+	}
+}
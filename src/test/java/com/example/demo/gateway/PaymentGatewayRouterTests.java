@@ -0,0 +1,112 @@
+package com.example.demo.gateway;
+
+import com.example.demo.entity.Payment;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentGatewayRouterTests {
+
+	// PG 지연시간 시뮬레이터: 정상 100~200ms, 지연 발생 시 2000~3000ms
+	private static long simulateLatency(Random random, boolean slow) {
+		return slow ? 2000 + random.nextInt(1000) : 100 + random.nextInt(100);
+	}
+
+	@Test
+	void p99ImprovesWhenOneProviderSlowsDown() {
+		long staticP99 = runSimulation(false);
+		long routedP99 = runSimulation(true);
+
+		assertTrue(routedP99 < staticP99, "routed p99 " + routedP99 + "ms should beat static p99 " + staticP99 + "ms");
+		assertTrue(routedP99 < 500, "routed p99 " + routedP99 + "ms");
+	}
+
+	@Test
+	void failsOverAwayFromErroringProvider() {
+		PaymentGatewayRouter router = newRouter(true);
+		Random random = new Random(7);
+		for (int i = 0; i < 200; i++) {
+			router.record(NicePayGateway.PROVIDER, 150, false);
+			router.record(InicisGateway.PROVIDER, 150, true);
+		}
+
+		int nicePaySelected = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (NicePayGateway.PROVIDER.equals(router.selectProvider(random))) {
+				nicePaySelected++;
+			}
+		}
+		assertTrue(nicePaySelected < 100, "erroring provider still selected " + nicePaySelected + " times");
+	}
+
+	private long runSimulation(boolean routingEnabled) {
+		PaymentGatewayRouter router = newRouter(routingEnabled);
+		Random random = new Random(42);
+
+		// 1단계: 두 PG사 모두 정상
+		for (int i = 0; i < 2_000; i++) {
+			String provider = router.selectProvider(random);
+			router.record(provider, simulateLatency(random, false), true);
+		}
+
+		// 2단계: 이니시스 지연 발생
+		List<Long> observed = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			String provider = router.selectProvider(random);
+			long latency = simulateLatency(random, InicisGateway.PROVIDER.equals(provider));
+			router.record(provider, latency, true);
+			observed.add(latency);
+		}
+
+		Collections.sort(observed);
+		return observed.get((int) Math.ceil(observed.size() * 0.99) - 1);
+	}
+
+	private PaymentGatewayRouter newRouter(boolean routingEnabled) {
+		PaymentGatewayRouter router = new PaymentGatewayRouter();
+		ReflectionTestUtils.setField(router, "gateways", List.of(
+			new SimulatedGateway(InicisGateway.PROVIDER),
+			new SimulatedGateway(NicePayGateway.PROVIDER)));
+		ReflectionTestUtils.setField(router, "routingEnabled", routingEnabled);
+		ReflectionTestUtils.setField(router, "inicisWeight", 50);
+		ReflectionTestUtils.setField(router, "nicePayWeight", 50);
+		ReflectionTestUtils.setField(router, "windowSeconds", 60);
+		ReflectionTestUtils.setField(router, "windowCapacity", 512);
+		ReflectionTestUtils.setField(router, "minSamples", 20);
+		ReflectionTestUtils.setField(router, "maxErrorRate", 0.3);
+		ReflectionTestUtils.setField(router, "outlierFactor", 3.0);
+		ReflectionTestUtils.setField(router, "probeRatio", 0.005);
+		router.init();
+		return router;
+	}
+
+	private record SimulatedGateway(String provider) implements PaymentGateway {
+
+		@Override
+		public String getProvider() {
+			return provider;
+		}
+
+		@Override
+		public Map<String, Object> refund(Payment payment, String reason, String clientIp) {
+			return Map.of("resultCode", "00", "resultMsg", "취소 완료");
+		}
+
+		@Override
+		public Map<String, Object> networkCancel(Payment payment, String reason, String clientIp) {
+			return Map.of("success", true);
+		}
+
+		@Override
+		public PgTransactionStatus inquire(Payment payment) {
+			return PgTransactionStatus.APPROVED;
+		}
+	}
+}
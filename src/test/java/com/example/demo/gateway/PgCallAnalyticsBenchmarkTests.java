@@ -0,0 +1,78 @@
+package com.example.demo.gateway;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PG 호출 분석 기록 1건당 처리시간/할당량
+ *
+ * PG 호출 자체(수십~수백 ms)에 비해 무시할 수 있는 수준(1µs 미만, 호출당 할당 없음)인지 확인합니다.
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+class PgCallAnalyticsBenchmarkTests {
+
+	private static final int WARMUP = 200_000;
+	private static final int ITERATIONS = 2_000_000;
+	private static final int THREADS = 8;
+
+	private static final String[] CODES = {"0000", "0000", "0000", "0000", "0000", "0000", "0000", "0000", "V013", "HTTP_500"};
+
+	@Test
+	void singleThread() {
+		PgCallAnalytics analytics = PgCallAnalyticsTests.newAnalytics(16);
+		run(analytics, WARMUP);
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		run(analytics, ITERATIONS);
+		long nanosPerOp = (System.nanoTime() - start) / ITERATIONS;
+		long bytesPerOp = (threads.getThreadAllocatedBytes(threadId) - allocatedStart) / ITERATIONS;
+
+		System.out.printf("[pg-analytics] single thread: %,d ns/op, %,d bytes/op%n", nanosPerOp, bytesPerOp);
+		assertTrue(nanosPerOp < 1_000, nanosPerOp + " ns/op");
+		assertTrue(bytesPerOp < 16, bytesPerOp + " bytes/op");
+	}
+
+	@Test
+	void contended() throws Exception {
+		PgCallAnalytics analytics = PgCallAnalyticsTests.newAnalytics(16);
+		run(analytics, WARMUP);
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+			List<Future<?>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				results.add(executor.submit(() -> run(analytics, ITERATIONS / THREADS)));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+		}
+		long nanosPerOp = (System.nanoTime() - start) * THREADS / ITERATIONS;
+
+		System.out.printf("[pg-analytics] %d threads: %,d ns/op (per thread)%n", THREADS, nanosPerOp);
+		assertTrue(nanosPerOp < 5_000, nanosPerOp + " ns/op");
+		long calls = analytics.snapshot().providers().get("INICIS").windows().get("15m").calls();
+		assertEquals(WARMUP + ITERATIONS, calls);
+	}
+
+	private static void run(PgCallAnalytics analytics, int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			analytics.record(System.currentTimeMillis(), "INICIS", (i & 1) == 0 ? "AUTH_APPROVE" : "REFUND",
+				(50 + i % 500) * 1_000_000L, CODES[i % CODES.length]);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.demo.gateway;
+
+import com.example.demo.support.ActuatorAdmin;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+	"management.endpoints.web.exposure.include=health,pganalytics",
+	ActuatorAdmin.PASSWORD_PROPERTY
+})
+@AutoConfigureMockMvc
+class PgCallAnalyticsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PgCallAnalytics pgCallAnalytics;
+
+	@Test
+	void snapshotIsServedOverHttpToActuatorAdminOnly() throws Exception {
+		pgCallAnalytics.record(System.currentTimeMillis(), "INICIS", "AUTH_APPROVE", 120_000_000L, "0000");
+		pgCallAnalytics.record(System.currentTimeMillis(), "INICIS", "AUTH_APPROVE", 150_000_000L, "V013");
+
+		mockMvc.perform(get("/actuator/pganalytics"))
+			.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/actuator/pganalytics").header("Authorization", ActuatorAdmin.authorization()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.providers.INICIS.windows['1m'].calls").value(2))
+			.andExpect(jsonPath("$.providers.INICIS.windows['1m'].approved").value(1))
+			.andExpect(jsonPath("$.providers.INICIS.operations.AUTH_APPROVE['1m'].errorCodes.V013").value(1));
+	}
+}
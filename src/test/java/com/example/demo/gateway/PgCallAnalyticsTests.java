@@ -0,0 +1,76 @@
+package com.example.demo.gateway;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PgCallAnalyticsTests {
+
+	private static final long NOW = 1_700_000_000_000L;
+
+	@Test
+	void aggregatesApprovalRateErrorCodesAndLatencyPerWindow() {
+		PgCallAnalytics analytics = newAnalytics(16);
+		// 10분 전: 이니시스 승인 실패 10건 (5/15분 윈도우 중 15분에만 포함)
+		for (int i = 0; i < 10; i++) {
+			analytics.record(NOW - 600_000, "INICIS", "AUTH_APPROVE", 2_000_000_000L, "V013");
+		}
+		// 최근 1분: 승인 90건 (100~189ms) + 오류 10건
+		for (int i = 0; i < 90; i++) {
+			analytics.record(NOW - i * 100L, "INICIS", "AUTH_APPROVE", (100 + i) * 1_000_000L, "0000");
+		}
+		for (int i = 0; i < 5; i++) {
+			analytics.record(NOW, "INICIS", "AUTH_APPROVE", 150_000_000L, "HTTP_500");
+			analytics.record(NOW, "INICIS", "NET_CANCEL", 50_000_000L, "IO_ERROR");
+		}
+
+		PgCallAnalytics.ProviderStats inicis = analytics.snapshot(NOW).providers().get("INICIS");
+		PgCallAnalytics.WindowStats approve1m = inicis.operations().get("AUTH_APPROVE").get("1m");
+		assertEquals(95, approve1m.calls());
+		assertEquals(90, approve1m.approved());
+		assertEquals(Map.of("HTTP_500", 5L), approve1m.errorCodes());
+		assertTrue(approve1m.p50Millis() >= 140 && approve1m.p50Millis() <= 150, "p50 " + approve1m.p50Millis());
+		assertTrue(approve1m.maxMillis() < 200, "max " + approve1m.maxMillis());
+
+		PgCallAnalytics.WindowStats approve15m = inicis.operations().get("AUTH_APPROVE").get("15m");
+		assertEquals(105, approve15m.calls());
+		assertEquals(Map.of("HTTP_500", 5L, "V013", 10L), approve15m.errorCodes());
+		assertTrue(approve15m.p99Millis() >= 1990, "p99 " + approve15m.p99Millis());
+
+		PgCallAnalytics.WindowStats total1m = inicis.windows().get("1m");
+		assertEquals(100, total1m.calls());
+		assertEquals(0.9, total1m.approvalRate(), 0.0001);
+		assertEquals(5L, total1m.errorCodes().get("IO_ERROR"));
+	}
+
+	@Test
+	void expiredBucketsAreReusedAndOverflowingCodesAreGrouped() {
+		PgCallAnalytics analytics = newAnalytics(3);
+		analytics.record(NOW, "NICEPAY", "APPROVE", 100_000_000L, "3001");
+		// 링 한 바퀴(15분) 뒤 같은 슬롯 → 이전 기록은 제외
+		long later = NOW + 15 * 60 * 1000L;
+		analytics.record(later, "NICEPAY", "APPROVE", 100_000_000L, "3011");
+		analytics.record(later, "NICEPAY", "APPROVE", 100_000_000L, "3012");
+		analytics.record(later, "NICEPAY", "APPROVE", 100_000_000L, "3013");
+		// 링보다 오래된 기록은 버림
+		analytics.record(NOW, "NICEPAY", "APPROVE", 100_000_000L, "3001");
+
+		PgCallAnalytics.WindowStats stats = analytics.snapshot(later).providers().get("NICEPAY").windows().get("15m");
+		assertEquals(3, stats.calls());
+		assertEquals(0, stats.approved());
+		assertEquals(Map.of("3011", 1L, "3012", 1L, PgCallAnalytics.OTHER_CODE, 1L), stats.errorCodes());
+	}
+
+	static PgCallAnalytics newAnalytics(int maxErrorCodes) {
+		PgCallAnalytics analytics = new PgCallAnalytics();
+		ReflectionTestUtils.setField(analytics, "histogramSlotSeconds", 10);
+		ReflectionTestUtils.setField(analytics, "highestLatencyMillis", 60_000L);
+		ReflectionTestUtils.setField(analytics, "maxSeries", 32);
+		ReflectionTestUtils.setField(analytics, "maxErrorCodes", maxErrorCodes);
+		return analytics;
+	}
+}
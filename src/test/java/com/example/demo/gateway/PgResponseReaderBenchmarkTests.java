@@ -0,0 +1,121 @@
+package com.example.demo.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PG 응답 1건 디코딩당 할당량/처리시간 비교
+ *
+ * 기존: readLine + StringBuilder 로 String 생성 → 호출마다 new ObjectMapper → Map&lt;String, Object&gt; → 값 toString
+ * 변경: PgResponseReader (byte[] 에서 바로 스트리밍 파싱)
+ *
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+class PgResponseReaderBenchmarkTests {
+
+	private static final int WARMUP = 20_000;
+	private static final int ITERATIONS = 100_000;
+
+	private static final byte[] INICIS_JSON = ("{\"resultCode\":\"0000\",\"resultMsg\":\"정상처리되었습니다.\",\"tid\":\"StdpayCARDINIpayTest20240101120000123456\","
+		+ "\"MOID\":\"ORDER_1700000000000_1234\",\"TotPrice\":\"9000\",\"goodName\":\"테스트 상품\",\"applDate\":\"20240101\","
+		+ "\"applTime\":\"120000\",\"applNum\":\"30012345\",\"CARD_Code\":\"04\",\"CARD_Quota\":\"00\",\"cardName\":\"삼성카드\"}")
+		.getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] NICEPAY_FORM = ("ResultCode=3001&ResultMsg=" + URLEncoder.encode("카드 결제 성공", Charset.forName("EUC-KR"))
+		+ "&TID=nictest00m01012401011200001234&Moid=ORDER_1700000000000_1234&Amt=000000009000&AuthDate=240101120000"
+		+ "&AuthCode=30012345&CardCode=04&CardName=" + URLEncoder.encode("삼성", Charset.forName("EUC-KR")) + "&CardQuota=00")
+		.getBytes(StandardCharsets.US_ASCII);
+
+	private final PgResponseReader reader = new PgResponseReader();
+
+	@Test
+	void inicisJson() throws Exception {
+		Result legacy = measure(() -> legacyParse(legacyRead(INICIS_JSON)).size());
+		Result streaming = measure(() -> reader.read("INICIS", 200, new ByteArrayInputStream(INICIS_JSON), "application/json").getFields().size());
+		report("inicis json", legacy, streaming);
+		assertEquals("0000", reader.read("INICIS", 200, INICIS_JSON, null).resultCode());
+		assertTrue(streaming.bytesPerOp < legacy.bytesPerOp);
+	}
+
+	@Test
+	void nicePayForm() throws Exception {
+		Result legacy = measure(() -> legacyParse(legacyRead(NICEPAY_FORM)).size());
+		Result streaming = measure(() -> reader.read("NICEPAY", 200, new ByteArrayInputStream(NICEPAY_FORM), null).getFields().size());
+		report("nicepay form", legacy, streaming);
+		assertEquals("카드 결제 성공", reader.read("NICEPAY", 200, NICEPAY_FORM, null).resultMsg());
+		assertTrue(streaming.bytesPerOp < legacy.bytesPerOp);
+	}
+
+	// 기존 callHttpPost 응답 읽기
+	private static String legacyRead(byte[] body) throws Exception {
+		StringBuilder response = new StringBuilder();
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), "UTF-8"))) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				response.append(line);
+			}
+		}
+		return response.toString();
+	}
+
+	// 기존 parseNicePayResponse / parseInicisRefundResponse
+	@SuppressWarnings("unchecked")
+	private static Map<String, String> legacyParse(String response) throws Exception {
+		Map<String, String> result = new HashMap<>();
+		if (response.trim().startsWith("{")) {
+			ObjectMapper mapper = new ObjectMapper();
+			Map<String, Object> jsonMap = mapper.readValue(response, Map.class);
+			for (Map.Entry<String, Object> entry : jsonMap.entrySet()) {
+				result.put(entry.getKey(), entry.getValue() != null ? entry.getValue().toString() : "");
+			}
+			return result;
+		}
+		for (String pair : response.split("&")) {
+			String[] keyValue = pair.split("=", 2);
+			if (keyValue.length == 2) {
+				result.put(URLDecoder.decode(keyValue[0], "UTF-8"), URLDecoder.decode(keyValue[1], "euc-kr"));
+			}
+		}
+		return result;
+	}
+
+	private static Result measure(Callable<Integer> operation) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		for (int i = 0; i < WARMUP; i++) {
+			operation.call();
+		}
+		long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			operation.call();
+		}
+		long nanos = System.nanoTime() - start;
+		return new Result((threads.getThreadAllocatedBytes(threadId) - allocatedStart) / ITERATIONS, nanos / ITERATIONS);
+	}
+
+	private static void report(String name, Result legacy, Result streaming) {
+		System.out.printf("[pg-response] %s%n  legacy   : %,d bytes/op, %,d ns/op%n  streaming: %,d bytes/op, %,d ns/op%n",
+			name, legacy.bytesPerOp, legacy.nanosPerOp, streaming.bytesPerOp, streaming.nanosPerOp);
+	}
+
+	private record Result(long bytesPerOp, long nanosPerOp) {
+	}
+}
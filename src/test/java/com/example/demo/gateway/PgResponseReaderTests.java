@@ -0,0 +1,122 @@
+package com.example.demo.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PgResponseReaderTests {
+
+	private static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+	private final PgResponseReader reader = new PgResponseReader();
+
+	@Test
+	void readsInicisJsonFromStream() throws Exception {
+		byte[] body = "{\"resultCode\":\"0000\",\"resultMsg\":\"망취소 성공\",\"tid\":\" T1 \",\"price\":9000,\"cardQuota\":null,\"card\":{\"code\":\"04\"}}"
+			.getBytes(StandardCharsets.UTF_8);
+
+		PgResponse response = reader.read("INICIS", 200, new ByteArrayInputStream(body), "application/json;charset=UTF-8");
+
+		assertTrue(response.isJson());
+		assertEquals("0000", response.resultCode());
+		assertEquals("망취소 성공", response.resultMsg());
+		assertEquals("T1", response.tid());
+		assertEquals("9000", response.get("price"));
+		assertEquals("", response.get("cardQuota"));
+		assertEquals("{\"code\":\"04\"}", response.get("card"));
+		assertEquals(body.length, response.length());
+	}
+
+	@Test
+	void readsNicePayFormInEucKr() {
+		String body = "ResultCode=3001&ResultMsg=" + URLEncoder.encode("카드 결제 성공", EUC_KR)
+			+ "&TID=nictest00m01011234&AuthCode=&Flag";
+
+		PgResponse response = reader.read("NICEPAY", 200, body.getBytes(StandardCharsets.US_ASCII), "text/html");
+
+		assertFalse(response.isJson());
+		assertEquals("3001", response.resultCode());
+		assertEquals("카드 결제 성공", response.resultMsg());
+		assertEquals("nictest00m01011234", response.tid());
+		assertEquals("", response.get("AuthCode"));
+		assertEquals("", response.get("Flag"));
+	}
+
+	@Test
+	void usesDeclaredCharsetForFormAndJson() {
+		String form = "ResultCode=2001&ResultMsg=" + URLEncoder.encode("취소 성공", StandardCharsets.UTF_8);
+		PgResponse formResponse = reader.read("NICEPAY", 200, form.getBytes(StandardCharsets.US_ASCII),
+			"application/x-www-form-urlencoded; charset=UTF-8");
+		assertEquals("취소 성공", formResponse.resultMsg());
+
+		byte[] json = "{\"ResultCode\":\"2001\",\"ResultMsg\":\"취소 성공\"}".getBytes(EUC_KR);
+		PgResponse jsonResponse = reader.read("NICEPAY", 200, json, "application/json; charset=euc-kr");
+		assertEquals("취소 성공", jsonResponse.resultMsg());
+		assertEquals("{\"ResultCode\":\"2001\",\"ResultMsg\":\"취소 성공\"}", jsonResponse.bodyText());
+	}
+
+	@Test
+	void reportsParseFailureAsResultCode() {
+		PgResponse response = reader.read("INICIS", 200, "{\"resultCode\":".getBytes(StandardCharsets.UTF_8), null);
+
+		assertTrue(response.isParseFailed());
+		assertEquals("9999", response.resultCode());
+		assertTrue(response.resultMsg().contains("{\"resultCode\":"));
+	}
+
+	@Test
+	void handlesEmptyBody() throws Exception {
+		PgResponse response = reader.read("NICEPAY", 200, (ByteArrayInputStream) null, null);
+
+		assertTrue(response.isEmpty());
+		assertTrue(response.getFields().isEmpty());
+		assertEquals("", response.bodyText());
+	}
+
+	@Test
+	void mapsInicisResponsesToTypedRecords() {
+		InicisAuthResponse auth = InicisAuthResponse.from(reader.read("INICIS", 200,
+			"{\"resultCode\":\"0000\",\"tid\":\"TEMP_TID_1\",\"P_TID\":\"StdpayCARD01\",\"CARD_NAME\":\"국민\",\"applNum\":\"12345678\",\"netCancelUrl\":\"https://pg/net\"}"
+				.getBytes(StandardCharsets.UTF_8), "application/json"));
+		assertEquals("StdpayCARD01", auth.tid());
+		assertEquals("국민", auth.cardName());
+		assertEquals("12345678", auth.applNum());
+		assertEquals("https://pg/net", auth.netCancelUrl());
+
+		assertTrue(InicisRefundResponse.from(reader.read("INICIS", 200,
+			"{\"resultCode\":\"00\",\"cancelDate\":\"20261019\"}".getBytes(StandardCharsets.UTF_8), "application/json")).isSuccess());
+		assertFalse(InicisRefundResponse.from(reader.read("INICIS", 200,
+			"{\"resultCode\":\"01\"}".getBytes(StandardCharsets.UTF_8), "application/json")).isSuccess());
+
+		assertEquals(PgTransactionStatus.CANCELLED, InicisInquiryResponse.from(reader.read("INICIS", 200,
+			"{\"resultCode\":\"00\",\"status\":\"1\"}".getBytes(StandardCharsets.UTF_8), "application/json")).transactionStatus());
+		assertEquals(PgTransactionStatus.UNKNOWN, InicisInquiryResponse.from(reader.read("INICIS", 500,
+			"{\"resultCode\":\"00\",\"status\":\"0\"}".getBytes(StandardCharsets.UTF_8), "application/json")).transactionStatus());
+	}
+
+	@Test
+	void mapsNicePayResponsesToTypedRecords() {
+		NicePayAuthResponse approval = NicePayAuthResponse.from(reader.read("NICEPAY", 200,
+			"ResultCode=3001&TID=nictest00m01011234&AuthCode=30012345&AuthDate=261019120000".getBytes(StandardCharsets.US_ASCII), "text/html"));
+		assertTrue(approval.isSuccess());
+		assertEquals("nictest00m01011234", approval.tid());
+		assertEquals("30012345", approval.authCode());
+
+		assertTrue(NicePayCancelResponse.from(reader.read("NICEPAY", 200,
+			"ResultCode=2211&CancelAmt=9000".getBytes(StandardCharsets.US_ASCII), "text/html")).isSuccess());
+		assertFalse(NicePayCancelResponse.from(reader.read("NICEPAY", 200,
+			"ResultCode=2013".getBytes(StandardCharsets.US_ASCII), "text/html")).isSuccess());
+
+		assertEquals(PgTransactionStatus.APPROVED, NicePayInquiryResponse.from(reader.read("NICEPAY", 200,
+			"ResultCode=0000&Status=0".getBytes(StandardCharsets.US_ASCII), "text/html")).transactionStatus());
+		assertEquals(PgTransactionStatus.NOT_APPROVED, NicePayInquiryResponse.from(reader.read("NICEPAY", 200,
+			"ResultCode=2015&Status=0".getBytes(StandardCharsets.US_ASCII), "text/html")).transactionStatus());
+	}
+}
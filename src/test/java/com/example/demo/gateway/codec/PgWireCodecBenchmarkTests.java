@@ -0,0 +1,108 @@
+package com.example.demo.gateway.codec;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URLEncoder;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * PG 전문 인코딩/파싱 1건당 할당량/처리시간 비교 (기존 방식 vs gateway.codec)
+ *
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+class PgWireCodecBenchmarkTests {
+
+	private static final int WARMUP = 200_000;
+	private static final int ITERATIONS = 2_000_000;
+
+	private static final Map<String, String> CANCEL_PARAMS = new LinkedHashMap<>();
+
+	static {
+		CANCEL_PARAMS.put("TID", "nictest00m01012401011200001234");
+		CANCEL_PARAMS.put("MID", "nictest00m");
+		CANCEL_PARAMS.put("Moid", "ORDER_1700000000000_1234");
+		CANCEL_PARAMS.put("CancelAmt", "9000");
+		CANCEL_PARAMS.put("CancelMsg", "고객 요청");
+		CANCEL_PARAMS.put("PartialCancelCode", "0");
+		CANCEL_PARAMS.put("EdiDate", "20240101120000");
+		CANCEL_PARAMS.put("SignData", "2b1a6f0f5c1f6a0e9f1f3c2d4e5a6b7c8d9e0f1a2b3c4d5e6f708192a3b4c5d6");
+		CANCEL_PARAMS.put("CharSet", "euc-kr");
+	}
+
+	private final OutputStream sink = OutputStream.nullOutputStream();
+
+	@Test
+	void formBody() throws Exception {
+		Result legacy = measure(() -> {
+			StringBuilder postData = new StringBuilder();
+			for (Map.Entry<String, String> entry : CANCEL_PARAMS.entrySet()) {
+				if (postData.length() != 0) {
+					postData.append('&');
+				}
+				postData.append(URLEncoder.encode(entry.getKey(), "euc-kr"));
+				postData.append('=');
+				postData.append(URLEncoder.encode(entry.getValue(), "euc-kr"));
+			}
+			byte[] body = postData.toString().getBytes("euc-kr");
+			sink.write(body);
+			return body.length;
+		});
+		Result codec = measure(() -> {
+			PgFormEncoder form = PgFormEncoder.forCurrentThread(PgCharsets.EUC_KR).addAll(CANCEL_PARAMS);
+			form.writeTo(sink);
+			return form.size();
+		});
+		report("form body (euc-kr)", legacy, codec);
+	}
+
+	@Test
+	void compactDateTime() throws Exception {
+		LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+		report("yyyyMMddHHmmss format",
+			measure(() -> now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")).length()),
+			measure(() -> PgDateTime.formatCompact(now).length()));
+		report("applDate + applTime parse",
+			measure(() -> LocalDateTime.parse("20240101" + "120000", DateTimeFormatter.ofPattern("yyyyMMddHHmmss")).getSecond()),
+			measure(() -> PgDateTime.parseCompact("20240101", "120000").getSecond()));
+	}
+
+	@Test
+	void amount() throws Exception {
+		report("amount parse",
+			measure(() -> Long.valueOf("000000009000").intValue()),
+			measure(() -> (int) PgAmount.parse("000000009000")));
+	}
+
+	private static Result measure(Callable<Integer> operation) throws Exception {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long checksum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			checksum += operation.call();
+		}
+		long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			checksum += operation.call();
+		}
+		long nanos = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+		return new Result(allocated / (double) ITERATIONS, nanos / (double) ITERATIONS, checksum);
+	}
+
+	private static void report(String name, Result legacy, Result codec) {
+		System.out.printf("[pg-codec] %s%n  legacy: %,.1f bytes/op, %,.1f ns/op%n  codec : %,.1f bytes/op, %,.1f ns/op%n",
+			name, legacy.bytesPerOp, legacy.nanosPerOp, codec.bytesPerOp, codec.nanosPerOp);
+	}
+
+	private record Result(double bytesPerOp, double nanosPerOp, long checksum) {
+	}
+}
@@ -0,0 +1,82 @@
+package com.example.demo.gateway.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PgWireCodecTests {
+
+	@Test
+	void formEncoderMatchesUrlEncoder() {
+		Map<String, String> params = new LinkedHashMap<>();
+		params.put("TID", "nictest00m01012401011200001234");
+		params.put("CancelMsg", "고객 요청 취소 (전체)");
+		params.put("Moid", "ORDER_1700000000000_1234");
+		params.put("Special", "a+b=c&d/e~f*g.h-i_j 😀");
+		params.put("Empty", "");
+
+		for (Charset charset : new Charset[] {PgCharsets.EUC_KR, PgCharsets.UTF_8}) {
+			assertArrayEquals(urlEncoded(params, charset),
+				PgFormEncoder.forCurrentThread(charset).addAll(params).toByteArray(), charset.name());
+		}
+	}
+
+	@Test
+	void formEncoderReusesBufferAcrossCalls() {
+		PgFormEncoder encoder = PgFormEncoder.forCurrentThread(PgCharsets.EUC_KR).add("a", "1");
+		assertEquals("a=1", new String(encoder.toByteArray(), StandardCharsets.US_ASCII));
+
+		encoder = PgFormEncoder.forCurrentThread(PgCharsets.EUC_KR).add("b", "가");
+		assertEquals("b=%B0%A1", new String(encoder.toByteArray(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void formatsAndParsesCompactDateTime() {
+		LocalDateTime dateTime = LocalDateTime.of(2024, 3, 9, 7, 5, 1);
+
+		assertEquals(dateTime.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")), PgDateTime.formatCompact(dateTime));
+		assertEquals(dateTime, PgDateTime.parseCompact("20240309070501"));
+		assertEquals(dateTime, PgDateTime.parseCompact("20240309", "070501"));
+		assertThrows(DateTimeException.class, () -> PgDateTime.parseCompact("2024030907050"));
+		assertThrows(DateTimeException.class, () -> PgDateTime.parseCompact("20240230", "070501"));
+		assertThrows(DateTimeException.class, () -> PgDateTime.parseCompact("2024O309", "070501"));
+	}
+
+	@Test
+	void parsesAmounts() {
+		assertEquals(9000L, PgAmount.parse("000000009000"));
+		assertEquals(9000L, PgAmount.parse(" 9000 "));
+		assertEquals(-9000L, PgAmount.parse("-9000"));
+		assertEquals(Long.MAX_VALUE, PgAmount.parse(String.valueOf(Long.MAX_VALUE)));
+		assertEquals(Long.MIN_VALUE, PgAmount.parse(String.valueOf(Long.MIN_VALUE)));
+		assertThrows(NumberFormatException.class, () -> PgAmount.parse("9223372036854775808"));
+		assertThrows(NumberFormatException.class, () -> PgAmount.parse("9,000"));
+		assertThrows(NumberFormatException.class, () -> PgAmount.parse(""));
+		assertEquals(0L, PgAmount.parse(null, 0L));
+		assertEquals(0L, PgAmount.parse("abc", 0L));
+	}
+
+	private static byte[] urlEncoded(Map<String, String> params, Charset charset) {
+		StringBuilder postData = new StringBuilder();
+		for (Map.Entry<String, String> entry : params.entrySet()) {
+			if (postData.length() != 0) {
+				postData.append('&');
+			}
+			postData.append(URLEncoder.encode(entry.getKey(), charset));
+			postData.append('=');
+			postData.append(URLEncoder.encode(entry.getValue(), charset));
+		}
+		return postData.toString().getBytes(charset);
+	}
+}
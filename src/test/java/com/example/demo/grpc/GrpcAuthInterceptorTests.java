@@ -0,0 +1,70 @@
+package com.example.demo.grpc;
+
+import com.example.demo.grpc.v1.OrderRef;
+import com.example.demo.grpc.v1.OrderServiceGrpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GrpcAuthInterceptorTests {
+
+	private Server server;
+
+	@BeforeEach
+	void start() throws IOException {
+		// 구현 없는 서비스 - 인증을 통과하면 UNIMPLEMENTED
+		server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0), InsecureServerCredentials.create())
+			.addService(ServerInterceptors.intercept(new OrderServiceGrpc.OrderServiceImplBase() { },
+				new GrpcAuthInterceptor(GrpcTestClient.TOKEN)))
+			.build()
+			.start();
+	}
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void validTokenReachesService() throws InterruptedException {
+		assertEquals(Status.Code.UNIMPLEMENTED, call(GrpcTestClient.TOKEN));
+	}
+
+	@Test
+	void missingOrWrongTokenIsUnauthenticated() throws InterruptedException {
+		assertEquals(Status.Code.UNAUTHENTICATED, call(null));
+		assertEquals(Status.Code.UNAUTHENTICATED, call("wrong-token"));
+		assertEquals(Status.Code.UNAUTHENTICATED, call(GrpcTestClient.TOKEN + "x"));
+	}
+
+	@Test
+	void blankTokenIsRejectedAtStartup() {
+		assertThrows(IllegalArgumentException.class, () -> new GrpcAuthInterceptor(" "));
+	}
+
+	private Status.Code call(String token) throws InterruptedException {
+		ManagedChannel channel = GrpcTestClient.connect(server.getPort(), token);
+		try {
+			OrderServiceGrpc.OrderServiceBlockingStub stub = OrderServiceGrpc.newBlockingStub(channel)
+				.withDeadlineAfter(10, TimeUnit.SECONDS);
+			return assertThrows(StatusRuntimeException.class,
+				() -> stub.getOrderStatus(OrderRef.newBuilder().setOrderNo("ORDER_1").build())).getStatus().getCode();
+		} finally {
+			channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+}
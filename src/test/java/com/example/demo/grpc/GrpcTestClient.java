@@ -0,0 +1,41 @@
+package com.example.demo.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.stub.MetadataUtils;
+
+/**
+ * 테스트용 gRPC 클라이언트 (서버는 기본 꺼짐, 호출마다 Bearer 토큰 필요)
+ *
+ * {@code @SpringBootTest(properties = {GrpcTestClient.ENABLED_PROPERTY, GrpcTestClient.TOKEN_PROPERTY})} 로 서버를 켜고
+ * {@link #connect(int)} 로 토큰을 붙인 채널을 엽니다.
+ */
+final class GrpcTestClient {
+
+	static final String TOKEN = "grpc-test-token";
+
+	static final String ENABLED_PROPERTY = "grpc.server.enabled=true";
+
+	static final String TOKEN_PROPERTY = "grpc.server.auth-token=" + TOKEN;
+
+	private GrpcTestClient() {
+	}
+
+	static ManagedChannel connect(int port) {
+		return connect(port, TOKEN);
+	}
+
+	// token 이 null 이면 authorization 헤더 없이 호출
+	static ManagedChannel connect(int port, String token) {
+		ManagedChannelBuilder<?> builder = Grpc.newChannelBuilderForAddress("localhost", port, InsecureChannelCredentials.create());
+		if (token != null) {
+			Metadata headers = new Metadata();
+			headers.put(GrpcAuthInterceptor.AUTHORIZATION, "Bearer " + token);
+			builder.intercept(MetadataUtils.newAttachHeadersInterceptor(headers));
+		}
+		return builder.build();
+	}
+}
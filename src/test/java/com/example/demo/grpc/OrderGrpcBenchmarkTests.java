@@ -0,0 +1,122 @@
+package com.example.demo.grpc;
+
+import com.example.demo.entity.User;
+import com.example.demo.grpc.v1.OrderRef;
+import com.example.demo.grpc.v1.OrderServiceGrpc;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.google.protobuf.MessageLite;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문 상태/상세 조회: REST(JSON) 와 gRPC(protobuf) 의 응답 본문 크기와 호출 지연 비교
+ *
+ * 같은 프로세스의 실제 포트로 호출하며(REST 는 HTTP/1.1, gRPC 는 HTTP/2) ETag 없는 전체 응답 기준입니다.
+ * gradle benchmark 로 실행합니다. (기본 test 태스크에서는 제외)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+	properties = {"spring.jpa.show-sql=false", "logging.level.com.example.demo=INFO",
+		GrpcTestClient.ENABLED_PROPERTY, GrpcTestClient.TOKEN_PROPERTY})
+class OrderGrpcBenchmarkTests {
+
+	private static final int WARMUP = 500;
+	private static final int CALLS = 3000;
+
+	@LocalServerPort
+	private int httpPort;
+
+	@Autowired
+	private GrpcServer grpcServer;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void restVersusGrpc() throws Exception {
+		User user = new User("grpc벤치", "grpc-bench-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		Long userId = userRepository.save(user).getId();
+		String orderNo = paymentService.createOrder(userId, 3000L, 3000, 0L).orderNo();
+		paymentService.refundPointsByOrderNo(orderNo, "벤치마크");
+
+		HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		ManagedChannel channel = GrpcTestClient.connect(grpcServer.getPort());
+		try {
+			OrderServiceGrpc.OrderServiceBlockingStub stub = OrderServiceGrpc.newBlockingStub(channel);
+			OrderRef ref = OrderRef.newBuilder().setOrderNo(orderNo).build();
+
+			Result restStatus = measure(() -> rest(http, "/api/payment/status/order/" + orderNo));
+			Result grpcStatus = measure(() -> grpc(stub.getOrderStatus(ref)));
+			report("order-status", restStatus, grpcStatus);
+
+			Result restDetail = measure(() -> rest(http, "/api/payment/order-detail/" + orderNo));
+			Result grpcDetail = measure(() -> grpc(stub.getOrderDetail(ref)));
+			report("order-detail", restDetail, grpcDetail);
+
+			assertTrue(grpcStatus.bytes < restStatus.bytes, "order-status protobuf 응답이 JSON 보다 크거나 같음");
+			assertTrue(grpcDetail.bytes < restDetail.bytes, "order-detail protobuf 응답이 JSON 보다 크거나 같음");
+		} finally {
+			channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+	private int rest(HttpClient http, String path) {
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + httpPort + path)).GET().build();
+			return http.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static int grpc(MessageLite reply) {
+		return reply.getSerializedSize();
+	}
+
+	private static Result measure(Supplier<Integer> call) {
+		for (int i = 0; i < WARMUP; i++) {
+			call.get();
+		}
+		long[] nanos = new long[CALLS];
+		int bytes = 0;
+		for (int i = 0; i < CALLS; i++) {
+			long start = System.nanoTime();
+			bytes = call.get();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return new Result(bytes, Arrays.stream(nanos).average().orElse(0) / 1000.0,
+			nanos[CALLS / 2] / 1000.0, nanos[(int) (CALLS * 0.99)] / 1000.0);
+	}
+
+	private static void report(String name, Result rest, Result grpc) {
+		System.out.printf("[grpc] %s%n  REST: %d bytes, avg %.0f us, p50 %.0f us, p99 %.0f us%n"
+				+ "  gRPC: %d bytes, avg %.0f us, p50 %.0f us, p99 %.0f us (bytes -%.1f%%, avg x%.2f)%n",
+			name, rest.bytes, rest.avgMicros, rest.p50Micros, rest.p99Micros,
+			grpc.bytes, grpc.avgMicros, grpc.p50Micros, grpc.p99Micros,
+			100.0 * (rest.bytes - grpc.bytes) / rest.bytes, rest.avgMicros / grpc.avgMicros);
+	}
+
+	private record Result(int bytes, double avgMicros, double p50Micros, double p99Micros) {
+	}
+}
@@ -0,0 +1,137 @@
+package com.example.demo.grpc;
+
+import com.example.demo.entity.User;
+import com.example.demo.grpc.v1.CreateOrderReply;
+import com.example.demo.grpc.v1.CreateOrderRequest;
+import com.example.demo.grpc.v1.OrderDetailReply;
+import com.example.demo.grpc.v1.OrderRef;
+import com.example.demo.grpc.v1.OrderServiceGrpc;
+import com.example.demo.grpc.v1.OrderStatus;
+import com.example.demo.grpc.v1.OrderStatusReply;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {GrpcTestClient.ENABLED_PROPERTY, GrpcTestClient.TOKEN_PROPERTY})
+class OrderGrpcServiceTests {
+
+	@Autowired
+	private GrpcServer grpcServer;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private ManagedChannel channel;
+	private OrderServiceGrpc.OrderServiceBlockingStub stub;
+
+	@BeforeEach
+	void connect() {
+		channel = GrpcTestClient.connect(grpcServer.getPort());
+		stub = OrderServiceGrpc.newBlockingStub(channel).withDeadlineAfter(10, TimeUnit.SECONDS);
+	}
+
+	@AfterEach
+	void disconnect() throws InterruptedException {
+		channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void createOrderAndReadBack() {
+		Long userId = newUser();
+		CreateOrderReply created = stub.createOrder(CreateOrderRequest.newBuilder()
+			.setUserId(userId).setTotalAmount(1000).setPointsUsed(1000).setCardAmount(0).build());
+		assertTrue(created.getPaymentCompleted());
+		assertEquals("POINTS_ONLY", created.getPaymentMethod());
+		assertTrue(created.getCompletedAtEpochMillis() > 0);
+
+		OrderRef ref = OrderRef.newBuilder().setOrderNo(created.getOrderNo()).build();
+		OrderStatusReply status = stub.getOrderStatus(ref);
+		assertEquals(created.getOrderId(), status.getOrderId());
+		assertEquals(OrderStatus.COMPLETED, status.getStatus());
+		assertEquals(1000, status.getPointsUsed());
+
+		OrderDetailReply detail = stub.getOrderDetail(ref);
+		assertEquals(created.getOrderNo(), detail.getOrder().getOrderNo());
+		assertEquals(1, detail.getPaymentsCount());
+		assertEquals(1000, detail.getPayments(0).getAmount());
+	}
+
+	@Test
+	void cardOrderReportsPgProvider() {
+		CreateOrderReply created = stub.createOrder(CreateOrderRequest.newBuilder()
+			.setUserId(newUser()).setTotalAmount(10000).setPointsUsed(0).setCardAmount(10000).build());
+		assertFalse(created.getPaymentCompleted());
+		assertEquals("CARD_REQUIRED", created.getPaymentMethod());
+		assertFalse(created.getPgProvider().isEmpty());
+		assertEquals(OrderStatus.PENDING,
+			stub.getOrderStatus(OrderRef.newBuilder().setOrderNo(created.getOrderNo()).build()).getStatus());
+	}
+
+	@Test
+	void unknownOrderIsNotFound() {
+		OrderRef ref = OrderRef.newBuilder().setOrderNo("ORDER_NOT_EXISTS").build();
+		assertEquals(Status.Code.NOT_FOUND,
+			assertThrows(StatusRuntimeException.class, () -> stub.getOrderStatus(ref)).getStatus().getCode());
+		assertEquals(Status.Code.NOT_FOUND,
+			assertThrows(StatusRuntimeException.class, () -> stub.getOrderDetail(ref)).getStatus().getCode());
+	}
+
+	@Test
+	void callsWithoutValidTokenAreUnauthenticated() throws InterruptedException {
+		OrderRef ref = OrderRef.newBuilder().setOrderNo("ORDER_NOT_EXISTS").build();
+		for (String token : new String[] {null, "wrong-token"}) {
+			ManagedChannel unauthenticated = GrpcTestClient.connect(grpcServer.getPort(), token);
+			try {
+				OrderServiceGrpc.OrderServiceBlockingStub anonymous = OrderServiceGrpc.newBlockingStub(unauthenticated)
+					.withDeadlineAfter(10, TimeUnit.SECONDS);
+				assertEquals(Status.Code.UNAUTHENTICATED,
+					assertThrows(StatusRuntimeException.class, () -> anonymous.getOrderStatus(ref)).getStatus().getCode());
+			} finally {
+				unauthenticated.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	@Test
+	void watchStreamsStatusChangesUntilFinal() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 0, 10000L).orderNo();
+		Iterator<OrderStatusReply> updates = stub.watchOrderStatus(OrderRef.newBuilder().setOrderNo(orderNo).build());
+
+		List<OrderStatus> received = new ArrayList<>();
+		received.add(updates.next().getStatus());
+		// 인증 정보 없는 결제 응답 → 주문 FAILED (종료 상태이므로 스트림도 종료)
+		paymentService.processPaymentResponse(new HashMap<>(Map.of("orderNumber", orderNo, "resultCode", "0000")));
+		updates.forEachRemaining(update -> received.add(update.getStatus()));
+
+		assertEquals(List.of(OrderStatus.PENDING, OrderStatus.FAILED), received);
+	}
+
+	private Long newUser() {
+		User user = new User("grpc테스트", "grpc-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		return userRepository.save(user).getId();
+	}
+}
@@ -0,0 +1,164 @@
+package com.example.demo.monitoring.jfr;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.ActuatorAdmin;
+import com.example.demo.support.PgSimulator;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+	"management.endpoints.web.exposure.include=health,jfr",
+	ActuatorAdmin.PASSWORD_PROPERTY
+})
+@AutoConfigureMockMvc
+class PaymentFlightRecorderTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private JfrDumpEndpoint jfrDumpEndpoint;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void paymentFlowsAreRecordedAndDumpable() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 1000, 9000L).orderNo();
+		assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+		assertTrue(paymentService.performNetworkCancel(orderNo, "테스트", "127.0.0.1").success());
+
+		List<RecordedEvent> events = dumpLastMinute().stream()
+			.filter(event -> event.getEventType().getName().startsWith("com.example.demo."))
+			.toList();
+
+		RecordedEvent approval = single(events, "com.example.demo.PaymentFlow", orderNo, "APPROVAL");
+		assertTrue(approval.getBoolean("success"));
+		assertEquals("INICIS", approval.getString("provider"));
+		assertTrue(single(events, "com.example.demo.PaymentFlow", orderNo, "NETWORK_CANCEL").getBoolean("success"));
+
+		RecordedEvent authCall = events.stream()
+			.filter(event -> event.getEventType().getName().equals("com.example.demo.PgCall"))
+			.filter(event -> "AUTH_APPROVE".equals(event.getString("operation")))
+			.filter(event -> event.getStartTime().compareTo(approval.getStartTime()) >= 0
+				&& event.getEndTime().compareTo(approval.getEndTime()) <= 0)
+			.findFirst().orElseThrow();
+		assertEquals("127.0.0.1", authCall.getString("host"));
+		assertEquals(200, authCall.getInt("status"));
+		assertTrue(authCall.getLong("requestBytes") > 0);
+		assertTrue(authCall.getLong("responseBytes") > 0);
+
+		assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.PgCall")
+			&& "NET_CANCEL".equals(event.getString("operation")) && event.getInt("status") == 200));
+		assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("com.example.demo.AuditLogWrite")
+			&& orderNo.equals(event.getString("orderNo")) && event.getBoolean("success")));
+	}
+
+	@Test
+	void dumpIsDownloadableOverHttpByActuatorAdminOnly() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 1000, 9000L).orderNo();
+		assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+
+		mockMvc.perform(get("/actuator/jfr").param("minutes", "1"))
+			.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/jfr").param("minutes", "1").header("Authorization", ActuatorAdmin.basic(ActuatorAdmin.USERNAME, "wrong")))
+			.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/health"))
+			.andExpect(status().isOk());
+
+		MvcResult dump = mockMvc.perform(get("/actuator/jfr").param("minutes", "1")
+				.header("Authorization", ActuatorAdmin.authorization()))
+			.andExpect(status().isOk())
+			.andReturn();
+		Path file = Files.createTempFile("payment-http-test-", ".jfr");
+		try {
+			Files.write(file, dump.getResponse().getContentAsByteArray());
+			assertTrue(RecordingFile.readAllEvents(file).stream()
+				.anyMatch(event -> event.getEventType().getName().equals("com.example.demo.PaymentFlow")
+					&& orderNo.equals(event.getString("orderNo"))));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private List<RecordedEvent> dumpLastMinute() throws IOException {
+		Path file = Files.createTempFile("payment-test-", ".jfr");
+		try {
+			try (InputStream in = jfrDumpEndpoint.dump(1).getBody().getInputStream()) {
+				Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return RecordingFile.readAllEvents(file);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static RecordedEvent single(List<RecordedEvent> events, String type, String orderNo, String flow) {
+		List<RecordedEvent> matches = events.stream()
+			.filter(event -> event.getEventType().getName().equals(type))
+			.filter(event -> orderNo.equals(event.getString("orderNo")) && flow.equals(event.getString("flow")))
+			.toList();
+		assertEquals(1, matches.size(), flow);
+		return matches.get(0);
+	}
+
+	private Long newUser() {
+		User user = new User("JFR테스트", "jfr-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
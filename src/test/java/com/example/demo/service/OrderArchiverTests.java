@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.entity.IfInisisLog;
+import com.example.demo.entity.PaymentLog;
+import com.example.demo.entity.User;
+import com.example.demo.repository.IfInisisLogRepository;
+import com.example.demo.repository.OrderArchiveRepository;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.PaymentLogRepository;
+import com.example.demo.repository.PaymentRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OrderArchiverTests {
+
+	@Autowired
+	private OrderArchiver orderArchiver;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderArchiveRepository orderArchiveRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentLogRepository paymentLogRepository;
+
+	@Autowired
+	private IfInisisLogRepository ifInisisLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void oldCompletedOrderIsArchivedAndStillReadable() {
+		Long userId = newUser();
+		CreateOrderResponse old = paymentService.createOrder(userId, 3000L, 3000, 0L);
+		paymentLogRepository.save(new PaymentLog(old.orderId(), "SIM_TID_ARCHIVE_" + UUID.randomUUID(), "POINT", 3000L,
+			PaymentLog.PaymentStatus.APPROVED));
+		makeOld(old.orderNo());
+		CreateOrderResponse recent = paymentService.createOrder(userId, 2000L, 2000, 0L);
+
+		assertEquals(1, archiveFrom(old.orderId()));
+
+		// 운영 테이블에서는 빠짐
+		assertTrue(orderRepository.findByOrderNo(old.orderNo()).isEmpty());
+		assertTrue(paymentRepository.findByOrderNoOrderByPaymentDateDesc(old.orderNo()).isEmpty());
+		assertTrue(paymentLogRepository.findByOrderIdOrderByCreatedAtDesc(old.orderId()).isEmpty());
+		assertTrue(orderArchiveRepository.findByOrderNo(old.orderNo()).isPresent());
+		assertTrue(orderRepository.findByOrderNo(recent.orderNo()).isPresent());
+
+		// 상세 조회는 보관 테이블로 대체 (환불 불가)
+		OrderDetailResponse detail = paymentService.getOrderDetailWithPayments(old.orderNo());
+		assertTrue(detail.success());
+		assertEquals("COMPLETED", detail.status());
+		assertEquals(1, detail.payments().size());
+		assertEquals(3000L, detail.payments().get(0).amount());
+		assertFalse(detail.payments().get(0).canRefund());
+
+		// 사용자 주문 목록은 운영 + 보관 주문 (최신순)
+		List<?> orders = (List<?>) paymentService.getUserOrdersWithPayments(userId).get("orders");
+		assertEquals(List.of(recent.orderNo(), old.orderNo()), orders.stream().map(order -> ((Map<?, ?>) order).get("orderNo")).toList());
+		assertEquals(List.of(false, true), orders.stream().map(order -> ((Map<?, ?>) order).get("archived")).toList());
+	}
+
+	@Test
+	void pendingAndRecentOrdersStayHot() {
+		Long userId = newUser();
+		CreateOrderResponse pending = paymentService.createOrder(userId, 10000L, 0, 10000L);
+		makeOld(pending.orderNo());
+		CreateOrderResponse recent = paymentService.createOrder(userId, 1000L, 1000, 0L);
+
+		assertEquals(0, archiveFrom(pending.orderId()));
+		assertTrue(orderRepository.findByOrderNo(pending.orderNo()).isPresent());
+		assertTrue(orderRepository.findByOrderNo(recent.orderNo()).isPresent());
+	}
+
+	@Test
+	void oldAuditLogsAreArchived() {
+		String orderNo = "ORDER_ARCHIVE_" + UUID.randomUUID();
+		IfInisisLog oldLog = ifInisisLogRepository.save(new IfInisisLog(orderNo, "REQUEST"));
+		IfInisisLog recentLog = ifInisisLogRepository.save(new IfInisisLog(orderNo, "RESPONSE"));
+		jdbcTemplate.update("UPDATE if_inisis_log SET created_at = ? WHERE id = ?", LocalDateTime.now().minusDays(400), oldLog.getId());
+
+		assertEquals(1, orderArchiver.archiveAuditLogs(LocalDateTime.now().minusDays(365)));
+		assertEquals(List.of(recentLog.getId()), ifInisisLogRepository.findByOrderNoOrderByCreatedAtDesc(orderNo).stream()
+			.map(IfInisisLog::getId).toList());
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM if_inisis_log_archive WHERE id = ?", Integer.class,
+			oldLog.getId()));
+	}
+
+	private int archiveFrom(Long orderId) {
+		return orderArchiver.archiveOrders(LocalDateTime.now().minusDays(365), orderId - 1);
+	}
+
+	private void makeOld(String orderNo) {
+		jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE order_no = ?", LocalDateTime.now().minusDays(400), orderNo);
+	}
+
+	private Long newUser() {
+		User user = new User("보관테스트", "archive-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		return userRepository.save(user).getId();
+	}
+}
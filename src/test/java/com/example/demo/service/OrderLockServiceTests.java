@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.User;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.PgSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문 advisory lock: 두 애플리케이션 인스턴스(같은 DB, 같은 PG 시뮬레이터)가 같은 주문을 동시에 취소할 때
+ * PG 취소 호출이 주문당 정확히 1번인지 확인
+ */
+@SpringBootTest
+class OrderLockServiceTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+	private static final int ORDERS = 4;
+	private static final int CALLERS_PER_INSTANCE = 3;
+
+	private static ConfigurableApplicationContext otherInstance;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private OrderLockService orderLockService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@DynamicPropertySource
+	static void pgUrls(DynamicPropertyRegistry registry) {
+		registry.add("inicis.refund.url", () -> pgSimulator.url(PgSimulator.INICIS_REFUND_PATH));
+	}
+
+	@BeforeAll
+	static void startOtherInstance() {
+		otherInstance = new SpringApplicationBuilder(DemoApplication.class)
+			.web(WebApplicationType.NONE)
+			.run("--inicis.refund.url=" + pgSimulator.url(PgSimulator.INICIS_REFUND_PATH),
+				"--spring.jpa.show-sql=false");
+	}
+
+	@AfterAll
+	static void stopAll() {
+		if (otherInstance != null) {
+			otherInstance.close();
+		}
+		pgSimulator.close();
+	}
+
+	@AfterEach
+	void resetDelay() {
+		pgSimulator.setDelayMillis(0);
+	}
+
+	@Test
+	void concurrentNetworkCancelCallsPgOncePerOrder() throws Exception {
+		List<String> orderNos = approvedOrders();
+		int before = pgSimulator.callCount(PgSimulator.INICIS_NET_CANCEL_PATH);
+		pgSimulator.setDelayMillis(200);
+
+		Map<String, Integer> successes = contend(orderNos,
+			(service, orderNo) -> service.performNetworkCancel(orderNo, "동시 망취소", "127.0.0.1").success());
+
+		assertEquals(ORDERS, pgSimulator.callCount(PgSimulator.INICIS_NET_CANCEL_PATH) - before);
+		for (String orderNo : orderNos) {
+			assertEquals(1, successes.get(orderNo), orderNo);
+			assertEquals(Order.OrderStatus.NETWORK_CANCELLED, orderRepository.findByOrderNo(orderNo).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	void concurrentRefundCallsPgOncePerOrder() throws Exception {
+		List<String> orderNos = approvedOrders();
+		int before = pgSimulator.callCount(PgSimulator.INICIS_REFUND_PATH);
+		pgSimulator.setDelayMillis(200);
+
+		Map<String, Integer> successes = contend(orderNos,
+			(service, orderNo) -> service.refundPaymentByOrderNo(orderNo, "동시 환불", "127.0.0.1").success());
+
+		assertEquals(ORDERS, pgSimulator.callCount(PgSimulator.INICIS_REFUND_PATH) - before);
+		for (String orderNo : orderNos) {
+			assertEquals(1, successes.get(orderNo), orderNo);
+		}
+	}
+
+	@Test
+	void lockIsHeldUntilTransactionEnds() throws Exception {
+		String orderNo = "ORDER_LOCK_" + UUID.randomUUID();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = Thread.ofPlatform().start(() -> transactionTemplate.executeWithoutResult(status -> {
+			assertTrue(orderLockService.tryLock(orderNo));
+			locked.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		try {
+			assertTrue(locked.await(10, TimeUnit.SECONDS));
+			Boolean acquiredWhileHeld = transactionTemplate.execute(status -> orderLockService.tryLock(orderNo, 100));
+			assertEquals(false, acquiredWhileHeld);
+		} finally {
+			release.countDown();
+			holder.join();
+		}
+		Boolean acquiredAfterRelease = transactionTemplate.execute(status -> orderLockService.tryLock(orderNo, 0));
+		assertEquals(true, acquiredAfterRelease);
+	}
+
+	// 두 인스턴스에서 주문마다 CALLERS_PER_INSTANCE 개씩 동시에 호출하고 주문별 성공 건수 반환
+	private Map<String, Integer> contend(List<String> orderNos,
+			BiPredicate<PaymentService, String> call) throws Exception {
+		List<PaymentService> instances = List.of(paymentService, otherInstance.getBean(PaymentService.class));
+		int callers = orderNos.size() * instances.size() * CALLERS_PER_INSTANCE;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Map.Entry<String, Boolean>>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+			for (String orderNo : orderNos) {
+				for (PaymentService instance : instances) {
+					for (int i = 0; i < CALLERS_PER_INSTANCE; i++) {
+						results.add(executor.submit(() -> {
+							start.await();
+							return Map.entry(orderNo, call.test(instance, orderNo));
+						}));
+					}
+				}
+			}
+			start.countDown();
+			Map<String, Integer> successes = new HashMap<>();
+			for (Future<Map.Entry<String, Boolean>> result : results) {
+				Map.Entry<String, Boolean> entry = result.get(30, TimeUnit.SECONDS);
+				successes.merge(entry.getKey(), entry.getValue() ? 1 : 0, Integer::sum);
+			}
+			return successes;
+		}
+	}
+
+	private List<String> approvedOrders() {
+		User user = new User("잠금테스트", "lock-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		Long userId = userRepository.save(user).getId();
+		List<String> orderNos = new ArrayList<>();
+		for (int i = 0; i < ORDERS; i++) {
+			String orderNo = paymentService.createOrder(userId, 10000L, 0, 10000L).orderNo();
+			assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+			orderNos.add(orderNo);
+		}
+		return orderNos;
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
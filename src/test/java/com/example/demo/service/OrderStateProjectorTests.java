@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.NetworkCancelResponse;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import com.example.demo.entity.PaymentEvent;
+import com.example.demo.entity.User;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.PaymentEventRepository;
+import com.example.demo.repository.PaymentRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.PgSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OrderStateProjectorTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private OrderStateProjector orderStateProjector;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentEventRepository paymentEventRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void statusChangesAreJournaledAndProjectedAfterCommit() {
+		String orderNo = approvedOrder();
+		assertTrue(paymentService.performNetworkCancel(orderNo, "테스트", "127.0.0.1").success());
+
+		Order order = orderRepository.findByOrderNo(orderNo).orElseThrow();
+		List<PaymentEvent> events = paymentEventRepository.findByOrderIdAndSeqGreaterThanOrderBySeq(order.getId(), 0);
+		assertEquals(List.of(PaymentEvent.EventType.ORDER_CREATED, PaymentEvent.EventType.PAYMENT_APPROVED,
+				PaymentEvent.EventType.NETWORK_CANCELLED),
+			events.stream().map(PaymentEvent::getEventType).toList());
+		assertEquals(List.of(1, 2, 3), events.stream().map(PaymentEvent::getSeq).toList());
+
+		// 스냅샷은 마지막 이벤트까지 반영, 망취소된 원본 카드 결제도 CANCELLED
+		assertEquals(Order.OrderStatus.NETWORK_CANCELLED, order.getStatus());
+		assertEquals(3, order.getEventSeq());
+		Payment card = paymentRepository.findById(events.get(2).getPaymentId()).orElseThrow();
+		assertEquals("CANCELLED", card.getStatus());
+	}
+
+	@Test
+	void flowsReadEventsNotYetProjected() {
+		String orderNo = approvedOrder();
+		assertTrue(paymentService.performNetworkCancel(orderNo, "테스트", "127.0.0.1").success());
+
+		// 커밋 후 스냅샷 반영이 실패한 상태로 되돌림
+		revertSnapshot(orderNo, "COMPLETED", 2);
+
+		NetworkCancelResponse again = paymentService.performNetworkCancel(orderNo, "테스트", "127.0.0.1");
+		assertFalse(again.success());
+		assertEquals("이미 망취소된 주문입니다", again.message());
+		// 흐름에서 적용한 이벤트는 커밋 후 다시 반영
+		assertEquals(Order.OrderStatus.NETWORK_CANCELLED, orderRepository.findByOrderNo(orderNo).orElseThrow().getStatus());
+	}
+
+	@Test
+	void projectPendingRepairsStaleSnapshots() {
+		String orderNo = approvedOrder();
+		revertSnapshot(orderNo, "PENDING", 1);
+
+		int projected = orderStateProjector.projectPending(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusMinutes(1));
+
+		assertTrue(projected >= 1);
+		Order order = orderRepository.findByOrderNo(orderNo).orElseThrow();
+		assertEquals(Order.OrderStatus.COMPLETED, order.getStatus());
+		assertEquals(2, order.getEventSeq());
+		assertEquals(0, orderStateProjector.projectPending(LocalDateTime.now().minusMinutes(5), LocalDateTime.now().plusMinutes(1)));
+	}
+
+	private void revertSnapshot(String orderNo, String status, int eventSeq) {
+		jdbcTemplate.update("UPDATE orders SET status = ?, event_seq = ? WHERE order_no = ?", status, eventSeq, orderNo);
+	}
+
+	private String approvedOrder() {
+		String orderNo = paymentService.createOrder(newUser(), 9000L, 0, 9000L).orderNo();
+		assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+		return orderNo;
+	}
+
+	private Long newUser() {
+		User user = new User("이벤트테스트", "events-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.PgSimulator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 결제 흐름별 DB 왕복 횟수/지연시간 벤치마크
+ *
+ * 로컬 PostgreSQL 이 필요하며 기본 test 태스크에서는 제외됩니다. ({@code ./gradlew benchmark})
+ * 시퀀스 채번 + JDBC 배치 적용 전후 비교 시 같은 명령으로 실행합니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PaymentRoundTripBenchmarkTests {
+
+	private static final int WARMUP = 20;
+	private static final int ITERATIONS = 200;
+
+	private static PgSimulator pgSimulator;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeAll
+	static void startPgSimulator() throws Exception {
+		pgSimulator = PgSimulator.start();
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void createOrderWithPoints() {
+		Long userId = newUser(1_000_000).getId();
+		measure("createOrder (적립금 전액 결제)", () -> paymentService.createOrder(userId, 1000L, 1000, 0L));
+	}
+
+	@Test
+	void inicisApproval() {
+		Long userId = newUser(1_000_000).getId();
+		measure("processPaymentResponse (적립금 + 카드 승인)", () -> {
+			CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+			Map<String, Object> params = new HashMap<>();
+			params.put("orderNumber", order.orderNo());
+			params.put("resultCode", "0000");
+			params.put("resultMsg", "성공");
+			params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+			params.put("authToken", "SIM_AUTH_TOKEN");
+			params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+			Map<String, Object> result = paymentService.processPaymentResponse(params);
+			assertEquals(true, result.get("success"));
+			return result;
+		});
+	}
+
+	private User newUser(int points) {
+		User user = new User("벤치마크", "bench-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(points);
+		return userRepository.save(user);
+	}
+
+	private void measure(String name, Supplier<Object> flow) {
+		for (int i = 0; i < WARMUP; i++) {
+			flow.get();
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			flow.get();
+		}
+		double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+		System.out.printf("[benchmark] %s: %d회, 평균 %.2fms, 요청당 statement %.1f, insert %.1f, update %.1f, query %.1f%n",
+			name, ITERATIONS, elapsedMillis / ITERATIONS,
+			(double) statistics.getPrepareStatementCount() / ITERATIONS,
+			(double) statistics.getEntityInsertCount() / ITERATIONS,
+			(double) statistics.getEntityUpdateCount() / ITERATIONS,
+			(double) statistics.getQueryExecutionCount() / ITERATIONS);
+	}
+}
@@ -0,0 +1,220 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.dto.NetworkCancelResponse;
+import com.example.demo.dto.OrderDetailResponse;
+import com.example.demo.dto.PaymentHistoryResponse;
+import com.example.demo.dto.PaymentResultDto;
+import com.example.demo.dto.PointsRefundResponse;
+import com.example.demo.dto.RefundResponse;
+import com.example.demo.dto.UserPaymentStatsResponse;
+import com.example.demo.entity.User;
+import com.example.demo.monitoring.SqlStatementCounter;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.PgSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PaymentService 흐름별 SQL 실행 횟수 상한
+ *
+ * 흐름을 수정하면서 DB 왕복이 늘어나면 실패합니다. 의도한 증가라면 상한을 함께 조정합니다.
+ * (배치 실행은 1회로 집계, ID 50개마다 1회인 시퀀스 채번은 제외, PG 호출은 로컬 PG 시뮬레이터로 대체)
+ * 감사 로그, 잠금, 알림, 집계처럼 흐름에 딸린 SQL 도 실제로 나가는 왕복 수 그대로 포함합니다.
+ * 상태를 바꾸는 흐름은 결제 이벤트 조회/INSERT 와 커밋 직후 같은 스레드에서 실행되는 상태 스냅샷 UPDATE 를 포함합니다.
+ */
+@SpringBootTest
+class PaymentServiceStatementBudgetTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@DynamicPropertySource
+	static void pgProperties(DynamicPropertyRegistry registry) {
+		registry.add("inicis.refund.url", () -> pgSimulator.url(PgSimulator.INICIS_REFUND_PATH));
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void createOrderWithPointsOnly() {
+		Long userId = newUser();
+		CreateOrderResponse result = withinBudget("createOrderWithPointsOnly", 7, () -> paymentService.createOrder(userId, 1000L, 1000, 0L));
+		assertTrue(result.paymentCompleted());
+	}
+
+	@Test
+	void createOrderWithCard() {
+		Long userId = newUser();
+		CreateOrderResponse result = withinBudget("createOrderWithCard", 6, () -> paymentService.createOrder(userId, 10000L, 1000, 9000L));
+		assertFalse(result.paymentCompleted());
+	}
+
+	@Test
+	void processPaymentResponse() {
+		String orderNo = cardOrder(newUser());
+		Map<String, Object> result = withinBudget("processPaymentResponse", 17, () -> paymentService.processPaymentResponse(inicisAuthParams(orderNo)));
+		assertEquals(true, result.get("success"));
+	}
+
+	@Test
+	void processPaymentNotify() {
+		String orderNo = cardOrder(newUser());
+		Map<String, Object> params = new HashMap<>();
+		params.put("oid", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("tid", "SIM_NOTIFY_" + UUID.randomUUID());
+		assertEquals("OK", withinBudget("processPaymentNotify", 12, () -> paymentService.processPaymentNotify(params)));
+	}
+
+	@Test
+	void handleNicePayResponse() {
+		String orderNo = cardOrder(newUser());
+		Map<String, Object> params = new HashMap<>();
+		params.put("Moid", orderNo);
+		params.put("ResultCode", "0000");
+		params.put("ResultMsg", "카드 결제 성공");
+		params.put("TID", "SIM_NICE_" + UUID.randomUUID());
+		params.put("Amt", "9000");
+		PaymentResultDto result = withinBudget("handleNicePayResponse", 11, () -> paymentService.handleNicePayResponse(params));
+		assertTrue(result.isSuccess());
+	}
+
+	@Test
+	void getOrderDetailWithPayments() {
+		String orderNo = approvedOrder(newUser());
+		OrderDetailResponse result = withinBudget("getOrderDetailWithPayments", 2, () -> paymentService.getOrderDetailWithPayments(orderNo));
+		assertTrue(result.success());
+	}
+
+	@Test
+	void getUserOrdersWithPayments() {
+		Long userId = newUser();
+		approvedOrder(userId);
+		approvedOrder(userId);
+		Map<String, Object> result = withinBudget("getUserOrdersWithPayments", 2, () -> paymentService.getUserOrdersWithPayments(userId));
+		assertEquals(true, result.get("success"));
+	}
+
+	@Test
+	void getUserPaymentHistory() {
+		Long userId = newUser();
+		approvedOrder(userId);
+		approvedOrder(userId);
+		PaymentHistoryResponse result = withinBudget("getUserPaymentHistory", 2, () -> paymentService.getUserPaymentHistory(userId));
+		assertTrue(result.success());
+	}
+
+	@Test
+	void getUserPaymentStats() {
+		Long userId = newUser();
+		approvedOrder(userId);
+		approvedOrder(userId);
+		UserPaymentStatsResponse result = withinBudget("getUserPaymentStats", 1, () -> paymentService.getUserPaymentStats(userId));
+		assertEquals(18000L, result.spentAmount());
+		assertEquals(2000L, result.pointsUsed());
+		assertEquals(200L, result.pointsEarned());
+		assertEquals(2L, result.orderCount());
+	}
+
+	@Test
+	void isPaymentCompleted() {
+		String orderNo = approvedOrder(newUser());
+		assertTrue(withinBudget("isPaymentCompleted", 1, () -> paymentService.isPaymentCompleted(orderNo)));
+	}
+
+	@Test
+	void refundPaymentByOrderNo() {
+		String orderNo = approvedOrder(newUser());
+		RefundResponse result = withinBudget("refundPaymentByOrderNo", 9, () -> paymentService.refundPaymentByOrderNo(orderNo, "고객 요청", "127.0.0.1"));
+		assertTrue(result.success());
+	}
+
+	@Test
+	void refundPointsByOrderNo() {
+		String orderNo = approvedOrder(newUser());
+		PointsRefundResponse result = withinBudget("refundPointsByOrderNo", 10, () -> paymentService.refundPointsByOrderNo(orderNo, "고객 요청"));
+		assertTrue(result.success());
+	}
+
+	@Test
+	void performNetworkCancel() {
+		String orderNo = approvedOrder(newUser());
+		NetworkCancelResponse result = withinBudget("performNetworkCancel", 13, () -> paymentService.performNetworkCancel(orderNo, "망취소 테스트", "127.0.0.1"));
+		assertTrue(result.success());
+	}
+
+	private static <T> T withinBudget(String name, int budget, Supplier<T> flow) {
+		SqlStatementCounter.begin();
+		T result;
+		SqlStatementCounter.Counts counts;
+		try {
+			result = flow.get();
+		} finally {
+			counts = SqlStatementCounter.end();
+		}
+		long roundTrips = counts.getStatements() - counts.getSequenceFetches();
+		assertTrue(roundTrips <= budget,
+			name + " SQL 실행 횟수 상한 초과: " + roundTrips + " > " + budget + " (" + counts + ")");
+		return result;
+	}
+
+	private Long newUser() {
+		User user = new User("예산테스트", "budget-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		return userRepository.save(user).getId();
+	}
+
+	private String cardOrder(Long userId) {
+		return paymentService.createOrder(userId, 10000L, 1000, 9000L).orderNo();
+	}
+
+	private String approvedOrder(Long userId) {
+		String orderNo = cardOrder(userId);
+		assertEquals(true, paymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+		return orderNo;
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,298 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.CreateOrderResponse;
+import com.example.demo.entity.Order;
+import com.example.demo.entity.Payment;
+import com.example.demo.entity.PaymentLog;
+import com.example.demo.entity.User;
+import com.example.demo.repository.OrderRepository;
+import com.example.demo.repository.PaymentLogRepository;
+import com.example.demo.repository.PaymentRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.PgSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "payment.sweeper.max-orders-per-second=0")
+class StaleOrderSweeperTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private StaleOrderSweeper staleOrderSweeper;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentLogRepository paymentLogRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@DynamicPropertySource
+	static void pgUrls(DynamicPropertyRegistry registry) {
+		registry.add("inicis.inquiry.url", () -> pgSimulator.url(PgSimulator.INICIS_INQUIRY_PATH));
+		registry.add("inicis.refund.url", () -> pgSimulator.url(PgSimulator.INICIS_REFUND_PATH));
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void abandonedOrderWithoutTidIsFailedAndPointsRestored() {
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		assertEquals(9000, points(userId));
+		makeStale(order.orderNo());
+
+		Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(order.orderId());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.FAILED, 1), result);
+		assertEquals(Order.OrderStatus.FAILED, status(order.orderNo()));
+		assertEquals(10000, points(userId));
+		assertTrue(paymentRepository.findByOrderNoOrderByPaymentDateDesc(order.orderNo()).stream()
+			.anyMatch(payment -> "FAILED".equals(payment.getStatus())));
+	}
+
+	@Test
+	void approvedButUnrecordedTransactionIsCancelledAtPg() {
+		pgSimulator.respond(PgSimulator.INICIS_INQUIRY_PATH, body -> "{\"resultCode\":\"00\",\"status\":\"0\"}");
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		paymentLogRepository.save(new PaymentLog(order.orderId(), "SIM_TID_SWEEP_" + UUID.randomUUID(), "CARD", 9000L,
+			PaymentLog.PaymentStatus.APPROVED));
+		makeStale(order.orderNo());
+		int refundCalls = pgSimulator.callCount(PgSimulator.INICIS_REFUND_PATH);
+
+		Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(order.orderId());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.NETWORK_CANCELLED, 1), result);
+		assertEquals(refundCalls + 1, pgSimulator.callCount(PgSimulator.INICIS_REFUND_PATH));
+		assertEquals(Order.OrderStatus.NETWORK_CANCELLED, status(order.orderNo()));
+		assertEquals(10000, points(userId));
+		assertTrue(paymentRepository.findByOrderNoOrderByPaymentDateDesc(order.orderNo()).stream()
+			.anyMatch(payment -> Payment.PaymentType.NETWORK_CANCEL.name().equals(payment.getPaymentType())
+				&& payment.getAmount() == -9000L));
+	}
+
+	@Test
+	void approvalArrivingDuringPgCancelIsRefused() {
+		pgSimulator.respond(PgSimulator.INICIS_INQUIRY_PATH, body -> "{\"resultCode\":\"00\",\"status\":\"0\"}");
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		String tid = "SIM_TID_SWEEP_" + UUID.randomUUID();
+		paymentLogRepository.save(new PaymentLog(order.orderId(), tid, "CARD", 9000L, PaymentLog.PaymentStatus.APPROVED));
+		makeStale(order.orderNo());
+		// PG 취소 호출 중(주문 잠금 해제 후) 늦게 도착한 승인 알림
+		List<String> notifyResults = new CopyOnWriteArrayList<>();
+		pgSimulator.respond(PgSimulator.INICIS_REFUND_PATH, body -> {
+			notifyResults.add(paymentService.processPaymentNotify(
+				Map.of("orderNumber", order.orderNo(), "resultCode", "0000", "resultMsg", "성공", "tid", tid)));
+			return "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\"}";
+		});
+
+		Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(order.orderId());
+		pgSimulator.respond(PgSimulator.INICIS_REFUND_PATH, body -> "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\"}");
+
+		assertEquals(List.of("OK"), notifyResults);
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.NETWORK_CANCELLED, 1), result);
+		assertEquals(Order.OrderStatus.NETWORK_CANCELLED, status(order.orderNo()));
+		assertTrue(paymentRepository.findByOrderNoOrderByPaymentDateDesc(order.orderNo()).stream()
+			.noneMatch(payment -> Payment.PaymentType.CARD.name().equals(payment.getPaymentType())
+				&& "COMPLETED".equals(payment.getStatus())));
+		assertEquals(10000, points(userId));
+	}
+
+	@Test
+	void failedPgCancelKeepsRefusingApprovalUntilRetried() {
+		pgSimulator.respond(PgSimulator.INICIS_INQUIRY_PATH, body -> "{\"resultCode\":\"00\",\"status\":\"0\"}");
+		pgSimulator.respond(PgSimulator.INICIS_REFUND_PATH, body -> "{\"resultCode\":\"01\",\"resultMsg\":\"취소 실패\"}");
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		paymentLogRepository.save(new PaymentLog(order.orderId(), "SIM_TID_SWEEP_" + UUID.randomUUID(), "CARD", 9000L,
+			PaymentLog.PaymentStatus.APPROVED));
+		makeStale(order.orderNo());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.UNRESOLVED, 1), sweepFrom(order.orderId()));
+		assertTrue(orderRepository.findByOrderNo(order.orderNo()).orElseThrow().isSweepCancelling());
+
+		// 취소 시작 표시가 남아 있는 동안 승인 응답은 PG 승인 API 를 호출하지 않고 거절
+		int authCalls = pgSimulator.callCount(PgSimulator.INICIS_AUTH_PATH);
+		Map<String, Object> response = paymentService.processPaymentResponse(Map.of(
+			"orderNumber", order.orderNo(), "resultCode", "0000", "resultMsg", "성공",
+			"authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH), "authToken", "SIM_AUTH_TOKEN"));
+		assertEquals(false, response.get("success"));
+		assertEquals(authCalls, pgSimulator.callCount(PgSimulator.INICIS_AUTH_PATH));
+		assertEquals(Order.OrderStatus.PENDING, status(order.orderNo()));
+
+		// 다음 정리에서 다시 취소
+		pgSimulator.respond(PgSimulator.INICIS_REFUND_PATH, body -> "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\"}");
+		jdbcTemplate.update("UPDATE orders SET sweep_claimed_until = NULL WHERE order_no = ?", order.orderNo());
+		makeStale(order.orderNo());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.NETWORK_CANCELLED, 1), sweepFrom(order.orderId()));
+		assertEquals(Order.OrderStatus.NETWORK_CANCELLED, status(order.orderNo()));
+		assertEquals(10000, points(userId));
+	}
+
+	@Test
+	void unknownPgStateLeavesOrderPending() {
+		pgSimulator.respond(PgSimulator.INICIS_INQUIRY_PATH, body -> "{\"resultCode\":\"00\",\"status\":\"\"}");
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		paymentLogRepository.save(new PaymentLog(order.orderId(), "SIM_TID_SWEEP_" + UUID.randomUUID(), "CARD", 9000L,
+			PaymentLog.PaymentStatus.APPROVED));
+		makeStale(order.orderNo());
+
+		Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(order.orderId());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.UNRESOLVED, 1), result);
+		assertEquals(Order.OrderStatus.PENDING, status(order.orderNo()));
+		assertEquals(9000, points(userId));
+	}
+
+	@Test
+	void orderLockedByAnotherSweeperIsSkipped() throws Exception {
+		Long userId = newUser();
+		CreateOrderResponse locked = paymentService.createOrder(userId, 5000L, 500, 4500L);
+		CreateOrderResponse free = paymentService.createOrder(userId, 5000L, 500, 4500L);
+		makeStale(locked.orderNo());
+		makeStale(free.orderNo());
+
+		// 다른 인스턴스가 먼저 잠근 상황
+		CountDownLatch lockHeld = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = Thread.ofPlatform().start(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbcTemplate.queryForList("SELECT id FROM orders WHERE order_no = ? FOR UPDATE", locked.orderNo());
+			lockHeld.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		try {
+			assertTrue(lockHeld.await(10, TimeUnit.SECONDS));
+			Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(Math.min(locked.orderId(), free.orderId()));
+
+			assertEquals(Map.of(StaleOrderSweeper.Outcome.FAILED, 1), result);
+			assertEquals(Order.OrderStatus.PENDING, status(locked.orderNo()));
+			assertEquals(Order.OrderStatus.FAILED, status(free.orderNo()));
+		} finally {
+			release.countDown();
+			holder.join();
+		}
+	}
+
+	@Test
+	void orderRowIsNotLockedWhileCallingPg() {
+		Long userId = newUser();
+		CreateOrderResponse order = paymentService.createOrder(userId, 10000L, 1000, 9000L);
+		paymentLogRepository.save(new PaymentLog(order.orderId(), "SIM_TID_SWEEP_" + UUID.randomUUID(), "CARD", 9000L,
+			PaymentLog.PaymentStatus.APPROVED));
+		makeStale(order.orderNo());
+		// PG 조회 중 다른 세션이 주문 행을 기다리지 않고 잠글 수 있어야 함 (잠겨 있으면 NOWAIT 이 실패)
+		List<Boolean> rowFree = new CopyOnWriteArrayList<>();
+		pgSimulator.respond(PgSimulator.INICIS_INQUIRY_PATH, body -> {
+			try {
+				jdbcTemplate.queryForList("SELECT id FROM orders WHERE order_no = ? FOR UPDATE NOWAIT", order.orderNo());
+				rowFree.add(true);
+			} catch (DataAccessException e) {
+				rowFree.add(false);
+			}
+			return "{\"resultCode\":\"01\",\"resultMsg\":\"거래 없음\"}";
+		});
+
+		Map<StaleOrderSweeper.Outcome, Integer> result = sweepFrom(order.orderId());
+
+		assertEquals(List.of(true), rowFree);
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.FAILED, 1), result);
+		assertEquals(Order.OrderStatus.FAILED, status(order.orderNo()));
+	}
+
+	@Test
+	void claimedOrderIsSkippedUntilClaimExpires() {
+		Long userId = newUser();
+		CreateOrderResponse claimed = paymentService.createOrder(userId, 5000L, 500, 4500L);
+		makeStale(claimed.orderNo());
+		// 다른 인스턴스가 선점하고 PG 조회 중인 상황
+		jdbcTemplate.update("UPDATE orders SET sweep_claimed_until = ? WHERE order_no = ?",
+			LocalDateTime.now().plusMinutes(5), claimed.orderNo());
+
+		assertEquals(Map.of(), sweepFrom(claimed.orderId()));
+		assertEquals(Order.OrderStatus.PENDING, status(claimed.orderNo()));
+
+		// 선점 만료 후에는 다시 정리 대상
+		jdbcTemplate.update("UPDATE orders SET sweep_claimed_until = ? WHERE order_no = ?",
+			LocalDateTime.now().minusSeconds(1), claimed.orderNo());
+
+		assertEquals(Map.of(StaleOrderSweeper.Outcome.FAILED, 1), sweepFrom(claimed.orderId()));
+		assertEquals(Order.OrderStatus.FAILED, status(claimed.orderNo()));
+	}
+
+	private Map<StaleOrderSweeper.Outcome, Integer> sweepFrom(Long orderId) {
+		return staleOrderSweeper.sweep(LocalDateTime.now().minusMinutes(30), orderId - 1);
+	}
+
+	private void makeStale(String orderNo) {
+		jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE order_no = ?", LocalDateTime.now().minusHours(1), orderNo);
+	}
+
+	private Order.OrderStatus status(String orderNo) {
+		return orderRepository.findByOrderNo(orderNo).orElseThrow().getStatus();
+	}
+
+	private int points(Long userId) {
+		return userRepository.findById(userId).orElseThrow().getPoints();
+	}
+
+	private Long newUser() {
+		User user = new User("정리테스트", "sweep-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserPaymentStatsResponse;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.support.ActuatorAdmin;
+import com.example.demo.support.PgSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+	"management.endpoints.web.exposure.include=health,userstats",
+	ActuatorAdmin.PASSWORD_PROPERTY
+})
+@AutoConfigureMockMvc
+class UserPaymentStatsTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserPaymentStatsRebuilder userPaymentStatsRebuilder;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void pgProperties(DynamicPropertyRegistry registry) {
+		registry.add("inicis.refund.url", () -> pgSimulator.url(PgSimulator.INICIS_REFUND_PATH));
+	}
+
+	@AfterAll
+	static void stopPgSimulator() {
+		pgSimulator.close();
+	}
+
+	@Test
+	void incrementalStatsMatchRebuild() {
+		Long userId = newUser();
+		paymentService.createOrder(userId, 1000L, 1000, 0L);
+		approvedOrder(userId);
+		assertTrue(paymentService.refundPaymentByOrderNo(approvedOrder(userId), "고객 요청", "127.0.0.1").success());
+		assertTrue(paymentService.refundPointsByOrderNo(approvedOrder(userId), "고객 요청").success());
+		assertTrue(paymentService.performNetworkCancel(approvedOrder(userId), "망취소 테스트", "127.0.0.1").success());
+		paymentService.createOrder(userId, 10000L, 1000, 9000L);
+
+		UserPaymentStatsResponse incremental = paymentService.getUserPaymentStats(userId);
+		assertEquals(36000L, incremental.spentAmount());
+		assertEquals(6L, incremental.orderCount());
+		assertEquals(1L, incremental.ordersByStatus().get("PENDING"));
+
+		UserPaymentStatsRebuilder.Result result = userPaymentStatsRebuilder.rebuild();
+		assertEquals(0, result.failedChunks());
+
+		UserPaymentStatsResponse rebuilt = paymentService.getUserPaymentStats(userId);
+		assertEquals(amounts(incremental), amounts(rebuilt));
+		assertEquals(incremental.ordersByStatus(), rebuilt.ordersByStatus());
+	}
+
+	@Test
+	void rebuildIsTriggeredOverHttpByActuatorAdminOnly() throws Exception {
+		Long userId = newUser();
+		approvedOrder(userId);
+		UserPaymentStatsResponse incremental = paymentService.getUserPaymentStats(userId);
+		// 증분 갱신이 어긋난 상태
+		jdbcTemplate.update("UPDATE user_payment_stats SET spent_amount = 0 WHERE user_id = ?", userId);
+
+		mockMvc.perform(post("/actuator/userstats"))
+			.andExpect(status().isUnauthorized());
+		assertEquals(0L, paymentService.getUserPaymentStats(userId).spentAmount());
+
+		mockMvc.perform(post("/actuator/userstats").header("Authorization", ActuatorAdmin.authorization()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.failedChunks").value(0));
+		assertEquals(amounts(incremental), amounts(paymentService.getUserPaymentStats(userId)));
+	}
+
+	@Test
+	void userWithoutOrdersHasEmptyStats() {
+		UserPaymentStatsResponse stats = paymentService.getUserPaymentStats(newUser());
+		assertEquals(0L, stats.spentAmount());
+		assertEquals(0L, stats.orderCount());
+	}
+
+	private static List<Long> amounts(UserPaymentStatsResponse stats) {
+		return List.of(stats.spentAmount(), stats.refundedAmount(), stats.pointsUsed(), stats.pointsRefunded(),
+			stats.pointsEarned(), stats.orderCount());
+	}
+
+	private Long newUser() {
+		User user = new User("집계테스트", "stats-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(100_000);
+		return userRepository.save(user).getId();
+	}
+
+	private String approvedOrder(Long userId) {
+		String orderNo = paymentService.createOrder(userId, 10000L, 1000, 9000L).orderNo();
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		assertEquals(true, paymentService.processPaymentResponse(params).get("success"));
+		return orderNo;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
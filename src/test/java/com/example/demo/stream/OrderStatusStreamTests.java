@@ -0,0 +1,162 @@
+package com.example.demo.stream;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.PaymentService;
+import com.example.demo.support.PgSimulator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문 상태 SSE 스트림: 다른 인스턴스(같은 DB)에서 바뀐 상태가 LISTEN/NOTIFY 로 전달되는지, 스트림 한도 초과 시 503 인지 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderStatusStreamTests {
+
+	private static final PgSimulator pgSimulator = startPgSimulator();
+	private static final String END_OF_STREAM = "";
+
+	private static ConfigurableApplicationContext otherInstance;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderStatusStreams orderStatusStreams;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@BeforeAll
+	static void startOtherInstance() {
+		otherInstance = new SpringApplicationBuilder(DemoApplication.class)
+			.web(WebApplicationType.NONE)
+			.run("--spring.jpa.show-sql=false");
+	}
+
+	@AfterAll
+	static void stopAll() {
+		if (otherInstance != null) {
+			otherInstance.close();
+		}
+		pgSimulator.close();
+	}
+
+	@Test
+	void streamPushesStatusChangesMadeOnOtherInstance() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 0, 10000L).orderNo();
+		BlockingQueue<String> statuses = new LinkedBlockingQueue<>();
+
+		HttpResponse<Stream<String>> response = openStream(orderNo);
+		assertEquals(200, response.statusCode());
+		Thread reader = Thread.ofPlatform().start(() -> {
+			response.body()
+				.filter(line -> line.startsWith("data:"))
+				.forEach(line -> statuses.add(status(line.substring("data:".length()))));
+			statuses.add(END_OF_STREAM);
+		});
+
+		assertEquals("PENDING", statuses.poll(10, TimeUnit.SECONDS));
+
+		PaymentService otherPaymentService = otherInstance.getBean(PaymentService.class);
+		assertEquals(true, otherPaymentService.processPaymentResponse(inicisAuthParams(orderNo)).get("success"));
+		assertEquals("COMPLETED", statuses.poll(10, TimeUnit.SECONDS));
+
+		assertTrue(otherPaymentService.performNetworkCancel(orderNo, "스트림 테스트", "127.0.0.1").success());
+		assertEquals("NETWORK_CANCELLED", statuses.poll(10, TimeUnit.SECONDS));
+		// 종료 상태면 서버가 스트림을 닫음
+		assertEquals(END_OF_STREAM, statuses.poll(10, TimeUnit.SECONDS));
+		reader.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	@Test
+	void streamOverNodeLimitIsRejected() throws Exception {
+		String orderNo = paymentService.createOrder(newUser(), 10000L, 0, 10000L).orderNo();
+		int limit = (int) ReflectionTestUtils.getField(orderStatusStreams, "maxStreamsPerNode");
+		ReflectionTestUtils.setField(orderStatusStreams, "maxStreamsPerNode", 0);
+		try {
+			HttpResponse<Stream<String>> response = openStream(orderNo);
+			assertEquals(503, response.statusCode());
+			assertTrue(response.headers().firstValue("Retry-After").isPresent());
+		} finally {
+			ReflectionTestUtils.setField(orderStatusStreams, "maxStreamsPerNode", limit);
+		}
+	}
+
+	private HttpResponse<Stream<String>> openStream(String orderNo) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(
+				URI.create("http://localhost:" + port + "/api/payment/status/order/" + orderNo + "/stream"))
+			.header("Accept", "text/event-stream")
+			.GET()
+			.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+	}
+
+	private String status(String json) {
+		try {
+			return objectMapper.readTree(json).get("status").asText();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Long newUser() {
+		User user = new User("스트림테스트", "stream-" + UUID.randomUUID() + "@example.com");
+		user.setPoints(10_000);
+		return userRepository.save(user).getId();
+	}
+
+	private static Map<String, Object> inicisAuthParams(String orderNo) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("orderNumber", orderNo);
+		params.put("resultCode", "0000");
+		params.put("resultMsg", "성공");
+		params.put("authUrl", pgSimulator.url(PgSimulator.INICIS_AUTH_PATH));
+		params.put("authToken", "SIM_AUTH_TOKEN");
+		params.put("netCancelUrl", pgSimulator.url(PgSimulator.INICIS_NET_CANCEL_PATH));
+		return params;
+	}
+
+	private static PgSimulator startPgSimulator() {
+		try {
+			return PgSimulator.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
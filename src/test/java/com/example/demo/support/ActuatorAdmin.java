@@ -0,0 +1,30 @@
+package com.example.demo.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 테스트용 actuator 관리자 계정 (ACTUATOR_ADMIN HTTP Basic)
+ *
+ * {@code @SpringBootTest(properties = ActuatorAdmin.PASSWORD_PROPERTY)} 로 관리자 비밀번호를 설정하고
+ * 요청에 {@link #authorization()} 을 Authorization 헤더로 보냅니다.
+ */
+public final class ActuatorAdmin {
+
+	public static final String USERNAME = "admin";
+
+	public static final String PASSWORD = "actuator-test-admin";
+
+	public static final String PASSWORD_PROPERTY = "actuator.admin.password=" + PASSWORD;
+
+	private ActuatorAdmin() {
+	}
+
+	public static String authorization() {
+		return basic(USERNAME, PASSWORD);
+	}
+
+	public static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+}
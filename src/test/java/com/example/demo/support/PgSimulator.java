@@ -0,0 +1,145 @@
+package com.example.demo.support;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 로컬 PG 시뮬레이터
+ *
+ * 이니시스 승인(authUrl)/망취소(netCancelUrl)/취소(refund)/거래조회(inquiry) 등 PG 엔드포인트를 흉내내는 테스트용 HTTP 서버입니다.
+ * 경로별 응답 본문과 지연시간을 지정할 수 있고, 호출 횟수와 마지막 traceparent 헤더를 기록합니다.
+ */
+public class PgSimulator implements AutoCloseable {
+
+	public static final String INICIS_AUTH_PATH = "/inicis/auth";
+	public static final String INICIS_NET_CANCEL_PATH = "/inicis/netcancel";
+	public static final String INICIS_REFUND_PATH = "/inicis/refund";
+	public static final String INICIS_INQUIRY_PATH = "/inicis/inquiry";
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+	private final AtomicInteger tidSequence = new AtomicInteger();
+	private final Map<String, Function<String, String>> handlers = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+	private final Map<String, String> lastTraceparents = new ConcurrentHashMap<>();
+	private volatile long delayMillis = 0;
+	private volatile BiFunction<String, String, Response> fallback;
+
+	private PgSimulator(HttpServer server) {
+		this.server = server;
+	}
+
+	public static PgSimulator start() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		PgSimulator simulator = new PgSimulator(server);
+		simulator.respond(INICIS_AUTH_PATH, body -> simulator.inicisApproval());
+		simulator.respond(INICIS_NET_CANCEL_PATH, body -> "{\"resultCode\":\"0000\",\"resultMsg\":\"망취소 성공\"}");
+		simulator.respond(INICIS_REFUND_PATH, body -> "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\"}");
+		simulator.respond(INICIS_INQUIRY_PATH, body -> "{\"resultCode\":\"00\",\"resultMsg\":\"정상처리되었습니다.\",\"status\":\"0\"}");
+		server.createContext("/", exchange -> {
+			String path = exchange.getRequestURI().getPath();
+			String requestBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			simulator.callCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+			String traceparent = exchange.getRequestHeaders().getFirst("traceparent");
+			if (traceparent != null) {
+				simulator.lastTraceparents.put(path, traceparent);
+			}
+			simulator.sleep();
+
+			Function<String, String> handler = simulator.handlers.get(path);
+			BiFunction<String, String, Response> fallback = simulator.fallback;
+			Response result = handler != null ? new Response(200, handler.apply(requestBody))
+				: fallback != null ? fallback.apply(path, requestBody) : null;
+			if (result == null) {
+				result = new Response(404, "{}");
+			}
+			byte[] response = result.body().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+			exchange.sendResponseHeaders(result.status(), response.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(response);
+			}
+		});
+		server.setExecutor(simulator.executor);
+		server.start();
+		return simulator;
+	}
+
+	/**
+	 * 경로별 응답 지정
+	 */
+	public void respond(String path, Function<String, String> handler) {
+		handlers.put(path, handler);
+	}
+
+	/**
+	 * 등록된 경로가 아닐 때의 응답 지정 (경로, 요청 본문 → 응답, null 이면 404)
+	 *
+	 * 녹화된 PG 응답 재생처럼 경로를 미리 정할 수 없을 때 사용합니다.
+	 */
+	public void fallback(BiFunction<String, String, Response> fallback) {
+		this.fallback = fallback;
+	}
+
+	/**
+	 * 모든 응답에 적용할 지연시간 지정
+	 */
+	public void setDelayMillis(long delayMillis) {
+		this.delayMillis = delayMillis;
+	}
+
+	public String url(String path) {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+	}
+
+	public int callCount(String path) {
+		AtomicInteger count = callCounts.get(path);
+		return count != null ? count.get() : 0;
+	}
+
+	/**
+	 * 경로별 마지막 요청의 W3C traceparent 헤더 (없으면 null)
+	 */
+	public String lastTraceparent(String path) {
+		return lastTraceparents.get(path);
+	}
+
+	private String inicisApproval() {
+		return "{\"resultCode\":\"0000\",\"resultMsg\":\"정상처리되었습니다.\","
+			+ "\"tid\":\"SIM_TID_" + tidSequence.incrementAndGet() + "\","
+			+ "\"applNum\":\"30001234\",\"CARD_Num\":\"9410********1234\",\"P_FN_NM\":\"시뮬카드\"}";
+	}
+
+	private void sleep() {
+		if (delayMillis > 0) {
+			try {
+				Thread.sleep(delayMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * 시뮬레이터 응답 (HTTP 상태, JSON 본문)
+	 */
+	public record Response(int status, String body) {
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,341 @@
+package com.example.demo.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 녹화된 PG 트래픽 (if_inisis_log 의 시간 구간을 주문별 결제 흐름으로 재구성한 결과)
+ *
+ * PG 통신 로그를 주문별로 묶어 재생할 단계(이니시스 결제 응답 콜백, 나이스페이 승인, 환불, 망취소)와
+ * 각 단계에서 PG 시뮬레이터가 돌려줄 녹화된 PG 응답으로 나눕니다. 취소/망취소 로그는 주문번호 대신 TID 로 남으므로
+ * 같은 구간의 승인 응답이나 원본 결제 내역(payments)으로 주문번호를 찾습니다.
+ * 주문 금액/사용자는 원본 주문(orders, 보관 테이블 포함)에서 읽고, 원본 주문이 없는 주문은 건너뜁니다(skippedOrders).
+ *
+ * 이니시스 환불 로그(INICIS_REFUND, 요청/응답 한 건)는 이 도구와 함께 추가되어 그 이전 구간에는 이니시스 환불 단계가 없습니다.
+ * 망취소 로그의 traceId 가 콜백/승인 단계와 같으면 콜백 처리 중 자동 망취소로 보고 별도 단계로 재생하지 않습니다.
+ */
+public final class PgTrafficRecording {
+
+	public enum StepType {
+		INICIS_CALLBACK, NICEPAY_APPROVAL, REFUND, NETWORK_CANCEL
+	}
+
+	/**
+	 * 재생할 단계
+	 *
+	 * @param offsetMillis 구간 시작부터의 원래 시각
+	 * @param params 콜백/승인 요청 파라미터 (환불/망취소는 사유만)
+	 * @param expectedSuccess 녹화 당시 성공 여부 (알 수 없으면 null)
+	 */
+	public record Step(StepType type, long offsetMillis, Map<String, Object> params, Boolean expectedSuccess) {
+	}
+
+	/**
+	 * 녹화된 PG 응답
+	 */
+	public record Response(int status, String body) {
+	}
+
+	/**
+	 * 주문별 결제 흐름
+	 *
+	 * @param createdOffsetMillis 주문 생성 시각 (구간 시작 이전 주문은 첫 단계 시각)
+	 * @param responses PG 작업(AUTH, APPROVE, NET_CANCEL, REFUND, CANCEL)별 녹화된 응답
+	 */
+	public record RecordedOrder(String orderNo, String provider, Long userId, long totalAmount, int pointsUsed,
+								long cardAmount, String tid, long createdOffsetMillis, List<Step> steps,
+								Map<String, Response> responses) {
+	}
+
+	private static final String LOG_SQL = "SELECT order_no, request_type, payment_provider, request_data, response_data, "
+		+ "http_status, is_success, transaction_id, trace_id, created_at FROM if_inisis_log "
+		+ "WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id";
+
+	private static final String ORDER_SQL = "SELECT order_no, user_id, total_amount, points_used, card_amount, created_at "
+		+ "FROM orders WHERE order_no = ANY(?) "
+		+ "UNION ALL SELECT order_no, user_id, total_amount, points_used, card_amount, created_at "
+		+ "FROM orders_archive WHERE order_no = ANY(?)";
+
+	private static final String TID_SQL = "SELECT tid, order_no FROM payments WHERE tid = ANY(?) "
+		+ "UNION ALL SELECT tid, order_no FROM payments_archive WHERE tid = ANY(?)";
+
+	private static final Set<String> INICIS_CANCEL_SUCCESS = Set.of("00", "0000");
+	private static final Set<String> NICEPAY_CANCEL_SUCCESS = Set.of("2001", "2211", "2221");
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final LocalDateTime from;
+	private final LocalDateTime to;
+	private final List<RecordedOrder> orders;
+	private final int skippedOrders;
+
+	private PgTrafficRecording(LocalDateTime from, LocalDateTime to, List<RecordedOrder> orders, int skippedOrders) {
+		this.from = from;
+		this.to = to;
+		this.orders = orders;
+		this.skippedOrders = skippedOrders;
+	}
+
+	/**
+	 * 원본 DB 의 [from, to) 구간 PG 통신 로그를 주문별 결제 흐름으로 재구성
+	 */
+	public static PgTrafficRecording load(JdbcTemplate source, LocalDateTime from, LocalDateTime to) {
+		List<LogRow> rows = source.query(LOG_SQL, (rs, rowNum) -> new LogRow(
+			rs.getString("order_no"), rs.getString("request_type"), rs.getString("payment_provider"),
+			rs.getString("request_data"), rs.getString("response_data"), (Integer) rs.getObject("http_status"),
+			rs.getBoolean("is_success"), rs.getString("transaction_id"), rs.getString("trace_id"),
+			rs.getTimestamp("created_at").toLocalDateTime()), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+		// TID → 주문번호 (승인 응답, 이후 원본 결제 내역)
+		Map<String, String> orderByTid = new HashMap<>();
+		for (LogRow row : rows) {
+			String tid = switch (row.requestType()) {
+				case "RESPONSE" -> string(json(row.responseData()), "tid");
+				case "PAYMENT_RESPONSE", "NICEPAY_APPROVAL_REQUEST" -> row.transactionId();
+				case "NICEPAY_APPROVAL_RESPONSE" -> string(json(row.requestData()), "tid");
+				default -> null;
+			};
+			if (tid != null) {
+				orderByTid.put(tid, row.orderNo());
+			}
+		}
+		Set<String> unresolved = new LinkedHashSet<>();
+		for (LogRow row : rows) {
+			if (isTidKeyed(row.requestType()) && !orderByTid.containsKey(row.orderNo())) {
+				unresolved.add(row.orderNo());
+			}
+		}
+		if (!unresolved.isEmpty()) {
+			String[] tids = unresolved.toArray(String[]::new);
+			source.query(TID_SQL, rs -> {
+				orderByTid.putIfAbsent(rs.getString("tid"), rs.getString("order_no"));
+			}, tids, tids);
+		}
+
+		Map<String, OrderBuilder> builders = new LinkedHashMap<>();
+		for (LogRow row : rows) {
+			String orderNo = isTidKeyed(row.requestType()) ? orderByTid.get(row.orderNo()) : row.orderNo();
+			if (orderNo == null || "UNKNOWN".equals(orderNo)) {
+				continue;
+			}
+			OrderBuilder builder = builders.computeIfAbsent(orderNo, OrderBuilder::new);
+			builder.add(row, Duration.between(from, row.createdAt()).toMillis());
+		}
+
+		Map<String, OrderRow> sourceOrders = new HashMap<>();
+		if (!builders.isEmpty()) {
+			String[] orderNos = builders.keySet().toArray(String[]::new);
+			source.query(ORDER_SQL, rs -> {
+				sourceOrders.putIfAbsent(rs.getString("order_no"), new OrderRow(rs.getLong("user_id"),
+					rs.getLong("total_amount"), rs.getInt("points_used"), rs.getLong("card_amount"),
+					rs.getTimestamp("created_at").toLocalDateTime()));
+			}, orderNos, orderNos);
+		}
+
+		List<RecordedOrder> orders = new ArrayList<>();
+		int skipped = 0;
+		for (OrderBuilder builder : builders.values()) {
+			OrderRow order = sourceOrders.get(builder.orderNo);
+			if (order == null || builder.steps.isEmpty()) {
+				skipped++;
+				continue;
+			}
+			orders.add(builder.build(order, Duration.between(from, order.createdAt()).toMillis()));
+		}
+		orders.sort(Comparator.comparingLong(RecordedOrder::createdOffsetMillis));
+		return new PgTrafficRecording(from, to, List.copyOf(orders), skipped);
+	}
+
+	public LocalDateTime getFrom() {
+		return from;
+	}
+
+	public LocalDateTime getTo() {
+		return to;
+	}
+
+	public List<RecordedOrder> getOrders() {
+		return orders;
+	}
+
+	public int getSkippedOrders() {
+		return skippedOrders;
+	}
+
+	public int stepCount() {
+		return orders.stream().mapToInt(order -> order.steps().size()).sum();
+	}
+
+	// 주문번호 대신 TID 로 남는 취소/망취소 로그
+	private static boolean isTidKeyed(String requestType) {
+		return requestType.equals("INICIS_REFUND") || requestType.startsWith("INICIS_NETWORK_CANCEL_")
+			|| requestType.startsWith("NICEPAY_CANCEL_") || requestType.startsWith("NICEPAY_NETWORK_CANCEL_");
+	}
+
+	private static Map<String, Object> json(String value) {
+		if (value == null || value.isBlank() || !value.trim().startsWith("{")) {
+			return new LinkedHashMap<>();
+		}
+		try {
+			return objectMapper.readValue(value, new TypeReference<LinkedHashMap<String, Object>>() {
+			});
+		} catch (JsonProcessingException e) {
+			return new LinkedHashMap<>();
+		}
+	}
+
+	private static String string(Map<String, Object> map, String key) {
+		Object value = map.get(key);
+		return value != null ? value.toString() : null;
+	}
+
+	private static String toJson(Map<String, Object> map) {
+		try {
+			return objectMapper.writeValueAsString(map);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record LogRow(String orderNo, String requestType, String provider, String requestData, String responseData,
+						  Integer httpStatus, boolean success, String transactionId, String traceId,
+						  LocalDateTime createdAt) {
+	}
+
+	private record OrderRow(Long userId, long totalAmount, int pointsUsed, long cardAmount, LocalDateTime createdAt) {
+	}
+
+	private static final class OrderBuilder {
+		final String orderNo;
+		final List<Step> steps = new ArrayList<>();
+		final List<String> stepTraceIds = new ArrayList<>();
+		final Map<String, Response> responses = new HashMap<>();
+		String provider = "INICIS";
+		String tid;
+
+		OrderBuilder(String orderNo) {
+			this.orderNo = orderNo;
+		}
+
+		void add(LogRow row, long offsetMillis) {
+			Map<String, Object> request = json(row.requestData());
+			switch (row.requestType()) {
+				case "PAYMENT_RESPONSE" -> addStep(StepType.INICIS_CALLBACK, offsetMillis, request, row.success(), row.traceId());
+				case "RESPONSE" -> {
+					// 원문이 JSON 이면 그대로, 아니면 rawResponse 로 감싸 저장됨 (통신 실패는 errorMessage 만)
+					Map<String, Object> body = json(row.responseData());
+					String raw = body.containsKey("rawResponse") ? string(body, "rawResponse")
+						: body.containsKey("errorMessage") && body.size() == 1 ? string(body, "errorMessage") : row.responseData();
+					responses.put("AUTH", new Response(row.httpStatus() != null ? row.httpStatus() : 200, Objects.toString(raw, "")));
+					setTid(string(body, "tid"));
+				}
+				case "NICEPAY_APPROVAL_REQUEST" -> {
+					provider = "NICEPAY";
+					addStep(StepType.NICEPAY_APPROVAL, offsetMillis, request, null, row.traceId());
+				}
+				case "NICEPAY_APPROVAL_RESPONSE" -> {
+					provider = "NICEPAY";
+					responses.put("APPROVE", nicePayApprovalResponse(request));
+					setTid(string(request, "tid"));
+					completeLast(StepType.NICEPAY_APPROVAL, Boolean.TRUE.equals(request.get("success")));
+				}
+				case "INICIS_REFUND" -> {
+					Map<String, Object> data = request.get("data") instanceof Map<?, ?> nested ? cast(nested) : Map.of();
+					Map<String, Object> response = json(row.responseData());
+					addStep(StepType.REFUND, offsetMillis, Map.of("reason", Objects.toString(data.get("msg"), "재생 환불")),
+						INICIS_CANCEL_SUCCESS.contains(string(response, "resultCode")), row.traceId());
+					responses.put("REFUND", new Response(row.httpStatus() != null ? row.httpStatus() : 200, toJson(response)));
+				}
+				case "NICEPAY_CANCEL_REQUEST" -> addStep(StepType.REFUND, offsetMillis,
+					Map.of("reason", Objects.toString(request.get("CancelMsg"), "재생 환불")), null, row.traceId());
+				case "NICEPAY_CANCEL_RESPONSE" -> {
+					responses.put("CANCEL", new Response(200, toJson(request)));
+					completeLast(StepType.REFUND, NICEPAY_CANCEL_SUCCESS.contains(string(request, "ResultCode")));
+				}
+				case "INICIS_NETWORK_CANCEL_REQUEST_WITH_URL", "NICEPAY_NETWORK_CANCEL_REQUEST" -> {
+					// 콜백/승인 처리 중 자동 망취소는 해당 단계가 재현
+					if (row.traceId() == null || !stepTraceIds.contains(row.traceId())) {
+						addStep(StepType.NETWORK_CANCEL, offsetMillis, Map.of("reason", "재생 망취소"), null, row.traceId());
+					}
+				}
+				case "INICIS_NETWORK_CANCEL_RESPONSE_WITH_URL" -> {
+					responses.put("NET_CANCEL", new Response(200, toJson(request)));
+					completeLast(StepType.NETWORK_CANCEL, INICIS_CANCEL_SUCCESS.contains(string(request, "resultCode")));
+				}
+				case "NICEPAY_NETWORK_CANCEL_RESPONSE" -> {
+					responses.put("NET_CANCEL", new Response(200, toJson(request)));
+					completeLast(StepType.NETWORK_CANCEL, NICEPAY_CANCEL_SUCCESS.contains(string(request, "ResultCode")));
+				}
+				default -> {
+					// 결제창 요청(REQUEST, NICEPAY_REQUEST 등)은 브라우저 단계라 재생하지 않음
+				}
+			}
+		}
+
+		void setTid(String value) {
+			if (value != null) {
+				tid = value;
+			}
+		}
+
+		void addStep(StepType type, long offsetMillis, Map<String, Object> params, Boolean expectedSuccess, String traceId) {
+			steps.add(new Step(type, offsetMillis, params, expectedSuccess));
+			if (traceId != null) {
+				stepTraceIds.add(traceId);
+			}
+		}
+
+		// 직전 단계의 녹화 당시 성공 여부 기록
+		void completeLast(StepType type, boolean success) {
+			if (!steps.isEmpty() && steps.getLast().type() == type && steps.getLast().expectedSuccess() == null) {
+				Step step = steps.removeLast();
+				steps.add(new Step(step.type(), step.offsetMillis(), step.params(), success));
+			}
+		}
+
+		RecordedOrder build(OrderRow order, long createdOffsetMillis) {
+			long firstStep = steps.getFirst().offsetMillis();
+			return new RecordedOrder(orderNo, provider, order.userId(), order.totalAmount(), order.pointsUsed(),
+				order.cardAmount(), tid, Math.max(0, Math.min(createdOffsetMillis, firstStep)), List.copyOf(steps),
+				Map.copyOf(responses));
+		}
+
+		// 승인 결과(NICEPAY_APPROVAL_RESPONSE)를 나이스페이 승인 API 응답 항목으로 되돌림
+		static Response nicePayApprovalResponse(Map<String, Object> result) {
+			String resultMessage = Objects.toString(result.get("resultMessage"), "");
+			if ("9999".equals(result.get("resultCode")) && resultMessage.startsWith("승인 호출 중 오류")) {
+				return new Response(500, resultMessage);
+			}
+			Map<String, Object> fields = new LinkedHashMap<>();
+			fields.put("ResultCode", result.get("resultCode"));
+			fields.put("ResultMsg", resultMessage);
+			fields.put("TID", result.get("tid"));
+			fields.put("Moid", result.get("orderNo"));
+			fields.put("Amt", result.get("amount"));
+			fields.put("AuthDate", result.get("authDate"));
+			fields.put("AuthCode", result.get("authCode"));
+			fields.values().removeIf(Objects::isNull);
+			return new Response(200, toJson(fields));
+		}
+
+		@SuppressWarnings("unchecked")
+		static Map<String, Object> cast(Map<?, ?> map) {
+			return (Map<String, Object>) map;
+		}
+	}
+}
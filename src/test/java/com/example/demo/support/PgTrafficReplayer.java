@@ -0,0 +1,277 @@
+package com.example.demo.support;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 녹화된 PG 트래픽 재생기
+ *
+ * {@link PgTrafficRecording} 의 주문마다 주문 생성 → 콜백/승인 → 환불/망취소 단계를 원래 시각 간격(speed 배속)으로
+ * 테스트 인스턴스 API 에 보내고, PG 호출은 {@link PgSimulator} 가 녹화된 응답으로 돌려줍니다.
+ * 주문번호는 재생 인스턴스에서 새로 발급되므로 콜백 파라미터의 주문번호와 PG URL(authUrl, netCancelUrl, NextAppURL,
+ * NetCancelURL)을 바꿔 보내고, PG 시뮬레이터는 경로(/replay/{주문 순번}/...)로 주문을 찾습니다.
+ * 설정 URL 로 가는 이니시스 환불/나이스페이 취소는 요청 본문의 TID 로 찾습니다. (inicis.refund.url, nicepay.cancel.url 을
+ * {@link #INICIS_REFUND_PATH}, {@link #NICEPAY_CANCEL_PATH} 로 지정)
+ *
+ * 주문별 단계는 순서대로, 주문끼리는 가상 스레드로 동시에 실행합니다. 인스턴스가 따라오지 못하면 예정 시각보다 늦게
+ * 시작하며, 그 지연(maxLagMillis)과 단계별 응답시간, 처리량, 녹화 당시와 결과가 다른 단계 수를 결과로 돌려줍니다.
+ */
+public final class PgTrafficReplayer {
+
+	public static final String INICIS_REFUND_PATH = "/replay/inicis/refund";
+	public static final String NICEPAY_CANCEL_PATH = "/replay/nicepay/cancel";
+
+	private static final Pattern ORDER_PATH = Pattern.compile("^/replay/(\\d+)/([a-z_]+)$");
+	private static final Pattern INICIS_TID = Pattern.compile("\"tid\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern NICEPAY_TID = Pattern.compile("(?:^|&)TID=([^&]+)");
+	private static final List<String> ORDER_NO_KEYS = List.of("orderNumber", "oid", "P_OID", "MOID", "Moid");
+	private static final long HIGHEST_LATENCY_MILLIS = 60_000;
+
+	private final String baseUrl;
+	private final PgSimulator pgSimulator;
+	private final LongUnaryOperator userMapper;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+	/**
+	 * @param baseUrl 재생 대상 인스턴스 (예: http://localhost:8080)
+	 * @param userMapper 원본 사용자 ID → 재생 인스턴스 사용자 ID (적립금이 충분해야 함)
+	 */
+	public PgTrafficReplayer(String baseUrl, PgSimulator pgSimulator, LongUnaryOperator userMapper) {
+		this.baseUrl = baseUrl;
+		this.pgSimulator = pgSimulator;
+		this.userMapper = userMapper;
+	}
+
+	/**
+	 * 재생 (모든 주문이 끝날 때까지 대기)
+	 *
+	 * @param speed 배속 (1 이면 원래 간격, N 이면 간격을 1/N 로 줄임)
+	 */
+	public Result replay(PgTrafficRecording recording, double speed) throws InterruptedException {
+		List<PgTrafficRecording.RecordedOrder> orders = recording.getOrders();
+		Map<String, PgTrafficRecording.RecordedOrder> ordersByTid = new ConcurrentHashMap<>();
+		for (PgTrafficRecording.RecordedOrder order : orders) {
+			if (order.tid() != null) {
+				ordersByTid.put(order.tid(), order);
+			}
+		}
+		pgSimulator.fallback((path, body) -> recordedResponse(orders, ordersByTid, path, body));
+
+		Map<PgTrafficRecording.StepType, Histogram> latencies = new EnumMap<>(PgTrafficRecording.StepType.class);
+		for (PgTrafficRecording.StepType type : PgTrafficRecording.StepType.values()) {
+			latencies.put(type, new ConcurrentHistogram(HIGHEST_LATENCY_MILLIS, 2));
+		}
+		Histogram createLatency = new ConcurrentHistogram(HIGHEST_LATENCY_MILLIS, 2);
+		AtomicInteger steps = new AtomicInteger();
+		AtomicInteger failedSteps = new AtomicInteger();
+		AtomicInteger mismatchedSteps = new AtomicInteger();
+		AtomicLong maxLagMillis = new AtomicLong();
+
+		long startNanos = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < orders.size(); i++) {
+				int index = i;
+				PgTrafficRecording.RecordedOrder order = orders.get(i);
+				executor.submit(() -> {
+					long lag = awaitOffset(startNanos, order.createdOffsetMillis(), speed);
+					maxLagMillis.accumulateAndGet(lag, Math::max);
+					long createStart = System.nanoTime();
+					String orderNo = createOrder(order);
+					createLatency.recordValue(Math.min(elapsedMillis(createStart), HIGHEST_LATENCY_MILLIS));
+					if (orderNo == null) {
+						steps.addAndGet(order.steps().size());
+						failedSteps.addAndGet(order.steps().size());
+						return;
+					}
+					for (PgTrafficRecording.Step step : order.steps()) {
+						maxLagMillis.accumulateAndGet(awaitOffset(startNanos, step.offsetMillis(), speed), Math::max);
+						long stepStart = System.nanoTime();
+						Boolean success = execute(index, orderNo, step);
+						latencies.get(step.type()).recordValue(Math.min(elapsedMillis(stepStart), HIGHEST_LATENCY_MILLIS));
+						steps.incrementAndGet();
+						if (success == null) {
+							failedSteps.incrementAndGet();
+						} else if (step.expectedSuccess() != null && !step.expectedSuccess().equals(success)) {
+							mismatchedSteps.incrementAndGet();
+						}
+					}
+				});
+			}
+		} finally {
+			pgSimulator.fallback(null);
+		}
+		long elapsedMillis = elapsedMillis(startNanos);
+
+		Map<String, Latency> latencySummary = new LinkedHashMap<>();
+		latencySummary.put("CREATE_ORDER", Latency.of(createLatency));
+		latencies.forEach((type, histogram) -> {
+			if (histogram.getTotalCount() > 0) {
+				latencySummary.put(type.name(), Latency.of(histogram));
+			}
+		});
+		return new Result(orders.size(), steps.get(), failedSteps.get(), mismatchedSteps.get(), recording.getSkippedOrders(),
+			elapsedMillis, elapsedMillis > 0 ? (orders.size() + steps.get()) * 1000.0 / elapsedMillis : 0.0,
+			maxLagMillis.get(), latencySummary);
+	}
+
+	// 예정 시각까지 대기, 이미 지났으면 늦은 시간(ms) 반환
+	private static long awaitOffset(long startNanos, long offsetMillis, double speed) {
+		long due = startNanos + (long) (offsetMillis / speed * 1_000_000);
+		long remaining = due - System.nanoTime();
+		if (remaining > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 0;
+		}
+		return -remaining / 1_000_000;
+	}
+
+	private static long elapsedMillis(long startNanos) {
+		return (System.nanoTime() - startNanos) / 1_000_000;
+	}
+
+	private String createOrder(PgTrafficRecording.RecordedOrder order) {
+		Map<String, Object> request = new LinkedHashMap<>();
+		request.put("userId", userMapper.applyAsLong(order.userId()));
+		request.put("totalAmount", order.totalAmount());
+		request.put("pointsUsed", order.pointsUsed());
+		request.put("cardAmount", order.cardAmount());
+		request.put("isNetworkCancelTest", order.orderNo().endsWith("_NETCANCEL"));
+		Map<String, Object> response = post("/api/payment/create-order", request);
+		return response != null ? (String) response.get("orderNo") : null;
+	}
+
+	// 단계 실행, 응답의 success (요청 실패면 null)
+	private Boolean execute(int index, String orderNo, PgTrafficRecording.Step step) {
+		Map<String, Object> response = switch (step.type()) {
+			case INICIS_CALLBACK, NICEPAY_APPROVAL -> {
+				Map<String, Object> params = new LinkedHashMap<>(step.params());
+				for (String key : ORDER_NO_KEYS) {
+					params.computeIfPresent(key, (name, value) -> orderNo);
+				}
+				params.computeIfPresent("authUrl", (name, value) -> pgSimulator.url(orderPath(index, "auth")));
+				params.computeIfPresent("netCancelUrl", (name, value) -> pgSimulator.url(orderPath(index, "net_cancel")));
+				params.computeIfPresent("NextAppURL", (name, value) -> pgSimulator.url(orderPath(index, "approve")));
+				params.computeIfPresent("NetCancelURL", (name, value) -> pgSimulator.url(orderPath(index, "net_cancel")));
+				yield post(step.type() == PgTrafficRecording.StepType.INICIS_CALLBACK
+					? "/api/payment/response" : "/api/payment/nicepay/approve", params);
+			}
+			case REFUND -> post("/api/payment/refund/order/" + orderNo, step.params());
+			case NETWORK_CANCEL -> post("/api/payment/network-cancel/" + orderNo, step.params());
+		};
+		return response != null ? Boolean.TRUE.equals(response.get("success")) : null;
+	}
+
+	private static String orderPath(int index, String operation) {
+		return "/replay/" + index + "/" + operation;
+	}
+
+	// PG 시뮬레이터: 주문별 경로 또는 요청 본문의 TID 로 녹화된 응답 조회
+	private static PgSimulator.Response recordedResponse(List<PgTrafficRecording.RecordedOrder> orders,
+			Map<String, PgTrafficRecording.RecordedOrder> ordersByTid, String path, String body) {
+		PgTrafficRecording.RecordedOrder order = null;
+		String operation;
+		Matcher matcher = ORDER_PATH.matcher(path);
+		if (matcher.matches()) {
+			int index = Integer.parseInt(matcher.group(1));
+			order = index < orders.size() ? orders.get(index) : null;
+			operation = switch (matcher.group(2)) {
+				case "auth" -> "AUTH";
+				case "approve" -> "APPROVE";
+				default -> "NET_CANCEL";
+			};
+		} else if (INICIS_REFUND_PATH.equals(path) || NICEPAY_CANCEL_PATH.equals(path)) {
+			boolean inicis = INICIS_REFUND_PATH.equals(path);
+			Matcher tid = (inicis ? INICIS_TID : NICEPAY_TID).matcher(body);
+			order = tid.find() ? ordersByTid.get(tid.group(1)) : null;
+			operation = inicis ? "REFUND" : "CANCEL";
+		} else {
+			return null;
+		}
+		PgTrafficRecording.Response response = order != null ? order.responses().get(operation) : null;
+		return response != null ? new PgSimulator.Response(response.status(), response.body()) : null;
+	}
+
+	private Map<String, Object> post(String path, Map<String, Object> body) {
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(Duration.ofSeconds(60))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+			HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			if (response.statusCode() != 200) {
+				return null;
+			}
+			return objectMapper.readValue(response.body(), new TypeReference<LinkedHashMap<String, Object>>() {
+			});
+		} catch (IOException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * 단계별 응답시간 (ms)
+	 */
+	public record Latency(long count, long p50, long p90, long p99, long max) {
+
+		static Latency of(Histogram histogram) {
+			return new Latency(histogram.getTotalCount(), histogram.getValueAtPercentile(50),
+				histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99), histogram.getMaxValue());
+		}
+	}
+
+	/**
+	 * 재생 결과
+	 *
+	 * @param orders 재생한 주문 수
+	 * @param steps 실행한 단계 수 (주문 생성 제외)
+	 * @param failedSteps 요청 자체가 실패한 단계 수 (HTTP 오류, 주문 생성 실패로 건너뛴 단계 포함)
+	 * @param mismatchedSteps 녹화 당시와 성공 여부가 다른 단계 수
+	 * @param skippedOrders 원본 주문이 없어 재생하지 않은 주문 수
+	 * @param requestsPerSecond 주문 생성 + 단계 요청 처리량
+	 * @param maxLagMillis 예정 시각보다 늦게 시작한 최대 시간 (인스턴스가 부하를 따라오지 못한 정도)
+	 */
+	public record Result(int orders, int steps, int failedSteps, int mismatchedSteps, int skippedOrders,
+						 long elapsedMillis, double requestsPerSecond, long maxLagMillis, Map<String, Latency> latency) {
+
+		public String report() {
+			List<String> lines = new ArrayList<>();
+			lines.add(String.format("[pg-replay] orders=%d steps=%d failed=%d mismatched=%d skipped=%d elapsed=%,dms %.1f req/s maxLag=%,dms",
+				orders, steps, failedSteps, mismatchedSteps, skippedOrders, elapsedMillis, requestsPerSecond, maxLagMillis));
+			latency.forEach((name, value) -> lines.add(String.format("  %-16s n=%d p50=%dms p90=%dms p99=%dms max=%dms",
+				name, value.count(), value.p50(), value.p90(), value.p99(), value.max())));
+			return String.join(System.lineSeparator(), lines);
+		}
+	}
+}